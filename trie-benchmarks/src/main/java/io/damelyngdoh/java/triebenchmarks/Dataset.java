@@ -0,0 +1,161 @@
+package io.damelyngdoh.java.triebenchmarks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import io.damelyngdoh.java.trie.TrieCharacter;
+
+/**
+ * Generator of the keys of the benchmarks. The keys are generated from a fixed seed so
+ * every fork and every run measures the same dataset.
+ * @author Dame Lyngdoh
+ *
+ */
+public final class Dataset {
+
+	/**
+	 * The characters the keys are made of.
+	 */
+	public enum Alphabet {
+		/** Two characters, giving deep and narrow tries. */
+		BINARY('0', 2),
+		/** Four characters, the size of the nucleotide alphabet. */
+		DNA('A', 4),
+		/** The 26 lower-case latin letters. */
+		LOWER('a', 26),
+		/** A thousand CJK ideographs, giving wide nodes held in maps. */
+		CJK(0x4E00, 1000);
+
+		private final int first, size;
+
+		Alphabet(int first, int size) {
+			this.first = first;
+			this.size = size;
+		}
+
+		int codeOf(int index) {
+			return this.first + index;
+		}
+	}
+
+	/**
+	 * The distribution of the lengths of the keys.
+	 */
+	public enum KeyLength {
+		/** Every key has 12 characters. */
+		FIXED(12, 12),
+		/** Lengths uniformly distributed from 4 to 16 characters. */
+		UNIFORM(4, 16),
+		/** Mostly short keys with a geometric tail up to 64 characters, as for URLs or paths. */
+		LONG_TAIL(2, 64);
+
+		private final int min, max;
+
+		KeyLength(int min, int max) {
+			this.min = min;
+			this.max = max;
+		}
+
+		int next(Random random) {
+			if(this == LONG_TAIL) {
+				int length = this.min;
+				while(length < this.max && random.nextInt(8) != 0) {
+					length++;
+				}
+				return length;
+			}
+			return this.min + random.nextInt(this.max - this.min + 1);
+		}
+	}
+
+	/**
+	 * How the characters of a key are chosen.
+	 */
+	public enum Shape {
+		/** Every character is drawn independently, so keys share short prefixes only. */
+		RANDOM,
+		/**
+		 * Keys are built from a small vocabulary of syllables drawn with a skewed
+		 * distribution, so that like the words of a dictionary they share long prefixes
+		 * and suffixes.
+		 */
+		DICTIONARY
+	}
+
+	private static final long SEED = 0x5452494EL;
+	/**
+	 * Number of consecutive duplicate keys after which the key space is deemed exhausted.
+	 */
+	private static final int MAX_DUPLICATES = 10000;
+
+	private Dataset() {}
+
+	/**
+	 * Generates distinct keys.
+	 * @param size The number of keys.
+	 * @param alphabet The characters of the keys.
+	 * @param keyLength The distribution of the lengths.
+	 * @param shape How the characters are chosen.
+	 * @param salt Value mixed into the seed, to generate keys absent from another dataset.
+	 * @return Returns the keys in random order.
+	 * @throws IllegalArgumentException Thrown when the alphabet and the lengths cannot produce enough distinct keys.
+	 */
+	public static List<List<TrieCharacter>> generate(int size, Alphabet alphabet, KeyLength keyLength, Shape shape, long salt) {
+		Random random = new Random(SEED ^ salt);
+		List<int[]> syllables = new ArrayList<>();
+		for(int i=0; i<Math.max(16, alphabet.size); i++) {
+			int[] syllable = new int[1 + random.nextInt(3)];
+			for(int j=0; j<syllable.length; j++) {
+				syllable[j] = alphabet.codeOf(random.nextInt(alphabet.size));
+			}
+			syllables.add(syllable);
+		}
+
+		Set<String> seen = new HashSet<>(size * 2);
+		List<List<TrieCharacter>> keys = new ArrayList<>(size);
+		StringBuilder builder = new StringBuilder();
+		int duplicates = 0;
+		while(keys.size() < size) {
+			builder.setLength(0);
+			int length = keyLength.next(random);
+			while(builder.codePointCount(0, builder.length()) < length) {
+				if(shape == Shape.DICTIONARY) {
+					// Squaring the uniform variable favours the first syllables
+					double u = random.nextDouble();
+					for(int code : syllables.get((int)(u * u * syllables.size()))) {
+						builder.appendCodePoint(code);
+					}
+				}
+				else {
+					builder.appendCodePoint(alphabet.codeOf(random.nextInt(alphabet.size)));
+				}
+			}
+			// Whole syllables may overshoot the drawn length
+			String key = builder.substring(0, builder.offsetByCodePoints(0, length));
+			if(seen.add(key)) {
+				keys.add(toKey(key));
+				duplicates = 0;
+			}
+			else if(++duplicates > MAX_DUPLICATES) {
+				throw new IllegalArgumentException("Cannot generate " + size + " distinct keys from the " + alphabet + " alphabet with " + keyLength + " lengths.");
+			}
+		}
+		Collections.shuffle(keys, random);
+		return keys;
+	}
+
+	/**
+	 * Converts a string to a key.
+	 * @param string The string.
+	 * @return Returns the list of the characters of the string.
+	 */
+	public static List<TrieCharacter> toKey(String string) {
+		List<TrieCharacter> key = new ArrayList<>(string.length());
+		string.codePoints().forEach(code -> key.add(new Symbol(code)));
+		return key;
+	}
+}
@@ -0,0 +1,33 @@
+package io.damelyngdoh.java.triebenchmarks;
+
+import io.damelyngdoh.java.trie.TrieCharacter;
+
+/**
+ * Character of the benchmark keys, wrapping a code point.
+ * @author Dame Lyngdoh
+ *
+ */
+public final class Symbol extends TrieCharacter {
+
+	private final int code;
+
+	public Symbol(int code) {
+		this.code = code;
+	}
+
+	public int getCode() { return this.code; }
+
+	@Override
+	public boolean equals(Object o) {
+		return o instanceof Symbol && this.code == ((Symbol)o).code;
+	}
+
+	@Override
+	public int hashCode() {
+		return this.code;
+	}
+
+	@Override
+	public String toString() { return new String(Character.toChars(this.code)); }
+
+}
@@ -0,0 +1,86 @@
+package io.damelyngdoh.java.triebenchmarks;
+
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.damelyngdoh.java.trie.TrieCharacter;
+
+/**
+ * Benchmarks of the operations which do not modify the trie. Lookups are measured per
+ * key, cycling through the keys of the dataset, while the operations visiting every
+ * node are measured per call.
+ * @author Dame Lyngdoh
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TrieReadBenchmark {
+
+	@Benchmark
+	public Integer get(TrieState state) {
+		return state.trie.get(state.keys.get(state.next()));
+	}
+
+	@Benchmark
+	public boolean containsKey(TrieState state) {
+		return state.trie.containsKey(state.keys.get(state.next()));
+	}
+
+	@Benchmark
+	public boolean containsKeyAbsent(TrieState state) {
+		return state.trie.containsKey(state.absentKeys.get(state.nextAbsent()));
+	}
+
+	/**
+	 * Iterates the live view of the keys, since creating the view alone visits no node.
+	 */
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public void keySet(TrieState state, Blackhole blackhole) {
+		for(List<TrieCharacter> key : state.trie.keySet()) {
+			blackhole.consume(key);
+		}
+	}
+
+	/**
+	 * Iterates the live view of the entries, since creating the view alone visits no node.
+	 */
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public void entrySet(TrieState state, Blackhole blackhole) {
+		for(Entry<List<TrieCharacter>, Integer> entry : state.trie.entrySet()) {
+			blackhole.consume(entry);
+		}
+	}
+
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public void DFT(TrieState state, Blackhole blackhole) {
+		state.trie.DFT(traversedNodes -> {
+			blackhole.consume(traversedNodes.peek().getData());
+			return true;
+		});
+	}
+
+	/**
+	 * Searches a value which is absent, so every node is visited.
+	 */
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public boolean containsValue(TrieState state) {
+		return state.trie.containsValue(-1);
+	}
+}
@@ -0,0 +1,93 @@
+package io.damelyngdoh.java.triebenchmarks;
+
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import io.damelyngdoh.java.trie.Trie;
+import io.damelyngdoh.java.trie.TrieCharacter;
+import io.damelyngdoh.java.trie.TrieTraversal;
+
+/**
+ * Dataset and populated trie shared by the benchmarks. Every combination of the
+ * parameters is a separate dataset, and the traversal method of the trie is a parameter
+ * as well so every operation is measured with both methods.
+ * @author Dame Lyngdoh
+ *
+ */
+@State(Scope.Benchmark)
+public class TrieState {
+
+	@Param({"1000", "100000"})
+	public int size;
+
+	@Param({"LOWER", "DNA", "CJK"})
+	public Dataset.Alphabet alphabet;
+
+	@Param({"FIXED", "UNIFORM", "LONG_TAIL"})
+	public Dataset.KeyLength keyLength;
+
+	@Param({"RANDOM", "DICTIONARY"})
+	public Dataset.Shape shape;
+
+	@Param({"Incremental", "Recursive"})
+	public TrieTraversal traversal;
+
+	/**
+	 * The keys of the trie, in random order.
+	 */
+	List<List<TrieCharacter>> keys;
+	/**
+	 * Keys absent from the trie.
+	 */
+	List<List<TrieCharacter>> absentKeys;
+	/**
+	 * The trie holding every key, mapped to its index.
+	 */
+	Trie<Symbol, Integer> trie;
+
+	private int next, nextAbsent;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		this.keys = Dataset.generate(this.size, this.alphabet, this.keyLength, this.shape, 0);
+		this.absentKeys = Dataset.generate(this.size, this.alphabet, this.keyLength, this.shape, 1);
+		this.trie = this.newTrie();
+		for(int i=0; i<this.keys.size(); i++) {
+			this.trie.put(this.keys.get(i), i);
+		}
+		this.absentKeys.removeIf(this.trie::containsKey);
+	}
+
+	/**
+	 * Creates an empty trie using the traversal method of the benchmark.
+	 * @return Returns the empty trie.
+	 */
+	Trie<Symbol, Integer> newTrie() {
+		return new Trie<>(this.traversal);
+	}
+
+	/**
+	 * Gets the index of the next key, cycling through the keys.
+	 * @return Returns the index.
+	 */
+	int next() {
+		int index = this.next;
+		this.next = index + 1 == this.keys.size() ? 0 : index + 1;
+		return index;
+	}
+
+	/**
+	 * Gets the index of the next absent key, cycling through the absent keys.
+	 * @return Returns the index.
+	 */
+	int nextAbsent() {
+		int index = this.nextAbsent;
+		this.nextAbsent = index + 1 == this.absentKeys.size() ? 0 : index + 1;
+		return index;
+	}
+}
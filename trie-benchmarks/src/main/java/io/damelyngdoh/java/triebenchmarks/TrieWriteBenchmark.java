@@ -0,0 +1,71 @@
+package io.damelyngdoh.java.triebenchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.damelyngdoh.java.trie.Trie;
+import io.damelyngdoh.java.trie.TrieCharacter;
+
+/**
+ * Benchmarks of the operations which modify the trie. Every call adds or removes all
+ * the keys of the dataset, so the time and the allocation reported are per dataset and
+ * include the growth and the shrinking of the containers of the children.
+ * @author Dame Lyngdoh
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TrieWriteBenchmark {
+
+	/**
+	 * A trie populated again before every call of the removal benchmark.
+	 */
+	@State(Scope.Thread)
+	public static class PopulatedTrie {
+
+		Trie<Symbol, Integer> trie;
+
+		@Setup(Level.Invocation)
+		public void setUp(TrieState state) {
+			this.trie = state.newTrie();
+			for(int i=0; i<state.keys.size(); i++) {
+				this.trie.put(state.keys.get(i), i);
+			}
+		}
+	}
+
+	@Benchmark
+	public Trie<Symbol, Integer> put(TrieState state) {
+		Trie<Symbol, Integer> trie = state.newTrie();
+		List<List<TrieCharacter>> keys = state.keys;
+		for(int i=0; i<keys.size(); i++) {
+			trie.put(keys.get(i), i);
+		}
+		return trie;
+	}
+
+	@Benchmark
+	public Trie<Symbol, Integer> remove(TrieState state, PopulatedTrie populated) {
+		Trie<Symbol, Integer> trie = populated.trie;
+		List<List<TrieCharacter>> keys = state.keys;
+		for(int i=0; i<keys.size(); i++) {
+			trie.remove(keys.get(i));
+		}
+		return trie;
+	}
+}
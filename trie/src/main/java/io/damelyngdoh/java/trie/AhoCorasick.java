@@ -0,0 +1,281 @@
+package io.damelyngdoh.java.trie;
+
+import java.util.ArrayDeque;
+import java.util.ConcurrentModificationException;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.IntFunction;
+
+/**
+ * <p>
+ * AhoCorasick class is a multi-pattern scanner compiled from a <tt>Trie</tt> object.
+ * Every node of the source trie is given a failure link, which is the node of the
+ * longest proper suffix of its string present in the trie, and an output link, which is
+ * the nearest valid node along its failure links. The goto transitions are the child
+ * nodes of the trie itself, so no node or child map is copied.
+ * </p>
+ * <p>
+ * A scan follows one transition per character of the text and falls back along the
+ * failure links on a mismatch, reporting every occurrence of every string of the trie
+ * in a single linear pass regardless of the number of strings. The links are a snapshot
+ * of the structure of the trie at the time of compilation, so the scanner must be
+ * compiled again after strings are added to or removed from the trie; a scan of a
+ * scanner whose trie has been modified so throws a
+ * <tt>ConcurrentModificationException</tt>, including a modification by the listener
+ * during the scan. The data of the matches is read from the trie when they are reported.
+ * </p>
+ *
+ * @param <T> The type of characters the trie will contain, must extends <tt>TrieCharacter</tt> class.
+ * @param <V> The type of data which the trie will contain.
+ *
+ * @author Dame Lyngdoh
+ * @since 1.0.0
+ * @see Trie#scanner()
+ */
+public class AhoCorasick<T extends TrieCharacter, V> {
+
+    /**
+     * The compiled trie.
+     */
+    private final Trie<T, V> trie;
+    /**
+     * Modification count of the trie at the time of compilation.
+     */
+    private final int modCount;
+    /**
+     * The root-map of the compiled trie.
+     */
+    private final Map<TrieCharacter, TrieNode<V>> rootMap;
+    /**
+     * State of the root, which has no node.
+     */
+    private final State<V> root;
+    /**
+     * States of the nodes of the compiled trie.
+     */
+    private final Map<TrieNode<V>, State<V>> states;
+
+    /**
+     * Compiles the failure and output links of a trie in breadth-first order, so that the
+     * links of every shallower node are known before they are followed.
+     * @param trie The trie to be compiled.
+     */
+    private AhoCorasick(Trie<T, V> trie) {
+        this.trie = trie;
+        this.modCount = trie.getModCount();
+        this.rootMap = trie.getRootMap();
+        this.root = new State<>(null, 0);
+        this.root.failure = this.root;
+        this.states = new IdentityHashMap<>();
+
+        Deque<State<V>> pending = new ArrayDeque<>();
+        for(TrieNode<V> node : this.rootMap.values()) {
+            State<V> state = new State<>(node, 1);
+            state.failure = this.root;
+            this.states.put(node, state);
+            pending.add(state);
+        }
+        while(!pending.isEmpty()) {
+            State<V> parent = pending.poll();
+            if(parent.node.getChildrenCount()==0) {
+                continue;
+            }
+            for(TrieNode<V> child : parent.node.getAllChildren()) {
+                State<V> state = new State<>(child, parent.depth+1);
+                State<V> failure = parent.failure;
+                TrieNode<V> target = this.childOf(failure, child.getCharacter());
+                while(target==null && failure!=this.root) {
+                    failure = failure.failure;
+                    target = this.childOf(failure, child.getCharacter());
+                }
+                state.failure = target==null ? this.root : this.states.get(target);
+                state.output = state.failure.node!=null && state.failure.node.isValid() ? state.failure : state.failure.output;
+                this.states.put(child, state);
+                pending.add(state);
+            }
+        }
+    }
+
+    /**
+     * Compiles the current nodes of a trie into a new AhoCorasick object.
+     * @param <T> The type of characters of the trie.
+     * @param <V> The type of data of the trie.
+     * @param trie The trie to be compiled.
+     * @return Returns the compiled scanner.
+     * @throws NullPointerException Thrown when the trie is null.
+     */
+    public static <T extends TrieCharacter, V> AhoCorasick<T, V> from(Trie<T, V> trie) throws NullPointerException {
+        if(trie==null) {
+            throw new NullPointerException("Trie cannot be null.");
+        }
+        return new AhoCorasick<>(trie);
+    }
+
+    /**
+     * Scans a sequence of characters for the strings of the trie.
+     * @param text The characters of the text.
+     * @param listener The listener invoked for every match.
+     * @return Returns the number of matches reported.
+     * @throws ConcurrentModificationException Thrown when strings have been added to or removed from the trie after the compilation.
+     * @throws IllegalArgumentException Thrown when one of the characters is null.
+     * @throws NullPointerException Thrown when the text or the listener is null.
+     */
+    public long scan(Iterator<? extends TrieCharacter> text, MatchListener<V> listener) throws ConcurrentModificationException, IllegalArgumentException, NullPointerException {
+        if(text==null || listener==null) {
+            throw new NullPointerException("Text and listener cannot be null.");
+        }
+        this.checkModCount();
+        State<V> state = this.root;
+        long matches = 0;
+        for(long position=0; text.hasNext(); position++) {
+            TrieCharacter character = text.next();
+            if(character==null) {
+                throw new IllegalArgumentException("Trie character cannot be null.");
+            }
+            state = this.next(state, character);
+
+            // Reporting the node of the state if valid and every valid node along its output links
+            State<V> match = state.node!=null && state.node.isValid() ? state : state.output;
+            for(; match!=null; match = match.output) {
+                matches++;
+                if(!listener.onMatch(position-match.depth+1, Trie.keyOf(match.node), match.node.getData())) {
+                    return matches;
+                }
+                // The listener may have modified the trie
+                this.checkModCount();
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Scans a character sequence for the strings of the trie.
+     * @param text The text.
+     * @param mapper The function mapping a character of the text to a <tt>TrieCharacter</tt>.
+     * @param listener The listener invoked for every match.
+     * @return Returns the number of matches reported.
+     * @throws ConcurrentModificationException Thrown when strings have been added to or removed from the trie after the compilation.
+     * @throws IllegalArgumentException Thrown when the mapper returns null.
+     * @throws NullPointerException Thrown when the text, the mapper or the listener is null.
+     */
+    public long scan(final CharSequence text, final IntFunction<? extends TrieCharacter> mapper, MatchListener<V> listener) throws ConcurrentModificationException, IllegalArgumentException, NullPointerException {
+        if(text==null || mapper==null) {
+            throw new NullPointerException("Text and mapper cannot be null.");
+        }
+        return this.scan(new Iterator<TrieCharacter>() {
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return this.index < text.length();
+            }
+
+            @Override
+            public TrieCharacter next() {
+                if(this.index >= text.length()) {
+                    throw new NoSuchElementException();
+                }
+                TrieCharacter character = mapper.apply(text.charAt(this.index));
+                if(character==null) {
+                    throw new IllegalArgumentException("Mapper returned null for character at index " + this.index + ".");
+                }
+                this.index++;
+                return character;
+            }
+        }, listener);
+    }
+
+    /**
+     * Checks that no string has been added to or removed from the trie since the compilation.
+     * @throws ConcurrentModificationException Thrown when the trie has been modified.
+     */
+    private void checkModCount() throws ConcurrentModificationException {
+        if(this.trie.getModCount()!=this.modCount) {
+            throw new ConcurrentModificationException("Trie has been modified after the compilation of the scanner.");
+        }
+    }
+
+    /**
+     * Follows the transition of a character, falling back along the failure links until
+     * a state has a child of the character or the root is reached.
+     * @param state The current state.
+     * @param character The character.
+     * @return Returns the next state.
+     * @throws ConcurrentModificationException Thrown when the child node of the character was added after the compilation.
+     */
+    private State<V> next(State<V> state, TrieCharacter character) throws ConcurrentModificationException {
+        while(true) {
+            TrieNode<V> child = this.childOf(state, character);
+            if(child!=null) {
+                State<V> next = this.states.get(child);
+                if(next==null) {
+                    throw new ConcurrentModificationException("Trie has been modified after the compilation of the scanner.");
+                }
+                return next;
+            }
+            if(state==this.root) {
+                return state;
+            }
+            state = state.failure;
+        }
+    }
+
+    /**
+     * @param state The state.
+     * @param character The character.
+     * @return Returns the child node of the node of the state or null if absent.
+     */
+    private TrieNode<V> childOf(State<V> state, TrieCharacter character) {
+        if(state.node==null) {
+            return this.rootMap.get(character);
+        }
+        return state.node.getChildrenCount()==0 ? null : state.node.getChildNode(character);
+    }
+
+    /**
+     * A node of the trie with its failure and output links.
+     * @param <V> Data class type.
+     */
+    private static final class State<V> {
+
+        private final TrieNode<V> node;
+        /**
+         * Length of the string of the node.
+         */
+        private final int depth;
+        /**
+         * State of the longest proper suffix of the string present in the trie.
+         */
+        private State<V> failure;
+        /**
+         * Nearest state of a valid node along the failure links or null if none.
+         */
+        private State<V> output;
+
+        private State(TrieNode<V> node, int depth) {
+            this.node = node;
+            this.depth = depth;
+        }
+    }
+
+    /**
+     * Functional interface for receiving the matches of a scan.
+     * @param <V> Data class type.
+     */
+    public interface MatchListener<V> {
+        /**
+         * Invoked for every occurrence of a string of the trie in the text, in the order of
+         * the positions of their last characters and, for matches ending at the same
+         * position, from the longest to the shortest.
+         * @param position The index of the first character of the match in the text.
+         * @param key The matched string.
+         * @param value The data of the matched string.
+         * @return Returns true if the scan is to be continued or false if it needs to be stopped.
+         */
+        boolean onMatch(long position, List<TrieCharacter> key, V value);
+    }
+}
@@ -0,0 +1,465 @@
+package io.damelyngdoh.java.trie;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * <p>
+ * CharTrie class is a Trie data-structure specialized for strings of primitive
+ * <tt>char</tt> values. Keys are accepted as any <tt>CharSequence</tt> (such as
+ * <tt>String</tt> or <tt>StringBuilder</tt>) so no <tt>TrieCharacter</tt> objects or
+ * lists need to be created by the caller, and the edges of every node are stored
+ * in a sorted primitive <tt>char</tt> array which is binary-searched during lookups.
+ * </p>
+ * <p>
+ * The semantics of the <tt>Map</tt> methods are the same as those of <tt>Trie</tt>:
+ * empty strings are never stored, <tt>put</tt> returns the value that was added and
+ * the overwrite flag restricts the replacement of existing values. Searching the trie
+ * (<tt>get</tt>, <tt>containsKey</tt>) does not allocate any objects.
+ * </p>
+ *
+ * @param <V> The type of data which the trie will contain in its nodes.
+ *
+ * @author Dame Lyngdoh
+ * @since 1.0.0
+ * @see Trie
+ */
+public class CharTrie<V> implements Map<CharSequence, V> {
+
+    /**
+     * Empty edge array shared by all nodes without children.
+     */
+    private static final char[] EMPTY_EDGES = new char[0];
+    /**
+     * Empty children array shared by all nodes without children.
+     */
+    private static final Node<?>[] EMPTY_CHILDREN = new Node<?>[0];
+
+    /**
+     * Counter for the number of strings in the trie.
+     */
+    private int stringCount;
+    /**
+     * Root node of the trie. The root is never valid since empty strings are not stored.
+     */
+    private Node<V> root;
+    /**
+     * Flag indicating if overwrite is allowed or not.
+     */
+    private boolean overwriteAllowed = true;
+
+    /**
+     * Constructs a new empty CharTrie object.
+     */
+    public CharTrie() {
+        this.stringCount = 0;
+        this.root = new Node<>();
+    }
+
+    /**
+     * Returns true if overwrite is allowed or false otherwise.
+     * @return Returns true if overwrite is allowed or false otherwise.
+     */
+    public boolean isOverwriteAllowed() {
+        return this.overwriteAllowed;
+    }
+
+    /**
+     * Sets the overwrite flag of the trie.
+     * @param overwriteAllowed True when overwrite is allowed or false to disallow.
+     */
+    public void setOverwriteAllowed(boolean overwriteAllowed) {
+        this.overwriteAllowed = overwriteAllowed;
+    }
+
+    /**
+     * Returns the number of strings in the trie.
+     * @return Returns the number of strings in the trie.
+     */
+    @Override
+    public int size() {
+        return this.stringCount;
+    }
+
+    /**
+     * Returns true if the trie is empty or false if otherwise.
+     * @return Returns true if the trie is empty or false if otherwise.
+     */
+    @Override
+    public boolean isEmpty() {
+        return this.stringCount==0;
+    }
+
+    /**
+     * Checks if a string is present in the trie or not.
+     * @param key The string to be searched.
+     * @return Returns true if the string is found or false otherwise.
+     * @throws ClassCastException Thrown when the object is not an instance of <tt>CharSequence</tt>.
+     * @throws NullPointerException Thrown when the argument is null.
+     */
+    @Override
+    public boolean containsKey(Object key) throws ClassCastException, NullPointerException {
+        Node<V> node = this.findNode(CharTrie.validateString(key));
+        return node!=null && node.validity;
+    }
+
+    /**
+     * Checks to see if the value is present in the trie.
+     * @return Returns true if the value is found or false otherwise.
+     */
+    @Override
+    public boolean containsValue(Object value) {
+        return CharTrie.containsValue(this.root, value);
+    }
+
+    /**
+     * Gets the value/data associated with the string key.
+     * @param key The string to be searched.
+     * @return Returns the value associated with the key or <tt>null</tt> if the string is not found.
+     * @throws ClassCastException Thrown when the object is not an instance of <tt>CharSequence</tt>.
+     * @throws NullPointerException Thrown when the argument is null.
+     */
+    @Override
+    public V get(Object key) throws ClassCastException, NullPointerException {
+        Node<V> node = this.findNode(CharTrie.validateString(key));
+        if(node==null || !node.validity) {
+            return null;
+        }
+        return node.data;
+    }
+
+    /**
+     * Adds a string with its associated data. If the string is already present then the overwrite flag will be checked.
+     * @param key The string to be added to the trie.
+     * @param value The data/value to be mapped to the string.
+     * @return Returns the value associated with the key that was added.
+     * @throws NullPointerException Thrown when the key is null.
+     */
+    @Override
+    public V put(CharSequence key, V value) throws NullPointerException {
+        CharSequence string = CharTrie.validateString(key);
+        if(string.length()==0) {
+            return null;
+        }
+        Node<V> currentNode = this.root;
+        for(int i=0; i<string.length(); i++) {
+            char c = string.charAt(i);
+            int index = currentNode.indexOf(c);
+            if(index < 0) {
+                Node<V> child = new Node<>();
+                currentNode.insertChild(-(index+1), c, child);
+                currentNode = child;
+            }
+            else {
+                currentNode = currentNode.children[index];
+            }
+        }
+        if(!currentNode.validity) {
+            currentNode.data = value;
+            currentNode.validity = true;
+            this.stringCount++;
+        }
+        // Restricting overwrite if overwrite flag is set to false
+        else if(this.isOverwriteAllowed()) {
+            currentNode.data = value;
+        }
+        return value;
+    }
+
+    /**
+     * Removes a string from the trie.
+     * @param key The string to be removed.
+     * @return Returns the data associated with the string if the string was present in the trie or null if absent.
+     * @throws ClassCastException Thrown when the object is not an instance of <tt>CharSequence</tt>.
+     * @throws NullPointerException Thrown when the argument is null.
+     */
+    @Override
+    public V remove(Object key) throws ClassCastException, NullPointerException {
+        CharSequence string = CharTrie.validateString(key);
+        if(string.length()==0) {
+            return null;
+        }
+
+        // The deepest node which must be kept and the index of the character leading
+        // from it into the chain which can be removed if the string was its only user
+        Node<V> keptNode = this.root;
+        int keptIndex = 0;
+        Node<V> currentNode = this.root;
+        for(int i=0; i<string.length(); i++) {
+            if(currentNode.validity || currentNode.childCount > 1) {
+                keptNode = currentNode;
+                keptIndex = i;
+            }
+            int index = currentNode.indexOf(string.charAt(i));
+            if(index < 0) {
+                return null;
+            }
+            currentNode = currentNode.children[index];
+        }
+
+        // String not found
+        if(!currentNode.validity) {
+            return null;
+        }
+
+        V data = currentNode.data;
+        currentNode.data = null;
+        currentNode.validity = false;
+        this.stringCount--;
+
+        // Removing longest empty chain from last node
+        if(currentNode.childCount==0) {
+            keptNode.removeChild(keptNode.indexOf(string.charAt(keptIndex)));
+        }
+        return data;
+    }
+
+    /**
+     * Puts all mappings in map argument into this instance.
+     * @param m The map whose mapping is to be included.
+     * @throws NullPointerException Thrown when there exists a null string in the map.
+     */
+    @Override
+    public void putAll(Map<? extends CharSequence, ? extends V> m) throws NullPointerException {
+        if(m==null) {
+            return;
+        }
+        for(Map.Entry<? extends CharSequence, ? extends V> entry : m.entrySet()) {
+            this.put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Empties the trie.
+     */
+    @Override
+    public void clear() {
+        this.root = new Node<>();
+        this.stringCount = 0;
+    }
+
+    /**
+     * Gets the set of all distinct strings (or keys) in the trie.
+     * @return Returns the <tt>Set</tt> object containing all the strings within the trie.
+     */
+    @Override
+    public Set<CharSequence> keySet() {
+        final Set<CharSequence> keySet = new HashSet<>();
+        this.DFT((StringBuilder string, V data) -> keySet.add(string.toString()));
+        return keySet;
+    }
+
+    /**
+     * Gets a collection of all the values or data assocaited with any string within the trie.
+     * @return Returns a <tt>Collection</tt> of all the values.
+     */
+    @Override
+    public Collection<V> values() {
+        final Collection<V> values = new ArrayList<>(this.stringCount);
+        this.DFT((StringBuilder string, V data) -> values.add(data));
+        return values;
+    }
+
+    /**
+     * Gets a set of all the <tt>Entry</tt> objects or entries in the trie.
+     * @return Returns a <tt>Set</tt> of all possible <tt>Entry</tt> objects.
+     * @see Entry
+     */
+    @Override
+    public Set<Entry<CharSequence, V>> entrySet() {
+        final Set<Entry<CharSequence, V>> entrySet = new HashSet<>();
+        this.DFT((StringBuilder string, V data) -> entrySet.add(new AbstractMap.SimpleEntry<>(string.toString(), data)));
+        return entrySet;
+    }
+
+    /**
+     * Initiates the depth-first traversal of the trie. The strings are visited in the
+     * ascending order of their characters.
+     * @param operation The operation to perform when a string is encountered during traversal.
+     */
+    public void DFT(CharTraversalOperation<V> operation) {
+        this.DFTRecursive(this.root, new StringBuilder(), operation);
+    }
+
+    /**
+     * Recursively traverses the trie and calls operation method whenever a valid node is encountered.
+     * @param currentNode The current node reached during the traversal.
+     * @param string The characters of the nodes traversed (in order).
+     * @param operation The method to be called when the current node is valid.
+     * @return Returns false if the operation requested the traversal to stop or true otherwise.
+     */
+    private boolean DFTRecursive(Node<V> currentNode, StringBuilder string, CharTraversalOperation<V> operation) {
+        if(currentNode.validity && !operation.postOperation(string, currentNode.data)) {
+            return false;
+        }
+        for(int i=0; i<currentNode.childCount; i++) {
+            string.append(currentNode.edges[i]);
+            boolean proceed = this.DFTRecursive(currentNode.children[i], string, operation);
+            string.setLength(string.length()-1);
+            if(!proceed) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Searches for the node of a string without allocating any objects.
+     * @param string The string to be searched.
+     * @return Returns the node associated with the last character of the string or null if the string is empty or its path is absent.
+     */
+    private Node<V> findNode(CharSequence string) {
+        if(string.length()==0) {
+            return null;
+        }
+        Node<V> currentNode = this.root;
+        for(int i=0; i<string.length(); i++) {
+            int index = currentNode.indexOf(string.charAt(i));
+            if(index < 0) {
+                return null;
+            }
+            currentNode = currentNode.children[index];
+        }
+        return currentNode;
+    }
+
+    /**
+     * Checks recursively if a node or any of its descendants contains the value.
+     * @param node The node to start the search from.
+     * @param value The value to be searched.
+     * @return Returns true if the value is found or false otherwise.
+     */
+    private static boolean containsValue(Node<?> node, Object value) {
+        if(node.validity && Objects.equals(node.data, value)) {
+            return true;
+        }
+        for(int i=0; i<node.childCount; i++) {
+            if(CharTrie.containsValue(node.children[i], value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Validates if an object is a character sequence.
+     * @param object The object to be validated.
+     * @return Returns the object as a <tt>CharSequence</tt>.
+     * @throws ClassCastException Thrown if the object is not a <tt>CharSequence</tt>.
+     * @throws NullPointerException Thrown when the object (or string) is null.
+     */
+    public static CharSequence validateString(Object object) throws ClassCastException, NullPointerException {
+        if(object==null) {
+            throw new NullPointerException("Object cannot be null.");
+        }
+        if(!(object instanceof CharSequence)) {
+            throw new ClassCastException("Object is not a sub-class of CharSequence.");
+        }
+        return (CharSequence)object;
+    }
+
+    /**
+     * Functional interface for declaring operations whenever a string is encountered during a depth-first traversal of a <tt>CharTrie</tt>.
+     * @param <V> Data class type.
+     */
+    public interface CharTraversalOperation<V> {
+        /**
+         * Invoked by the depth-first traversal method whenever a valid node is encountered.
+         * @param string The characters from the root to the valid node. The builder is reused by the traversal and must not be modified or retained.
+         * @param data The data associated with the string.
+         * @return Returns true if further traversal of other nodes is required or false if traversal needs to be stopped.
+         */
+        boolean postOperation(StringBuilder string, V data);
+    }
+
+    /**
+     * Node of a <tt>CharTrie</tt>. The edges to the children are kept as a sorted
+     * <tt>char</tt> array with a parallel array of child nodes.
+     * @param <V> Data class type.
+     */
+    private static final class Node<V> {
+
+        /**
+         * Sorted characters of the edges to the children.
+         */
+        private char[] edges = EMPTY_EDGES;
+        /**
+         * Children nodes in the same order as the edges.
+         */
+        @SuppressWarnings("unchecked")
+        private Node<V>[] children = (Node<V>[])EMPTY_CHILDREN;
+        /**
+         * Number of children (or edges) in use.
+         */
+        private int childCount;
+        /**
+         * Flag indicating if the node is the last node of a string.
+         */
+        private boolean validity;
+        /**
+         * The data contained by the node if the node is valid or null if invalid.
+         */
+        private V data;
+
+        /**
+         * Binary-searches the edges for a character.
+         * @param c The character to be searched.
+         * @return Returns the index of the edge if found or <tt>-(insertion point)-1</tt> otherwise.
+         */
+        private int indexOf(char c) {
+            int low = 0, high = this.childCount-1;
+            while(low <= high) {
+                int mid = (low+high) >>> 1;
+                char midChar = this.edges[mid];
+                if(midChar < c) {
+                    low = mid+1;
+                }
+                else if(midChar > c) {
+                    high = mid-1;
+                }
+                else {
+                    return mid;
+                }
+            }
+            return -(low+1);
+        }
+
+        /**
+         * Inserts a new edge at the index, growing the arrays if required.
+         * @param index The insertion point of the edge.
+         * @param c The character of the edge.
+         * @param child The child node of the edge.
+         */
+        private void insertChild(int index, char c, Node<V> child) {
+            if(this.childCount==this.edges.length) {
+                int capacity = this.childCount==0 ? 1 : this.childCount*2;
+                this.edges = Arrays.copyOf(this.edges, capacity);
+                this.children = Arrays.copyOf(this.children, capacity);
+            }
+            System.arraycopy(this.edges, index, this.edges, index+1, this.childCount-index);
+            System.arraycopy(this.children, index, this.children, index+1, this.childCount-index);
+            this.edges[index] = c;
+            this.children[index] = child;
+            this.childCount++;
+        }
+
+        /**
+         * Removes the edge at the index.
+         * @param index The index of the edge to be removed.
+         */
+        private void removeChild(int index) {
+            int moved = this.childCount-index-1;
+            System.arraycopy(this.edges, index+1, this.edges, index, moved);
+            System.arraycopy(this.children, index+1, this.children, index, moved);
+            this.childCount--;
+            this.children[this.childCount] = null;
+        }
+    }
+}
@@ -0,0 +1,1026 @@
+package io.damelyngdoh.java.trie;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * <p>
+ * ConcurrentTrie class is a thread-safe, lock-free Trie data-structure based on the
+ * concurrent trie (Ctrie) of Prokopec et al. Every node of the trie is an indirection
+ * node (<tt>INode</tt>) pointing to an immutable node (<tt>CNode</tt>) which holds the
+ * data of the node and the characters and indirection nodes of its children. A
+ * modification builds a new immutable node and installs it with a compare-and-set on
+ * the indirection node, so writers on different branches of the trie never contend
+ * with each other and readers never block or retry.
+ * </p>
+ * <p>
+ * Every indirection node belongs to a generation. Taking a snapshot replaces the root
+ * with a copy from a new generation in constant time, after which the nodes shared
+ * with the snapshot are copied lazily by the first writer which reaches them. The
+ * iteration methods (<tt>keySet</tt>, <tt>values</tt>, <tt>entrySet</tt>) and
+ * <tt>size</tt> work on a read-only snapshot and are therefore consistent, and a
+ * read-only snapshot counts its strings only once. Since every snapshot makes the
+ * following writers copy their paths, <tt>isEmpty</tt> and <tt>containsValue</tt>
+ * traverse the live trie instead and are only weakly consistent.
+ * </p>
+ * <p>
+ * Unlike <tt>Trie</tt>, the methods follow the contract of <tt>ConcurrentMap</tt>:
+ * <tt>put</tt> returns the previous value and <tt>null</tt> values are not permitted.
+ * Empty strings are never stored, as in <tt>Trie</tt>.
+ * </p>
+ *
+ * @param <T> The type of characters the trie will contain, must extends <tt>TrieCharacter</tt> class.
+ * @param <V> The type of data which the trie will contain in its nodes.
+ *
+ * @author Dame Lyngdoh
+ * @since 1.0.0
+ * @see Trie
+ */
+public class ConcurrentTrie<T extends TrieCharacter, V> implements ConcurrentMap<List<TrieCharacter>, V> {
+
+    /**
+     * Result of an operation which must be restarted from the root.
+     */
+    private static final Object RESTART = new Object();
+    /**
+     * Result of an operation on a string which is not present in the trie.
+     */
+    private static final Object NOT_FOUND = new Object();
+
+    /**
+     * Conditions under which a modification is performed.
+     */
+    private static final int ALWAYS = 0, IF_ABSENT = 1, IF_PRESENT = 2, IF_VALUE = 3;
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<ConcurrentTrie, Object> ROOT_UPDATER = AtomicReferenceFieldUpdater.newUpdater(ConcurrentTrie.class, Object.class, "root");
+
+    /**
+     * The root indirection node or a descriptor of an ongoing root replacement.
+     */
+    private volatile Object root;
+    /**
+     * Flag indicating if the trie is a read-only snapshot.
+     */
+    private final boolean readOnly;
+    /**
+     * Number of strings of a read-only snapshot or -1 until it is counted.
+     */
+    private volatile int size = -1;
+
+    /**
+     * Constructs a new empty ConcurrentTrie object.
+     */
+    public ConcurrentTrie() {
+        this(new INode<V>(new Generation(), CNode.<V>empty()), false);
+    }
+
+    /**
+     * Constructs a ConcurrentTrie object over an existing root.
+     * @param root The root indirection node.
+     * @param readOnly True if the trie is a read-only snapshot.
+     */
+    private ConcurrentTrie(INode<V> root, boolean readOnly) {
+        this.root = root;
+        this.readOnly = readOnly;
+    }
+
+    /**
+     * Returns true if the trie is a read-only snapshot or false otherwise.
+     * @return Returns true if the trie is read-only.
+     */
+    public boolean isReadOnly() {
+        return this.readOnly;
+    }
+
+    /**
+     * Creates a consistent snapshot of the trie in constant time. The snapshot and this
+     * trie can be modified independently afterwards.
+     * @return Returns a new mutable trie containing the strings of this trie.
+     */
+    public ConcurrentTrie<T, V> snapshot() {
+        while(true) {
+            INode<V> currentRoot = this.readRoot(false);
+            MainNode<V> expectedMain = this.gcasRead(currentRoot);
+            if(this.replaceRoot(currentRoot, expectedMain, currentRoot.copyToGeneration(new Generation(), this))) {
+                return new ConcurrentTrie<>(currentRoot.copyToGeneration(new Generation(), this), this.readOnly);
+            }
+        }
+    }
+
+    /**
+     * Creates a consistent read-only snapshot of the trie in constant time.
+     * @return Returns a read-only trie containing the strings of this trie.
+     */
+    public ConcurrentTrie<T, V> readOnlySnapshot() {
+        if(this.readOnly) {
+            return this;
+        }
+        while(true) {
+            INode<V> currentRoot = this.readRoot(false);
+            MainNode<V> expectedMain = this.gcasRead(currentRoot);
+            if(this.replaceRoot(currentRoot, expectedMain, currentRoot.copyToGeneration(new Generation(), this))) {
+                return new ConcurrentTrie<>(currentRoot, true);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of strings in a snapshot of the trie. The first call on a 
+     * snapshot traverses the whole snapshot and later calls return the cached count.
+     * @return Returns the number of strings in the trie.
+     */
+    @Override
+    public int size() {
+        if(!this.readOnly) {
+            return this.readOnlySnapshot().size();
+        }
+        int count = this.size;
+        if(count < 0) {
+            final int[] counter = new int[1];
+            this.DFT((List<TrieCharacter> string, V data) -> {
+                counter[0]++;
+                return true;
+            });
+            count = counter[0];
+            this.size = count;
+        }
+        return count;
+    }
+
+    /**
+     * Returns true if the trie is empty or false if otherwise. The live trie is searched 
+     * without a snapshot and the search stops at the first string.
+     * @return Returns true if the trie is empty or false if otherwise.
+     */
+    @Override
+    public boolean isEmpty() {
+        final boolean[] empty = { true };
+        this.DFT((List<TrieCharacter> string, V data) -> {
+            empty[0] = false;
+            return false;
+        });
+        return empty[0];
+    }
+
+    /**
+     * Checks if a string is present in the trie or not.
+     * @param key The list of characters (or string) to be searched.
+     * @return Returns true if the string is found or false otherwise.
+     * @throws ClassCastException Thrown when the object is not an instance of <tt>List</tt> or when one of the elements in the list is not an instance of <tt>TrieCharacter</tt>
+     * @throws IllegalArgumentException Thrown when one of the elements of the list is null.
+     * @throws NullPointerException Thrown when the argument is null.
+     */
+    @Override
+    public boolean containsKey(Object key) throws IllegalArgumentException, ClassCastException, NullPointerException {
+        return this.lookup(Trie.validateString(key))!=NOT_FOUND;
+    }
+
+    /**
+     * Checks to see if the value is present in the trie. The live trie is searched without 
+     * a snapshot, so strings added or removed during the search may or may not be seen.
+     * @return Returns true if the value is found or false otherwise.
+     */
+    @Override
+    public boolean containsValue(Object value) {
+        final boolean[] contains = { false };
+        this.DFT((List<TrieCharacter> string, V data) -> {
+            contains[0] = data.equals(value);
+            return !contains[0];
+        });
+        return contains[0];
+    }
+
+    /**
+     * Gets the value/data associated with the string key. This method never blocks.
+     * @param key The string to be searched.
+     * @return Returns the value associated with the key or <tt>null</tt> if the string is not found.
+     * @throws ClassCastException Thrown when the object is not an instance of <tt>List</tt> or when one of the elements in the list is not an instance of <tt>TrieCharacter</tt>
+     * @throws IllegalArgumentException Thrown when one of the elements of the list is null.
+     * @throws NullPointerException Thrown when the argument is null.
+     */
+    @Override
+    public V get(Object key) throws ClassCastException, IllegalArgumentException, NullPointerException {
+        return this.toValue(this.lookup(Trie.validateString(key)));
+    }
+
+    /**
+     * Adds a string with its associated data, replacing the data of the string if present.
+     * @param key The string to be added to the trie.
+     * @param value The data/value to be mapped to the string.
+     * @return Returns the previous value associated with the key or null if the string was absent.
+     * @throws ClassCastException Thrown when the object is not an instance of <tt>List</tt> or when one of the elements in the list is not an instance of <tt>TrieCharacter</tt>
+     * @throws IllegalArgumentException Thrown when one of the elements of the list is null.
+     * @throws NullPointerException Thrown when the key or the value is null.
+     * @throws UnsupportedOperationException Thrown when the trie is a read-only snapshot.
+     */
+    @Override
+    public V put(List<TrieCharacter> key, V value) throws IllegalArgumentException, ClassCastException, NullPointerException, UnsupportedOperationException {
+        return this.toValue(this.insert(key, value, ALWAYS, null));
+    }
+
+    /**
+     * Adds a string with its associated data only if the string is absent.
+     * @param key The string to be added to the trie.
+     * @param value The data/value to be mapped to the string.
+     * @return Returns the current value associated with the key or null if the string was absent and has been added.
+     * @throws ClassCastException Thrown when the object is not an instance of <tt>List</tt> or when one of the elements in the list is not an instance of <tt>TrieCharacter</tt>
+     * @throws IllegalArgumentException Thrown when one of the elements of the list is null.
+     * @throws NullPointerException Thrown when the key or the value is null.
+     * @throws UnsupportedOperationException Thrown when the trie is a read-only snapshot.
+     */
+    @Override
+    public V putIfAbsent(List<TrieCharacter> key, V value) throws IllegalArgumentException, ClassCastException, NullPointerException, UnsupportedOperationException {
+        return this.toValue(this.insert(key, value, IF_ABSENT, null));
+    }
+
+    /**
+     * Replaces the data of a string only if the string is present.
+     * @param key The string whose data is to be replaced.
+     * @param value The new data/value of the string.
+     * @return Returns the previous value associated with the key or null if the string was absent.
+     * @throws ClassCastException Thrown when the object is not an instance of <tt>List</tt> or when one of the elements in the list is not an instance of <tt>TrieCharacter</tt>
+     * @throws IllegalArgumentException Thrown when one of the elements of the list is null.
+     * @throws NullPointerException Thrown when the key or the value is null.
+     * @throws UnsupportedOperationException Thrown when the trie is a read-only snapshot.
+     */
+    @Override
+    public V replace(List<TrieCharacter> key, V value) throws IllegalArgumentException, ClassCastException, NullPointerException, UnsupportedOperationException {
+        return this.toValue(this.insert(key, value, IF_PRESENT, null));
+    }
+
+    /**
+     * Replaces the data of a string only if the string is mapped to the old value.
+     * @param key The string whose data is to be replaced.
+     * @param oldValue The expected current data of the string.
+     * @param newValue The new data/value of the string.
+     * @return Returns true if the data was replaced or false otherwise.
+     * @throws ClassCastException Thrown when the object is not an instance of <tt>List</tt> or when one of the elements in the list is not an instance of <tt>TrieCharacter</tt>
+     * @throws IllegalArgumentException Thrown when one of the elements of the list is null.
+     * @throws NullPointerException Thrown when the key or one of the values is null.
+     * @throws UnsupportedOperationException Thrown when the trie is a read-only snapshot.
+     */
+    @Override
+    public boolean replace(List<TrieCharacter> key, V oldValue, V newValue) throws IllegalArgumentException, ClassCastException, NullPointerException, UnsupportedOperationException {
+        if(oldValue==null) {
+            throw new NullPointerException("Value cannot be null.");
+        }
+        Object previous = this.insert(key, newValue, IF_VALUE, oldValue);
+        return previous!=NOT_FOUND && oldValue.equals(previous);
+    }
+
+    /**
+     * Removes a string from the trie.
+     * @param key The string to be removed.
+     * @return Returns the data associated with the string if the string was present in the trie or null if absent.
+     * @throws ClassCastException Thrown when the object is not an instance of <tt>List</tt> or when one of the elements in the list is not an instance of <tt>TrieCharacter</tt>
+     * @throws IllegalArgumentException Thrown when one of the elements of the list is null.
+     * @throws NullPointerException Thrown when the argument is null.
+     * @throws UnsupportedOperationException Thrown when the trie is a read-only snapshot.
+     */
+    @Override
+    public V remove(Object key) throws ClassCastException, IllegalArgumentException, NullPointerException, UnsupportedOperationException {
+        return this.toValue(this.delete(key, ALWAYS, null));
+    }
+
+    /**
+     * Removes a string from the trie only if it is mapped to the value.
+     * @param key The string to be removed.
+     * @param value The expected data of the string.
+     * @return Returns true if the string was removed or false otherwise.
+     * @throws ClassCastException Thrown when the object is not an instance of <tt>List</tt> or when one of the elements in the list is not an instance of <tt>TrieCharacter</tt>
+     * @throws IllegalArgumentException Thrown when one of the elements of the list is null.
+     * @throws NullPointerException Thrown when the key is null.
+     * @throws UnsupportedOperationException Thrown when the trie is a read-only snapshot.
+     */
+    @Override
+    public boolean remove(Object key, Object value) throws ClassCastException, IllegalArgumentException, NullPointerException, UnsupportedOperationException {
+        if(value==null) {
+            return false;
+        }
+        Object previous = this.delete(key, IF_VALUE, value);
+        return previous!=NOT_FOUND && value.equals(previous);
+    }
+
+    /**
+     * Puts all mappings in map argument into this instance.
+     * @param m The map whose mapping is to be included.
+     * @throws ClassCastException Thrown when a string object in the map is not an instance of <tt>List</tt> or when one of the elements of the string is not an instance of <tt>TrieCharacter</tt>
+     * @throws IllegalArgumentException Thrown when there exists a string in the key-set of the map that contains a <tt>null</tt> character.
+     * @throws NullPointerException Thrown when there exists a null string or value in the map.
+     * @throws UnsupportedOperationException Thrown when the trie is a read-only snapshot.
+     */
+    @Override
+    public void putAll(Map<? extends List<TrieCharacter>, ? extends V> m) throws NullPointerException, ClassCastException, IllegalArgumentException, UnsupportedOperationException {
+        if(m==null) {
+            return;
+        }
+        for(Map.Entry<? extends List<TrieCharacter>, ? extends V> entry : m.entrySet()) {
+            this.put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Empties the trie.
+     * @throws UnsupportedOperationException Thrown when the trie is a read-only snapshot.
+     */
+    @Override
+    public void clear() throws UnsupportedOperationException {
+        this.checkWritable();
+        while(true) {
+            INode<V> currentRoot = this.readRoot(false);
+            MainNode<V> expectedMain = this.gcasRead(currentRoot);
+            if(this.replaceRoot(currentRoot, expectedMain, new INode<V>(new Generation(), CNode.<V>empty()))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Gets the set of all distinct strings (or keys) in a snapshot of the trie.
+     * @return Returns the <tt>Set</tt> object containing all the strings within the trie.
+     */
+    @Override
+    public Set<List<TrieCharacter>> keySet() {
+        final Set<List<TrieCharacter>> keySet = new HashSet<>();
+        this.readOnlySnapshot().DFT((List<TrieCharacter> string, V data) -> keySet.add(new ArrayList<>(string)));
+        return keySet;
+    }
+
+    /**
+     * Gets a collection of all the values in a snapshot of the trie.
+     * @return Returns a <tt>Collection</tt> of all the values.
+     */
+    @Override
+    public Collection<V> values() {
+        final Collection<V> values = new ArrayList<>();
+        this.readOnlySnapshot().DFT((List<TrieCharacter> string, V data) -> values.add(data));
+        return values;
+    }
+
+    /**
+     * Gets a set of all the <tt>Entry</tt> objects in a snapshot of the trie.
+     * @return Returns a <tt>Set</tt> of all possible <tt>Entry</tt> objects.
+     * @see Entry
+     */
+    @Override
+    public Set<Entry<List<TrieCharacter>, V>> entrySet() {
+        final Set<Entry<List<TrieCharacter>, V>> entrySet = new HashSet<>();
+        this.readOnlySnapshot().DFT((List<TrieCharacter> string, V data) -> entrySet.add(new AbstractMap.SimpleImmutableEntry<>(new ArrayList<>(string), data)));
+        return entrySet;
+    }
+
+    /**
+     * Depth-first traversal of the trie. The traversal is only consistent on a read-only 
+     * snapshot, on a live trie it is weakly consistent.
+     * @param operation The operation to perform on every string.
+     */
+    private void DFT(ConcurrentTraversalOperation<V> operation) {
+        this.DFTRecursive(this.readRoot(false), new ArrayList<>(), operation);
+    }
+
+    /**
+     * Recursively traverses the trie and calls operation method whenever a valid node is encountered.
+     * @param node The current indirection node.
+     * @param string The characters of the nodes traversed (in order).
+     * @param operation The method to be called when the current node is valid.
+     * @return Returns false if the operation requested the traversal to stop or true otherwise.
+     */
+    private boolean DFTRecursive(INode<V> node, List<TrieCharacter> string, ConcurrentTraversalOperation<V> operation) {
+        MainNode<V> main = this.gcasRead(node);
+        if(!(main instanceof CNode)) {
+            return true;
+        }
+        CNode<V> cnode = (CNode<V>)main;
+        if(cnode.validity && !operation.postOperation(string, cnode.data)) {
+            return false;
+        }
+        for(int i=0; i<cnode.children.length; i++) {
+            string.add(cnode.characters[i]);
+            boolean proceed = this.DFTRecursive(cnode.children[i], string, operation);
+            string.remove(string.size()-1);
+            if(!proceed) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Searches for a string without blocking or allocating.
+     * @param string The validated string.
+     * @return Returns the data of the string or <tt>NOT_FOUND</tt>.
+     */
+    private Object lookup(List<TrieCharacter> string) {
+        if(string.isEmpty()) {
+            return NOT_FOUND;
+        }
+        INode<V> node = this.readRoot(false);
+        for(int level=0; ; level++) {
+            MainNode<V> main = this.gcasRead(node);
+            if(!(main instanceof CNode)) {
+                return NOT_FOUND;
+            }
+            CNode<V> cnode = (CNode<V>)main;
+            if(level==string.size()) {
+                return cnode.validity ? cnode.data : NOT_FOUND;
+            }
+            int index = cnode.indexOf(string.get(level));
+            if(index < 0) {
+                return NOT_FOUND;
+            }
+            node = cnode.children[index];
+        }
+    }
+
+    /**
+     * Validates the arguments of an insertion and retries it until it is not restarted.
+     * @param key The string to be added.
+     * @param value The data of the string.
+     * @param condition The condition of the insertion.
+     * @param expected The expected data for the <tt>IF_VALUE</tt> condition.
+     * @return Returns the data of the string before the insertion or <tt>NOT_FOUND</tt>.
+     */
+    private Object insert(List<TrieCharacter> key, V value, int condition, Object expected) {
+        this.checkWritable();
+        List<TrieCharacter> string = Trie.validateString(key);
+        if(value==null) {
+            throw new NullPointerException("Value cannot be null.");
+        }
+        if(string.isEmpty()) {
+            return NOT_FOUND;
+        }
+        while(true) {
+            INode<V> currentRoot = this.readRoot(false);
+            Object result = this.insert(currentRoot, null, string, 0, currentRoot.generation, value, condition, expected);
+            if(result!=RESTART) {
+                return result;
+            }
+        }
+    }
+
+    /**
+     * Recursively inserts a string below an indirection node.
+     * @param node The current indirection node.
+     * @param parent The parent of the current node or null for the root.
+     * @param string The string to be added.
+     * @param level The number of characters of the string consumed to reach the node.
+     * @param generation The generation of the root at the start of the operation.
+     * @param value The data of the string.
+     * @param condition The condition of the insertion.
+     * @param expected The expected data for the <tt>IF_VALUE</tt> condition.
+     * @return Returns the data of the string before the insertion, <tt>NOT_FOUND</tt> or <tt>RESTART</tt>.
+     */
+    private Object insert(INode<V> node, INode<V> parent, List<TrieCharacter> string, int level, Generation generation, V value, int condition, Object expected) {
+        MainNode<V> main = this.gcasRead(node);
+        if(!(main instanceof CNode)) {
+            // Node has been entombed by a removal
+            if(parent!=null) {
+                this.clean(parent, false, generation);
+            }
+            return RESTART;
+        }
+        CNode<V> cnode = (CNode<V>)main;
+        if(level==string.size()) {
+            Object previous = cnode.validity ? cnode.data : NOT_FOUND;
+            if(!ConcurrentTrie.satisfies(condition, previous, expected)) {
+                return previous;
+            }
+            return this.gcas(node, cnode, cnode.withData(value)) ? previous : RESTART;
+        }
+        TrieCharacter character = string.get(level);
+        int index = cnode.indexOf(character);
+        if(index < 0) {
+            if(!ConcurrentTrie.satisfies(condition, NOT_FOUND, expected)) {
+                return NOT_FOUND;
+            }
+            INode<V> chain = this.newChain(string, level+1, generation, value);
+            return this.gcas(node, cnode, cnode.withChild(character, chain)) ? NOT_FOUND : RESTART;
+        }
+        INode<V> child = cnode.children[index];
+        if(child.generation==generation) {
+            return this.insert(child, node, string, level+1, generation, value, condition, expected);
+        }
+        // Copying the children shared with a snapshot before modifying them
+        if(this.gcas(node, cnode, cnode.renewed(generation, this))) {
+            return this.insert(node, parent, string, level, generation, value, condition, expected);
+        }
+        return RESTART;
+    }
+
+    /**
+     * Validates the arguments of a removal and retries it until it is not restarted.
+     * @param key The string to be removed.
+     * @param condition The condition of the removal.
+     * @param expected The expected data for the <tt>IF_VALUE</tt> condition.
+     * @return Returns the data of the string before the removal or <tt>NOT_FOUND</tt>.
+     */
+    private Object delete(Object key, int condition, Object expected) {
+        this.checkWritable();
+        List<TrieCharacter> string = Trie.validateString(key);
+        if(string.isEmpty()) {
+            return NOT_FOUND;
+        }
+        while(true) {
+            INode<V> currentRoot = this.readRoot(false);
+            Object result = this.delete(currentRoot, null, string, 0, currentRoot.generation, condition, expected);
+            if(result!=RESTART) {
+                return result;
+            }
+        }
+    }
+
+    /**
+     * Recursively removes a string below an indirection node. Nodes left without data
+     * and children are entombed and removed from their parents on the way back up.
+     * @param node The current indirection node.
+     * @param parent The parent of the current node or null for the root.
+     * @param string The string to be removed.
+     * @param level The number of characters of the string consumed to reach the node.
+     * @param generation The generation of the root at the start of the operation.
+     * @param condition The condition of the removal.
+     * @param expected The expected data for the <tt>IF_VALUE</tt> condition.
+     * @return Returns the data of the string before the removal, <tt>NOT_FOUND</tt> or <tt>RESTART</tt>.
+     */
+    private Object delete(INode<V> node, INode<V> parent, List<TrieCharacter> string, int level, Generation generation, int condition, Object expected) {
+        MainNode<V> main = this.gcasRead(node);
+        if(!(main instanceof CNode)) {
+            if(parent!=null) {
+                this.clean(parent, false, generation);
+            }
+            return RESTART;
+        }
+        CNode<V> cnode = (CNode<V>)main;
+        if(level==string.size()) {
+            if(!cnode.validity) {
+                return NOT_FOUND;
+            }
+            Object previous = cnode.data;
+            if(!ConcurrentTrie.satisfies(condition, previous, expected)) {
+                return previous;
+            }
+            CNode<V> updated = cnode.withoutData();
+            MainNode<V> replacement = parent!=null && updated.children.length==0 ? new TNode<V>() : updated;
+            return this.gcas(node, cnode, replacement) ? previous : RESTART;
+        }
+        int index = cnode.indexOf(string.get(level));
+        if(index < 0) {
+            return NOT_FOUND;
+        }
+        INode<V> child = cnode.children[index];
+        if(child.generation==generation) {
+            Object result = this.delete(child, node, string, level+1, generation, condition, expected);
+            if(result!=RESTART && result!=NOT_FOUND && this.gcasRead(child) instanceof TNode) {
+                this.clean(node, parent!=null, generation);
+            }
+            return result;
+        }
+        if(this.gcas(node, cnode, cnode.renewed(generation, this))) {
+            return this.delete(node, parent, string, level, generation, condition, expected);
+        }
+        return RESTART;
+    }
+
+    /**
+     * Removes the entombed children of a node. A failure is ignored since the next
+     * operation reaching the entombed children will clean the node again.
+     * @param node The indirection node to be cleaned.
+     * @param entombable True if the node may itself be entombed when left empty.
+     * @param generation The generation of the root at the start of the operation.
+     */
+    private void clean(INode<V> node, boolean entombable, Generation generation) {
+        MainNode<V> main = this.gcasRead(node);
+        if(!(main instanceof CNode) || node.generation!=generation) {
+            return;
+        }
+        CNode<V> cnode = (CNode<V>)main;
+        CNode<V> compressed = cnode.withoutTombs(this);
+        if(compressed==cnode) {
+            return;
+        }
+        boolean empty = !compressed.validity && compressed.children.length==0;
+        this.gcas(node, cnode, entombable && empty ? new TNode<V>() : compressed);
+    }
+
+    /**
+     * Creates a chain of new indirection nodes for the characters of the string from the index.
+     * @param string The string to be added.
+     * @param startIndex The index of the first character below the returned node.
+     * @param generation The generation of the new nodes.
+     * @param value The data of the last node of the chain.
+     * @return Returns the first indirection node of the chain.
+     */
+    private INode<V> newChain(List<TrieCharacter> string, int startIndex, Generation generation, V value) {
+        INode<V> node = new INode<>(generation, CNode.<V>empty().withData(value));
+        for(int i=string.size()-1; i >= startIndex; i--) {
+            node = new INode<>(generation, CNode.<V>empty().withChild(string.get(i), node));
+        }
+        return node;
+    }
+
+    /**
+     * Checks if the condition of a modification is satisfied by the current data.
+     * @param condition The condition of the modification.
+     * @param previous The current data or <tt>NOT_FOUND</tt>.
+     * @param expected The expected data for the <tt>IF_VALUE</tt> condition.
+     * @return Returns true if the modification must be performed.
+     */
+    private static boolean satisfies(int condition, Object previous, Object expected) {
+        switch(condition) {
+            case IF_ABSENT:
+                return previous==NOT_FOUND;
+            case IF_PRESENT:
+                return previous!=NOT_FOUND;
+            case IF_VALUE:
+                return previous!=NOT_FOUND && previous.equals(expected);
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Converts the result of an operation to a value.
+     * @param result The result of the operation.
+     * @return Returns the value or null for <tt>NOT_FOUND</tt>.
+     */
+    @SuppressWarnings("unchecked")
+    private V toValue(Object result) {
+        return result==NOT_FOUND ? null : (V)result;
+    }
+
+    /**
+     * @throws UnsupportedOperationException Thrown when the trie is a read-only snapshot.
+     */
+    private void checkWritable() throws UnsupportedOperationException {
+        if(this.readOnly) {
+            throw new UnsupportedOperationException("Read-only snapshot cannot be modified.");
+        }
+    }
+
+    // Generation compare-and-set (GCAS)
+
+    /**
+     * Reads the main node of an indirection node, completing or rolling back a pending proposal.
+     * @param node The indirection node.
+     * @return Returns the committed main node.
+     */
+    private MainNode<V> gcasRead(INode<V> node) {
+        MainNode<V> main = node.main;
+        if(main.previous==null) {
+            return main;
+        }
+        return this.gcasComplete(node, main);
+    }
+
+    /**
+     * Proposes a new main node which is committed only if the generation of the root
+     * has not changed since the indirection node was created.
+     * @param node The indirection node.
+     * @param expected The current main node.
+     * @param updated The new main node.
+     * @return Returns true if the new main node was committed or false otherwise.
+     */
+    private boolean gcas(INode<V> node, MainNode<V> expected, MainNode<V> updated) {
+        updated.previous = expected;
+        if(node.casMain(expected, updated)) {
+            this.gcasComplete(node, updated);
+            return updated.previous==null;
+        }
+        return false;
+    }
+
+    /**
+     * Commits or rolls back the proposed main node of an indirection node.
+     * @param node The indirection node.
+     * @param main The proposed main node.
+     * @return Returns the main node of the indirection node after completion.
+     */
+    private MainNode<V> gcasComplete(INode<V> node, MainNode<V> main) {
+        while(main!=null) {
+            MainNode<V> previous = main.previous;
+            INode<V> currentRoot = this.readRoot(true);
+            if(previous==null) {
+                return main;
+            }
+            if(previous instanceof FailedNode) {
+                MainNode<V> restored = previous.previous;
+                if(node.casMain(main, restored)) {
+                    return restored;
+                }
+                main = node.main;
+            }
+            else if(currentRoot.generation==node.generation && !this.readOnly) {
+                if(main.casPrevious(previous, null)) {
+                    return main;
+                }
+            }
+            else {
+                main.casPrevious(previous, new FailedNode<>(previous));
+                main = node.main;
+            }
+        }
+        return null;
+    }
+
+    // Restricted double compare single swap (RDCSS) of the root
+
+    /**
+     * Reads the root indirection node, completing a pending root replacement if any.
+     * @param abort True if a pending replacement must be aborted rather than committed.
+     * @return Returns the root indirection node.
+     */
+    @SuppressWarnings("unchecked")
+    private INode<V> readRoot(boolean abort) {
+        Object currentRoot = this.root;
+        if(currentRoot instanceof INode) {
+            return (INode<V>)currentRoot;
+        }
+        return this.completeRootReplacement(abort);
+    }
+
+    /**
+     * Replaces the root only if the main node of the old root is still the expected one.
+     * @param oldRoot The current root indirection node.
+     * @param expectedMain The expected main node of the current root.
+     * @param newRoot The new root indirection node.
+     * @return Returns true if the root was replaced or false otherwise.
+     */
+    private boolean replaceRoot(INode<V> oldRoot, MainNode<V> expectedMain, INode<V> newRoot) {
+        RootDescriptor<V> descriptor = new RootDescriptor<>(oldRoot, expectedMain, newRoot);
+        if(ROOT_UPDATER.compareAndSet(this, oldRoot, descriptor)) {
+            this.completeRootReplacement(false);
+            return descriptor.committed;
+        }
+        return false;
+    }
+
+    /**
+     * Completes a pending root replacement.
+     * @param abort True if the replacement must be aborted rather than committed.
+     * @return Returns the root indirection node after completion.
+     */
+    @SuppressWarnings("unchecked")
+    private INode<V> completeRootReplacement(boolean abort) {
+        while(true) {
+            Object currentRoot = this.root;
+            if(currentRoot instanceof INode) {
+                return (INode<V>)currentRoot;
+            }
+            RootDescriptor<V> descriptor = (RootDescriptor<V>)currentRoot;
+            if(abort) {
+                if(ROOT_UPDATER.compareAndSet(this, descriptor, descriptor.oldRoot)) {
+                    return descriptor.oldRoot;
+                }
+            }
+            else if(this.gcasRead(descriptor.oldRoot)==descriptor.expectedMain) {
+                if(ROOT_UPDATER.compareAndSet(this, descriptor, descriptor.newRoot)) {
+                    descriptor.committed = true;
+                    return descriptor.newRoot;
+                }
+            }
+            else if(ROOT_UPDATER.compareAndSet(this, descriptor, descriptor.oldRoot)) {
+                return descriptor.oldRoot;
+            }
+        }
+    }
+
+    /**
+     * Functional interface for operations performed on the strings encountered during a traversal of a <tt>ConcurrentTrie</tt>.
+     * @param <V> Data class type.
+     */
+    private interface ConcurrentTraversalOperation<V> {
+        /**
+         * Invoked whenever a valid node is encountered.
+         * @param string The characters from the root to the valid node.
+         * @param data The data associated with the string.
+         * @return Returns true if further traversal is required or false otherwise.
+         */
+        boolean postOperation(List<TrieCharacter> string, V data);
+    }
+
+    /**
+     * Identity of a generation of indirection nodes.
+     */
+    private static final class Generation {
+    }
+
+    /**
+     * Indirection node whose main node is replaced on every modification.
+     * @param <V> Data class type.
+     */
+    private static final class INode<V> {
+
+        @SuppressWarnings("rawtypes")
+        private static final AtomicReferenceFieldUpdater<INode, MainNode> MAIN_UPDATER = AtomicReferenceFieldUpdater.newUpdater(INode.class, MainNode.class, "main");
+
+        final Generation generation;
+        volatile MainNode<V> main;
+
+        INode(Generation generation, MainNode<V> main) {
+            this.generation = generation;
+            this.main = main;
+        }
+
+        boolean casMain(MainNode<V> expected, MainNode<V> updated) {
+            return MAIN_UPDATER.compareAndSet(this, expected, updated);
+        }
+
+        /**
+         * Copies the node into another generation.
+         * @param generation The generation of the copy.
+         * @param trie The trie the node belongs to.
+         * @return Returns the copy of the node with the same main node.
+         */
+        INode<V> copyToGeneration(Generation generation, ConcurrentTrie<?, V> trie) {
+            return new INode<>(generation, trie.gcasRead(this));
+        }
+    }
+
+    /**
+     * Node pointed to by an indirection node. The previous node is set while a new main node is proposed.
+     * @param <V> Data class type.
+     */
+    private abstract static class MainNode<V> {
+
+        @SuppressWarnings("rawtypes")
+        private static final AtomicReferenceFieldUpdater<MainNode, MainNode> PREVIOUS_UPDATER = AtomicReferenceFieldUpdater.newUpdater(MainNode.class, MainNode.class, "previous");
+
+        volatile MainNode<V> previous;
+
+        boolean casPrevious(MainNode<V> expected, MainNode<V> updated) {
+            return PREVIOUS_UPDATER.compareAndSet(this, expected, updated);
+        }
+    }
+
+    /**
+     * Immutable node holding the data of a trie node and its children. The children
+     * are ordered by the hash code of their characters, which is binary-searched.
+     * @param <V> Data class type.
+     */
+    private static final class CNode<V> extends MainNode<V> {
+
+        private static final TrieCharacter[] NO_CHARACTERS = new TrieCharacter[0];
+        private static final INode<?>[] NO_CHILDREN = new INode<?>[0];
+        private static final int[] NO_HASHES = new int[0];
+
+        final TrieCharacter[] characters;
+        final INode<V>[] children;
+        final int[] hashes;
+        final boolean validity;
+        final V data;
+
+        CNode(TrieCharacter[] characters, INode<V>[] children, int[] hashes, boolean validity, V data) {
+            this.characters = characters;
+            this.children = children;
+            this.hashes = hashes;
+            this.validity = validity;
+            this.data = data;
+        }
+
+        @SuppressWarnings("unchecked")
+        static <V> CNode<V> empty() {
+            return new CNode<>(NO_CHARACTERS, (INode<V>[])NO_CHILDREN, NO_HASHES, false, null);
+        }
+
+        /**
+         * @param character The character of a child.
+         * @return Returns the index of the child or a negative number if absent.
+         */
+        int indexOf(TrieCharacter character) {
+            int hash = character.hashCode();
+            int index = Arrays.binarySearch(this.hashes, hash);
+            if(index < 0) {
+                return -1;
+            }
+            while(index > 0 && this.hashes[index-1]==hash) {
+                index--;
+            }
+            for(; index<this.hashes.length && this.hashes[index]==hash; index++) {
+                if(character.equals(this.characters[index])) {
+                    return index;
+                }
+            }
+            return -1;
+        }
+
+        CNode<V> withData(V data) {
+            return new CNode<>(this.characters, this.children, this.hashes, true, data);
+        }
+
+        CNode<V> withoutData() {
+            return new CNode<>(this.characters, this.children, this.hashes, false, null);
+        }
+
+        /**
+         * @param character The character of the new child.
+         * @param child The new child.
+         * @return Returns a copy of the node with the child inserted in hash order.
+         */
+        CNode<V> withChild(TrieCharacter character, INode<V> child) {
+            int hash = character.hashCode();
+            int index = 0;
+            while(index < this.hashes.length && this.hashes[index] <= hash) {
+                index++;
+            }
+            int length = this.hashes.length+1;
+            TrieCharacter[] characters = new TrieCharacter[length];
+            INode<V>[] children = Arrays.copyOf(this.children, length);
+            int[] hashes = new int[length];
+            System.arraycopy(this.characters, 0, characters, 0, index);
+            System.arraycopy(this.hashes, 0, hashes, 0, index);
+            System.arraycopy(this.characters, index, characters, index+1, length-index-1);
+            System.arraycopy(this.children, index, children, index+1, length-index-1);
+            System.arraycopy(this.hashes, index, hashes, index+1, length-index-1);
+            characters[index] = character;
+            children[index] = child;
+            hashes[index] = hash;
+            return new CNode<>(characters, children, hashes, this.validity, this.data);
+        }
+
+        /**
+         * @param generation The generation of the copies.
+         * @param trie The trie the node belongs to.
+         * @return Returns a copy of the node with all children copied into the generation.
+         */
+        CNode<V> renewed(Generation generation, ConcurrentTrie<?, V> trie) {
+            INode<V>[] children = Arrays.copyOf(this.children, this.children.length);
+            for(int i=0; i<children.length; i++) {
+                children[i] = children[i].copyToGeneration(generation, trie);
+            }
+            return new CNode<>(this.characters, children, this.hashes, this.validity, this.data);
+        }
+
+        /**
+         * @param trie The trie the node belongs to.
+         * @return Returns a copy of the node without its entombed children or the node itself if there are none.
+         */
+        CNode<V> withoutTombs(ConcurrentTrie<?, V> trie) {
+            int kept = 0;
+            boolean[] tombs = new boolean[this.children.length];
+            for(int i=0; i<this.children.length; i++) {
+                tombs[i] = trie.gcasRead(this.children[i]) instanceof TNode;
+                if(!tombs[i]) {
+                    kept++;
+                }
+            }
+            if(kept==this.children.length) {
+                return this;
+            }
+            TrieCharacter[] characters = new TrieCharacter[kept];
+            INode<V>[] children = Arrays.copyOf(this.children, kept);
+            int[] hashes = new int[kept];
+            int j = 0;
+            for(int i=0; i<this.children.length; i++) {
+                if(!tombs[i]) {
+                    characters[j] = this.characters[i];
+                    children[j] = this.children[i];
+                    hashes[j] = this.hashes[i];
+                    j++;
+                }
+            }
+            return new CNode<>(characters, children, hashes, this.validity, this.data);
+        }
+    }
+
+    /**
+     * Main node of an indirection node which has been left without data and children.
+     * @param <V> Data class type.
+     */
+    private static final class TNode<V> extends MainNode<V> {
+    }
+
+    /**
+     * Marker of a failed proposal which must be rolled back to the previous main node.
+     * @param <V> Data class type.
+     */
+    private static final class FailedNode<V> extends MainNode<V> {
+        FailedNode(MainNode<V> previous) {
+            this.previous = previous;
+        }
+    }
+
+    /**
+     * Descriptor of a pending replacement of the root.
+     * @param <V> Data class type.
+     */
+    private static final class RootDescriptor<V> {
+        final INode<V> oldRoot;
+        final MainNode<V> expectedMain;
+        final INode<V> newRoot;
+        volatile boolean committed;
+
+        RootDescriptor(INode<V> oldRoot, MainNode<V> expectedMain, INode<V> newRoot) {
+            this.oldRoot = oldRoot;
+            this.expectedMain = expectedMain;
+            this.newRoot = newRoot;
+        }
+    }
+}
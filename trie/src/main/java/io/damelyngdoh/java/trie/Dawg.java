@@ -0,0 +1,746 @@
+package io.damelyngdoh.java.trie;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * <p>
+ * Dawg class is a read-only map over a minimal directed acyclic word graph: a trie in
+ * which every set of equivalent subtrees, those accepting the same suffixes, is stored
+ * once. Common suffixes are therefore shared in the same way a <tt>Trie</tt> shares
+ * common prefixes. Equivalent states are merged through a register keyed by their
+ * signature, the validity and the characters and (already minimal) target states of
+ * their edges. The edges of a graph minimized from a trie are sorted by the hash codes of
+ * their characters, so the order in which the strings were added does not matter.
+ * </p>
+ * <p>
+ * Since a state may be reached by many strings, the data cannot be stored in the
+ * states. Instead every state counts the strings of its subtree, which makes the rank of
+ * a string in the depth-first order of the graph a minimal perfect hash computed while
+ * the string is searched, and the data is stored in an array indexed by the ranks. The
+ * graph is compiled into flat arrays of states and edges.
+ * </p>
+ *
+ * @param <T> The type of characters the graph will contain, must extends <tt>TrieCharacter</tt> class.
+ * @param <V> The type of data which the graph will contain.
+ *
+ * @author Dame Lyngdoh
+ * @since 1.0.0
+ * @see Trie#minimize()
+ */
+public class Dawg<T extends TrieCharacter, V> implements Map<List<TrieCharacter>, V> {
+
+    /**
+     * State of the root.
+     */
+    private static final int ROOT = 0;
+
+    /**
+     * Index of the first edge of every state, with one extra element for the end of the last state.
+     */
+    private final int[] firstEdge;
+    /**
+     * Characters of the edges.
+     */
+    private final TrieCharacter[] edgeCharacters;
+    /**
+     * Target states of the edges.
+     */
+    private final int[] edgeTargets;
+    /**
+     * Flags of the states which end a string.
+     */
+    private final BitSet validity;
+    /**
+     * Number of strings in the subtree of every state, including the state itself.
+     */
+    private final int[] counts;
+    /**
+     * The data of the strings indexed by their ranks.
+     */
+    private final Object[] data;
+
+    /**
+     * Compiles the minimized states into flat arrays, numbering the states in depth-first order.
+     * @param root The root state.
+     * @param data The data of the strings in the order of their ranks.
+     */
+    private Dawg(State root, Object[] data) {
+        Map<State, Integer> numbers = new IdentityHashMap<>();
+        List<State> states = new ArrayList<>();
+        List<State> pending = new ArrayList<>();
+        pending.add(root);
+        numbers.put(root, 0);
+        states.add(root);
+        int edgeCount = 0;
+        while(!pending.isEmpty()) {
+            State state = pending.remove(pending.size()-1);
+            edgeCount += state.size;
+            for(int i=state.size-1; i>=0; i--) {
+                if(!numbers.containsKey(state.children[i])) {
+                    numbers.put(state.children[i], states.size());
+                    states.add(state.children[i]);
+                    pending.add(state.children[i]);
+                }
+            }
+        }
+
+        this.firstEdge = new int[states.size()+1];
+        this.edgeCharacters = new TrieCharacter[edgeCount];
+        this.edgeTargets = new int[edgeCount];
+        this.validity = new BitSet(states.size());
+        this.counts = new int[states.size()];
+        int edge = 0;
+        for(int s=0; s<states.size(); s++) {
+            State state = states.get(s);
+            this.firstEdge[s] = edge;
+            if(state.valid) {
+                this.validity.set(s);
+            }
+            this.counts[s] = state.count;
+            for(int i=0; i<state.size; i++) {
+                this.edgeCharacters[edge] = state.characters[i];
+                this.edgeTargets[edge] = numbers.get(state.children[i]);
+                edge++;
+            }
+        }
+        this.firstEdge[states.size()] = edge;
+        this.data = data;
+    }
+
+    /**
+     * Creates a builder which adds strings in sorted order.
+     * @param <T> The type of characters of the graph.
+     * @param <V> The type of data of the graph.
+     * @return Returns a new builder.
+     */
+    public static <T extends TrieCharacter, V> Builder<T, V> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Minimizes the current nodes of a trie into a new graph. The trie is traversed once
+     * and every node is replaced by the registered equivalent of its state after its
+     * children, with the edges sorted into a canonical order. The data is
+     * placed at the ranks of the strings in a second traversal of the trie. Later
+     * modifications of the trie are not reflected in the returned graph.
+     * @param <T> The type of characters of the trie.
+     * @param <V> The type of data of the trie.
+     * @param trie The trie to be minimized.
+     * @return Returns the minimized graph.
+     * @throws NullPointerException Thrown when the trie is null.
+     */
+    public static <T extends TrieCharacter, V> Dawg<T, V> from(Trie<T, V> trie) throws NullPointerException {
+        if(trie==null) {
+            throw new NullPointerException("Trie cannot be null.");
+        }
+        final Map<State, State> register = new HashMap<>();
+        // States under construction of the nodes on the current path, by depth
+        final List<State> path = new ArrayList<>();
+        path.add(new State());
+        trie.traverse(new TrieVisitor<V>() {
+            @Override
+            public Action preVisit(TrieNode<V> node, int depth) {
+                State state = new State();
+                state.valid = node.isValid();
+                if(depth==path.size()) {
+                    path.add(state);
+                }
+                else {
+                    path.set(depth, state);
+                }
+                return Action.CONTINUE;
+            }
+
+            @Override
+            public boolean postVisit(TrieNode<V> node, int depth) {
+                path.get(depth-1).add(node.getCharacter(), Dawg.register(register, path.get(depth).sort()));
+                return true;
+            }
+        });
+        State root = Dawg.finish(path.get(0).sort());
+        final Dawg<T, V> dawg = new Dawg<>(root, new Object[root.count]);
+
+        // Following the nodes in the graph to place their data at the ranks of their strings
+        trie.traverse(new TrieVisitor<V>() {
+            // State and rank of the first string of the subtree of the nodes on the current path, by depth
+            private int[] states = new int[16];
+            private int[] ranks = new int[16];
+
+            @Override
+            public Action preVisit(TrieNode<V> node, int depth) {
+                if(depth==this.states.length) {
+                    this.states = Arrays.copyOf(this.states, depth*2);
+                    this.ranks = Arrays.copyOf(this.ranks, depth*2);
+                }
+                int state = this.states[depth-1];
+                int rank = this.ranks[depth-1] + (dawg.validity.get(state) ? 1 : 0);
+                int edge = dawg.firstEdge[state];
+                while(!dawg.edgeCharacters[edge].equals(node.getCharacter())) {
+                    rank += dawg.counts[dawg.edgeTargets[edge]];
+                    edge++;
+                }
+                this.states[depth] = dawg.edgeTargets[edge];
+                this.ranks[depth] = rank;
+                if(node.isValid()) {
+                    dawg.data[rank] = node.getData();
+                }
+                return Action.CONTINUE;
+            }
+        });
+        return dawg;
+    }
+
+    /**
+     * Returns the number of strings in the graph.
+     * @return Returns the number of strings in the graph.
+     */
+    @Override
+    public int size() {
+        return this.data.length;
+    }
+
+    /**
+     * Returns true if the graph is empty or false if otherwise.
+     * @return Returns true if the graph is empty or false if otherwise.
+     */
+    @Override
+    public boolean isEmpty() {
+        return this.data.length==0;
+    }
+
+    /**
+     * Gets the number of states of the graph, including the root.
+     * @return Returns the number of states.
+     */
+    public int getStateCount() {
+        return this.counts.length;
+    }
+
+    /**
+     * Gets the number of edges of the graph.
+     * @return Returns the number of edges.
+     */
+    public int getEdgeCount() {
+        return this.edgeTargets.length;
+    }
+
+    /**
+     * Gets the rank of a string in the depth-first order of the graph, which is a minimal
+     * perfect hash of the strings of the graph.
+     * @param key The string to be searched.
+     * @return Returns the rank from 0 to <tt>size() - 1</tt> or -1 if the string is absent.
+     * @throws ClassCastException Thrown when the object is not an instance of <tt>List</tt> or when one of the elements in the list is not an instance of <tt>TrieCharacter</tt>
+     * @throws IllegalArgumentException Thrown when one of the elements of the list is null.
+     * @throws NullPointerException Thrown when the argument is null.
+     */
+    public int indexOf(List<TrieCharacter> key) throws IllegalArgumentException, ClassCastException, NullPointerException {
+        List<TrieCharacter> string = Trie.validateString(key);
+        if(string.isEmpty()) {
+            return -1;
+        }
+        int state = ROOT, rank = 0;
+        for(int i=0; i<string.size(); i++) {
+            // Strings ending at the state and below the preceding edges come first
+            if(this.validity.get(state)) {
+                rank++;
+            }
+            int edge = this.firstEdge[state], end = this.firstEdge[state+1];
+            while(edge < end && !this.edgeCharacters[edge].equals(string.get(i))) {
+                rank += this.counts[this.edgeTargets[edge]];
+                edge++;
+            }
+            if(edge==end) {
+                return -1;
+            }
+            state = this.edgeTargets[edge];
+        }
+        return this.validity.get(state) ? rank : -1;
+    }
+
+    /**
+     * Checks if a string is present in the graph or not.
+     * @param key The list of characters (or string) to be searched.
+     * @return Returns true if the string is found or false otherwise.
+     * @throws ClassCastException Thrown when the object is not an instance of <tt>List</tt> or when one of the elements in the list is not an instance of <tt>TrieCharacter</tt>
+     * @throws IllegalArgumentException Thrown when one of the elements of the list is null.
+     * @throws NullPointerException Thrown when the argument is null.
+     */
+    @Override
+    public boolean containsKey(Object key) throws IllegalArgumentException, ClassCastException, NullPointerException {
+        return this.indexOf(Trie.validateString(key)) >= 0;
+    }
+
+    /**
+     * Checks to see if the value is present in the graph.
+     * @return Returns true if the value is found or false otherwise.
+     */
+    @Override
+    public boolean containsValue(Object value) {
+        for(Object data : this.data) {
+            if(Objects.equals(data, value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the value/data associated with the string key.
+     * @param key The string to be searched.
+     * @return Returns the value associated with the key or <tt>null</tt> if the string is not found.
+     * @throws ClassCastException Thrown when the object is not an instance of <tt>List</tt> or when one of the elements in the list is not an instance of <tt>TrieCharacter</tt>
+     * @throws IllegalArgumentException Thrown when one of the elements of the list is null.
+     * @throws NullPointerException Thrown when the argument is null.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) throws ClassCastException, IllegalArgumentException, NullPointerException {
+        int rank = this.indexOf(Trie.validateString(key));
+        return rank < 0 ? null : (V)this.data[rank];
+    }
+
+    /**
+     * Checks if any string in the graph starts with the prefix.
+     * @param prefix The prefix to be searched.
+     * @return Returns true if a string with the prefix is present or false otherwise.
+     * @throws ClassCastException Thrown when the object is not an instance of <tt>List</tt> or when one of the elements in the list is not an instance of <tt>TrieCharacter</tt>
+     * @throws IllegalArgumentException Thrown when one of the elements of the list is null.
+     * @throws NullPointerException Thrown when the argument is null.
+     */
+    public boolean containsPrefix(List<TrieCharacter> prefix) throws IllegalArgumentException, ClassCastException, NullPointerException {
+        List<TrieCharacter> string = Trie.validateString(prefix);
+        if(string.isEmpty()) {
+            return this.data.length > 0;
+        }
+        // Every state other than the root is on the path of at least one string
+        return this.findState(string) >= 0;
+    }
+
+    /**
+     * Gets all the entries of the strings which start with the prefix.
+     * @param prefix The prefix of the strings.
+     * @return Returns a map of the strings starting with the prefix to their data.
+     * @throws ClassCastException Thrown when the object is not an instance of <tt>List</tt> or when one of the elements in the list is not an instance of <tt>TrieCharacter</tt>
+     * @throws IllegalArgumentException Thrown when one of the elements of the list is null.
+     * @throws NullPointerException Thrown when the argument is null.
+     */
+    public Map<List<TrieCharacter>, V> prefixMap(List<TrieCharacter> prefix) throws IllegalArgumentException, ClassCastException, NullPointerException {
+        List<TrieCharacter> string = Trie.validateString(prefix);
+        final Map<List<TrieCharacter>, V> entries = new HashMap<>();
+        if(string.isEmpty()) {
+            this.DFT(ROOT, 0, new ArrayList<>(), (List<TrieCharacter> key, V data) -> entries.put(new ArrayList<>(key), data));
+            return entries;
+        }
+        int state = this.findState(string);
+        if(state >= 0) {
+            this.DFT(state, this.rankOfState(string), new ArrayList<>(string), (List<TrieCharacter> key, V data) -> entries.put(new ArrayList<>(key), data));
+        }
+        return entries;
+    }
+
+    /**
+     * This operation is not supported since the graph is read-only.
+     * @throws UnsupportedOperationException Always thrown.
+     */
+    @Override
+    public V put(List<TrieCharacter> key, V value) throws UnsupportedOperationException {
+        throw new UnsupportedOperationException("Dawg is read-only.");
+    }
+
+    /**
+     * This operation is not supported since the graph is read-only.
+     * @throws UnsupportedOperationException Always thrown.
+     */
+    @Override
+    public V remove(Object key) throws UnsupportedOperationException {
+        throw new UnsupportedOperationException("Dawg is read-only.");
+    }
+
+    /**
+     * This operation is not supported since the graph is read-only.
+     * @throws UnsupportedOperationException Always thrown.
+     */
+    @Override
+    public void putAll(Map<? extends List<TrieCharacter>, ? extends V> m) throws UnsupportedOperationException {
+        throw new UnsupportedOperationException("Dawg is read-only.");
+    }
+
+    /**
+     * This operation is not supported since the graph is read-only.
+     * @throws UnsupportedOperationException Always thrown.
+     */
+    @Override
+    public void clear() throws UnsupportedOperationException {
+        throw new UnsupportedOperationException("Dawg is read-only.");
+    }
+
+    /**
+     * Gets the set of all distinct strings (or keys) in the graph.
+     * @return Returns the <tt>Set</tt> object containing all the strings within the graph.
+     */
+    @Override
+    public Set<List<TrieCharacter>> keySet() {
+        final Set<List<TrieCharacter>> keySet = new HashSet<>();
+        this.DFT(ROOT, 0, new ArrayList<>(), (List<TrieCharacter> key, V data) -> keySet.add(new ArrayList<>(key)));
+        return keySet;
+    }
+
+    /**
+     * Gets a collection of all the values or data assocaited with any string within the graph.
+     * @return Returns a <tt>Collection</tt> of all the values in the order of the ranks of their strings.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Collection<V> values() {
+        return new ArrayList<>((List<V>)Arrays.asList(this.data));
+    }
+
+    /**
+     * Gets a set of all the <tt>Entry</tt> objects or entries in the graph.
+     * @return Returns a <tt>Set</tt> of all possible <tt>Entry</tt> objects.
+     * @see Entry
+     */
+    @Override
+    public Set<Entry<List<TrieCharacter>, V>> entrySet() {
+        final Set<Entry<List<TrieCharacter>, V>> entrySet = new HashSet<>();
+        this.DFT(ROOT, 0, new ArrayList<>(), (List<TrieCharacter> key, V data) -> entrySet.add(new AbstractMap.SimpleEntry<>(new ArrayList<>(key), data)));
+        return entrySet;
+    }
+
+    /**
+     * Follows the characters of a string from the root.
+     * @param string The non-empty string to be searched.
+     * @return Returns the state reached after the last character or -1 if an edge is absent.
+     */
+    private int findState(List<TrieCharacter> string) {
+        int state = ROOT;
+        for(int i=0; i<string.size() && state >= 0; i++) {
+            int next = -1;
+            for(int edge=this.firstEdge[state]; edge<this.firstEdge[state+1]; edge++) {
+                if(this.edgeCharacters[edge].equals(string.get(i))) {
+                    next = this.edgeTargets[edge];
+                    break;
+                }
+            }
+            state = next;
+        }
+        return state;
+    }
+
+    /**
+     * Gets the rank of the first string below the state of a present prefix.
+     * @param string The prefix.
+     * @return Returns the number of strings ranked before the subtree of the prefix.
+     */
+    private int rankOfState(List<TrieCharacter> string) {
+        int state = ROOT, rank = 0;
+        for(int i=0; i<string.size(); i++) {
+            if(this.validity.get(state)) {
+                rank++;
+            }
+            int edge = this.firstEdge[state];
+            while(!this.edgeCharacters[edge].equals(string.get(i))) {
+                rank += this.counts[this.edgeTargets[edge]];
+                edge++;
+            }
+            state = this.edgeTargets[edge];
+        }
+        return rank;
+    }
+
+    /**
+     * Traverses the states below a state depth-first and calls operation method whenever a
+     * valid state is encountered. The traversal keeps the states of the current path, the
+     * index of their next edge and the rank of the first string below that edge on
+     * explicit stacks, so the depth of the graph is not limited by the call stack.
+     * @param state The state whose subtree is traversed.
+     * @param rank The rank of the first string of the subtree of the state.
+     * @param string The characters of the edges from the root to the state (in order).
+     * @param operation The method to be called when the current state is valid.
+     */
+    @SuppressWarnings("unchecked")
+    private void DFT(int state, int rank, List<TrieCharacter> string, DawgTraversalOperation<V> operation) {
+        if(this.validity.get(state)) {
+            operation.postOperation(string, (V)this.data[rank]);
+            rank++;
+        }
+        int[] states = new int[16];
+        int[] edges = new int[16];
+        int[] ranks = new int[16];
+        int depth = 0;
+        states[0] = state;
+        edges[0] = this.firstEdge[state];
+        ranks[0] = rank;
+        while(depth >= 0) {
+            int edge = edges[depth];
+            if(edge==this.firstEdge[states[depth]+1]) {
+                // Subtree of states[depth] has been traversed
+                if(depth-- > 0) {
+                    string.remove(string.size()-1);
+                }
+                continue;
+            }
+            int target = this.edgeTargets[edge];
+            int targetRank = ranks[depth];
+            edges[depth] = edge+1;
+            ranks[depth] = targetRank+this.counts[target];
+            string.add(this.edgeCharacters[edge]);
+            if(this.validity.get(target)) {
+                operation.postOperation(string, (V)this.data[targetRank++]);
+            }
+            if(++depth==states.length) {
+                states = Arrays.copyOf(states, states.length*2);
+                edges = Arrays.copyOf(edges, edges.length*2);
+                ranks = Arrays.copyOf(ranks, ranks.length*2);
+            }
+            states[depth] = target;
+            edges[depth] = this.firstEdge[target];
+            ranks[depth] = targetRank;
+        }
+    }
+
+    /**
+     * Replaces a finished state by its registered equivalent or registers it.
+     * @param register The register of the minimized states.
+     * @param state The state whose children are all registered.
+     * @return Returns the registered state.
+     */
+    private static State register(Map<State, State> register, State state) {
+        State equivalent = register.get(Dawg.finish(state));
+        if(equivalent!=null) {
+            return equivalent;
+        }
+        register.put(state, state);
+        return state;
+    }
+
+    /**
+     * Trims the edges of a state and counts the strings of its subtree.
+     * @param state The state whose children are all registered.
+     * @return Returns the state.
+     */
+    private static State finish(State state) {
+        state.characters = Arrays.copyOf(state.characters, state.size);
+        state.children = Arrays.copyOf(state.children, state.size);
+        state.count = state.valid ? 1 : 0;
+        for(State child : state.children) {
+            state.count += child.count;
+        }
+        return state;
+    }
+
+    /**
+     * A state of the graph under construction. Once registered a state is immutable, and
+     * its signature compares the target states of its edges by identity since they are
+     * registered themselves. The signature compares the edges in order, so the edges of
+     * states minimized from a trie are sorted into a canonical order first.
+     */
+    private static final class State {
+
+        private boolean valid;
+        private TrieCharacter[] characters = new TrieCharacter[2];
+        private State[] children = new State[2];
+        private int size;
+        private int count;
+
+        private void add(TrieCharacter character, State child) {
+            if(this.size==this.children.length) {
+                this.characters = Arrays.copyOf(this.characters, this.size*2);
+                this.children = Arrays.copyOf(this.children, this.size*2);
+            }
+            this.characters[this.size] = character;
+            this.children[this.size++] = child;
+        }
+
+        /**
+         * Sorts the edges by the hash codes of their characters and then by the identity hash
+         * codes of their registered target states, which is the same order for equivalent
+         * states unless two of their characters and two of their targets collide.
+         * @return Returns the state.
+         */
+        private State sort() {
+            Integer[] order = new Integer[this.size];
+            for(int i=0; i<this.size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> {
+                int compare = Integer.compare(this.characters[a].hashCode(), this.characters[b].hashCode());
+                return compare!=0 ? compare : Integer.compare(System.identityHashCode(this.children[a]), System.identityHashCode(this.children[b]));
+            });
+            TrieCharacter[] characters = new TrieCharacter[this.size];
+            State[] children = new State[this.size];
+            for(int i=0; i<this.size; i++) {
+                characters[i] = this.characters[order[i]];
+                children[i] = this.children[order[i]];
+            }
+            this.characters = characters;
+            this.children = children;
+            return this;
+        }
+
+        /**
+         * @return Returns the index of the edge of the character or -1 if absent.
+         */
+        private int indexOf(TrieCharacter character) {
+            for(int i=0; i<this.size; i++) {
+                if(this.characters[i].equals(character)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if(!(o instanceof State)) {
+                return false;
+            }
+            State other = (State)o;
+            if(this.valid!=other.valid || this.size!=other.size) {
+                return false;
+            }
+            for(int i=0; i<this.size; i++) {
+                if(this.children[i]!=other.children[i] || !this.characters[i].equals(other.characters[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = this.valid ? 1 : 0;
+            for(int i=0; i<this.size; i++) {
+                hash = 31*hash + this.characters[i].hashCode();
+                hash = 31*hash + System.identityHashCode(this.children[i]);
+            }
+            return hash;
+        }
+    }
+
+    /**
+     * Builder of a graph from strings added in sorted order, minimizing the graph as the
+     * strings are added. When a string diverges from the previous one, the states of the
+     * previous string below the common prefix can no longer change and are replaced by
+     * their registered equivalents, so the graph under construction never holds more
+     * than the minimal graph and the path of the last string.
+     * <p>
+     * The strings must be added in a depth-first order of some ordering of the characters,
+     * such as lexicographic order: strings sharing a prefix must be adjacent and a string
+     * must not be added after a string which it is a proper prefix of.
+     * </p>
+     * @param <T> The type of characters of the graph.
+     * @param <V> The type of data of the graph.
+     */
+    public static final class Builder<T extends TrieCharacter, V> {
+
+        private final Map<State, State> register = new HashMap<>();
+        private final List<V> data = new ArrayList<>();
+        /**
+         * The previous string.
+         */
+        private List<TrieCharacter> previous = new ArrayList<>();
+        /**
+         * States of the previous string, from the root to its last character.
+         */
+        private final List<State> path = new ArrayList<>();
+        private boolean built;
+
+        private Builder() {
+            this.path.add(new State());
+        }
+
+        /**
+         * Adds a string with its associated data. Adding the previous string again replaces its data.
+         * @param key The string to be added.
+         * @param value The data of the string.
+         * @return Returns this builder.
+         * @throws ClassCastException Thrown when the object is not an instance of <tt>List</tt> or when one of the elements in the list is not an instance of <tt>TrieCharacter</tt>
+         * @throws IllegalArgumentException Thrown when one of the elements of the list is null or the string is out of order.
+         * @throws NullPointerException Thrown when the argument is null.
+         * @throws IllegalStateException Thrown when the graph has already been built.
+         */
+        public Builder<T, V> add(List<TrieCharacter> key, V value) throws IllegalArgumentException, ClassCastException, NullPointerException, IllegalStateException {
+            if(this.built) {
+                throw new IllegalStateException("Graph has already been built.");
+            }
+            List<TrieCharacter> string = Trie.validateString(key);
+            if(string.isEmpty()) {
+                return this;
+            }
+            int common = 0, limit = Math.min(this.previous.size(), string.size());
+            while(common < limit && this.previous.get(common).equals(string.get(common))) {
+                common++;
+            }
+            if(common==string.size()) {
+                if(common==this.previous.size()) {
+                    this.data.set(this.data.size()-1, value);
+                    return this;
+                }
+                throw new IllegalArgumentException("String added after a string it is a prefix of.");
+            }
+            if(this.path.get(common).indexOf(string.get(common)) >= 0) {
+                throw new IllegalArgumentException("Strings sharing a prefix are not adjacent.");
+            }
+            this.minimize(common);
+
+            State state = this.path.get(common);
+            for(int i=common; i<string.size(); i++) {
+                State child = new State();
+                state.add(string.get(i), child);
+                this.path.add(child);
+                state = child;
+            }
+            state.valid = true;
+            this.data.add(value);
+            this.previous = new ArrayList<>(string);
+            return this;
+        }
+
+        /**
+         * Minimizes the remaining states and compiles the graph. No more strings can be added afterwards.
+         * @return Returns the graph.
+         */
+        public Dawg<T, V> build() {
+            this.minimize(0);
+            this.built = true;
+            return new Dawg<>(Dawg.finish(this.path.get(0)), this.data.toArray());
+        }
+
+        /**
+         * Replaces the states of the path below a depth by their registered equivalents.
+         * @param depth The number of characters of the path to be kept mutable.
+         */
+        private void minimize(int depth) {
+            for(int i=this.path.size()-1; i > depth; i--) {
+                State parent = this.path.get(i-1);
+                parent.children[parent.size-1] = Dawg.register(this.register, this.path.remove(i));
+            }
+        }
+    }
+
+    /**
+     * Functional interface for operations performed on the strings encountered during a traversal of a <tt>Dawg</tt>.
+     * @param <V> Data class type.
+     */
+    private interface DawgTraversalOperation<V> {
+        /**
+         * Invoked whenever a valid state is encountered.
+         * @param string The characters from the root to the valid state.
+         * @param data The data associated with the string.
+         */
+        void postOperation(List<TrieCharacter> string, V data);
+    }
+}
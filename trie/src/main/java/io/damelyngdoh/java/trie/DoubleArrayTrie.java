@@ -0,0 +1,621 @@
+package io.damelyngdoh.java.trie;
+
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * <p>
+ * DoubleArrayTrie class is a frozen, read-only Trie compiled from a <tt>Trie</tt>
+ * object into two integer arrays, <tt>base</tt> and <tt>check</tt>. Every node of the
+ * source trie becomes a state (an index of the arrays) and every distinct character
+ * is given a dense code from 1 to the size of the alphabet. The transition from state
+ * <tt>s</tt> with the character of code <tt>c</tt> leads to state <tt>t = base[s] + c</tt>
+ * which exists only when <tt>check[t] == s</tt>.
+ * </p>
+ * <p>
+ * Searches are therefore one alphabet lookup and one array comparison per character
+ * with no node objects or child maps. The trie is a snapshot of the source trie at the
+ * time of compilation and all methods which modify the map throw
+ * <tt>UnsupportedOperationException</tt>.
+ * </p>
+ *
+ * @param <T> The type of characters the trie will contain, must extends <tt>TrieCharacter</tt> class.
+ * @param <V> The type of data which the trie will contain.
+ *
+ * @author Dame Lyngdoh
+ * @since 1.0.0
+ * @see Trie#freeze()
+ */
+public class DoubleArrayTrie<T extends TrieCharacter, V> implements Map<List<TrieCharacter>, V> {
+
+    /**
+     * Value of <tt>check</tt> for states which are not in use.
+     */
+    private static final int FREE = -1;
+    /**
+     * State of the root.
+     */
+    private static final int ROOT = 0;
+    /**
+     * Number of failed searches after which a free state is no longer tried as the state of the smallest code.
+     */
+    private static final int MAX_TRIALS = 16;
+
+    /**
+     * Map of the characters to their dense codes starting from 1.
+     */
+    private final Map<TrieCharacter, Integer> alphabet;
+    /**
+     * The characters indexed by their codes.
+     */
+    private final TrieCharacter[] characters;
+    /**
+     * Offsets of the children states of every state.
+     */
+    private final int[] base;
+    /**
+     * Parent state of every state or <tt>FREE</tt> if the state is not in use.
+     */
+    private final int[] check;
+    /**
+     * First child state of every state or <tt>ROOT</tt> if the state has no children.
+     */
+    private final int[] firstChild;
+    /**
+     * Next sibling state of every state or <tt>ROOT</tt> if the state is the last child.
+     */
+    private final int[] nextSibling;
+    /**
+     * The data of the valid states.
+     */
+    private final Object[] data;
+    /**
+     * Flags of the valid states.
+     */
+    private final BitSet validity;
+    /**
+     * Number of strings in the trie.
+     */
+    private final int stringCount;
+
+    /**
+     * Compiles a trie into a new DoubleArrayTrie object.
+     * @param trie The trie to be compiled.
+     */
+    private DoubleArrayTrie(Trie<T, V> trie) {
+        // Assigning dense codes to the characters in the order they are first encountered
+        this.alphabet = new HashMap<>();
+        List<TrieCharacter> characterList = new ArrayList<>();
+        characterList.add(null);
+        Deque<TrieNode<V>> pending = new ArrayDeque<>(trie.getRootMap().values());
+        while(!pending.isEmpty()) {
+            TrieNode<V> node = pending.pop();
+            if(!this.alphabet.containsKey(node.getCharacter())) {
+                this.alphabet.put(node.getCharacter(), characterList.size());
+                characterList.add(node.getCharacter());
+            }
+            pending.addAll(node.getAllChildren());
+        }
+        this.characters = characterList.toArray(new TrieCharacter[0]);
+
+        Builder<V> builder = new Builder<>(this.alphabet, trie.size()+this.characters.length);
+        builder.build(trie.getRootMap().values());
+        this.base = Arrays.copyOf(builder.base, builder.size);
+        this.check = Arrays.copyOf(builder.check, builder.size);
+        this.data = Arrays.copyOf(builder.data, builder.size);
+        this.validity = builder.validity;
+        this.stringCount = this.validity.cardinality();
+
+        // Linking the children of every state, so traversals visit only the codes in use
+        this.firstChild = new int[this.check.length];
+        this.nextSibling = new int[this.check.length];
+        for(int state=this.check.length-1; state>ROOT; state--) {
+            if(this.check[state]!=FREE) {
+                this.nextSibling[state] = this.firstChild[this.check[state]];
+                this.firstChild[this.check[state]] = state;
+            }
+        }
+    }
+
+    /**
+     * Compiles the current nodes of a trie into a new DoubleArrayTrie object. Later
+     * modifications of the trie are not reflected in the returned object.
+     * @param <T> The type of characters of the trie.
+     * @param <V> The type of data of the trie.
+     * @param trie The trie to be compiled.
+     * @return Returns the compiled trie.
+     * @throws NullPointerException Thrown when the trie is null.
+     */
+    public static <T extends TrieCharacter, V> DoubleArrayTrie<T, V> from(Trie<T, V> trie) throws NullPointerException {
+        if(trie==null) {
+            throw new NullPointerException("Trie cannot be null.");
+        }
+        return new DoubleArrayTrie<>(trie);
+    }
+
+    /**
+     * Returns the number of strings in the trie.
+     * @return Returns the number of strings in the trie.
+     */
+    @Override
+    public int size() {
+        return this.stringCount;
+    }
+
+    /**
+     * Returns true if the trie is empty or false if otherwise.
+     * @return Returns true if the trie is empty or false if otherwise.
+     */
+    @Override
+    public boolean isEmpty() {
+        return this.stringCount==0;
+    }
+
+    /**
+     * Gets the number of states in use, including the root state.
+     * @return Returns the number of states.
+     */
+    public int getStateCount() {
+        int count = 0;
+        for(int i=0; i<this.check.length; i++) {
+            if(this.check[i]!=FREE) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Checks if a string is present in the trie or not.
+     * @param key The list of characters (or string) to be searched.
+     * @return Returns true if the string is found or false otherwise.
+     * @throws ClassCastException Thrown when the object is not an instance of <tt>List</tt> or when one of the elements in the list is not an instance of <tt>TrieCharacter</tt>
+     * @throws IllegalArgumentException Thrown when one of the elements of the list is null.
+     * @throws NullPointerException Thrown when the argument is null.
+     */
+    @Override
+    public boolean containsKey(Object key) throws IllegalArgumentException, ClassCastException, NullPointerException {
+        List<TrieCharacter> string = Trie.validateString(key);
+        if(string.isEmpty()) {
+            return false;
+        }
+        int state = this.findState(string);
+        return state!=FREE && this.validity.get(state);
+    }
+
+    /**
+     * Checks to see if the value is present in the trie.
+     * @return Returns true if the value is found or false otherwise.
+     */
+    @Override
+    public boolean containsValue(Object value) {
+        for(int state = this.validity.nextSetBit(0); state >= 0; state = this.validity.nextSetBit(state+1)) {
+            if(Objects.equals(this.data[state], value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the value/data associated with the string key.
+     * @param key The string to be searched.
+     * @return Returns the value associated with the key or <tt>null</tt> if the string is not found.
+     * @throws ClassCastException Thrown when the object is not an instance of <tt>List</tt> or when one of the elements in the list is not an instance of <tt>TrieCharacter</tt>
+     * @throws IllegalArgumentException Thrown when one of the elements of the list is null.
+     * @throws NullPointerException Thrown when the argument is null.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) throws ClassCastException, IllegalArgumentException, NullPointerException {
+        List<TrieCharacter> string = Trie.validateString(key);
+        if(string.isEmpty()) {
+            return null;
+        }
+        int state = this.findState(string);
+        if(state==FREE || !this.validity.get(state)) {
+            return null;
+        }
+        return (V)this.data[state];
+    }
+
+    /**
+     * Checks if any string in the trie starts with the prefix.
+     * @param prefix The prefix to be searched.
+     * @return Returns true if a string with the prefix is present or false otherwise.
+     * @throws ClassCastException Thrown when the object is not an instance of <tt>List</tt> or when one of the elements in the list is not an instance of <tt>TrieCharacter</tt>
+     * @throws IllegalArgumentException Thrown when one of the elements of the list is null.
+     * @throws NullPointerException Thrown when the argument is null.
+     */
+    public boolean containsPrefix(List<TrieCharacter> prefix) throws IllegalArgumentException, ClassCastException, NullPointerException {
+        List<TrieCharacter> string = Trie.validateString(prefix);
+        if(string.isEmpty()) {
+            return this.stringCount > 0;
+        }
+        // Every state other than the root is on the path of at least one string
+        return this.findState(string)!=FREE;
+    }
+
+    /**
+     * Gets all the entries of the strings which start with the prefix.
+     * @param prefix The prefix of the strings.
+     * @return Returns a map of the strings starting with the prefix to their data.
+     * @throws ClassCastException Thrown when the object is not an instance of <tt>List</tt> or when one of the elements in the list is not an instance of <tt>TrieCharacter</tt>
+     * @throws IllegalArgumentException Thrown when one of the elements of the list is null.
+     * @throws NullPointerException Thrown when the argument is null.
+     */
+    public Map<List<TrieCharacter>, V> prefixMap(List<TrieCharacter> prefix) throws IllegalArgumentException, ClassCastException, NullPointerException {
+        List<TrieCharacter> string = Trie.validateString(prefix);
+        final Map<List<TrieCharacter>, V> entries = new HashMap<>();
+        int state = string.isEmpty() ? ROOT : this.findState(string);
+        if(state!=FREE) {
+            this.DFT(state, new ArrayList<>(string), (List<TrieCharacter> key, V data) -> entries.put(new ArrayList<>(key), data));
+        }
+        return entries;
+    }
+
+    /**
+     * This operation is not supported since the trie is read-only.
+     * @throws UnsupportedOperationException Always thrown.
+     */
+    @Override
+    public V put(List<TrieCharacter> key, V value) throws UnsupportedOperationException {
+        throw new UnsupportedOperationException("DoubleArrayTrie is read-only.");
+    }
+
+    /**
+     * This operation is not supported since the trie is read-only.
+     * @throws UnsupportedOperationException Always thrown.
+     */
+    @Override
+    public V remove(Object key) throws UnsupportedOperationException {
+        throw new UnsupportedOperationException("DoubleArrayTrie is read-only.");
+    }
+
+    /**
+     * This operation is not supported since the trie is read-only.
+     * @throws UnsupportedOperationException Always thrown.
+     */
+    @Override
+    public void putAll(Map<? extends List<TrieCharacter>, ? extends V> m) throws UnsupportedOperationException {
+        throw new UnsupportedOperationException("DoubleArrayTrie is read-only.");
+    }
+
+    /**
+     * This operation is not supported since the trie is read-only.
+     * @throws UnsupportedOperationException Always thrown.
+     */
+    @Override
+    public void clear() throws UnsupportedOperationException {
+        throw new UnsupportedOperationException("DoubleArrayTrie is read-only.");
+    }
+
+    /**
+     * Gets the set of all distinct strings (or keys) in the trie.
+     * @return Returns the <tt>Set</tt> object containing all the strings within the trie.
+     */
+    @Override
+    public Set<List<TrieCharacter>> keySet() {
+        final Set<List<TrieCharacter>> keySet = new HashSet<>();
+        this.DFT(ROOT, new ArrayList<>(), (List<TrieCharacter> key, V data) -> keySet.add(new ArrayList<>(key)));
+        return keySet;
+    }
+
+    /**
+     * Gets a collection of all the values or data assocaited with any string within the trie.
+     * @return Returns a <tt>Collection</tt> of all the values.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Collection<V> values() {
+        final Collection<V> values = new ArrayList<>(this.stringCount);
+        for(int state = this.validity.nextSetBit(0); state >= 0; state = this.validity.nextSetBit(state+1)) {
+            values.add((V)this.data[state]);
+        }
+        return values;
+    }
+
+    /**
+     * Gets a set of all the <tt>Entry</tt> objects or entries in the trie.
+     * @return Returns a <tt>Set</tt> of all possible <tt>Entry</tt> objects.
+     * @see Entry
+     */
+    @Override
+    public Set<Entry<List<TrieCharacter>, V>> entrySet() {
+        final Set<Entry<List<TrieCharacter>, V>> entrySet = new HashSet<>();
+        this.DFT(ROOT, new ArrayList<>(), (List<TrieCharacter> key, V data) -> entrySet.add(new AbstractMap.SimpleEntry<>(new ArrayList<>(key), data)));
+        return entrySet;
+    }
+
+    /**
+     * Follows the transitions of the characters of a string from the root.
+     * @param string The non-empty string to be searched.
+     * @return Returns the state reached after the last character or <tt>FREE</tt> if a transition is absent.
+     */
+    private int findState(List<TrieCharacter> string) {
+        int state = ROOT;
+        for(int i=0; i<string.size(); i++) {
+            Integer code = this.alphabet.get(string.get(i));
+            if(code==null) {
+                return FREE;
+            }
+            int next = this.base[state]+code;
+            if(next >= this.check.length || this.check[next]!=state) {
+                return FREE;
+            }
+            state = next;
+        }
+        return state;
+    }
+
+    /**
+     * Traverses the states below a state depth-first and calls operation method whenever a
+     * valid state is encountered. Only the children linked to a state are visited rather
+     * than every code of the alphabet, and the states of the current path are kept on an
+     * explicit stack.
+     * @param state The state whose subtree is traversed.
+     * @param string The characters of the transitions from the root to the state (in order).
+     * @param operation The method to be called when the current state is valid.
+     */
+    @SuppressWarnings("unchecked")
+    private void DFT(int state, List<TrieCharacter> string, FrozenTraversalOperation<V> operation) {
+        if(state!=ROOT && this.validity.get(state)) {
+            operation.postOperation(string, (V)this.data[state]);
+        }
+        int[] path = new int[16];
+        int depth = 0;
+        path[0] = state;
+        int next = this.firstChild[state];
+        while(true) {
+            if(next!=ROOT) {
+                if(++depth==path.length) {
+                    path = Arrays.copyOf(path, path.length*2);
+                }
+                path[depth] = next;
+                string.add(this.characters[next-this.base[this.check[next]]]);
+                if(this.validity.get(next)) {
+                    operation.postOperation(string, (V)this.data[next]);
+                }
+                next = this.firstChild[next];
+            }
+            else if(depth==0) {
+                return;
+            }
+            else {
+                // Subtree of path[depth] has been traversed
+                string.remove(string.size()-1);
+                next = this.nextSibling[path[depth--]];
+            }
+        }
+    }
+
+    /**
+     * Functional interface for operations performed on the strings encountered during a traversal of a <tt>DoubleArrayTrie</tt>.
+     * @param <V> Data class type.
+     */
+    private interface FrozenTraversalOperation<V> {
+        /**
+         * Invoked whenever a valid state is encountered.
+         * @param string The characters from the root to the valid state.
+         * @param data The data associated with the string.
+         */
+        void postOperation(List<TrieCharacter> string, V data);
+    }
+
+    /**
+     * Places the nodes of a trie into the <tt>base</tt> and <tt>check</tt> arrays in
+     * breadth-first order, giving every node the first base offset at which all of its
+     * children fit into free states.
+     * @param <V> Data class type.
+     */
+    private static final class Builder<V> {
+
+        private final Map<TrieCharacter, Integer> alphabet;
+        private int[] base;
+        private int[] check;
+        private Object[] data;
+        private final BitSet validity = new BitSet();
+        /**
+         * One past the highest state in use.
+         */
+        private int size = 1;
+        /**
+         * Next state of every state in the list of candidate free states, <tt>ROOT</tt> for
+         * the last one or <tt>FREE</tt> if the state is not in the list.
+         */
+        private int[] nextFree;
+        /**
+         * Previous state of every state in the list of candidate free states or <tt>ROOT</tt> for the first one.
+         */
+        private int[] prevFree;
+        /**
+         * Number of failed searches which tried every candidate free state.
+         */
+        private byte[] trials;
+        /**
+         * The first state of the list of candidate free states or <tt>ROOT</tt> if the list is empty.
+         */
+        private int firstFree = 1;
+        /**
+         * The last state of the list of candidate free states or <tt>ROOT</tt> if the list is empty.
+         */
+        private int lastFree;
+
+        private Builder(Map<TrieCharacter, Integer> alphabet, int capacity) {
+            this.alphabet = alphabet;
+            this.base = new int[Math.max(capacity, 16)];
+            this.check = new int[this.base.length];
+            this.data = new Object[this.base.length];
+            this.nextFree = new int[this.base.length];
+            this.prevFree = new int[this.base.length];
+            this.trials = new byte[this.base.length];
+            Arrays.fill(this.check, FREE);
+            this.check[ROOT] = ROOT;
+            this.linkFree(1, this.base.length);
+        }
+
+        /**
+         * Places the root state and all the states below it.
+         * @param roots The nodes of the root-map of the trie.
+         */
+        private void build(Collection<TrieNode<V>> roots) {
+            Deque<Integer> states = new ArrayDeque<>();
+            Deque<Collection<TrieNode<V>>> pendingChildren = new ArrayDeque<>();
+            states.add(ROOT);
+            pendingChildren.add(roots);
+            while(!states.isEmpty()) {
+                int state = states.poll();
+                Collection<TrieNode<V>> children = pendingChildren.poll();
+                if(children.isEmpty()) {
+                    continue;
+                }
+
+                int[] codes = new int[children.size()];
+                int i = 0;
+                for(TrieNode<V> child : children) {
+                    codes[i++] = this.alphabet.get(child.getCharacter());
+                }
+                int offset = this.findBase(codes);
+                this.base[state] = offset;
+
+                for(TrieNode<V> child : children) {
+                    int next = offset+this.alphabet.get(child.getCharacter());
+                    this.use(next, state);
+                    if(child.isValid()) {
+                        this.data[next] = child.getData();
+                        this.validity.set(next);
+                    }
+                    this.size = Math.max(this.size, next+1);
+                    states.add(next);
+                    pendingChildren.add(child.getAllChildren());
+                }
+            }
+        }
+
+        /**
+         * Finds a base offset at which every code leads to a free state. Only the offsets
+         * placing the smallest code on a candidate free state are tried, so the used states
+         * are skipped. A candidate which failed <tt>MAX_TRIALS</tt> searches is removed from
+         * the list, so densely used regions are not walked again by every search; it stays
+         * free for the other codes.
+         * @param codes The codes of the characters of the children.
+         * @return Returns the base offset.
+         */
+        private int findBase(int[] codes) {
+            int minCode = Integer.MAX_VALUE, maxCode = 0;
+            for(int code : codes) {
+                minCode = Math.min(minCode, code);
+                maxCode = Math.max(maxCode, code);
+            }
+            int free = this.firstFree;
+            while(true) {
+                if(free==ROOT) {
+                    free = this.check.length;
+                    this.ensureCapacity(free+1);
+                }
+                int offset = free-minCode;
+                if(offset >= 1) {
+                    this.ensureCapacity(offset+maxCode+1);
+                    boolean fits = true;
+                    for(int code : codes) {
+                        if(this.check[offset+code]!=FREE) {
+                            fits = false;
+                            break;
+                        }
+                    }
+                    if(fits) {
+                        return offset;
+                    }
+                }
+                int next = this.nextFree[free];
+                if(offset >= 1 && ++this.trials[free] >= MAX_TRIALS) {
+                    this.unlink(free);
+                }
+                free = next;
+            }
+        }
+
+        /**
+         * Marks a free state as used and removes it from the list of candidate free states.
+         * @param state The free state.
+         * @param parent The parent state.
+         */
+        private void use(int state, int parent) {
+            this.check[state] = parent;
+            if(this.nextFree[state]!=FREE) {
+                this.unlink(state);
+            }
+        }
+
+        /**
+         * Removes a state from the list of candidate free states.
+         * @param state The state in the list.
+         */
+        private void unlink(int state) {
+            int prev = this.prevFree[state], next = this.nextFree[state];
+            if(prev!=ROOT) {
+                this.nextFree[prev] = next;
+            }
+            if(next!=ROOT) {
+                this.prevFree[next] = prev;
+            }
+            else {
+                this.lastFree = prev;
+            }
+            if(this.firstFree==state) {
+                this.firstFree = next;
+            }
+            this.nextFree[state] = FREE;
+        }
+
+        /**
+         * Appends a range of new free states to the list of candidate free states.
+         * @param from The first state of the range.
+         * @param to One past the last state of the range.
+         */
+        private void linkFree(int from, int to) {
+            for(int state=from; state<to; state++) {
+                this.prevFree[state] = state==from ? this.lastFree : state-1;
+                this.nextFree[state] = state+1==to ? ROOT : state+1;
+            }
+            if(this.lastFree!=ROOT) {
+                this.nextFree[this.lastFree] = from;
+            }
+            if(this.firstFree==ROOT) {
+                this.firstFree = from;
+            }
+            this.lastFree = to-1;
+        }
+
+        /**
+         * Grows the arrays to hold at least the capacity.
+         * @param capacity The required number of states.
+         */
+        private void ensureCapacity(int capacity) {
+            if(capacity <= this.check.length) {
+                return;
+            }
+            int length = Math.max(capacity, this.check.length*2);
+            int oldLength = this.check.length;
+            this.base = Arrays.copyOf(this.base, length);
+            this.check = Arrays.copyOf(this.check, length);
+            this.data = Arrays.copyOf(this.data, length);
+            this.nextFree = Arrays.copyOf(this.nextFree, length);
+            this.prevFree = Arrays.copyOf(this.prevFree, length);
+            this.trials = Arrays.copyOf(this.trials, length);
+            Arrays.fill(this.check, oldLength, length, FREE);
+            this.linkFree(oldLength, length);
+        }
+    }
+}
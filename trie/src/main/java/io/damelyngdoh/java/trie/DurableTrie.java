@@ -0,0 +1,962 @@
+package io.damelyngdoh.java.trie;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StreamCorruptedException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+/**
+ * <p>
+ * DurableTrie class is a thread-safe <tt>Trie</tt> whose modifications survive restarts.
+ * Every <tt>put</tt>, <tt>remove</tt> and <tt>clear</tt> is applied to the in-memory trie
+ * and appended as a compact record to a write-ahead log in a directory. Records are
+ * buffered in memory and written to the log file in batches, which are forced to disk
+ * when the number of unsynced records reaches the sync batch size or when the sync
+ * interval elapses. With a sync batch size of 1 every modification waits until its
+ * record is on disk, and concurrent writers waiting at the same time share a single
+ * force of the log (group commit).
+ * </p>
+ * <p>
+ * A checkpoint seals the current log segment and starts a new one, after which a
+ * background thread, separate from the thread of the timed syncs, loads the last snapshot, replays the sealed segments onto it, writes
+ * it as a fresh snapshot with a {@link TrieSerializer} and deletes the sealed segments.
+ * Writers are only blocked while the segment is switched. Opening a directory recovers
+ * the trie from the last snapshot and the segments of the log in order, discarding a
+ * record torn by a crash at the end of the last segment. A record whose checksum matches
+ * but which cannot be applied, for instance because the value codec fails, is not torn
+ * and the recovery fails instead of discarding it and the records after it. Replaying a segment which is
+ * already part of the snapshot leaves the trie unchanged, so a crash at any point of a
+ * checkpoint loses nothing.
+ * </p>
+ * <p>
+ * Each record is its length, a CRC-32 checksum and its body: the operation, the number
+ * of characters and their variable-length codes and, for additions, the data written by
+ * the value codec of the serializer.
+ * </p>
+ *
+ * @param <T> The type of characters the trie will contain, must extends <tt>TrieCharacter</tt> class.
+ * @param <V> The type of data which the trie will contain in its nodes.
+ *
+ * @author Dame Lyngdoh
+ * @since 1.0.0
+ * @see TrieSerializer
+ */
+public class DurableTrie<T extends TrieCharacter, V> implements Map<List<TrieCharacter>, V>, Closeable {
+
+    /**
+     * Name of the snapshot file.
+     */
+    static final String SNAPSHOT = "trie.snapshot";
+    /**
+     * Prefix of the names of the log segments, followed by their sequence numbers.
+     */
+    static final String LOG_PREFIX = "trie.log.";
+    /**
+     * Operations of the log records.
+     */
+    private static final int PUT = 1, PUT_NULL = 2, REMOVE = 3, CLEAR = 4;
+    /**
+     * Size of the buffered records above which they are written to the log file.
+     */
+    private static final int WRITE_THRESHOLD = 1 << 16;
+
+    /**
+     * The directory of the snapshot and the log.
+     */
+    private final Path directory;
+    /**
+     * The serializer of the snapshots and of the data of the records.
+     */
+    private final TrieSerializer<V> serializer;
+    /**
+     * Number of unsynced records at which the log is forced to disk.
+     */
+    private final int syncBatch;
+    /**
+     * Number of records between automatic checkpoints or 0 to disable them.
+     */
+    private final long checkpointRecords;
+    /**
+     * The in-memory trie.
+     */
+    private final Trie<T, V> trie;
+    /**
+     * Lock of the trie and the record buffer.
+     */
+    private final ReentrantReadWriteLock lock;
+    /**
+     * Monitor of the log file, held while writing and forcing it or switching segments.
+     */
+    private final Object logMonitor;
+    /**
+     * Thread of the timed syncs.
+     */
+    private final ScheduledExecutorService background;
+    /**
+     * Thread of the checkpoints, separate so a long compaction does not delay the timed syncs.
+     */
+    private final ExecutorService checkpointer;
+
+    /**
+     * Records appended since the buffer was last written, guarded by the write lock.
+     */
+    private ByteArrayOutputStream pending;
+    /**
+     * Scratch buffer of the body of a record, guarded by the write lock.
+     */
+    private final ByteArrayOutputStream body;
+    /**
+     * Sequence number of the last appended record, guarded by the write lock.
+     */
+    private long appended;
+    /**
+     * Sequence number of the last record forced to disk, guarded by the log monitor.
+     */
+    private volatile long synced;
+    /**
+     * Number of records appended since the last checkpoint, guarded by the write lock.
+     */
+    private long sinceCheckpoint;
+    /**
+     * The current log segment, guarded by the log monitor.
+     */
+    private FileChannel log;
+    /**
+     * Sequence number of the current log segment, guarded by the log monitor.
+     */
+    private long segment;
+    /**
+     * Flag indicating if a checkpoint is running in the background.
+     */
+    private volatile boolean checkpointing;
+    /**
+     * First failure to write the log, after which modifications are refused.
+     */
+    private volatile IOException failure;
+    /**
+     * Failure of the last background checkpoint or null if it succeeded.
+     */
+    private volatile IOException checkpointFailure;
+    /**
+     * Flag indicating if the trie has been closed.
+     */
+    private volatile boolean closed;
+
+    /**
+     * Opens the trie in a directory, recovering it from the snapshot and the log.
+     */
+    private DurableTrie(Path directory, TrieSerializer<V> serializer, int syncBatch, long syncIntervalMillis, long checkpointRecords) throws IOException {
+        this.directory = directory;
+        this.serializer = serializer;
+        this.syncBatch = syncBatch;
+        this.checkpointRecords = checkpointRecords;
+        this.lock = new ReentrantReadWriteLock();
+        this.logMonitor = new Object();
+        this.pending = new ByteArrayOutputStream();
+        this.body = new ByteArrayOutputStream();
+
+        Files.createDirectories(directory);
+        List<Long> segments = this.listSegments();
+        this.trie = this.loadSnapshot();
+        for(int i=0; i<segments.size(); i++) {
+            DurableTrie.replay(this.segmentPath(segments.get(i)), this.trie, serializer, i==segments.size()-1);
+        }
+        this.segment = segments.isEmpty() ? 1 : segments.get(segments.size()-1);
+        this.log = this.openSegment(this.segment);
+
+        this.background = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "DurableTrie sync " + directory);
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.checkpointer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "DurableTrie checkpoint " + directory);
+            thread.setDaemon(true);
+            return thread;
+        });
+        if(syncIntervalMillis > 0) {
+            this.background.scheduleWithFixedDelay(() -> {
+                try {
+                    this.sync();
+                }
+                catch(IOException e) {
+                    // Recorded as the failure of the trie and reported to the writers
+                }
+            }, syncIntervalMillis, syncIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Opens or creates a durable trie in a directory, forcing the log to disk every 1024
+     * records and every second, without automatic checkpoints.
+     * @param <T> The type of characters of the trie.
+     * @param <V> The type of data of the trie.
+     * @param directory The directory of the snapshot and the log.
+     * @param serializer The serializer of the characters and the data.
+     * @return Returns the recovered trie.
+     * @throws IOException Thrown when the snapshot or the log cannot be read or the log cannot be opened.
+     * @throws NullPointerException Thrown when the directory or the serializer is null.
+     */
+    public static <T extends TrieCharacter, V> DurableTrie<T, V> open(Path directory, TrieSerializer<V> serializer) throws IOException, NullPointerException {
+        return DurableTrie.open(directory, serializer, 1024, 1000, 0);
+    }
+
+    /**
+     * Opens or creates a durable trie in a directory.
+     * @param <T> The type of characters of the trie.
+     * @param <V> The type of data of the trie.
+     * @param directory The directory of the snapshot and the log.
+     * @param serializer The serializer of the characters and the data.
+     * @param syncBatch The number of unsynced records at which the log is forced to disk, 1 to make every modification wait for its record to be on disk.
+     * @param syncIntervalMillis The interval in milliseconds at which the log is forced to disk or 0 to disable timed syncs.
+     * @param checkpointRecords The number of records after which a checkpoint is started or 0 to disable automatic checkpoints.
+     * @return Returns the recovered trie.
+     * @throws IllegalArgumentException Thrown when the sync batch size is not positive or the interval or number of records is negative.
+     * @throws IOException Thrown when the snapshot or the log cannot be read or the log cannot be opened.
+     * @throws NullPointerException Thrown when the directory or the serializer is null.
+     */
+    public static <T extends TrieCharacter, V> DurableTrie<T, V> open(Path directory, TrieSerializer<V> serializer, int syncBatch, long syncIntervalMillis, long checkpointRecords) throws IllegalArgumentException, IOException, NullPointerException {
+        if(directory==null || serializer==null) {
+            throw new NullPointerException("Directory and serializer cannot be null.");
+        }
+        if(syncBatch <= 0 || syncIntervalMillis < 0 || checkpointRecords < 0) {
+            throw new IllegalArgumentException("Sync batch must be positive and intervals cannot be negative.");
+        }
+        return new DurableTrie<>(directory, serializer, syncBatch, syncIntervalMillis, checkpointRecords);
+    }
+
+    /**
+     * Returns the number of strings in the trie.
+     * @return Returns the number of strings in the trie.
+     */
+    @Override
+    public int size() {
+        Lock readLock = this.lock.readLock();
+        readLock.lock();
+        try {
+            return this.trie.size();
+        }
+        finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Returns true if the trie is empty or false if otherwise.
+     * @return Returns true if the trie is empty or false if otherwise.
+     */
+    @Override
+    public boolean isEmpty() {
+        return this.size()==0;
+    }
+
+    /**
+     * Checks if a string is present in the trie or not.
+     * @param key The list of characters (or string) to be searched.
+     * @return Returns true if the string is found or false otherwise.
+     * @throws ClassCastException Thrown when the object is not an instance of <tt>List</tt> or when one of the elements in the list is not an instance of <tt>TrieCharacter</tt>
+     * @throws IllegalArgumentException Thrown when one of the elements of the list is null.
+     * @throws NullPointerException Thrown when the argument is null.
+     */
+    @Override
+    public boolean containsKey(Object key) throws IllegalArgumentException, ClassCastException, NullPointerException {
+        Lock readLock = this.lock.readLock();
+        readLock.lock();
+        try {
+            return this.trie.containsKey(key);
+        }
+        finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Checks to see if the value is present in the trie.
+     * @return Returns true if the value is found or false otherwise.
+     */
+    @Override
+    public boolean containsValue(Object value) {
+        Lock readLock = this.lock.readLock();
+        readLock.lock();
+        try {
+            return this.trie.containsValue(value);
+        }
+        finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Gets the value/data associated with the string key.
+     * @param key The string to be searched.
+     * @return Returns the value associated with the key or <tt>null</tt> if the string is not found.
+     * @throws ClassCastException Thrown when the object is not an instance of <tt>List</tt> or when one of the elements in the list is not an instance of <tt>TrieCharacter</tt>
+     * @throws IllegalArgumentException Thrown when one of the elements of the list is null.
+     * @throws NullPointerException Thrown when the argument is null.
+     */
+    @Override
+    public V get(Object key) throws ClassCastException, IllegalArgumentException, NullPointerException {
+        Lock readLock = this.lock.readLock();
+        readLock.lock();
+        try {
+            return this.trie.get(key);
+        }
+        finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Adds a string with its associated data and logs the addition.
+     * @param key The string to be added to the trie.
+     * @param value The data/value to be mapped to the string.
+     * @return Returns the value returned by {@link Trie#put(List, Object)}.
+     * @throws ClassCastException Thrown when the object is not an instance of <tt>List</tt> or when one of the elements in the list is not an instance of <tt>TrieCharacter</tt>
+     * @throws IllegalArgumentException Thrown when one of the elements of the list is null.
+     * @throws NullPointerException Thrown when the argument is null.
+     * @throws IllegalStateException Thrown when the trie is closed.
+     * @throws UncheckedIOException Thrown when the log cannot be written.
+     */
+    @Override
+    public V put(List<TrieCharacter> key, V value) throws IllegalArgumentException, ClassCastException, NullPointerException, IllegalStateException, UncheckedIOException {
+        List<TrieCharacter> string = Trie.validateString(key);
+        if(string.isEmpty()) {
+            return null;
+        }
+        long sequence;
+        V result;
+        Lock writeLock = this.lock.writeLock();
+        writeLock.lock();
+        try {
+            sequence = this.append(value==null ? PUT_NULL : PUT, string, value);
+            result = this.trie.put(string, value);
+        }
+        finally {
+            writeLock.unlock();
+        }
+        this.afterAppend(sequence);
+        return result;
+    }
+
+    /**
+     * Removes a string from the trie and logs the removal.
+     * @param key The string to be removed.
+     * @return Returns the data associated with the string if the string was present in the trie or null if absent.
+     * @throws ClassCastException Thrown when the object is not an instance of <tt>List</tt> or when one of the elements in the list is not an instance of <tt>TrieCharacter</tt>
+     * @throws IllegalArgumentException Thrown when one of the elements of the list is null.
+     * @throws NullPointerException Thrown when the argument is null.
+     * @throws IllegalStateException Thrown when the trie is closed.
+     * @throws UncheckedIOException Thrown when the log cannot be written.
+     */
+    @Override
+    public V remove(Object key) throws ClassCastException, IllegalArgumentException, NullPointerException, IllegalStateException, UncheckedIOException {
+        List<TrieCharacter> string = Trie.validateString(key);
+        long sequence;
+        V result;
+        Lock writeLock = this.lock.writeLock();
+        writeLock.lock();
+        try {
+            if(!this.trie.containsKey(string)) {
+                return null;
+            }
+            sequence = this.append(REMOVE, string, null);
+            result = this.trie.remove(string);
+        }
+        finally {
+            writeLock.unlock();
+        }
+        this.afterAppend(sequence);
+        return result;
+    }
+
+    /**
+     * Adds all the strings of a map, logging every addition.
+     * @param m The map of strings and their data.
+     * @throws ClassCastException Thrown when a string is not an instance of <tt>List</tt> or when one of the elements of the string is not an instance of <tt>TrieCharacter</tt>
+     * @throws IllegalArgumentException Thrown when a string contains a <tt>null</tt> character.
+     * @throws NullPointerException Thrown when the map or one of the strings is null.
+     * @throws IllegalStateException Thrown when the trie is closed.
+     * @throws UncheckedIOException Thrown when the log cannot be written.
+     */
+    @Override
+    public void putAll(Map<? extends List<TrieCharacter>, ? extends V> m) throws NullPointerException, ClassCastException, IllegalArgumentException, IllegalStateException, UncheckedIOException {
+        long sequence = 0;
+        Lock writeLock = this.lock.writeLock();
+        writeLock.lock();
+        try {
+            for(Entry<? extends List<TrieCharacter>, ? extends V> entry : m.entrySet()) {
+                List<TrieCharacter> string = Trie.validateString(entry.getKey());
+                if(!string.isEmpty()) {
+                    sequence = this.append(entry.getValue()==null ? PUT_NULL : PUT, string, entry.getValue());
+                    this.trie.put(string, entry.getValue());
+                }
+            }
+        }
+        finally {
+            writeLock.unlock();
+        }
+        if(sequence > 0) {
+            this.afterAppend(sequence);
+        }
+    }
+
+    /**
+     * Removes all the strings from the trie and logs the removal.
+     * @throws IllegalStateException Thrown when the trie is closed.
+     * @throws UncheckedIOException Thrown when the log cannot be written.
+     */
+    @Override
+    public void clear() throws IllegalStateException, UncheckedIOException {
+        long sequence;
+        Lock writeLock = this.lock.writeLock();
+        writeLock.lock();
+        try {
+            sequence = this.append(CLEAR, Collections.<TrieCharacter>emptyList(), null);
+            this.trie.clear();
+        }
+        finally {
+            writeLock.unlock();
+        }
+        this.afterAppend(sequence);
+    }
+
+    /**
+     * Gets a copy of the set of all distinct strings (or keys) in the trie.
+     * @return Returns the <tt>Set</tt> object containing all the strings within the trie.
+     */
+    @Override
+    public Set<List<TrieCharacter>> keySet() {
+        Lock readLock = this.lock.readLock();
+        readLock.lock();
+        try {
+            return new HashSet<>(this.trie.keySet());
+        }
+        finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Gets a copy of the collection of all the values or data assocaited with any string within the trie.
+     * @return Returns a <tt>Collection</tt> of all the values.
+     */
+    @Override
+    public Collection<V> values() {
+        Lock readLock = this.lock.readLock();
+        readLock.lock();
+        try {
+            return new ArrayList<>(this.trie.values());
+        }
+        finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Gets a copy of the set of all the <tt>Entry</tt> objects or entries in the trie.
+     * @return Returns a <tt>Set</tt> of all possible <tt>Entry</tt> objects.
+     * @see Entry
+     */
+    @Override
+    public Set<Entry<List<TrieCharacter>, V>> entrySet() {
+        Lock readLock = this.lock.readLock();
+        readLock.lock();
+        try {
+            Set<Entry<List<TrieCharacter>, V>> entrySet = new HashSet<>();
+            for(Entry<List<TrieCharacter>, V> entry : this.trie.entrySet()) {
+                entrySet.add(new AbstractMap.SimpleImmutableEntry<>(entry));
+            }
+            return entrySet;
+        }
+        finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Writes the buffered records to the log and forces them to disk. Concurrent callers
+     * are served by the single force of the first of them.
+     * @throws IOException Thrown when the log cannot be written.
+     */
+    public void sync() throws IOException {
+        long target;
+        Lock readLock = this.lock.readLock();
+        readLock.lock();
+        try {
+            target = this.appended;
+        }
+        finally {
+            readLock.unlock();
+        }
+        this.syncTo(target);
+    }
+
+    /**
+     * Seals the current log segment and writes a fresh snapshot in the background,
+     * unless a checkpoint is already running.
+     * @return Returns true if a checkpoint was started or false if one was already running.
+     * @throws IOException Thrown when the log cannot be written or the next segment cannot be created.
+     * @throws IllegalStateException Thrown when the trie is closed.
+     */
+    public boolean checkpoint() throws IOException, IllegalStateException {
+        final long sealed;
+        synchronized(this.logMonitor) {
+            if(this.checkpointing) {
+                return false;
+            }
+            this.checkOpen();
+            this.checkpointing = true;
+            try {
+                Lock writeLock = this.lock.writeLock();
+                writeLock.lock();
+                try {
+                    this.sinceCheckpoint = 0;
+                    this.writePending();
+                    this.log.force(false);
+                    this.synced = this.appended;
+                    sealed = this.segment;
+                    FileChannel next = this.openSegment(sealed+1);
+                    this.log.close();
+                    this.log = next;
+                    this.segment = sealed+1;
+                }
+                finally {
+                    writeLock.unlock();
+                }
+            }
+            catch(IOException | RuntimeException e) {
+                this.checkpointing = false;
+                throw e;
+            }
+        }
+        this.checkpointer.execute(() -> {
+            try {
+                this.compact(sealed);
+                this.checkpointFailure = null;
+            }
+            catch(IOException | RuntimeException e) {
+                // The sealed segments are kept and replayed by the next checkpoint or recovery
+                this.checkpointFailure = e instanceof IOException ? (IOException)e : new IOException(e);
+            }
+            finally {
+                this.checkpointing = false;
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Returns true if a checkpoint is running in the background or false otherwise.
+     * @return Returns true if a checkpoint is running.
+     */
+    public boolean isCheckpointing() {
+        return this.checkpointing;
+    }
+
+    /**
+     * Gets the failure of the last checkpoint which completed in the background. The
+     * sealed segments of a failed checkpoint are kept, so nothing is lost and the next
+     * checkpoint retries the compaction.
+     * @return Returns the exception thrown by the last checkpoint or null if it succeeded or none has completed.
+     */
+    public IOException getCheckpointFailure() {
+        return this.checkpointFailure;
+    }
+
+    /**
+     * Forces the buffered records to disk, waits for a running checkpoint and closes the log.
+     * @throws IOException Thrown when the log cannot be written or closed.
+     */
+    @Override
+    public void close() throws IOException {
+        if(this.closed) {
+            return;
+        }
+        try {
+            this.sync();
+        }
+        finally {
+            this.closed = true;
+            this.background.shutdown();
+            this.checkpointer.shutdown();
+            try {
+                this.background.awaitTermination(1, TimeUnit.MINUTES);
+                this.checkpointer.awaitTermination(1, TimeUnit.MINUTES);
+            }
+            catch(InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            synchronized(this.logMonitor) {
+                this.log.close();
+            }
+        }
+    }
+
+    /**
+     * Encodes a record into the pending buffer. Called with the write lock held.
+     * @return Returns the sequence number of the record.
+     */
+    private long append(int operation, List<TrieCharacter> string, V value) {
+        this.checkOpen();
+        try {
+            this.body.reset();
+            DataOutputStream out = new DataOutputStream(this.body);
+            out.writeByte(operation);
+            if(operation!=CLEAR) {
+                TrieSerializer.writeVarint(out, string.size());
+                for(TrieCharacter character : string) {
+                    TrieSerializer.writeVarint(out, this.serializer.getCharacterCodec().encode(character));
+                }
+            }
+            if(operation==PUT) {
+                this.serializer.getValueCodec().write(out, value);
+            }
+            CRC32 crc = new CRC32();
+            byte[] bytes = this.body.toByteArray();
+            crc.update(bytes, 0, bytes.length);
+            DataOutputStream record = new DataOutputStream(this.pending);
+            TrieSerializer.writeVarint(record, bytes.length);
+            record.writeInt((int)crc.getValue());
+            record.write(bytes);
+        }
+        catch(IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.sinceCheckpoint++;
+        return ++this.appended;
+    }
+
+    /**
+     * Writes or forces the log after a record was appended, according to the sync batch
+     * size, and starts an automatic checkpoint when it is due.
+     * @param sequence The sequence number of the record.
+     */
+    private void afterAppend(long sequence) throws UncheckedIOException {
+        try {
+            if(this.syncBatch==1 || sequence - this.synced >= this.syncBatch) {
+                this.syncTo(sequence);
+            }
+            else if(this.pending.size() >= WRITE_THRESHOLD) {
+                synchronized(this.logMonitor) {
+                    this.writeLocked();
+                }
+            }
+            if(this.checkpointRecords > 0 && this.sinceCheckpoint >= this.checkpointRecords && !this.checkpointing) {
+                this.checkpoint();
+            }
+        }
+        catch(IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Forces the log to disk up to a sequence number unless another caller already did.
+     * @param target The sequence number of the last record to be forced.
+     */
+    private void syncTo(long target) throws IOException {
+        if(this.synced >= target) {
+            return;
+        }
+        synchronized(this.logMonitor) {
+            if(this.synced >= target) {
+                return;
+            }
+            if(this.failure!=null) {
+                throw this.failure;
+            }
+            long written = this.writeLocked();
+            try {
+                this.log.force(false);
+            }
+            catch(IOException e) {
+                this.failure = e;
+                throw e;
+            }
+            this.synced = written;
+        }
+    }
+
+    /**
+     * Takes the pending records under the write lock and writes them to the log. Called
+     * with the log monitor held.
+     * @return Returns the sequence number of the last written record.
+     */
+    private long writeLocked() throws IOException {
+        ByteArrayOutputStream records;
+        long written;
+        Lock writeLock = this.lock.writeLock();
+        writeLock.lock();
+        try {
+            records = this.pending;
+            written = this.appended;
+            this.pending = new ByteArrayOutputStream(Math.max(32, records.size()));
+        }
+        finally {
+            writeLock.unlock();
+        }
+        this.write(records);
+        return written;
+    }
+
+    /**
+     * Writes the pending records to the log. Called with the log monitor and the write lock held.
+     */
+    private void writePending() throws IOException {
+        ByteArrayOutputStream records = this.pending;
+        this.pending = new ByteArrayOutputStream();
+        this.write(records);
+    }
+
+    private void write(ByteArrayOutputStream records) throws IOException {
+        if(records.size()==0) {
+            return;
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(records.toByteArray());
+            while(buffer.hasRemaining()) {
+                this.log.write(buffer);
+            }
+        }
+        catch(IOException e) {
+            this.failure = e;
+            throw e;
+        }
+    }
+
+    /**
+     * Writes a snapshot of the last snapshot with the sealed segments replayed onto it
+     * and deletes the sealed segments.
+     * @param sealed The sequence number of the last sealed segment.
+     */
+    private void compact(long sealed) throws IOException {
+        Trie<T, V> compacted = this.loadSnapshot();
+        List<Long> segments = this.listSegments();
+        for(long segment : segments) {
+            if(segment <= sealed) {
+                DurableTrie.replay(this.segmentPath(segment), compacted, this.serializer, false);
+            }
+        }
+        Path temporary = this.directory.resolve(SNAPSHOT + ".tmp");
+        try(FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            OutputStream out = Channels.newOutputStream(channel);
+            this.serializer.writeTo(compacted, out);
+            channel.force(true);
+        }
+        Files.move(temporary, this.directory.resolve(SNAPSHOT), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        this.forceDirectory();
+        for(long segment : segments) {
+            if(segment <= sealed) {
+                Files.deleteIfExists(this.segmentPath(segment));
+            }
+        }
+        this.forceDirectory();
+    }
+
+    /**
+     * Replays the records of a log segment onto a trie.
+     * @param path The path of the segment.
+     * @param trie The trie.
+     * @param serializer The serializer of the characters and the data.
+     * @param truncate True if a torn record at the end of the segment is to be cut off.
+     * @throws IOException Thrown when the segment cannot be read, a record is corrupt before the end of the segment or an intact record cannot be applied.
+     */
+    private static <V> void replay(Path path, Trie<?, V> trie, TrieSerializer<V> serializer, boolean truncate) throws IOException {
+        long valid = 0, size = Files.size(path);
+        try(InputStream stream = Files.newInputStream(path)) {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(stream, 1 << 16));
+            while(valid < size) {
+                byte[] bytes;
+                int crc;
+                try {
+                    int length = TrieSerializer.readVarint(in);
+                    // Every record has a body, and a zero-filled tail would pass the checksum of an empty body
+                    if(length <= 0 || length > size - valid - DurableTrie.varintSize(length) - 4) {
+                        break;
+                    }
+                    crc = in.readInt();
+                    bytes = new byte[length];
+                    in.readFully(bytes);
+                }
+                catch(EOFException | StreamCorruptedException e) {
+                    break;
+                }
+                CRC32 check = new CRC32();
+                check.update(bytes, 0, bytes.length);
+                if((int)check.getValue()!=crc) {
+                    break;
+                }
+                try {
+                    DurableTrie.apply(trie, serializer, new DataInputStream(new ByteArrayInputStream(bytes)));
+                }
+                catch(IOException | RuntimeException e) {
+                    // An intact record was written as it is, so it is corrupt rather than torn
+                    StreamCorruptedException corrupt = new StreamCorruptedException("Record at offset " + valid + " of log segment " + path + " cannot be applied.");
+                    corrupt.initCause(e);
+                    throw corrupt;
+                }
+                valid += DurableTrie.varintSize(bytes.length) + 4 + bytes.length;
+            }
+        }
+        if(valid < size) {
+            if(!truncate) {
+                throw new StreamCorruptedException("Corrupt record in sealed log segment " + path + ".");
+            }
+            try(FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                channel.truncate(valid);
+                channel.force(true);
+            }
+        }
+    }
+
+    /**
+     * Applies the body of a record to a trie.
+     */
+    private static <V> void apply(Trie<?, V> trie, TrieSerializer<V> serializer, DataInputStream in) throws IOException {
+        int operation = in.readUnsignedByte();
+        if(operation==CLEAR) {
+            trie.clear();
+            return;
+        }
+        int length = TrieSerializer.readVarint(in);
+        List<TrieCharacter> string = new ArrayList<>(length);
+        for(int i=0; i<length; i++) {
+            string.add(serializer.getCharacterCodec().decode(TrieSerializer.readVarint(in)));
+        }
+        switch(operation) {
+            case PUT:
+                trie.put(string, serializer.getValueCodec().read(in));
+                break;
+            case PUT_NULL:
+                trie.put(string, null);
+                break;
+            case REMOVE:
+                trie.remove(string);
+                break;
+            default:
+                throw new StreamCorruptedException("Unknown log record operation " + operation + ".");
+        }
+    }
+
+    private static int varintSize(int value) {
+        int size = 1;
+        while((value >>>= 7)!=0) {
+            size++;
+        }
+        return size;
+    }
+
+    private Trie<T, V> loadSnapshot() throws IOException {
+        Path snapshot = this.directory.resolve(SNAPSHOT);
+        if(!Files.exists(snapshot)) {
+            return new Trie<>();
+        }
+        try(InputStream in = Files.newInputStream(snapshot)) {
+            return this.serializer.readFrom(in);
+        }
+    }
+
+    /**
+     * @return Returns the sequence numbers of the log segments in increasing order.
+     */
+    private List<Long> listSegments() throws IOException {
+        List<Long> segments = new ArrayList<>();
+        try(DirectoryStream<Path> paths = Files.newDirectoryStream(this.directory, LOG_PREFIX + "*")) {
+            for(Path path : paths) {
+                try {
+                    segments.add(Long.parseLong(path.getFileName().toString().substring(LOG_PREFIX.length())));
+                }
+                catch(NumberFormatException e) {
+                    // Not a log segment
+                }
+            }
+        }
+        Collections.sort(segments);
+        return segments;
+    }
+
+    private Path segmentPath(long segment) {
+        return this.directory.resolve(LOG_PREFIX + segment);
+    }
+
+    /**
+     * Opens a log segment for appending, creating it if required. The directory is forced
+     * after the segment is created so the records forced to it survive a crash.
+     */
+    private FileChannel openSegment(long segment) throws IOException {
+        Path path = this.segmentPath(segment);
+        boolean created = !Files.exists(path);
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        if(created) {
+            try {
+                this.forceDirectory();
+            }
+            catch(IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        }
+        return channel;
+    }
+
+    /**
+     * Forces the entries of the directory to disk, so that created, renamed and deleted
+     * files survive a crash.
+     */
+    private void forceDirectory() throws IOException {
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(this.directory, StandardOpenOption.READ);
+        }
+        catch(IOException e) {
+            // Directories cannot be opened on some platforms, which make their entries durable themselves
+            return;
+        }
+        try {
+            channel.force(true);
+        }
+        finally {
+            channel.close();
+        }
+    }
+
+    private void checkOpen() throws IllegalStateException {
+        if(this.closed) {
+            throw new IllegalStateException("Trie is closed.");
+        }
+        if(this.failure!=null) {
+            throw new UncheckedIOException("Log could not be written.", this.failure);
+        }
+    }
+}
@@ -0,0 +1,444 @@
+package io.damelyngdoh.java.trie;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StreamCorruptedException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * <p>
+ * MappedTrie class is a read-only trie which queries the offset layout written by
+ * {@link TrieSerializer#writeMapped(Trie, java.io.OutputStream)} in place, usually from a
+ * file mapped into memory. Nodes are records of the buffer and their references are
+ * offsets, so opening the trie deserializes nothing, the garbage collector sees no
+ * node objects and processes mapping the same file share its pages.
+ * </p>
+ * <p>
+ * Searches encode every character of a string with the character codec and binary
+ * search the codes of the children in the record of the current node. Data is decoded
+ * by the value codec whenever it is returned. All methods which modify the map throw
+ * <tt>UnsupportedOperationException</tt>.
+ * </p>
+ *
+ * @param <T> The type of characters the trie will contain, must extends <tt>TrieCharacter</tt> class.
+ * @param <V> The type of data which the trie will contain.
+ *
+ * @author Dame Lyngdoh
+ * @since 1.0.0
+ * @see TrieSerializer#writeMapped(Trie, java.io.OutputStream)
+ */
+public class MappedTrie<T extends TrieCharacter, V> implements Map<List<TrieCharacter>, V> {
+
+    /**
+     * Offset returned by searches when a transition is absent.
+     */
+    private static final int ABSENT = -1;
+    /**
+     * Size of the header of the layout.
+     */
+    private static final int HEADER_SIZE = 12;
+
+    /**
+     * The buffer of the layout.
+     */
+    private final ByteBuffer buffer;
+    /**
+     * Codec of the characters.
+     */
+    private final TrieSerializer.CharacterCodec characterCodec;
+    /**
+     * Codec of the data.
+     */
+    private final TrieSerializer.ValueCodec<V> valueCodec;
+    /**
+     * Number of strings in the trie.
+     */
+    private final int stringCount;
+    /**
+     * Offset of the record of the root.
+     */
+    private final int root;
+
+    /**
+     * Validates the header of the layout.
+     * @param buffer The buffer of the layout.
+     * @param serializer The serializer holding the codecs.
+     * @throws IOException Thrown when the buffer does not hold the offset layout.
+     */
+    private MappedTrie(ByteBuffer buffer, TrieSerializer<V> serializer) throws IOException {
+        this.buffer = buffer;
+        this.characterCodec = serializer.getCharacterCodec();
+        this.valueCodec = serializer.getValueCodec();
+        int limit = buffer.limit();
+        if(limit < HEADER_SIZE+12 || buffer.getInt(0)!=TrieSerializer.MAGIC) {
+            throw new StreamCorruptedException("Not a trie snapshot.");
+        }
+        int version = buffer.get(4) & 0xFF;
+        if(version!=TrieSerializer.MAPPED_VERSION) {
+            throw new StreamCorruptedException("Unsupported mapped trie version " + version + ".");
+        }
+        this.stringCount = buffer.getInt(8);
+        this.root = buffer.getInt(limit-4);
+        if(this.root < HEADER_SIZE || this.root > limit-12 || this.root+8+8*this.childCount(this.root) != limit-4) {
+            throw new StreamCorruptedException("Malformed root record.");
+        }
+    }
+
+    /**
+     * Maps a file holding the offset layout into memory as a read-only trie. The mapping
+     * stays valid after the channel is closed.
+     * @param <T> The type of characters of the trie.
+     * @param <V> The type of data of the trie.
+     * @param channel The channel of the file.
+     * @param serializer The serializer holding the codecs the layout was written with.
+     * @return Returns the mapped trie.
+     * @throws IOException Thrown when the file cannot be mapped or does not hold the offset layout.
+     * @throws NullPointerException Thrown when the channel or the serializer is null.
+     */
+    public static <T extends TrieCharacter, V> MappedTrie<T, V> map(FileChannel channel, TrieSerializer<V> serializer) throws IOException, NullPointerException {
+        if(channel==null || serializer==null) {
+            throw new NullPointerException("Channel and serializer cannot be null.");
+        }
+        return new MappedTrie<>(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), serializer);
+    }
+
+    /**
+     * Wraps a buffer holding the offset layout, from index 0 to its limit, as a read-only
+     * trie. The buffer must not be modified afterwards.
+     * @param <T> The type of characters of the trie.
+     * @param <V> The type of data of the trie.
+     * @param buffer The buffer.
+     * @param serializer The serializer holding the codecs the layout was written with.
+     * @return Returns the trie.
+     * @throws IOException Thrown when the buffer does not hold the offset layout.
+     * @throws NullPointerException Thrown when the buffer or the serializer is null.
+     */
+    public static <T extends TrieCharacter, V> MappedTrie<T, V> wrap(ByteBuffer buffer, TrieSerializer<V> serializer) throws IOException, NullPointerException {
+        if(buffer==null || serializer==null) {
+            throw new NullPointerException("Buffer and serializer cannot be null.");
+        }
+        return new MappedTrie<>(buffer.duplicate(), serializer);
+    }
+
+    /**
+     * Returns the number of strings in the trie.
+     * @return Returns the number of strings in the trie.
+     */
+    @Override
+    public int size() {
+        return this.stringCount;
+    }
+
+    /**
+     * Returns true if the trie is empty or false if otherwise.
+     * @return Returns true if the trie is empty or false if otherwise.
+     */
+    @Override
+    public boolean isEmpty() {
+        return this.stringCount==0;
+    }
+
+    /**
+     * Checks if a string is present in the trie or not.
+     * @param key The list of characters (or string) to be searched.
+     * @return Returns true if the string is found or false otherwise.
+     * @throws ClassCastException Thrown when the object is not an instance of <tt>List</tt> or when one of the elements in the list is not an instance of <tt>TrieCharacter</tt>
+     * @throws IllegalArgumentException Thrown when one of the elements of the list is null.
+     * @throws NullPointerException Thrown when the argument is null.
+     */
+    @Override
+    public boolean containsKey(Object key) throws IllegalArgumentException, ClassCastException, NullPointerException {
+        List<TrieCharacter> string = Trie.validateString(key);
+        if(string.isEmpty()) {
+            return false;
+        }
+        int record = this.findRecord(string);
+        return record!=ABSENT && (this.buffer.getInt(record) & TrieSerializer.VALID)!=0;
+    }
+
+    /**
+     * Checks to see if the value is present in the trie. Every data of the trie is decoded.
+     * @return Returns true if the value is found or false otherwise.
+     */
+    @Override
+    public boolean containsValue(Object value) {
+        for(V data : this.values()) {
+            if(Objects.equals(data, value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the value/data associated with the string key.
+     * @param key The string to be searched.
+     * @return Returns the value associated with the key or <tt>null</tt> if the string is not found.
+     * @throws ClassCastException Thrown when the object is not an instance of <tt>List</tt> or when one of the elements in the list is not an instance of <tt>TrieCharacter</tt>
+     * @throws IllegalArgumentException Thrown when one of the elements of the list is null.
+     * @throws NullPointerException Thrown when the argument is null.
+     * @throws UncheckedIOException Thrown when the value codec fails.
+     */
+    @Override
+    public V get(Object key) throws ClassCastException, IllegalArgumentException, NullPointerException {
+        List<TrieCharacter> string = Trie.validateString(key);
+        if(string.isEmpty()) {
+            return null;
+        }
+        int record = this.findRecord(string);
+        return record==ABSENT ? null : this.dataOf(record);
+    }
+
+    /**
+     * Checks if any string in the trie starts with the prefix.
+     * @param prefix The prefix to be searched.
+     * @return Returns true if a string with the prefix is present or false otherwise.
+     * @throws ClassCastException Thrown when the object is not an instance of <tt>List</tt> or when one of the elements in the list is not an instance of <tt>TrieCharacter</tt>
+     * @throws IllegalArgumentException Thrown when one of the elements of the list is null.
+     * @throws NullPointerException Thrown when the argument is null.
+     */
+    public boolean containsPrefix(List<TrieCharacter> prefix) throws IllegalArgumentException, ClassCastException, NullPointerException {
+        List<TrieCharacter> string = Trie.validateString(prefix);
+        if(string.isEmpty()) {
+            return this.stringCount > 0;
+        }
+        // Every record other than the root is on the path of at least one string
+        return this.findRecord(string)!=ABSENT;
+    }
+
+    /**
+     * Gets all the entries of the strings which start with the prefix.
+     * @param prefix The prefix of the strings.
+     * @return Returns a map of the strings starting with the prefix to their data.
+     * @throws ClassCastException Thrown when the object is not an instance of <tt>List</tt> or when one of the elements in the list is not an instance of <tt>TrieCharacter</tt>
+     * @throws IllegalArgumentException Thrown when one of the elements of the list is null.
+     * @throws NullPointerException Thrown when the argument is null.
+     */
+    public Map<List<TrieCharacter>, V> prefixMap(List<TrieCharacter> prefix) throws IllegalArgumentException, ClassCastException, NullPointerException {
+        List<TrieCharacter> string = Trie.validateString(prefix);
+        final Map<List<TrieCharacter>, V> entries = new HashMap<>();
+        int record = string.isEmpty() ? this.root : this.findRecord(string);
+        if(record!=ABSENT) {
+            this.DFT(record, new ArrayList<>(string), (List<TrieCharacter> key, V data) -> entries.put(new ArrayList<>(key), data));
+        }
+        return entries;
+    }
+
+    /**
+     * This operation is not supported since the trie is read-only.
+     * @throws UnsupportedOperationException Always thrown.
+     */
+    @Override
+    public V put(List<TrieCharacter> key, V value) throws UnsupportedOperationException {
+        throw new UnsupportedOperationException("MappedTrie is read-only.");
+    }
+
+    /**
+     * This operation is not supported since the trie is read-only.
+     * @throws UnsupportedOperationException Always thrown.
+     */
+    @Override
+    public V remove(Object key) throws UnsupportedOperationException {
+        throw new UnsupportedOperationException("MappedTrie is read-only.");
+    }
+
+    /**
+     * This operation is not supported since the trie is read-only.
+     * @throws UnsupportedOperationException Always thrown.
+     */
+    @Override
+    public void putAll(Map<? extends List<TrieCharacter>, ? extends V> m) throws UnsupportedOperationException {
+        throw new UnsupportedOperationException("MappedTrie is read-only.");
+    }
+
+    /**
+     * This operation is not supported since the trie is read-only.
+     * @throws UnsupportedOperationException Always thrown.
+     */
+    @Override
+    public void clear() throws UnsupportedOperationException {
+        throw new UnsupportedOperationException("MappedTrie is read-only.");
+    }
+
+    /**
+     * Gets the set of all distinct strings (or keys) in the trie.
+     * @return Returns the <tt>Set</tt> object containing all the strings within the trie.
+     */
+    @Override
+    public Set<List<TrieCharacter>> keySet() {
+        final Set<List<TrieCharacter>> keySet = new HashSet<>();
+        this.DFT(this.root, new ArrayList<>(), (List<TrieCharacter> key, V data) -> keySet.add(new ArrayList<>(key)));
+        return keySet;
+    }
+
+    /**
+     * Gets a collection of all the values or data assocaited with any string within the trie.
+     * @return Returns a <tt>Collection</tt> of all the values.
+     */
+    @Override
+    public Collection<V> values() {
+        final Collection<V> values = new ArrayList<>(this.stringCount);
+        this.DFT(this.root, new ArrayList<>(), (List<TrieCharacter> key, V data) -> values.add(data));
+        return values;
+    }
+
+    /**
+     * Gets a set of all the <tt>Entry</tt> objects or entries in the trie.
+     * @return Returns a <tt>Set</tt> of all possible <tt>Entry</tt> objects.
+     * @see Entry
+     */
+    @Override
+    public Set<Entry<List<TrieCharacter>, V>> entrySet() {
+        final Set<Entry<List<TrieCharacter>, V>> entrySet = new HashSet<>();
+        this.DFT(this.root, new ArrayList<>(), (List<TrieCharacter> key, V data) -> entrySet.add(new AbstractMap.SimpleEntry<>(new ArrayList<>(key), data)));
+        return entrySet;
+    }
+
+    /**
+     * Follows the characters of a string from the root record.
+     * @param string The non-empty string to be searched.
+     * @return Returns the offset of the record reached after the last character or <tt>ABSENT</tt> if a child is absent.
+     */
+    private int findRecord(List<TrieCharacter> string) {
+        int record = this.root;
+        for(int i=0; i<string.size() && record!=ABSENT; i++) {
+            record = this.childOf(record, this.characterCodec.encode(string.get(i)));
+        }
+        return record;
+    }
+
+    /**
+     * Binary searches the codes of the children of a record.
+     * @param record The offset of the record.
+     * @param code The code of the character.
+     * @return Returns the offset of the record of the child or <tt>ABSENT</tt> if absent.
+     */
+    private int childOf(int record, int code) {
+        int low = 0, high = this.childCount(record)-1;
+        while(low <= high) {
+            int middle = (low+high) >>> 1;
+            int middleCode = this.buffer.getInt(record+8+8*middle);
+            if(middleCode < code) {
+                low = middle+1;
+            }
+            else if(middleCode > code) {
+                high = middle-1;
+            }
+            else {
+                return this.buffer.getInt(record+12+8*middle);
+            }
+        }
+        return ABSENT;
+    }
+
+    /**
+     * @param record The offset of the record.
+     * @return Returns the number of children of the record.
+     */
+    private int childCount(int record) {
+        return this.buffer.getInt(record) >>> TrieSerializer.FLAG_BITS;
+    }
+
+    /**
+     * Decodes the data of a record.
+     * @param record The offset of the record.
+     * @return Returns the data or null if the record is invalid or has no data.
+     * @throws UncheckedIOException Thrown when the value codec fails.
+     */
+    private V dataOf(int record) throws UncheckedIOException {
+        if((this.buffer.getInt(record) & TrieSerializer.HAS_DATA)==0) {
+            return null;
+        }
+        final ByteBuffer data = this.buffer.duplicate();
+        data.position(this.buffer.getInt(record+4));
+        try {
+            return this.valueCodec.read(new DataInputStream(new InputStream() {
+                @Override
+                public int read() {
+                    return data.hasRemaining() ? data.get() & 0xFF : -1;
+                }
+
+                @Override
+                public int read(byte[] bytes, int offset, int length) {
+                    if(!data.hasRemaining()) {
+                        return -1;
+                    }
+                    length = Math.min(length, data.remaining());
+                    data.get(bytes, offset, length);
+                    return length;
+                }
+            }));
+        }
+        catch(IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Traverses the records below a record depth-first and calls operation method whenever a
+     * valid record is encountered. The traversal keeps the records of the current path and
+     * the positions of their next children on explicit stacks, so the depth of the trie is
+     * not limited by the call stack.
+     * @param record The offset of the record whose subtree is traversed.
+     * @param string The characters of the records from the root to the record (in order).
+     * @param operation The method to be called when the current record is valid.
+     */
+    private void DFT(int record, List<TrieCharacter> string, MappedTraversalOperation<V> operation) {
+        if(record!=this.root && (this.buffer.getInt(record) & TrieSerializer.VALID)!=0) {
+            operation.postOperation(string, this.dataOf(record));
+        }
+        int[] records = new int[16];
+        int[] positions = new int[16];
+        int depth = 0;
+        records[0] = record;
+        while(depth >= 0) {
+            int current = records[depth];
+            int i = positions[depth];
+            if(i==this.childCount(current)) {
+                // Subtree of current has been traversed
+                if(depth-- > 0) {
+                    string.remove(string.size()-1);
+                }
+                continue;
+            }
+            positions[depth] = i+1;
+            int child = this.buffer.getInt(current+12+8*i);
+            string.add(this.characterCodec.decode(this.buffer.getInt(current+8+8*i)));
+            if((this.buffer.getInt(child) & TrieSerializer.VALID)!=0) {
+                operation.postOperation(string, this.dataOf(child));
+            }
+            if(++depth==records.length) {
+                records = Arrays.copyOf(records, records.length*2);
+                positions = Arrays.copyOf(positions, positions.length*2);
+            }
+            records[depth] = child;
+            positions[depth] = 0;
+        }
+    }
+
+    /**
+     * Functional interface for operations performed on the strings encountered during a traversal of a <tt>MappedTrie</tt>.
+     * @param <V> Data class type.
+     */
+    private interface MappedTraversalOperation<V> {
+        /**
+         * Invoked whenever a valid record is encountered.
+         * @param string The characters from the root to the valid record.
+         * @param data The data associated with the string.
+         */
+        void postOperation(List<TrieCharacter> string, V data);
+    }
+}
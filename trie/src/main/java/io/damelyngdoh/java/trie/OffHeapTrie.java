@@ -0,0 +1,601 @@
+package io.damelyngdoh.java.trie;
+
+import java.nio.ByteBuffer;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * <p>
+ * OffHeapTrie class is a mutable trie whose nodes are fixed-size records packed into
+ * direct <tt>ByteBuffer</tt> slabs outside of the Java heap. Every node is four integers:
+ * the code of its character, the index of its first child, the index of its next
+ * sibling and the slot of its data (or -1 if the node is invalid). The children of a
+ * node form a sibling list sorted by code. Characters are converted to codes by a
+ * {@link TrieSerializer.CharacterCodec} and the data stays on the heap in a side array
+ * indexed by the slots.
+ * </p>
+ * <p>
+ * Millions of strings therefore cost the garbage collector a handful of slab and array
+ * objects instead of one object per node. Nodes and slots freed by removals are kept
+ * on free-lists and reused by later additions. Searching a node scans its sibling list,
+ * so this trie suits alphabets where nodes have few children. The trie is not
+ * thread-safe.
+ * </p>
+ *
+ * @param <T> The type of characters the trie will contain, must extends <tt>TrieCharacter</tt> class.
+ * @param <V> The type of data which the trie will contain.
+ *
+ * @author Dame Lyngdoh
+ * @since 1.0.0
+ * @see Trie
+ */
+public class OffHeapTrie<T extends TrieCharacter, V> implements Map<List<TrieCharacter>, V> {
+
+    /**
+     * Index of the root node.
+     */
+    private static final int ROOT = 0;
+    /**
+     * Index standing for an absent node or slot.
+     */
+    private static final int NONE = -1;
+    /**
+     * Size of a node record in bytes.
+     */
+    private static final int NODE_SIZE = 16;
+    /**
+     * Offsets of the fields of a node record.
+     */
+    private static final int CODE = 0, FIRST_CHILD = 4, NEXT_SIBLING = 8, SLOT = 12;
+    /**
+     * Default number of bits of the index of a node within its slab.
+     */
+    private static final int DEFAULT_SLAB_BITS = 16;
+
+    /**
+     * Codec of the characters.
+     */
+    private final TrieSerializer.CharacterCodec codec;
+    /**
+     * Number of bits of the index of a node within its slab.
+     */
+    private final int slabBits;
+    /**
+     * The slabs of node records.
+     */
+    private ByteBuffer[] slabs;
+    /**
+     * One past the highest node index ever allocated.
+     */
+    private int nodeLimit;
+    /**
+     * Head of the list of freed nodes, chained through their next sibling fields.
+     */
+    private int freeNode;
+    /**
+     * Number of nodes in use, including the root.
+     */
+    private int nodeCount;
+    /**
+     * The data of the valid nodes indexed by their slots.
+     */
+    private Object[] values;
+    /**
+     * One past the highest slot ever allocated.
+     */
+    private int slotLimit;
+    /**
+     * Stack of freed slots.
+     */
+    private int[] freeSlots;
+    /**
+     * Number of freed slots.
+     */
+    private int freeSlotCount;
+    /**
+     * Number of strings in the trie.
+     */
+    private int stringCount;
+
+    /**
+     * Constructs an empty off-heap trie with slabs of 65536 nodes.
+     * @param codec The codec of the characters.
+     * @throws NullPointerException Thrown when the codec is null.
+     */
+    public OffHeapTrie(TrieSerializer.CharacterCodec codec) throws NullPointerException {
+        this(codec, DEFAULT_SLAB_BITS);
+    }
+
+    /**
+     * Constructs an empty off-heap trie.
+     * @param codec The codec of the characters.
+     * @param slabBits The number of bits of the index of a node within a slab, so that every slab holds <tt>2^slabBits</tt> nodes.
+     * @throws IllegalArgumentException Thrown when the number of bits is not between 4 and 26.
+     * @throws NullPointerException Thrown when the codec is null.
+     */
+    public OffHeapTrie(TrieSerializer.CharacterCodec codec, int slabBits) throws IllegalArgumentException, NullPointerException {
+        if(codec==null) {
+            throw new NullPointerException("Codec cannot be null.");
+        }
+        if(slabBits < 4 || slabBits > 26) {
+            throw new IllegalArgumentException("Slab bits must be between 4 and 26.");
+        }
+        this.codec = codec;
+        this.slabBits = slabBits;
+        this.clear();
+    }
+
+    /**
+     * Returns the number of strings in the trie.
+     * @return Returns the number of strings in the trie.
+     */
+    @Override
+    public int size() {
+        return this.stringCount;
+    }
+
+    /**
+     * Returns true if the trie is empty or false if otherwise.
+     * @return Returns true if the trie is empty or false if otherwise.
+     */
+    @Override
+    public boolean isEmpty() {
+        return this.stringCount==0;
+    }
+
+    /**
+     * Gets the number of nodes in use, including the root.
+     * @return Returns the number of nodes.
+     */
+    public int getNodeCount() {
+        return this.nodeCount;
+    }
+
+    /**
+     * Gets the number of bytes of the slabs allocated outside of the heap.
+     * @return Returns the number of off-heap bytes.
+     */
+    public long getOffHeapBytes() {
+        long bytes = 0;
+        for(ByteBuffer slab : this.slabs) {
+            bytes += slab==null ? 0 : slab.capacity();
+        }
+        return bytes;
+    }
+
+    /**
+     * Checks if a string is present in the trie or not.
+     * @param key The list of characters (or string) to be searched.
+     * @return Returns true if the string is found or false otherwise.
+     * @throws ClassCastException Thrown when the object is not an instance of <tt>List</tt> or when one of the elements in the list is not an instance of <tt>TrieCharacter</tt>
+     * @throws IllegalArgumentException Thrown when one of the elements of the list is null.
+     * @throws NullPointerException Thrown when the argument is null.
+     */
+    @Override
+    public boolean containsKey(Object key) throws IllegalArgumentException, ClassCastException, NullPointerException {
+        List<TrieCharacter> string = Trie.validateString(key);
+        if(string.isEmpty()) {
+            return false;
+        }
+        int node = this.findNode(string);
+        return node!=NONE && this.getInt(node, SLOT)!=NONE;
+    }
+
+    /**
+     * Checks to see if the value is present in the trie.
+     * @return Returns true if the value is found or false otherwise.
+     */
+    @Override
+    public boolean containsValue(Object value) {
+        for(V data : this.values()) {
+            if(Objects.equals(data, value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the value/data associated with the string key.
+     * @param key The string to be searched.
+     * @return Returns the value associated with the key or <tt>null</tt> if the string is not found.
+     * @throws ClassCastException Thrown when the object is not an instance of <tt>List</tt> or when one of the elements in the list is not an instance of <tt>TrieCharacter</tt>
+     * @throws IllegalArgumentException Thrown when one of the elements of the list is null.
+     * @throws NullPointerException Thrown when the argument is null.
+     */
+    @Override
+    public V get(Object key) throws ClassCastException, IllegalArgumentException, NullPointerException {
+        List<TrieCharacter> string = Trie.validateString(key);
+        if(string.isEmpty()) {
+            return null;
+        }
+        int node = this.findNode(string);
+        return node==NONE ? null : this.dataOf(node);
+    }
+
+    /**
+     * Adds a string with its associated data, replacing the data of a present string. An
+     * empty string is ignored.
+     * @param key The string to be added to the trie.
+     * @param value The data/value to be mapped to the string.
+     * @return Returns the previous data of the string or null if the string was absent.
+     * @throws ClassCastException Thrown when the object is not an instance of <tt>List</tt> or when one of the elements in the list is not an instance of <tt>TrieCharacter</tt>
+     * @throws IllegalArgumentException Thrown when one of the elements of the list is null.
+     * @throws NullPointerException Thrown when the argument is null.
+     */
+    @Override
+    public V put(List<TrieCharacter> key, V value) throws IllegalArgumentException, ClassCastException, NullPointerException {
+        List<TrieCharacter> string = Trie.validateString(key);
+        if(string.isEmpty()) {
+            return null;
+        }
+        int node = ROOT;
+        for(int i=0; i<string.size(); i++) {
+            node = this.childOrNew(node, this.codec.encode(string.get(i)));
+        }
+        int slot = this.getInt(node, SLOT);
+        if(slot!=NONE) {
+            V previous = this.dataAt(slot);
+            this.values[slot] = value;
+            return previous;
+        }
+        slot = this.allocateSlot();
+        this.values[slot] = value;
+        this.putInt(node, SLOT, slot);
+        this.stringCount++;
+        return null;
+    }
+
+    /**
+     * Removes a string from the trie and frees the nodes which are no longer on the path of any string.
+     * @param key The string to be removed.
+     * @return Returns the data of the removed string or null if the string was absent.
+     * @throws ClassCastException Thrown when the object is not an instance of <tt>List</tt> or when one of the elements in the list is not an instance of <tt>TrieCharacter</tt>
+     * @throws IllegalArgumentException Thrown when one of the elements of the list is null.
+     * @throws NullPointerException Thrown when the argument is null.
+     */
+    @Override
+    public V remove(Object key) throws ClassCastException, IllegalArgumentException, NullPointerException {
+        List<TrieCharacter> string = Trie.validateString(key);
+        if(string.isEmpty()) {
+            return null;
+        }
+        int[] path = new int[string.size()+1];
+        path[0] = ROOT;
+        for(int i=0; i<string.size(); i++) {
+            path[i+1] = this.childOf(path[i], this.codec.encode(string.get(i)));
+            if(path[i+1]==NONE) {
+                return null;
+            }
+        }
+        int node = path[string.size()];
+        int slot = this.getInt(node, SLOT);
+        if(slot==NONE) {
+            return null;
+        }
+        V previous = this.dataAt(slot);
+        this.freeSlot(slot);
+        this.putInt(node, SLOT, NONE);
+        this.stringCount--;
+
+        // Pruning the nodes which are left without data or children
+        for(int depth=string.size(); depth > 0; depth--) {
+            node = path[depth];
+            if(this.getInt(node, SLOT)!=NONE || this.getInt(node, FIRST_CHILD)!=NONE) {
+                break;
+            }
+            this.unlink(path[depth-1], node);
+            this.freeNode(node);
+        }
+        return previous;
+    }
+
+    /**
+     * Adds all the strings of a map.
+     * @param m The map of strings and their data.
+     * @throws ClassCastException Thrown when a string is not an instance of <tt>List</tt> or when one of the elements of the string is not an instance of <tt>TrieCharacter</tt>
+     * @throws IllegalArgumentException Thrown when a string contains a <tt>null</tt> character.
+     * @throws NullPointerException Thrown when the map or one of the strings is null.
+     */
+    @Override
+    public void putAll(Map<? extends List<TrieCharacter>, ? extends V> m) throws NullPointerException, ClassCastException, IllegalArgumentException {
+        for(Entry<? extends List<TrieCharacter>, ? extends V> entry : m.entrySet()) {
+            this.put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Removes all the strings and releases the slabs to the garbage collector.
+     */
+    @Override
+    public void clear() {
+        this.slabs = new ByteBuffer[4];
+        this.nodeLimit = 0;
+        this.nodeCount = 0;
+        this.freeNode = NONE;
+        this.values = new Object[16];
+        this.slotLimit = 0;
+        this.freeSlots = new int[16];
+        this.freeSlotCount = 0;
+        this.stringCount = 0;
+        this.allocateNode(0);
+    }
+
+    /**
+     * Gets the set of all distinct strings (or keys) in the trie.
+     * @return Returns the <tt>Set</tt> object containing all the strings within the trie.
+     */
+    @Override
+    public Set<List<TrieCharacter>> keySet() {
+        final Set<List<TrieCharacter>> keySet = new HashSet<>();
+        this.DFT(ROOT, new ArrayList<>(), (List<TrieCharacter> key, V data) -> keySet.add(new ArrayList<>(key)));
+        return keySet;
+    }
+
+    /**
+     * Gets a collection of all the values or data assocaited with any string within the trie.
+     * @return Returns a <tt>Collection</tt> of all the values.
+     */
+    @Override
+    public Collection<V> values() {
+        final Collection<V> values = new ArrayList<>(this.stringCount);
+        this.DFT(ROOT, new ArrayList<>(), (List<TrieCharacter> key, V data) -> values.add(data));
+        return values;
+    }
+
+    /**
+     * Gets a set of all the <tt>Entry</tt> objects or entries in the trie.
+     * @return Returns a <tt>Set</tt> of all possible <tt>Entry</tt> objects.
+     * @see Entry
+     */
+    @Override
+    public Set<Entry<List<TrieCharacter>, V>> entrySet() {
+        final Set<Entry<List<TrieCharacter>, V>> entrySet = new HashSet<>();
+        this.DFT(ROOT, new ArrayList<>(), (List<TrieCharacter> key, V data) -> entrySet.add(new AbstractMap.SimpleEntry<>(new ArrayList<>(key), data)));
+        return entrySet;
+    }
+
+    /**
+     * Gets all the entries of the strings which start with the prefix.
+     * @param prefix The prefix of the strings.
+     * @return Returns a map of the strings starting with the prefix to their data.
+     * @throws ClassCastException Thrown when the object is not an instance of <tt>List</tt> or when one of the elements in the list is not an instance of <tt>TrieCharacter</tt>
+     * @throws IllegalArgumentException Thrown when one of the elements of the list is null.
+     * @throws NullPointerException Thrown when the argument is null.
+     */
+    public Map<List<TrieCharacter>, V> prefixMap(List<TrieCharacter> prefix) throws IllegalArgumentException, ClassCastException, NullPointerException {
+        List<TrieCharacter> string = Trie.validateString(prefix);
+        final Map<List<TrieCharacter>, V> entries = new HashMap<>();
+        int node = string.isEmpty() ? ROOT : this.findNode(string);
+        if(node!=NONE) {
+            this.DFT(node, new ArrayList<>(string), (List<TrieCharacter> key, V data) -> entries.put(new ArrayList<>(key), data));
+        }
+        return entries;
+    }
+
+    /**
+     * Follows the characters of a string from the root.
+     * @param string The non-empty string to be searched.
+     * @return Returns the node reached after the last character or <tt>NONE</tt> if a child is absent.
+     */
+    private int findNode(List<TrieCharacter> string) {
+        int node = ROOT;
+        for(int i=0; i<string.size() && node!=NONE; i++) {
+            node = this.childOf(node, this.codec.encode(string.get(i)));
+        }
+        return node;
+    }
+
+    /**
+     * Scans the sorted sibling list of the children of a node.
+     * @param node The parent node.
+     * @param code The code of the character.
+     * @return Returns the child of the character or <tt>NONE</tt> if absent.
+     */
+    private int childOf(int node, int code) {
+        for(int child = this.getInt(node, FIRST_CHILD); child!=NONE; child = this.getInt(child, NEXT_SIBLING)) {
+            int childCode = this.getInt(child, CODE);
+            if(childCode==code) {
+                return child;
+            }
+            if(childCode > code) {
+                break;
+            }
+        }
+        return NONE;
+    }
+
+    /**
+     * Gets the child of a character or inserts a new one at its position in the sibling list.
+     * @param node The parent node.
+     * @param code The code of the character.
+     * @return Returns the child of the character.
+     */
+    private int childOrNew(int node, int code) {
+        int previous = NONE;
+        int child = this.getInt(node, FIRST_CHILD);
+        while(child!=NONE && this.getInt(child, CODE) < code) {
+            previous = child;
+            child = this.getInt(child, NEXT_SIBLING);
+        }
+        if(child!=NONE && this.getInt(child, CODE)==code) {
+            return child;
+        }
+        int newNode = this.allocateNode(code);
+        this.putInt(newNode, NEXT_SIBLING, child);
+        if(previous==NONE) {
+            this.putInt(node, FIRST_CHILD, newNode);
+        }
+        else {
+            this.putInt(previous, NEXT_SIBLING, newNode);
+        }
+        return newNode;
+    }
+
+    /**
+     * Removes a child from the sibling list of its parent.
+     * @param parent The parent node.
+     * @param node The child node.
+     */
+    private void unlink(int parent, int node) {
+        int next = this.getInt(node, NEXT_SIBLING);
+        int child = this.getInt(parent, FIRST_CHILD);
+        if(child==node) {
+            this.putInt(parent, FIRST_CHILD, next);
+            return;
+        }
+        while(this.getInt(child, NEXT_SIBLING)!=node) {
+            child = this.getInt(child, NEXT_SIBLING);
+        }
+        this.putInt(child, NEXT_SIBLING, next);
+    }
+
+    /**
+     * Takes a node from the free-list, or from the end of the last slab, and initializes it.
+     * @param code The code of the character of the node.
+     * @return Returns the index of the node.
+     */
+    private int allocateNode(int code) {
+        int node = this.freeNode;
+        if(node!=NONE) {
+            this.freeNode = this.getInt(node, NEXT_SIBLING);
+        }
+        else {
+            if(this.nodeLimit==Integer.MAX_VALUE) {
+                throw new IllegalStateException("Off-heap trie is full.");
+            }
+            node = this.nodeLimit++;
+            int slab = node >>> this.slabBits;
+            if(slab==this.slabs.length) {
+                this.slabs = Arrays.copyOf(this.slabs, slab*2);
+            }
+            if(this.slabs[slab]==null) {
+                this.slabs[slab] = ByteBuffer.allocateDirect(NODE_SIZE << this.slabBits);
+            }
+        }
+        this.putInt(node, CODE, code);
+        this.putInt(node, FIRST_CHILD, NONE);
+        this.putInt(node, NEXT_SIBLING, NONE);
+        this.putInt(node, SLOT, NONE);
+        this.nodeCount++;
+        return node;
+    }
+
+    /**
+     * Pushes a node onto the free-list.
+     * @param node The index of the node.
+     */
+    private void freeNode(int node) {
+        this.putInt(node, NEXT_SIBLING, this.freeNode);
+        this.freeNode = node;
+        this.nodeCount--;
+    }
+
+    /**
+     * Takes a slot from the freed slots or from the end of the side array.
+     * @return Returns the slot.
+     */
+    private int allocateSlot() {
+        if(this.freeSlotCount > 0) {
+            return this.freeSlots[--this.freeSlotCount];
+        }
+        if(this.slotLimit==this.values.length) {
+            this.values = Arrays.copyOf(this.values, this.values.length*2);
+        }
+        return this.slotLimit++;
+    }
+
+    /**
+     * Clears a slot and pushes it onto the freed slots.
+     * @param slot The slot.
+     */
+    private void freeSlot(int slot) {
+        this.values[slot] = null;
+        if(this.freeSlotCount==this.freeSlots.length) {
+            this.freeSlots = Arrays.copyOf(this.freeSlots, this.freeSlots.length*2);
+        }
+        this.freeSlots[this.freeSlotCount++] = slot;
+    }
+
+    /**
+     * @param node The index of the node.
+     * @return Returns the data of the node or null if the node is invalid.
+     */
+    private V dataOf(int node) {
+        int slot = this.getInt(node, SLOT);
+        return slot==NONE ? null : this.dataAt(slot);
+    }
+
+    @SuppressWarnings("unchecked")
+    private V dataAt(int slot) {
+        return (V)this.values[slot];
+    }
+
+    private int getInt(int node, int field) {
+        return this.slabs[node >>> this.slabBits].getInt(((node & ((1 << this.slabBits)-1)) * NODE_SIZE) + field);
+    }
+
+    private void putInt(int node, int field, int value) {
+        this.slabs[node >>> this.slabBits].putInt(((node & ((1 << this.slabBits)-1)) * NODE_SIZE) + field, value);
+    }
+
+    /**
+     * Traverses the nodes below a node depth-first and calls operation method whenever a
+     * valid node is encountered. The traversal keeps the nodes of the current path on an
+     * explicit stack, so the depth of the trie is not limited by the call stack.
+     * @param node The node whose subtree is traversed.
+     * @param string The characters of the nodes from the root to the node (in order).
+     * @param operation The method to be called when the current node is valid.
+     */
+    private void DFT(int node, List<TrieCharacter> string, OffHeapTraversalOperation<V> operation) {
+        if(node!=ROOT && this.getInt(node, SLOT)!=NONE) {
+            operation.postOperation(string, this.dataOf(node));
+        }
+        int[] path = new int[16];
+        int depth = 0;
+        path[0] = node;
+        int next = this.getInt(node, FIRST_CHILD);
+        while(true) {
+            if(next!=NONE) {
+                if(++depth==path.length) {
+                    path = Arrays.copyOf(path, path.length*2);
+                }
+                path[depth] = next;
+                string.add(this.codec.decode(this.getInt(next, CODE)));
+                if(this.getInt(next, SLOT)!=NONE) {
+                    operation.postOperation(string, this.dataOf(next));
+                }
+                next = this.getInt(next, FIRST_CHILD);
+            }
+            else if(depth==0) {
+                return;
+            }
+            else {
+                // Subtree of path[depth] has been traversed
+                string.remove(string.size()-1);
+                next = this.getInt(path[depth--], NEXT_SIBLING);
+            }
+        }
+    }
+
+    /**
+     * Functional interface for operations performed on the strings encountered during a traversal of an <tt>OffHeapTrie</tt>.
+     * @param <V> Data class type.
+     */
+    private interface OffHeapTraversalOperation<V> {
+        /**
+         * Invoked whenever a valid node is encountered.
+         * @param string The characters from the root to the valid node.
+         * @param data The data associated with the string.
+         */
+        void postOperation(List<TrieCharacter> string, V data);
+    }
+}
@@ -0,0 +1,577 @@
+package io.damelyngdoh.java.trie;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * <p>
+ * RadixTrie class is a path-compressed (Radix or Patricia) Trie data-structure. A
+ * run of nodes which have a single child and are not the end of any string is
+ * collapsed into one node whose edge is labelled with the sequence of characters of
+ * the run. Long unique tails of strings are therefore held by a single node and a
+ * search costs one hop per branching point instead of one hop per character.
+ * </p>
+ * <p>
+ * Nodes are split when a string diverges in the middle of an edge label and are
+ * merged again with their only child when a removal leaves them invalid. The
+ * semantics of the <tt>Map</tt> methods are the same as those of <tt>Trie</tt>.
+ * </p>
+ *
+ * @param <T> The type of characters the trie will contain, must extends <tt>TrieCharacter</tt> class.
+ * @param <V> The type of data which the trie will contain in its nodes.
+ *
+ * @author Dame Lyngdoh
+ * @since 1.0.0
+ * @see Trie
+ */
+public class RadixTrie<T extends TrieCharacter, V> implements Map<List<TrieCharacter>, V> {
+
+    /**
+     * Counter for the number of strings in the trie.
+     */
+    private int stringCount;
+    /**
+     * Root node of the trie with an empty label. The root is never valid.
+     */
+    private Node<V> root;
+    /**
+     * Flag indicating if overwrite is allowed or not.
+     */
+    private boolean overwriteAllowed = true;
+
+    /**
+     * Constructs a new empty RadixTrie object.
+     */
+    public RadixTrie() {
+        this.stringCount = 0;
+        this.root = new Node<>(new TrieCharacter[0]);
+    }
+
+    /**
+     * Returns true if overwrite is allowed or false otherwise.
+     * @return Returns true if overwrite is allowed or false otherwise.
+     */
+    public boolean isOverwriteAllowed() {
+        return this.overwriteAllowed;
+    }
+
+    /**
+     * Sets the overwrite flag of the trie.
+     * @param overwriteAllowed True when overwrite is allowed or false to disallow.
+     */
+    public void setOverwriteAllowed(boolean overwriteAllowed) {
+        this.overwriteAllowed = overwriteAllowed;
+    }
+
+    /**
+     * Returns the number of strings in the trie.
+     * @return Returns the number of strings in the trie.
+     */
+    @Override
+    public int size() {
+        return this.stringCount;
+    }
+
+    /**
+     * Returns true if the trie is empty or false if otherwise.
+     * @return Returns true if the trie is empty or false if otherwise.
+     */
+    @Override
+    public boolean isEmpty() {
+        return this.stringCount==0;
+    }
+
+    /**
+     * Checks if a string is present in the trie or not.
+     * @param key The list of characters (or string) to be searched.
+     * @return Returns true if the string is found or false otherwise.
+     * @throws ClassCastException Thrown when the object is not an instance of <tt>List</tt> or when one of the elements in the list is not an instance of <tt>TrieCharacter</tt>
+     * @throws IllegalArgumentException Thrown when one of the elements of the list is null.
+     * @throws NullPointerException Thrown when the argument is null.
+     */
+    @Override
+    public boolean containsKey(Object key) throws IllegalArgumentException, ClassCastException, NullPointerException {
+        Node<V> node = this.findNode(Trie.validateString(key));
+        return node!=null && node.validity;
+    }
+
+    /**
+     * Checks to see if the value is present in the trie.
+     * @return Returns true if the value is found or false otherwise.
+     */
+    @Override
+    public boolean containsValue(Object value) {
+        return RadixTrie.containsValue(this.root, value);
+    }
+
+    /**
+     * Gets the value/data associated with the string key.
+     * @param key The string to be searched.
+     * @return Returns the value associated with the key or <tt>null</tt> if the string is not found.
+     * @throws ClassCastException Thrown when the object is not an instance of <tt>List</tt> or when one of the elements in the list is not an instance of <tt>TrieCharacter</tt>
+     * @throws IllegalArgumentException Thrown when one of the elements of the list is null.
+     * @throws NullPointerException Thrown when the argument is null.
+     */
+    @Override
+    public V get(Object key) throws ClassCastException, IllegalArgumentException, NullPointerException {
+        Node<V> node = this.findNode(Trie.validateString(key));
+        if(node==null || !node.validity) {
+            return null;
+        }
+        return node.data;
+    }
+
+    /**
+     * Adds a string with its associated data. If the string is already present then the overwrite flag will be checked.
+     * When the string diverges in the middle of an edge label, the node of the edge is split.
+     * @param key The string to be added to the trie.
+     * @param value The data/value to be mapped to the string.
+     * @return Returns the value associated with the key that was added.
+     * @throws ClassCastException Thrown when the object is not an instance of <tt>List</tt> or when one of the elements in the list is not an instance of <tt>TrieCharacter</tt>
+     * @throws IllegalArgumentException Thrown when one of the elements of the list is null.
+     * @throws NullPointerException Thrown when the argument is null.
+     */
+    @Override
+    public V put(List<TrieCharacter> key, V value) throws IllegalArgumentException, ClassCastException, NullPointerException {
+        List<TrieCharacter> string = Trie.validateString(key);
+        if(string.isEmpty()) {
+            return null;
+        }
+        Node<V> currentNode = this.root;
+        int index = 0;
+        while(index < string.size()) {
+            Node<V> child = currentNode.getChild(string.get(index));
+            if(child==null) {
+                // Adding the remaining characters as a single leaf
+                currentNode.addChild(this.newLeaf(string, index, value));
+                this.stringCount++;
+                return value;
+            }
+            int common = RadixTrie.commonLength(child.label, string, index);
+            if(common < child.label.length) {
+                // Splitting the edge at the point of divergence
+                Node<V> middle = new Node<>(Arrays.copyOf(child.label, common));
+                child.label = Arrays.copyOfRange(child.label, common, child.label.length);
+                currentNode.replaceChild(child, middle);
+                middle.addChild(child);
+                if(index+common==string.size()) {
+                    middle.putData(value);
+                }
+                else {
+                    middle.addChild(this.newLeaf(string, index+common, value));
+                }
+                this.stringCount++;
+                return value;
+            }
+            index += common;
+            currentNode = child;
+        }
+
+        if(!currentNode.validity) {
+            currentNode.putData(value);
+            this.stringCount++;
+        }
+        // Restricting overwrite if overwrite flag is set to false
+        else if(this.isOverwriteAllowed()) {
+            currentNode.putData(value);
+        }
+        return value;
+    }
+
+    /**
+     * Removes a string from the trie. Nodes left invalid with a single child are merged with the child.
+     * @param key The string to be removed.
+     * @return Returns the data associated with the string if the string was present in the trie or null if absent.
+     * @throws ClassCastException Thrown when the object is not an instance of <tt>List</tt> or when one of the elements in the list is not an instance of <tt>TrieCharacter</tt>
+     * @throws IllegalArgumentException Thrown when one of the elements of the list is null.
+     * @throws NullPointerException Thrown when the argument is null.
+     */
+    @Override
+    public V remove(Object key) throws ClassCastException, IllegalArgumentException, NullPointerException {
+        List<TrieCharacter> string = Trie.validateString(key);
+        if(string.isEmpty()) {
+            return null;
+        }
+
+        Node<V> grandParent = null, parent = null, currentNode = this.root;
+        int index = 0;
+        while(index < string.size()) {
+            Node<V> child = currentNode.getChild(string.get(index));
+            if(child==null || !RadixTrie.matches(child.label, string, index)) {
+                return null;
+            }
+            index += child.label.length;
+            grandParent = parent;
+            parent = currentNode;
+            currentNode = child;
+        }
+
+        // String not found
+        if(!currentNode.validity) {
+            return null;
+        }
+
+        V data = currentNode.data;
+        currentNode.removeData();
+        this.stringCount--;
+
+        if(currentNode.childCount==1) {
+            parent.replaceChild(currentNode, RadixTrie.merge(currentNode, currentNode.children[0]));
+        }
+        else if(currentNode.childCount==0) {
+            parent.removeChild(currentNode);
+            // Re-merging the parent with its remaining child
+            if(parent!=this.root && !parent.validity && parent.childCount==1) {
+                grandParent.replaceChild(parent, RadixTrie.merge(parent, parent.children[0]));
+            }
+        }
+        return data;
+    }
+
+    /**
+     * Puts all mappings in map argument into this instance.
+     * @param m The map whose mapping is to be included.
+     * @throws ClassCastException Thrown when a string object in the map is not an instance of <tt>List</tt> or when one of the elements of the string is not an instance of <tt>TrieCharacter</tt>
+     * @throws IllegalArgumentException Thrown when there exists a string in the key-set of the map that contains a <tt>null</tt> character.
+     * @throws NullPointerException Thrown when there exists a null string in the map.
+     */
+    @Override
+    public void putAll(Map<? extends List<TrieCharacter>, ? extends V> m) throws NullPointerException, ClassCastException, IllegalArgumentException {
+        if(m==null) {
+            return;
+        }
+        for(Map.Entry<? extends List<TrieCharacter>, ? extends V> entry : m.entrySet()) {
+            this.put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Empties the trie.
+     */
+    @Override
+    public void clear() {
+        this.root = new Node<>(new TrieCharacter[0]);
+        this.stringCount = 0;
+    }
+
+    /**
+     * Gets the set of all distinct strings (or keys) in the trie.
+     * @return Returns the <tt>Set</tt> object containing all the strings within the trie.
+     */
+    @Override
+    public Set<List<TrieCharacter>> keySet() {
+        final Set<List<TrieCharacter>> keySet = new HashSet<>();
+        this.DFTRecursive(this.root, new ArrayList<>(), (List<TrieCharacter> string, V data) -> keySet.add(new ArrayList<>(string)));
+        return keySet;
+    }
+
+    /**
+     * Gets a collection of all the values or data assocaited with any string within the trie.
+     * @return Returns a <tt>Collection</tt> of all the values.
+     */
+    @Override
+    public Collection<V> values() {
+        final Collection<V> values = new ArrayList<>(this.stringCount);
+        this.DFTRecursive(this.root, new ArrayList<>(), (List<TrieCharacter> string, V data) -> values.add(data));
+        return values;
+    }
+
+    /**
+     * Gets a set of all the <tt>Entry</tt> objects or entries in the trie.
+     * @return Returns a <tt>Set</tt> of all possible <tt>Entry</tt> objects.
+     * @see Entry
+     */
+    @Override
+    public Set<Entry<List<TrieCharacter>, V>> entrySet() {
+        final Set<Entry<List<TrieCharacter>, V>> entrySet = new HashSet<>();
+        this.DFTRecursive(this.root, new ArrayList<>(), (List<TrieCharacter> string, V data) -> entrySet.add(new AbstractMap.SimpleEntry<>(new ArrayList<>(string), data)));
+        return entrySet;
+    }
+
+    /**
+     * Gets the number of nodes in the trie, excluding the root. Every node holds one edge label.
+     * @return Returns the number of nodes in the trie.
+     */
+    public int getNodeCount() {
+        return RadixTrie.countNodes(this.root)-1;
+    }
+
+    /**
+     * Searches for the node whose label ends exactly at the last character of the string.
+     * @param string The string to be searched.
+     * @return Returns the node or null if the string is empty or ends in the middle of a label or its path is absent.
+     */
+    private Node<V> findNode(List<TrieCharacter> string) {
+        if(string.isEmpty()) {
+            return null;
+        }
+        Node<V> currentNode = this.root;
+        int index = 0;
+        while(index < string.size()) {
+            Node<V> child = currentNode.getChild(string.get(index));
+            if(child==null || !RadixTrie.matches(child.label, string, index)) {
+                return null;
+            }
+            index += child.label.length;
+            currentNode = child;
+        }
+        return currentNode;
+    }
+
+    /**
+     * Creates a new valid leaf labelled with the characters of the string from the index.
+     * @param string The string whose characters label the leaf.
+     * @param startIndex The index of the first character of the label.
+     * @param data The data of the leaf.
+     * @return Returns the new leaf.
+     */
+    private Node<V> newLeaf(List<TrieCharacter> string, int startIndex, V data) {
+        Node<V> leaf = new Node<>(string.subList(startIndex, string.size()).toArray(new TrieCharacter[0]));
+        leaf.putData(data);
+        return leaf;
+    }
+
+    /**
+     * Recursively traverses the trie and calls operation method whenever a valid node is encountered.
+     * @param currentNode The current node reached during the traversal.
+     * @param string The characters of the labels traversed (in order).
+     * @param operation The method to be called when the current node is valid.
+     */
+    private void DFTRecursive(Node<V> currentNode, List<TrieCharacter> string, RadixTraversalOperation<V> operation) {
+        string.addAll(Arrays.asList(currentNode.label));
+        if(currentNode.validity) {
+            operation.postOperation(string, currentNode.data);
+        }
+        for(int i=0; i<currentNode.childCount; i++) {
+            this.DFTRecursive(currentNode.children[i], string, operation);
+        }
+        string.subList(string.size()-currentNode.label.length, string.size()).clear();
+    }
+
+    /**
+     * Merges an invalid node with its only child by prefixing the label of the child with the label of the node.
+     * @param node The invalid node.
+     * @param child The only child of the node.
+     * @return Returns the child which replaces the node.
+     */
+    private static <V> Node<V> merge(Node<V> node, Node<V> child) {
+        TrieCharacter[] label = Arrays.copyOf(node.label, node.label.length+child.label.length);
+        System.arraycopy(child.label, 0, label, node.label.length, child.label.length);
+        child.label = label;
+        return child;
+    }
+
+    /**
+     * Gets the length of the common prefix of a label and the characters of the string from the index.
+     * @param label The label of the edge.
+     * @param string The string being added.
+     * @param startIndex The index of the string which is compared with the first character of the label.
+     * @return Returns the number of characters in common.
+     */
+    private static int commonLength(TrieCharacter[] label, List<TrieCharacter> string, int startIndex) {
+        int length = Math.min(label.length, string.size()-startIndex);
+        for(int i=0; i<length; i++) {
+            if(!string.get(startIndex+i).equals(label[i])) {
+                return i;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Checks if the whole label matches the characters of the string from the index.
+     * @param label The label of the edge.
+     * @param string The string being searched.
+     * @param startIndex The index of the string which is compared with the first character of the label.
+     * @return Returns true if the label is matched completely or false otherwise.
+     */
+    private static boolean matches(TrieCharacter[] label, List<TrieCharacter> string, int startIndex) {
+        return label.length <= string.size()-startIndex && RadixTrie.commonLength(label, string, startIndex)==label.length;
+    }
+
+    /**
+     * Checks recursively if a node or any of its descendants contains the value.
+     * @param node The node to start the search from.
+     * @param value The value to be searched.
+     * @return Returns true if the value is found or false otherwise.
+     */
+    private static boolean containsValue(Node<?> node, Object value) {
+        if(node.validity && Objects.equals(node.data, value)) {
+            return true;
+        }
+        for(int i=0; i<node.childCount; i++) {
+            if(RadixTrie.containsValue(node.children[i], value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Counts recursively the nodes of a sub-tree.
+     * @param node The root of the sub-tree.
+     * @return Returns the number of nodes in the sub-tree.
+     */
+    private static int countNodes(Node<?> node) {
+        int count = 1;
+        for(int i=0; i<node.childCount; i++) {
+            count += RadixTrie.countNodes(node.children[i]);
+        }
+        return count;
+    }
+
+    /**
+     * Functional interface for operations performed on the strings encountered during a depth-first traversal of a <tt>RadixTrie</tt>.
+     * @param <V> Data class type.
+     */
+    private interface RadixTraversalOperation<V> {
+        /**
+         * Invoked whenever a valid node is encountered.
+         * @param string The characters from the root to the valid node.
+         * @param data The data associated with the string.
+         */
+        void postOperation(List<TrieCharacter> string, V data);
+    }
+
+    /**
+     * Node of a <tt>RadixTrie</tt> labelled with one or more characters. The children
+     * are kept in a small array which is indexed by a map of the first character of
+     * their labels only when the node becomes wide.
+     * @param <V> Data class type.
+     */
+    private static final class Node<V> {
+
+        /**
+         * The characters of the edge leading to the node.
+         */
+        private TrieCharacter[] label;
+        /**
+         * The children nodes.
+         */
+        private Node<V>[] children;
+        /**
+         * Number of children in use.
+         */
+        private int childCount;
+        /**
+         * Map of the first character of the label of each child for wide nodes or null otherwise.
+         */
+        private Map<TrieCharacter, Node<V>> childIndex;
+        /**
+         * Flag indicating if the node is the last node of a string.
+         */
+        private boolean validity;
+        /**
+         * The data contained by the node if the node is valid or null if invalid.
+         */
+        private V data;
+
+        private Node(TrieCharacter[] label) {
+            this.label = label;
+        }
+
+        /**
+         * Gets the child whose label starts with the character.
+         * @param character The first character of the label.
+         * @return Returns the child or null if absent.
+         */
+        private Node<V> getChild(TrieCharacter character) {
+            if(this.childIndex!=null) {
+                return this.childIndex.get(character);
+            }
+            for(int i=0; i<this.childCount; i++) {
+                if(character.equals(this.children[i].label[0])) {
+                    return this.children[i];
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Adds a child to the node.
+         * @param child The child to be added.
+         */
+        @SuppressWarnings("unchecked")
+        private void addChild(Node<V> child) {
+            if(this.children==null) {
+                this.children = (Node<V>[])new Node<?>[1];
+            }
+            else if(this.childCount==this.children.length) {
+                this.children = Arrays.copyOf(this.children, this.childCount*2);
+            }
+            this.children[this.childCount++] = child;
+            if(this.childIndex!=null) {
+                this.childIndex.put(child.label[0], child);
+            }
+            else if(this.childCount > TrieNode.ARRAY_CHILDREN_LIMIT) {
+                this.childIndex = new HashMap<>(this.childCount*2);
+                for(int i=0; i<this.childCount; i++) {
+                    this.childIndex.put(this.children[i].label[0], this.children[i]);
+                }
+            }
+        }
+
+        /**
+         * Replaces a child by another child whose label starts with the same character.
+         * @param child The child to be replaced.
+         * @param replacement The new child.
+         */
+        private void replaceChild(Node<V> child, Node<V> replacement) {
+            for(int i=0; i<this.childCount; i++) {
+                if(this.children[i]==child) {
+                    this.children[i] = replacement;
+                    break;
+                }
+            }
+            if(this.childIndex!=null) {
+                this.childIndex.put(replacement.label[0], replacement);
+            }
+        }
+
+        /**
+         * Removes a child from the node.
+         * @param child The child to be removed.
+         */
+        private void removeChild(Node<V> child) {
+            for(int i=0; i<this.childCount; i++) {
+                if(this.children[i]==child) {
+                    this.childCount--;
+                    this.children[i] = this.children[this.childCount];
+                    this.children[this.childCount] = null;
+                    break;
+                }
+            }
+            if(this.childIndex!=null) {
+                this.childIndex.remove(child.label[0]);
+                if(this.childCount <= TrieNode.MAP_CHILDREN_SHRINK) {
+                    this.childIndex = null;
+                }
+            }
+        }
+
+        /**
+         * Adds data to the node and marks it valid.
+         * @param data The data to be associated with the node.
+         */
+        private void putData(V data) {
+            this.data = data;
+            this.validity = true;
+        }
+
+        /**
+         * Removes the data from the node and invalidates the node.
+         */
+        private void removeData() {
+            this.data = null;
+            this.validity = false;
+        }
+    }
+}
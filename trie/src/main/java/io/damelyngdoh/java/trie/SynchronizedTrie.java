@@ -0,0 +1,415 @@
+package io.damelyngdoh.java.trie;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * <p>
+ * SynchronizedTrie class is a thread-safe Trie data-structure which stripes its locks by
+ * the first character of the strings. Strings with different first characters belong to
+ * disjoint subtrees of a trie, so the strings are distributed over a fixed number of
+ * stripes, each of which is a <tt>Trie</tt> guarded by its own read/write lock. Reads
+ * take the shared lock and modifications the exclusive lock of a single stripe, which
+ * lets traffic on different prefixes proceed in parallel.
+ * </p>
+ * <p>
+ * Operations spanning the whole trie (<tt>containsValue</tt>, <tt>clear</tt>,
+ * <tt>keySet</tt>, <tt>values</tt>, <tt>entrySet</tt>) acquire the locks of all stripes
+ * in order. The number of strings is maintained in a <tt>LongAdder</tt>.
+ * </p>
+ *
+ * @param <T> The type of characters the trie will contain, must extends <tt>TrieCharacter</tt> class.
+ * @param <V> The type of data which the trie will contain in its nodes.
+ *
+ * @author Dame Lyngdoh
+ * @since 1.0.0
+ * @see Trie
+ */
+public class SynchronizedTrie<T extends TrieCharacter, V> implements Map<List<TrieCharacter>, V> {
+
+    /**
+     * Default number of stripes.
+     */
+    public static final int DEFAULT_STRIPE_COUNT = 16;
+
+    /**
+     * Tries of the stripes.
+     */
+    private final Trie<T, V>[] stripes;
+    /**
+     * Locks of the stripes.
+     */
+    private final ReentrantReadWriteLock[] locks;
+    /**
+     * Counter for the number of strings in all the stripes.
+     */
+    private final LongAdder stringCount;
+
+    /**
+     * Constructs a new empty SynchronizedTrie object with the default number of stripes.
+     */
+    public SynchronizedTrie() {
+        this(TrieTraversal.Incremental, DEFAULT_STRIPE_COUNT);
+    }
+
+    /**
+     * Constructs a new empty SynchronizedTrie object.
+     * @param stripeCount The minimum number of stripes, rounded up to a power of two.
+     * @throws IllegalArgumentException Thrown when the stripe count is not positive.
+     */
+    public SynchronizedTrie(int stripeCount) throws IllegalArgumentException {
+        this(TrieTraversal.Incremental, stripeCount);
+    }
+
+    /**
+     * Constructs a new empty SynchronizedTrie object with the provided traversal method.
+     * @param traversal The traversal type of the stripes.
+     * @param stripeCount The minimum number of stripes, rounded up to a power of two.
+     * @throws IllegalArgumentException Thrown when the stripe count is not positive.
+     * @see TrieTraversal
+     */
+    public SynchronizedTrie(TrieTraversal traversal, int stripeCount) throws IllegalArgumentException {
+        if(stripeCount <= 0 || stripeCount > (1 << 16)) {
+            throw new IllegalArgumentException("Stripe count must be between 1 and 65536.");
+        }
+        int count = Integer.highestOneBit(stripeCount);
+        if(count < stripeCount) {
+            count <<= 1;
+        }
+        this.stripes = SynchronizedTrie.newStripes(count);
+        this.locks = new ReentrantReadWriteLock[count];
+        for(int i=0; i<count; i++) {
+            this.stripes[i] = new Trie<>(traversal);
+            this.locks[i] = new ReentrantReadWriteLock();
+        }
+        this.stringCount = new LongAdder();
+    }
+
+    /**
+     * @return Returns the number of stripes.
+     */
+    public int getStripeCount() {
+        return this.stripes.length;
+    }
+
+    /**
+     * Returns true if overwrite is allowed or false otherwise.
+     * @return Returns true if overwrite is allowed or false otherwise.
+     */
+    public boolean isOverwriteAllowed() {
+        Lock lock = this.locks[0].readLock();
+        lock.lock();
+        try {
+            return this.stripes[0].isOverwriteAllowed();
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Sets the overwrite flag of all the stripes.
+     * @param overwriteAllowed True when overwrite is allowed or false to disallow.
+     */
+    public void setOverwriteAllowed(boolean overwriteAllowed) {
+        this.lockAll(true);
+        try {
+            for(Trie<T, V> stripe : this.stripes) {
+                stripe.setOverwriteAllowed(overwriteAllowed);
+            }
+        }
+        finally {
+            this.unlockAll(true);
+        }
+    }
+
+    /**
+     * Returns the number of strings in the trie. The count is not atomic with respect to concurrent modifications.
+     * @return Returns the number of strings in the trie.
+     */
+    @Override
+    public int size() {
+        return (int)this.stringCount.sum();
+    }
+
+    /**
+     * Returns true if the trie is empty or false if otherwise.
+     * @return Returns true if the trie is empty or false if otherwise.
+     */
+    @Override
+    public boolean isEmpty() {
+        return this.stringCount.sum()==0;
+    }
+
+    /**
+     * Checks if a string is present in the trie or not.
+     * @param key The list of characters (or string) to be searched.
+     * @return Returns true if the string is found or false otherwise.
+     * @throws ClassCastException Thrown when the object is not an instance of <tt>List</tt> or when one of the elements in the list is not an instance of <tt>TrieCharacter</tt>
+     * @throws IllegalArgumentException Thrown when one of the elements of the list is null.
+     * @throws NullPointerException Thrown when the argument is null.
+     */
+    @Override
+    public boolean containsKey(Object key) throws IllegalArgumentException, ClassCastException, NullPointerException {
+        List<TrieCharacter> string = Trie.validateString(key);
+        if(string.isEmpty()) {
+            return false;
+        }
+        int stripe = this.stripeOf(string);
+        Lock lock = this.locks[stripe].readLock();
+        lock.lock();
+        try {
+            return this.stripes[stripe].containsKey(string);
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Checks to see if the value is present in the trie.
+     * @return Returns true if the value is found or false otherwise.
+     */
+    @Override
+    public boolean containsValue(Object value) {
+        this.lockAll(false);
+        try {
+            for(Trie<T, V> stripe : this.stripes) {
+                if(stripe.containsValue(value)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        finally {
+            this.unlockAll(false);
+        }
+    }
+
+    /**
+     * Gets the value/data associated with the string key.
+     * @param key The string to be searched.
+     * @return Returns the value associated with the key or <tt>null</tt> if the string is not found.
+     * @throws ClassCastException Thrown when the object is not an instance of <tt>List</tt> or when one of the elements in the list is not an instance of <tt>TrieCharacter</tt>
+     * @throws IllegalArgumentException Thrown when one of the elements of the list is null.
+     * @throws NullPointerException Thrown when the argument is null.
+     */
+    @Override
+    public V get(Object key) throws ClassCastException, IllegalArgumentException, NullPointerException {
+        List<TrieCharacter> string = Trie.validateString(key);
+        if(string.isEmpty()) {
+            return null;
+        }
+        int stripe = this.stripeOf(string);
+        Lock lock = this.locks[stripe].readLock();
+        lock.lock();
+        try {
+            return this.stripes[stripe].get(string);
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Adds a string with its associated data. If the string is already present then the overwrite flag will be checked.
+     * @param key The string to be added to the trie.
+     * @param value The data/value to be mapped to the string.
+     * @return Returns the value associated with the key that was added.
+     * @throws ClassCastException Thrown when the object is not an instance of <tt>List</tt> or when one of the elements in the list is not an instance of <tt>TrieCharacter</tt>
+     * @throws IllegalArgumentException Thrown when one of the elements of the list is null.
+     * @throws NullPointerException Thrown when the argument is null.
+     */
+    @Override
+    public V put(List<TrieCharacter> key, V value) throws IllegalArgumentException, ClassCastException, NullPointerException {
+        List<TrieCharacter> string = Trie.validateString(key);
+        if(string.isEmpty()) {
+            return null;
+        }
+        int stripe = this.stripeOf(string);
+        Lock lock = this.locks[stripe].writeLock();
+        lock.lock();
+        try {
+            Trie<T, V> trie = this.stripes[stripe];
+            int count = trie.size();
+            V result = trie.put(string, value);
+            if(trie.size() > count) {
+                this.stringCount.increment();
+            }
+            return result;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes a string from the trie.
+     * @param key The string to be removed.
+     * @return Returns the data associated with the string if the string was present in the trie or null if absent.
+     * @throws ClassCastException Thrown when the object is not an instance of <tt>List</tt> or when one of the elements in the list is not an instance of <tt>TrieCharacter</tt>
+     * @throws IllegalArgumentException Thrown when one of the elements of the list is null.
+     * @throws NullPointerException Thrown when the argument is null.
+     */
+    @Override
+    public V remove(Object key) throws ClassCastException, IllegalArgumentException, NullPointerException {
+        List<TrieCharacter> string = Trie.validateString(key);
+        if(string.isEmpty()) {
+            return null;
+        }
+        int stripe = this.stripeOf(string);
+        Lock lock = this.locks[stripe].writeLock();
+        lock.lock();
+        try {
+            Trie<T, V> trie = this.stripes[stripe];
+            int count = trie.size();
+            V data = trie.remove(string);
+            if(trie.size() < count) {
+                this.stringCount.decrement();
+            }
+            return data;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Puts all mappings in map argument into this instance.
+     * @param m The map whose mapping is to be included.
+     * @throws ClassCastException Thrown when a string object in the map is not an instance of <tt>List</tt> or when one of the elements of the string is not an instance of <tt>TrieCharacter</tt>
+     * @throws IllegalArgumentException Thrown when there exists a string in the key-set of the map that contains a <tt>null</tt> character.
+     * @throws NullPointerException Thrown when there exists a null string in the map.
+     */
+    @Override
+    public void putAll(Map<? extends List<TrieCharacter>, ? extends V> m) throws NullPointerException, ClassCastException, IllegalArgumentException {
+        if(m==null) {
+            return;
+        }
+        for(Map.Entry<? extends List<TrieCharacter>, ? extends V> entry : m.entrySet()) {
+            this.put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Empties the trie.
+     */
+    @Override
+    public void clear() {
+        this.lockAll(true);
+        try {
+            for(Trie<T, V> stripe : this.stripes) {
+                stripe.clear();
+            }
+            this.stringCount.reset();
+        }
+        finally {
+            this.unlockAll(true);
+        }
+    }
+
+    /**
+     * Gets the set of all distinct strings (or keys) in the trie.
+     * @return Returns the <tt>Set</tt> object containing all the strings within the trie.
+     */
+    @Override
+    public Set<List<TrieCharacter>> keySet() {
+        final Set<List<TrieCharacter>> keySet = new HashSet<>();
+        this.lockAll(false);
+        try {
+            for(Trie<T, V> stripe : this.stripes) {
+                keySet.addAll(stripe.keySet());
+            }
+        }
+        finally {
+            this.unlockAll(false);
+        }
+        return keySet;
+    }
+
+    /**
+     * Gets a collection of all the values or data assocaited with any string within the trie.
+     * @return Returns a <tt>Collection</tt> of all the values.
+     */
+    @Override
+    public Collection<V> values() {
+        final Collection<V> values = new ArrayList<>();
+        this.lockAll(false);
+        try {
+            for(Trie<T, V> stripe : this.stripes) {
+                values.addAll(stripe.values());
+            }
+        }
+        finally {
+            this.unlockAll(false);
+        }
+        return values;
+    }
+
+    /**
+     * Gets a set of all the <tt>Entry</tt> objects or entries in the trie.
+     * @return Returns a <tt>Set</tt> of all possible <tt>Entry</tt> objects.
+     * @see Entry
+     */
+    @Override
+    public Set<Entry<List<TrieCharacter>, V>> entrySet() {
+        final Set<Entry<List<TrieCharacter>, V>> entrySet = new HashSet<>();
+        this.lockAll(false);
+        try {
+            for(Trie<T, V> stripe : this.stripes) {
+                entrySet.addAll(stripe.entrySet());
+            }
+        }
+        finally {
+            this.unlockAll(false);
+        }
+        return entrySet;
+    }
+
+    /**
+     * Creates the array of the stripes, which cannot be created directly for a generic type.
+     * @param count The number of stripes.
+     * @return Returns the new array.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T extends TrieCharacter, V> Trie<T, V>[] newStripes(int count) {
+        return (Trie<T, V>[])new Trie<?, ?>[count];
+    }
+
+    /**
+     * Gets the stripe of a non-empty string from the hash code of its first character.
+     * @param string The validated string.
+     * @return Returns the index of the stripe.
+     */
+    private int stripeOf(List<TrieCharacter> string) {
+        int hash = string.get(0).hashCode();
+        return (hash ^ (hash >>> 16)) & (this.stripes.length-1);
+    }
+
+    /**
+     * Acquires the locks of all the stripes in order.
+     * @param exclusive True for the write locks or false for the read locks.
+     */
+    private void lockAll(boolean exclusive) {
+        for(ReentrantReadWriteLock lock : this.locks) {
+            (exclusive ? lock.writeLock() : lock.readLock()).lock();
+        }
+    }
+
+    /**
+     * Releases the locks of all the stripes in reverse order.
+     * @param exclusive True for the write locks or false for the read locks.
+     */
+    private void unlockAll(boolean exclusive) {
+        for(int i=this.locks.length-1; i >= 0; i--) {
+            (exclusive ? this.locks[i].writeLock() : this.locks[i].readLock()).unlock();
+        }
+    }
+}
@@ -1,16 +1,37 @@
 package io.damelyngdoh.java.trie;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.AbstractCollection;
 import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.Stack;
+import java.util.concurrent.RecursiveTask;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * <p>
@@ -34,6 +55,10 @@ public class Trie<T extends TrieCharacter, V> implements Map<List<TrieCharacter>
      * Counter for the number of strings in the Trie.
      */
     private int stringCount;
+    /**
+     * Number of structural modifications, those adding or removing strings.
+     */
+    private int modCount;
     /**
      * Counter for the identifier for the nodes.
      */
@@ -50,6 +75,10 @@ public class Trie<T extends TrieCharacter, V> implements Map<List<TrieCharacter>
      * Flag indicating if overwrite is allowed or not.
      */
     private boolean overwriteAllowed = true;
+    /**
+     * Cached best completions of the nodes or null if completions are not maintained.
+     */
+    private TrieCompletions<V> completions;
 
     /**
      * Constructs a new empty Trie object.
@@ -139,15 +168,9 @@ public class Trie<T extends TrieCharacter, V> implements Map<List<TrieCharacter>
         if(string.isEmpty()) {
             return false;
         }
-        
-        List<TrieNode<V>> traversedNodes = this.DFS(string);
-        if(traversedNodes.size()!=string.size()) {
-            return false;
-        }
-
 
-        TrieNode<V> lastNode = traversedNodes.get(traversedNodes.size()-1);
-        return lastNode.isValid();
+        TrieNode<V> lastNode = this.walk(string);
+        return lastNode!=null && lastNode.isValid();
     }
 
     /**
@@ -186,10 +209,9 @@ public class Trie<T extends TrieCharacter, V> implements Map<List<TrieCharacter>
             return null;
         }
 
-        List<TrieNode<V>> traversedNodes = this.DFS(string);
-        TrieNode<V> lastNode = traversedNodes.size()==0 ? null : traversedNodes.get(traversedNodes.size()-1);
+        TrieNode<V> lastNode = this.walk(string);
         // Check if string is found
-        if(string.size()!=traversedNodes.size() || !lastNode.isValid()) {
+        if(lastNode==null || !lastNode.isValid()) {
             return null;
         }
         return lastNode.getData();
@@ -212,23 +234,43 @@ public class Trie<T extends TrieCharacter, V> implements Map<List<TrieCharacter>
         if(string.isEmpty()) {
             return null;
         }
-        List<TrieNode<V>> traverseNodes = this.DFS(string);
-        if(traverseNodes.isEmpty()) {
-            this.rootMap.put(string.get(0), this.newChain(null, string, 0, value));
-        }
-        else {
-            TrieNode<V> lastNode = traverseNodes.get(traverseNodes.size()-1);
-            if(traverseNodes.size()==string.size()) {
-                // Restricting overwrite if overwrite flag is set to true
-                if(!lastNode.isValid() || (lastNode.isValid() && this.isOverwriteAllowed())) {
-                    lastNode.putData(value);
-                }
+
+        // Walking down to the deepest node present on the path of the string
+        TrieNode<V> lastNode = null, nextNode = this.rootMap.get(string.get(0));
+        int matched = 0;
+        while(nextNode!=null) {
+            lastNode = nextNode;
+            matched++;
+            if(matched==string.size()) {
+                break;
             }
-            else {
-                lastNode.addChild(string.get(traverseNodes.size()), this.newChain(lastNode, string, traverseNodes.size(), value));
+            nextNode = lastNode.getChildNode(string.get(matched));
+        }
+
+        if(lastNode==null) {
+            TrieNode<V> chain = this.newChain(null, string, 0, value);
+            this.rootMap.put(string.get(0), chain);
+            this.dataChanged(chain);
+        }
+        else if(matched < string.size()) {
+            TrieNode<V> chain = this.newChain(lastNode, string, matched, value);
+            lastNode.addChild(string.get(matched), chain);
+            this.dataChanged(chain);
+        }
+        else if(lastNode.isValid()) {
+            // Restricting overwrite if overwrite flag is set to false
+            if(this.isOverwriteAllowed()) {
+                lastNode.putData(value);
+                this.dataChanged(lastNode);
             }
+            return value;
+        }
+        else {
+            lastNode.putData(value);
+            this.dataChanged(lastNode);
         }
         this.stringCount++;
+        this.modCount++;
         return value;
     }
 
@@ -251,26 +293,64 @@ public class Trie<T extends TrieCharacter, V> implements Map<List<TrieCharacter>
             return null;
         }
 
-        List<TrieNode<V>> traversedNodes = this.DFS(string);
+        TrieNode<V> lastNode = this.walk(string);
 
         // String not found
-        if(string.size()!=traversedNodes.size()) {
+        if(lastNode==null || !lastNode.isValid()) {
             return null;
         }
 
-        TrieNode<V> lastNode = traversedNodes.get(traversedNodes.size()-1);
+        return this.removeNode(lastNode);
+    }
 
-        // String not found
-        if(!lastNode.isValid()) {
+    /**
+     * Rebuilds the string of a node from the characters of its ancestors.
+     * @param node The node.
+     * @return Returns a new list of the characters from the root-map to the node.
+     */
+    static List<TrieCharacter> keyOf(TrieNode<?> node) {
+        List<TrieCharacter> key = new ArrayList<>();
+        for(TrieNode<?> current = node; current!=null; current = current.getParent()) {
+            key.add(current.getCharacter());
+        }
+        Collections.reverse(key);
+        return key;
+    }
+
+    /**
+     * Searches for the valid node of a string.
+     * @param key The string to be searched.
+     * @return Returns the valid node of the string or null if the string is empty or absent.
+     * @throws ClassCastException Thrown when the object is not an instance of <tt>List</tt> or when one of the elements in the list is not an instance of <tt>TrieCharacter</tt>
+     * @throws IllegalArgumentException Thrown when one of the elements of the list is null.
+     * @throws NullPointerException Thrown when the argument is null.
+     */
+    private TrieNode<V> findValidNode(Object key) throws IllegalArgumentException, ClassCastException, NullPointerException {
+        List<TrieCharacter> string = Trie.validateString(key);
+        if(string.isEmpty()) {
             return null;
         }
+        TrieNode<V> node = this.walk(string);
+        return node!=null && node.isValid() ? node : null;
+    }
 
+    /**
+     * Removes the data of a valid node and the longest chain of nodes left without 
+     * data or other children above it.
+     * @param lastNode The valid node of the string to be removed.
+     * @return Returns the data of the node.
+     */
+    private V removeNode(TrieNode<V> lastNode) {
         // Removing data from last node
         V data = lastNode.getData();
         lastNode.removeData();
         this.stringCount--;
+        this.modCount++;
 
         if(lastNode.getChildrenCount() > 0) {
+            if(this.completions!=null) {
+                this.completions.removed(lastNode, lastNode);
+            }
             return data;
         }
 
@@ -290,6 +370,9 @@ public class Trie<T extends TrieCharacter, V> implements Map<List<TrieCharacter>
         else {
             parent.removeChild(currentNode);
         }
+        if(this.completions!=null) {
+            this.completions.removed(lastNode, parent);
+        }
         return data;
     }
 
@@ -305,9 +388,8 @@ public class Trie<T extends TrieCharacter, V> implements Map<List<TrieCharacter>
         if(m==null) {
             return;
         }
-        for(List<TrieCharacter> string : m.keySet()) {
-            this.put(string, m.get(string));
-        }
+        // Strings sharing a prefix with the previous string are added without walking from the root-map
+        new TrieBuilder<>(this).addAll(m.entrySet().iterator()).build();
     }
 
     /**
@@ -317,58 +399,529 @@ public class Trie<T extends TrieCharacter, V> implements Map<List<TrieCharacter>
     public void clear() {
         this.rootMap.clear();
         this.stringCount = 0;
+        this.modCount++;
         this.nodeIdCounter = new AtomicLong(0);
     }
 
     /**
-     * Gets the set of all distinct strings (or keys) in the trie.
+     * Gets a view of the set of all distinct strings (or keys) in the trie. The view is 
+     * backed by the trie and is iterated lazily; removing a string from the view or its 
+     * iterator removes it from the trie. Every string returned by the iterator is a new list.
      * @return Returns the <tt>Set</tt> object containing all the strings within the trie.
      */
     @Override
     public Set<List<TrieCharacter>> keySet() {
-        final Set<List<TrieCharacter>> keySet = new HashSet<>();
-        this.DFT((Stack<TrieNode<V>> nodes) -> {
-            List<TrieCharacter> string = new ArrayList<>();
-            for(TrieNode<V> node : nodes) {
-                string.add(node.getCharacter());
+        return new AbstractSet<List<TrieCharacter>>() {
+            @Override
+            public Iterator<List<TrieCharacter>> iterator() {
+                return new NodeIterator<List<TrieCharacter>>(Collections.<TrieCharacter>emptyList(), (key, node) -> new ArrayList<>(key));
             }
-            keySet.add(string);
-            return true;
-        });
-        return keySet;
+
+            @Override
+            public Spliterator<List<TrieCharacter>> spliterator() {
+                return new NodeSpliterator<List<TrieCharacter>>((key, node) -> new ArrayList<>(key), Spliterator.DISTINCT | Spliterator.NONNULL);
+            }
+
+            @Override
+            public int size() {
+                return Trie.this.size();
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return o instanceof List && Trie.this.findValidNode(o)!=null;
+            }
+
+            @Override
+            public boolean remove(Object o) {
+                TrieNode<V> node = o instanceof List ? Trie.this.findValidNode(o) : null;
+                if(node==null) {
+                    return false;
+                }
+                Trie.this.removeNode(node);
+                return true;
+            }
+
+            @Override
+            public void clear() {
+                Trie.this.clear();
+            }
+        };
     }
 
     /**
-     * Gets a collection of all the values or data assocaited with any string within the trie.
+     * Gets a view of the collection of all the values or data assocaited with any string 
+     * within the trie. The view is backed by the trie and is iterated lazily without 
+     * building any strings.
      * @return Returns a <tt>Collection</tt> of all the values.
      */
     @Override
     public Collection<V> values() {
-        final Collection<V> values = new ArrayList<>();
-        this.DFT((Stack<TrieNode<V>> nodes) -> {
-            values.add(nodes.peek().getData());
-            return true;
-        });
-        return values;
+        return new AbstractCollection<V>() {
+            @Override
+            public Iterator<V> iterator() {
+                return new NodeIterator<V>(Collections.<TrieCharacter>emptyList(), (key, node) -> node.getData());
+            }
+
+            @Override
+            public Spliterator<V> spliterator() {
+                return new NodeSpliterator<V>((key, node) -> node.getData(), 0);
+            }
+
+            @Override
+            public int size() {
+                return Trie.this.size();
+            }
+
+            @Override
+            public void clear() {
+                Trie.this.clear();
+            }
+        };
     }
 
     /**
-     * Gets a set of all the <tt>Entry</tt> objects or entries in the trie.
+     * Gets a view of the set of all the <tt>Entry</tt> objects or entries in the trie. The 
+     * view is backed by the trie and is iterated lazily; setting the value of an entry 
+     * updates the data of its node and removing an entry removes its string from the trie.
      * @return Returns a <tt>Set</tt> of all possible <tt>Entry</tt> objects.
      * @see Entry
      */
     @Override
     public Set<Entry<List<TrieCharacter>, V>> entrySet() {
-        final Set<Entry<List<TrieCharacter>, V>> entrySet = new HashSet<>();
-        this.DFT((Stack<TrieNode<V>> nodes) -> {
-            List<TrieCharacter> string = new ArrayList<>();
-            for(TrieNode<V> node : nodes) {
-                string.add(node.getCharacter());
+        return new AbstractSet<Entry<List<TrieCharacter>, V>>() {
+            @Override
+            public Iterator<Entry<List<TrieCharacter>, V>> iterator() {
+                return new NodeIterator<Entry<List<TrieCharacter>, V>>(Collections.<TrieCharacter>emptyList(), (key, node) -> new NodeEntry(new ArrayList<>(key), node));
             }
-            entrySet.add(new AbstractMap.SimpleEntry<>(string, nodes.peek().getData()));
-            return true;
-        });
-        return entrySet;
+
+            @Override
+            public Spliterator<Entry<List<TrieCharacter>, V>> spliterator() {
+                return new NodeSpliterator<Entry<List<TrieCharacter>, V>>((key, node) -> new NodeEntry(new ArrayList<>(key), node), Spliterator.DISTINCT | Spliterator.NONNULL);
+            }
+
+            @Override
+            public int size() {
+                return Trie.this.size();
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return this.findNode(o)!=null;
+            }
+
+            @Override
+            public boolean remove(Object o) {
+                TrieNode<V> node = this.findNode(o);
+                if(node==null) {
+                    return false;
+                }
+                Trie.this.removeNode(node);
+                return true;
+            }
+
+            @Override
+            public void clear() {
+                Trie.this.clear();
+            }
+
+            /**
+             * @param o The entry to be searched.
+             * @return Returns the valid node of the entry if its data is equal to the value of the entry or null otherwise.
+             */
+            private TrieNode<V> findNode(Object o) {
+                if(!(o instanceof Entry) || !(((Entry<?, ?>)o).getKey() instanceof List)) {
+                    return null;
+                }
+                Entry<?, ?> entry = (Entry<?, ?>)o;
+                TrieNode<V> node = Trie.this.findValidNode(entry.getKey());
+                return node!=null && Objects.equals(node.getData(), entry.getValue()) ? node : null;
+            }
+        };
+    }
+
+    /**
+     * Gets the strings within an edit distance of the key.
+     * @param key The string to be matched.
+     * @param maxEdits The maximum number of insertions, deletions or substitutions.
+     * @return Returns a map of the matching strings to their data.
+     * @throws ClassCastException Thrown when the object is not an instance of <tt>List</tt> or when one of the elements in the list is not an instance of <tt>TrieCharacter</tt>
+     * @throws IllegalArgumentException Thrown when one of the elements of the list is null or when the maximum number of edits is negative.
+     * @throws NullPointerException Thrown when the argument is null.
+     * @see #fuzzyMatches(List, int, boolean)
+     */
+    public Map<List<TrieCharacter>, V> fuzzyMatches(List<TrieCharacter> key, int maxEdits) throws IllegalArgumentException, ClassCastException, NullPointerException {
+        return this.fuzzyMatches(key, maxEdits, false);
+    }
+
+    /**
+     * Gets the strings within an edit distance of the key in a single traversal of the 
+     * trie. A row of the edit distance table of the key is computed for every node from 
+     * the row of its parent, and the subtree of a node is skipped as soon as no cell of 
+     * its row is within the maximum number of edits, since the distances can only grow 
+     * below it.
+     * @param key The string to be matched.
+     * @param maxEdits The maximum number of edits.
+     * @param transpositions True if a transposition of two adjacent characters counts as a single edit.
+     * @return Returns a map of the matching strings to their data.
+     * @throws ClassCastException Thrown when the object is not an instance of <tt>List</tt> or when one of the elements in the list is not an instance of <tt>TrieCharacter</tt>
+     * @throws IllegalArgumentException Thrown when one of the elements of the list is null or when the maximum number of edits is negative.
+     * @throws NullPointerException Thrown when the argument is null.
+     */
+    public Map<List<TrieCharacter>, V> fuzzyMatches(List<TrieCharacter> key, int maxEdits, boolean transpositions) throws IllegalArgumentException, ClassCastException, NullPointerException {
+        List<TrieCharacter> string = Trie.validateString(key);
+        if(maxEdits < 0) {
+            throw new IllegalArgumentException("Maximum number of edits cannot be negative.");
+        }
+        FuzzyMatcher matcher = new FuzzyMatcher(string, maxEdits, transpositions);
+        this.traverse(matcher);
+        return matcher.matches;
+    }
+
+    /**
+     * Gets the strings matching a wildcard pattern. The trie is searched in states of a
+     * node and a position of the pattern: a literal position follows the single child of
+     * its character, and only the any-character, character class and any-sequence
+     * positions branch over the children of a node, so the search never leaves the
+     * subtrees which can still match the pattern.
+     * @param pattern The pattern.
+     * @return Returns a map of the matching strings to their data.
+     * @throws NullPointerException Thrown when the pattern is null.
+     * @see TriePattern
+     */
+    public Map<List<TrieCharacter>, V> match(TriePattern pattern) throws NullPointerException {
+        if(pattern==null) {
+            throw new NullPointerException("Pattern cannot be null.");
+        }
+        Map<List<TrieCharacter>, V> matches = new HashMap<>();
+        int length = pattern.length();
+        // The same state can only be reached more than once past a second any-sequence
+        Set<List<Object>> visited = pattern.getStarCount() > 1 ? new HashSet<List<Object>>() : null;
+
+        // Explicit stack of states, a null node standing for the root-map
+        List<TrieNode<V>> nodes = new ArrayList<>();
+        int[] positions = new int[16];
+        nodes.add(null);
+        positions[0] = 0;
+        while(!nodes.isEmpty()) {
+            int top = nodes.size()-1;
+            TrieNode<V> node = nodes.remove(top);
+            int position = positions[top];
+            if(visited!=null && !visited.add(Arrays.<Object>asList(node==null ? 0L : node.getId(), position))) {
+                continue;
+            }
+            if(position==length) {
+                if(node!=null && node.isValid()) {
+                    matches.put(Trie.keyOf(node), node.getData());
+                }
+                continue;
+            }
+
+            int type = pattern.typeAt(position);
+            if(type==TriePattern.LITERAL) {
+                TrieCharacter character = pattern.characterAt(position);
+                TrieNode<V> child = node==null ? this.rootMap.get(character) : node.getChildNode(character);
+                if(child!=null) {
+                    positions = Trie.push(nodes, positions, child, position+1);
+                }
+                continue;
+            }
+            if(type==TriePattern.STAR) {
+                // The sequence either ends here or consumes one more character
+                positions = Trie.push(nodes, positions, node, position+1);
+            }
+            Collection<TrieNode<V>> children = node==null ? this.rootMap.values() : node.getChildrenCount()==0 ? Collections.<TrieNode<V>>emptyList() : node.getAllChildren();
+            for(TrieNode<V> child : children) {
+                if(type==TriePattern.STAR) {
+                    positions = Trie.push(nodes, positions, child, position);
+                }
+                else if(pattern.accepts(position, child.getCharacter())) {
+                    positions = Trie.push(nodes, positions, child, position+1);
+                }
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Gets the strings matching a wildcard pattern string such as <tt>c?t*</tt>.
+     * @param pattern The pattern string.
+     * @param mapper The function mapping a character of the pattern string to a <tt>TrieCharacter</tt>.
+     * @return Returns a map of the matching strings to their data.
+     * @throws IllegalArgumentException Thrown when the pattern string is malformed.
+     * @throws NullPointerException Thrown when the pattern or the mapper is null.
+     * @see TriePattern#compile(String, IntFunction)
+     */
+    public Map<List<TrieCharacter>, V> match(String pattern, IntFunction<? extends TrieCharacter> mapper) throws IllegalArgumentException, NullPointerException {
+        return this.match(TriePattern.compile(pattern, mapper));
+    }
+
+    /**
+     * Pushes a state of a pattern search.
+     * @return Returns the array of positions, grown if it was full.
+     */
+    private static <V> int[] push(List<TrieNode<V>> nodes, int[] positions, TrieNode<V> node, int position) {
+        if(nodes.size()==positions.length) {
+            positions = Arrays.copyOf(positions, positions.length*2);
+        }
+        positions[nodes.size()] = position;
+        nodes.add(node);
+        return positions;
+    }
+
+    /**
+     * Enables the cache of the best scored completions of every node, or disables it when 
+     * the scorer is null. The caches of all the nodes are built immediately and maintained 
+     * on every later modification, at the cost of an array of nodes and scores per node.
+     * @param scorer The function computing the score of the data of a string, or null to disable the caches.
+     * @param cacheSize The number of completions cached per node.
+     * @throws IllegalArgumentException Thrown when the cache size is not positive.
+     * @see #topCompletions(List, int)
+     */
+    public void setCompletionScorer(ToDoubleFunction<? super V> scorer, int cacheSize) throws IllegalArgumentException {
+        if(scorer==null) {
+            this.completions = null;
+            this.traverse(new TrieVisitor<V>() {
+                @Override
+                public Action preVisit(TrieNode<V> node, int depth) {
+                    node.setCompletions(null);
+                    return Action.CONTINUE;
+                }
+            });
+            return;
+        }
+        if(cacheSize <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive.");
+        }
+        this.completions = new TrieCompletions<>(scorer, cacheSize);
+        this.completions.rebuild(this);
+    }
+
+    /**
+     * Gets the strings starting with the prefix which have the highest scores. Up to the 
+     * cache size, the completions are read from the cache of the node of the prefix 
+     * without visiting its subtree; larger counts use a best-first search of the subtree.
+     * @param prefix The prefix of the strings, or an empty list for the whole trie.
+     * @param count The maximum number of completions.
+     * @return Returns the entries of the completions in descending order of their scores.
+     * @throws ClassCastException Thrown when the object is not an instance of <tt>List</tt> or when one of the elements in the list is not an instance of <tt>TrieCharacter</tt>
+     * @throws IllegalArgumentException Thrown when one of the elements of the list is null.
+     * @throws NullPointerException Thrown when the argument is null.
+     * @throws IllegalStateException Thrown when no completion scorer has been set.
+     * @see #setCompletionScorer(ToDoubleFunction, int)
+     */
+    public List<Entry<List<TrieCharacter>, V>> topCompletions(List<TrieCharacter> prefix, int count) throws IllegalArgumentException, ClassCastException, NullPointerException, IllegalStateException {
+        List<TrieCharacter> string = Trie.validateString(prefix);
+        if(this.completions==null) {
+            throw new IllegalStateException("Completion scorer has not been set.");
+        }
+        Collection<TrieNode<V>> roots;
+        if(string.isEmpty()) {
+            roots = this.rootMap.values();
+        }
+        else {
+            TrieNode<V> node = this.walk(string);
+            roots = node==null ? Collections.<TrieNode<V>>emptyList() : Collections.singletonList(node);
+        }
+        List<Entry<List<TrieCharacter>, V>> entries = new ArrayList<>();
+        for(TrieNode<V> node : this.completions.top(roots, count)) {
+            entries.add(new AbstractMap.SimpleImmutableEntry<>(Trie.keyOf(node), node.getData()));
+        }
+        return entries;
+    }
+
+    /**
+     * Updates the cached completions after data was put into a node directly.
+     * @param node The valid node, or the first node of a new chain whose last node is valid.
+     */
+    void dataChanged(TrieNode<V> node) {
+        if(this.completions==null) {
+            return;
+        }
+        while(!node.isValid()) {
+            node = node.getOnlyChild();
+        }
+        this.completions.updated(node);
+    }
+
+    /**
+     * Compiles the current nodes of the trie into a read-only double-array trie. Later 
+     * modifications of this trie are not reflected in the returned object.
+     * @return Returns the compiled <tt>DoubleArrayTrie</tt> object.
+     * @see DoubleArrayTrie#from(Trie)
+     */
+    public DoubleArrayTrie<T, V> freeze() {
+        return DoubleArrayTrie.from(this);
+    }
+
+    /**
+     * Computes the shape and the estimated memory footprint of the trie in a single 
+     * traversal. Every non-null value is estimated as a small object.
+     * @return Returns the <tt>TrieStats</tt> report.
+     * @see TrieStats
+     */
+    public TrieStats stats() {
+        return new TrieStats(this, value -> TrieStats.OBJECT_BYTES);
+    }
+
+    /**
+     * Computes the shape and the estimated memory footprint of the trie in a single 
+     * traversal, estimating the retained bytes of the values with a function.
+     * @param valueSize The function estimating the retained bytes of a non-null value.
+     * @return Returns the <tt>TrieStats</tt> report.
+     * @throws NullPointerException Thrown when the function is null.
+     * @see TrieStats
+     */
+    public TrieStats stats(ToLongFunction<? super V> valueSize) throws NullPointerException {
+        if(valueSize==null) {
+            throw new NullPointerException("Value size function cannot be null.");
+        }
+        return new TrieStats(this, valueSize);
+    }
+
+    /**
+     * Minimizes the current nodes of the trie into a read-only directed acyclic word graph
+     * which shares common suffixes as well as common prefixes. Later modifications of this
+     * trie are not reflected in the returned object.
+     * @return Returns the minimized <tt>Dawg</tt> object.
+     * @see Dawg#from(Trie)
+     */
+    public Dawg<T, V> minimize() {
+        return Dawg.from(this);
+    }
+
+    /**
+     * Compiles the current nodes of the trie into an Aho-Corasick scanner which finds all 
+     * the strings of the trie in a text in a single pass. The scanner must be compiled 
+     * again after strings are added to or removed from this trie.
+     * @return Returns the compiled <tt>AhoCorasick</tt> object.
+     * @see AhoCorasick#from(Trie)
+     */
+    public AhoCorasick<T, V> scanner() {
+        return AhoCorasick.from(this);
+    }
+
+    /**
+     * Writes a binary snapshot of the trie to a stream.
+     * @param out The stream.
+     * @param serializer The serializer holding the codecs of the characters and data.
+     * @throws IOException Thrown when the stream or the value codec fails.
+     * @throws NullPointerException Thrown when the stream or the serializer is null.
+     * @see TrieSerializer#writeTo(Trie, OutputStream)
+     */
+    public void writeTo(OutputStream out, TrieSerializer<V> serializer) throws IOException, NullPointerException {
+        if(serializer==null) {
+            throw new NullPointerException("Serializer cannot be null.");
+        }
+        serializer.writeTo(this, out);
+    }
+
+    /**
+     * Reads a binary snapshot from a stream into a new trie.
+     * @param <T> The type of characters of the trie.
+     * @param <V> The type of data of the trie.
+     * @param in The stream.
+     * @param serializer The serializer holding the codecs of the characters and data.
+     * @return Returns the new trie.
+     * @throws IOException Thrown when the stream fails or the snapshot is malformed.
+     * @throws NullPointerException Thrown when the stream or the serializer is null.
+     * @see TrieSerializer#readFrom(InputStream)
+     */
+    public static <T extends TrieCharacter, V> Trie<T, V> readFrom(InputStream in, TrieSerializer<V> serializer) throws IOException, NullPointerException {
+        if(serializer==null) {
+            throw new NullPointerException("Serializer cannot be null.");
+        }
+        return serializer.readFrom(in);
+    }
+
+    /**
+     * Builds a new trie from unsorted entries in parallel. The entries are partitioned by 
+     * the first character of their strings and the subtree of every partition, which is 
+     * an entry of the root-map, is built independently by a fork/join task before all the 
+     * subtrees are attached to the root-map. Entries of an equal string are applied in the 
+     * iteration order of the collection.
+     * @param <T> The type of characters of the trie.
+     * @param <V> The type of data of the trie.
+     * @param entries The collection of strings and their data.
+     * @return Returns the new trie.
+     * @throws ClassCastException Thrown when a string is not an instance of <tt>List</tt> or when one of the elements of the string is not an instance of <tt>TrieCharacter</tt>
+     * @throws IllegalArgumentException Thrown when a string contains a <tt>null</tt> character.
+     * @throws NullPointerException Thrown when the collection or one of the strings is null.
+     */
+    public static <T extends TrieCharacter, V> Trie<T, V> buildParallel(Collection<? extends Entry<? extends List<TrieCharacter>, ? extends V>> entries) throws IllegalArgumentException, ClassCastException, NullPointerException {
+        return Trie.buildParallel(entries.parallelStream());
+    }
+
+    /**
+     * Builds a new trie from the entries of a stream in parallel.
+     * @param <T> The type of characters of the trie.
+     * @param <V> The type of data of the trie.
+     * @param entries The stream of strings and their data.
+     * @return Returns the new trie.
+     * @throws ClassCastException Thrown when a string is not an instance of <tt>List</tt> or when one of the elements of the string is not an instance of <tt>TrieCharacter</tt>
+     * @throws IllegalArgumentException Thrown when a string contains a <tt>null</tt> character.
+     * @throws NullPointerException Thrown when the stream or one of the strings is null.
+     * @see #buildParallel(Collection)
+     */
+    public static <T extends TrieCharacter, V> Trie<T, V> buildParallel(Stream<? extends Entry<? extends List<TrieCharacter>, ? extends V>> entries) throws IllegalArgumentException, ClassCastException, NullPointerException {
+        Map<TrieCharacter, List<Entry<List<TrieCharacter>, V>>> partitions = entries.parallel()
+            .map(entry -> new AbstractMap.SimpleImmutableEntry<List<TrieCharacter>, V>(Trie.validateString(entry.getKey()), entry.getValue()))
+            .filter(entry -> !entry.getKey().isEmpty())
+            .collect(Collectors.groupingBy(entry -> entry.getKey().get(0)));
+
+        Trie<T, V> trie = new Trie<>();
+        List<SubtreeTask<V>> tasks = new ArrayList<>(partitions.size());
+        for(Entry<TrieCharacter, List<Entry<List<TrieCharacter>, V>>> partition : partitions.entrySet()) {
+            // Every task numbers its nodes from its own block of ids, at most one node per character below the root
+            long block = 1;
+            for(Entry<List<TrieCharacter>, V> entry : partition.getValue()) {
+                block += entry.getKey().size()-1;
+            }
+            long firstId = trie.nodeIdCounter.getAndAdd(block)+1;
+            SubtreeTask<V> task = new SubtreeTask<>(new TrieNode<V>(firstId, partition.getKey(), null), firstId+1, trie.isOverwriteAllowed(), partition.getValue());
+            tasks.add(task);
+            task.fork();
+        }
+        for(SubtreeTask<V> task : tasks) {
+            trie.stringCount += task.join();
+            trie.rootMap.put(task.root.getCharacter(), task.root);
+        }
+        return trie;
+    }
+
+    /**
+     * Gets the root-map of the trie.
+     * @return Returns the map of the first characters to their nodes.
+     */
+    Map<TrieCharacter, TrieNode<V>> getRootMap() {
+        return this.rootMap;
+    }
+
+    /**
+     * Creates a new invalid node with the next node id. The node is not attached to its parent.
+     * @param parent The parent of the node or null for a node of the root-map.
+     * @param character The character of the node.
+     * @return Returns the new node.
+     */
+    TrieNode<V> createNode(TrieNode<V> parent, TrieCharacter character) {
+        return this.getNewNode(parent, character, null, false);
+    }
+
+    /**
+     * Adjusts the number of strings in the trie after nodes were added or removed directly.
+     * @param delta The number of strings added (or removed if negative).
+     */
+    void adjustStringCount(int delta) {
+        this.stringCount += delta;
+        this.modCount++;
+    }
+
+    /**
+     * Gets the number of structural modifications, which changes whenever strings are added or removed.
+     * @return Returns the modification count.
+     */
+    int getModCount() {
+        return this.modCount;
     }
 
     /**
@@ -434,6 +987,182 @@ public class Trie<T extends TrieCharacter, V> implements Map<List<TrieCharacter>
         return newNode;
     }
 
+    /**
+     * Searches for the node associated with the last character of a string without 
+     * allocating any objects. The node is returned whether it is valid or not.
+     * @param key The string to be searched.
+     * @return Returns the node at the end of the path of the string or null if the string is empty or its path is absent.
+     * @throws ClassCastException Thrown when the object is not an instance of <tt>List</tt> or when one of the elements in the list is not an instance of <tt>TrieCharacter</tt>
+     * @throws IllegalArgumentException Thrown when one of the elements of the list is null.
+     * @throws NullPointerException Thrown when the argument is null.
+     */
+    public TrieNode<V> findNode(List<TrieCharacter> key) throws IllegalArgumentException, ClassCastException, NullPointerException {
+        List<TrieCharacter> string = Trie.validateString(key);
+        if(string.isEmpty()) {
+            return null;
+        }
+        return this.walk(string);
+    }
+
+    /**
+     * Gets the length of the longest prefix of a string whose path is present in the 
+     * trie, without allocating any objects.
+     * @param key The string to be searched.
+     * @return Returns the number of characters of the string matched from the root-map.
+     * @throws ClassCastException Thrown when the object is not an instance of <tt>List</tt> or when one of the elements in the list is not an instance of <tt>TrieCharacter</tt>
+     * @throws IllegalArgumentException Thrown when one of the elements of the list is null.
+     * @throws NullPointerException Thrown when the argument is null.
+     */
+    public int matchLength(List<TrieCharacter> key) throws IllegalArgumentException, ClassCastException, NullPointerException {
+        List<TrieCharacter> string = Trie.validateString(key);
+        if(string.isEmpty()) {
+            return 0;
+        }
+        TrieNode<V> currentNode = this.rootMap.get(string.get(0));
+        int matched = 0;
+        while(currentNode!=null) {
+            matched++;
+            if(matched==string.size()) {
+                break;
+            }
+            currentNode = currentNode.getChildNode(string.get(matched));
+        }
+        return matched;
+    }
+
+    /**
+     * Gets the longest string of the trie which is a prefix of a string, such as the most 
+     * specific route of a path. The string is descended once, remembering the deepest 
+     * valid node passed.
+     * @param key The string to be searched.
+     * @return Returns a new list of the longest matching prefix or null if no prefix of the string is in the trie.
+     * @throws ClassCastException Thrown when the object is not an instance of <tt>List</tt> or when one of the elements in the list is not an instance of <tt>TrieCharacter</tt>
+     * @throws IllegalArgumentException Thrown when one of the elements of the list is null.
+     * @throws NullPointerException Thrown when the argument is null.
+     */
+    public List<TrieCharacter> longestPrefixOf(List<TrieCharacter> key) throws IllegalArgumentException, ClassCastException, NullPointerException {
+        Entry<List<TrieCharacter>, V> entry = this.longestPrefixEntry(key);
+        return entry==null ? null : entry.getKey();
+    }
+
+    /**
+     * Gets the entry of the longest string of the trie which is a prefix of a string.
+     * @param key The string to be searched.
+     * @return Returns the entry of the longest matching prefix or null if no prefix of the string is in the trie.
+     * @throws ClassCastException Thrown when the object is not an instance of <tt>List</tt> or when one of the elements in the list is not an instance of <tt>TrieCharacter</tt>
+     * @throws IllegalArgumentException Thrown when one of the elements of the list is null.
+     * @throws NullPointerException Thrown when the argument is null.
+     * @see #longestPrefixOf(List)
+     */
+    public Entry<List<TrieCharacter>, V> longestPrefixEntry(List<TrieCharacter> key) throws IllegalArgumentException, ClassCastException, NullPointerException {
+        List<TrieCharacter> string = Trie.validateString(key);
+        TrieNode<V> longest = null;
+        int length = 0;
+        TrieNode<V> currentNode = string.isEmpty() ? null : this.rootMap.get(string.get(0));
+        for(int i=1; currentNode!=null; i++) {
+            if(currentNode.isValid()) {
+                longest = currentNode;
+                length = i;
+            }
+            if(i==string.size() || currentNode.getChildrenCount()==0) {
+                break;
+            }
+            currentNode = currentNode.getChildNode(string.get(i));
+        }
+        if(longest==null) {
+            return null;
+        }
+        return new AbstractMap.SimpleImmutableEntry<>(new ArrayList<>(string.subList(0, length)), longest.getData());
+    }
+
+    /**
+     * Gets the entries of all the strings of the trie which are prefixes of a string, 
+     * found in a single descent of the string.
+     * @param key The string to be searched.
+     * @return Returns a list of the entries of the matching prefixes from the shortest to the longest.
+     * @throws ClassCastException Thrown when the object is not an instance of <tt>List</tt> or when one of the elements in the list is not an instance of <tt>TrieCharacter</tt>
+     * @throws IllegalArgumentException Thrown when one of the elements of the list is null.
+     * @throws NullPointerException Thrown when the argument is null.
+     */
+    public List<Entry<List<TrieCharacter>, V>> allPrefixesOf(List<TrieCharacter> key) throws IllegalArgumentException, ClassCastException, NullPointerException {
+        List<TrieCharacter> string = Trie.validateString(key);
+        List<Entry<List<TrieCharacter>, V>> prefixes = new ArrayList<>();
+        TrieNode<V> currentNode = string.isEmpty() ? null : this.rootMap.get(string.get(0));
+        for(int i=1; currentNode!=null; i++) {
+            if(currentNode.isValid()) {
+                prefixes.add(new AbstractMap.SimpleImmutableEntry<>(new ArrayList<>(string.subList(0, i)), currentNode.getData()));
+            }
+            if(i==string.size() || currentNode.getChildrenCount()==0) {
+                break;
+            }
+            currentNode = currentNode.getChildNode(string.get(i));
+        }
+        return prefixes;
+    }
+
+    /**
+     * Creates a lazy iterator over the entries whose strings start with the prefix. The 
+     * iterator descends directly to the node of the prefix and then visits its subtree 
+     * depth-first one node at a time, so stopping early costs only the nodes visited. The 
+     * string of an entry is copied only when the entry is returned. An empty prefix 
+     * iterates over the whole trie. The trie must not be modified during the iteration.
+     * @param prefix The prefix of the strings.
+     * @return Returns an iterator over the matching entries.
+     * @throws ClassCastException Thrown when the object is not an instance of <tt>List</tt> or when one of the elements in the list is not an instance of <tt>TrieCharacter</tt>
+     * @throws IllegalArgumentException Thrown when one of the elements of the list is null.
+     * @throws NullPointerException Thrown when the argument is null.
+     */
+    public Iterator<Entry<List<TrieCharacter>, V>> prefixIterator(List<TrieCharacter> prefix) throws IllegalArgumentException, ClassCastException, NullPointerException {
+        List<TrieCharacter> string = Trie.validateString(prefix);
+        return new NodeIterator<Entry<List<TrieCharacter>, V>>(string, (key, node) -> new AbstractMap.SimpleImmutableEntry<>(new ArrayList<>(key), node.getData()));
+    }
+
+    /**
+     * Creates a lazy sequential stream of the entries whose strings start with the prefix. 
+     * Short-circuiting operations such as <tt>limit</tt> or <tt>findFirst</tt> stop the 
+     * traversal of the subtree early.
+     * @param prefix The prefix of the strings.
+     * @return Returns a stream of the matching entries.
+     * @throws ClassCastException Thrown when the object is not an instance of <tt>List</tt> or when one of the elements in the list is not an instance of <tt>TrieCharacter</tt>
+     * @throws IllegalArgumentException Thrown when one of the elements of the list is null.
+     * @throws NullPointerException Thrown when the argument is null.
+     * @see #prefixIterator(List)
+     */
+    public Stream<Entry<List<TrieCharacter>, V>> prefixStream(List<TrieCharacter> prefix) throws IllegalArgumentException, ClassCastException, NullPointerException {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this.prefixIterator(prefix), Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.DISTINCT), false);
+    }
+
+    /**
+     * Walks the path of an already validated non-empty string with the traversal method of the trie.
+     * @param string The string to be searched.
+     * @return Returns the node associated with the last character of the string or null if the path is absent.
+     */
+    private TrieNode<V> walk(List<TrieCharacter> string) {
+        TrieNode<V> currentNode = this.rootMap.get(string.get(0));
+        if(this.traversal==TrieTraversal.Recursive) {
+            return this.walkRecursive(string, 0, currentNode);
+        }
+        for(int i=1; i<string.size() && currentNode!=null; i++) {
+            currentNode = currentNode.getChildNode(string.get(i));
+        }
+        return currentNode;
+    }
+
+    /**
+     * Recursively walks the path of a string.
+     * @param string The string to be searched.
+     * @param currentIndex The index of the character of the current node.
+     * @param currentNode The node currently reached in the tree.
+     * @return Returns the node associated with the last character of the string or null if the path is absent.
+     */
+    private TrieNode<V> walkRecursive(List<TrieCharacter> string, int currentIndex, TrieNode<V> currentNode) {
+        if(currentNode==null || currentIndex==string.size()-1) {
+            return currentNode;
+        }
+        currentIndex++;
+        return this.walkRecursive(string, currentIndex, currentNode.getChildNode(string.get(currentIndex)));
+    }
+
     /**
      * Performs a depth-first search for a string in the trie.
      * @param string The string to be searched.
@@ -533,35 +1262,537 @@ public class Trie<T extends TrieCharacter, V> implements Map<List<TrieCharacter>
     }
 
     /**
-     * Initiates the depth-first traversal of the tree from the root map.
+     * Lazy depth-first iterator over the valid nodes below the node of a prefix. The 
+     * children of the nodes on the current path are kept on an explicit stack and the 
+     * characters of the path in a single buffer. Nodes with several children are copied 
+     * into an array when they are entered, so that removing the last returned string, 
+     * which may prune the chain of nodes above it, does not disturb the iteration.
+     * @param <E> The type of the elements returned for the valid nodes.
+     */
+    private class NodeIterator<E> implements Iterator<E> {
+
+        /**
+         * Function creating the element returned for a valid node from the characters of 
+         * its string, which are only valid during the call, and the node.
+         */
+        private final BiFunction<List<TrieCharacter>, TrieNode<V>, E> function;
+        /**
+         * Characters of the current path, starting with the prefix.
+         */
+        private final List<TrieCharacter> key;
+        /**
+         * Length of the prefix.
+         */
+        private final int baseLength;
+        /**
+         * Children of the nodes on the current path. A frame is either a single child node or an array of child nodes.
+         */
+        private Object[] frames;
+        /**
+         * Index of the next child to be visited in every frame.
+         */
+        private int[] positions;
+        /**
+         * Number of frames on the stack.
+         */
+        private int depth;
+        /**
+         * The next valid node to be returned or null if it has to be searched for.
+         */
+        private TrieNode<V> next;
+        /**
+         * The last valid node returned or null if it cannot be removed.
+         */
+        private TrieNode<V> last;
+
+        /**
+         * Constructs an iterator over the node of a prefix and its subtree.
+         * @param prefix The validated prefix, or an empty list for the whole trie.
+         * @param function The function creating the elements.
+         */
+        NodeIterator(List<TrieCharacter> prefix, BiFunction<List<TrieCharacter>, TrieNode<V>, E> function) {
+            this(prefix, null, function);
+            if(prefix.isEmpty()) {
+                if(!Trie.this.rootMap.isEmpty()) {
+                    this.push(Trie.this.rootMap.values().toArray(new TrieNode<?>[Trie.this.rootMap.size()]));
+                }
+                return;
+            }
+            TrieNode<V> node = Trie.this.walk(prefix);
+            if(node==null) {
+                return;
+            }
+            if(node.isValid()) {
+                this.next = node;
+            }
+            this.pushChildren(node);
+        }
+
+        /**
+         * Constructs an iterator over the subtrees of sibling nodes.
+         * @param parentKey The string of the parent of the siblings.
+         * @param siblings The sibling nodes or null for none.
+         * @param function The function creating the elements.
+         */
+        NodeIterator(List<TrieCharacter> parentKey, TrieNode<V>[] siblings, BiFunction<List<TrieCharacter>, TrieNode<V>, E> function) {
+            this.function = function;
+            this.key = new ArrayList<>(parentKey);
+            this.baseLength = parentKey.size();
+            this.frames = new Object[8];
+            this.positions = new int[8];
+            if(siblings!=null && siblings.length > 0) {
+                this.push(siblings);
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean hasNext() {
+            if(this.next!=null) {
+                return true;
+            }
+            while(this.depth > 0) {
+                int top = this.depth-1;
+                Object frame = this.frames[top];
+                TrieNode<V> child;
+                if(frame instanceof TrieNode) {
+                    child = this.positions[top]==0 ? (TrieNode<V>)frame : null;
+                }
+                else {
+                    TrieNode<V>[] array = (TrieNode<V>[])frame;
+                    child = this.positions[top] < array.length ? array[this.positions[top]] : null;
+                }
+                if(child==null) {
+                    this.frames[top] = null;
+                    this.depth--;
+                    continue;
+                }
+                this.positions[top]++;
+
+                // Truncating the path to the parent of the child
+                int length = this.baseLength + top;
+                while(this.key.size() > length) {
+                    this.key.remove(this.key.size()-1);
+                }
+                this.key.add(child.getCharacter());
+                this.pushChildren(child);
+                if(child.isValid()) {
+                    this.next = child;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public E next() {
+            if(!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            E element = this.function.apply(this.key, this.next);
+            this.last = this.next;
+            this.next = null;
+            return element;
+        }
+
+        @Override
+        public void remove() {
+            if(this.last==null || !this.last.isValid()) {
+                throw new IllegalStateException();
+            }
+            Trie.this.removeNode(this.last);
+            this.last = null;
+        }
+
+        /**
+         * Pushes the children of a node as a new frame.
+         * @param node The node whose children are to be visited.
+         */
+        private void pushChildren(TrieNode<V> node) {
+            int count = node.getChildrenCount();
+            if(count==1) {
+                this.push(node.getOnlyChild());
+            }
+            else if(count > 1) {
+                this.push(node.getChildrenSnapshot());
+            }
+        }
+
+        /**
+         * Pushes a frame on the stack.
+         * @param frame The single child or the array of children.
+         */
+        private void push(Object frame) {
+            if(this.depth==this.frames.length) {
+                this.frames = Arrays.copyOf(this.frames, this.depth*2);
+                this.positions = Arrays.copyOf(this.positions, this.depth*2);
+            }
+            this.frames[this.depth] = frame;
+            this.positions[this.depth] = 0;
+            this.depth++;
+        }
+    }
+
+    /**
+     * Spliterator over the valid nodes of the trie. A spliterator covers a range of 
+     * sibling nodes with their subtrees, starting with the entries of the root-map. It 
+     * is split by halving the range of siblings; a range of a single node is first 
+     * replaced by the children of the node, whose own string is kept to be returned by 
+     * this spliterator. The size estimate is halved on every split.
+     * @param <E> The type of the elements returned for the valid nodes.
+     */
+    private class NodeSpliterator<E> implements Spliterator<E> {
+
+        private final BiFunction<List<TrieCharacter>, TrieNode<V>, E> function;
+        private final int characteristics;
+        /**
+         * The string of the parent of the siblings.
+         */
+        private List<TrieCharacter> parentKey;
+        private TrieNode<V>[] siblings;
+        private int from, to;
+        /**
+         * Valid nodes entered while splitting whose strings have not been returned yet.
+         */
+        private List<TrieNode<V>> pending;
+        /**
+         * Iterator over the remaining siblings once the traversal has started.
+         */
+        private NodeIterator<E> iterator;
+        private long estimate;
+
+        /**
+         * Constructs a spliterator over the whole trie.
+         * @param function The function creating the elements.
+         * @param characteristics The characteristics of the elements.
+         */
+        NodeSpliterator(BiFunction<List<TrieCharacter>, TrieNode<V>, E> function, int characteristics) {
+            this(function, characteristics, Collections.<TrieCharacter>emptyList(), Trie.this.rootMap.values().toArray(TrieNode.<V>newArray(Trie.this.rootMap.size())), 0, Trie.this.rootMap.size(), Trie.this.size());
+        }
+
+        NodeSpliterator(BiFunction<List<TrieCharacter>, TrieNode<V>, E> function, int characteristics, List<TrieCharacter> parentKey, TrieNode<V>[] siblings, int from, int to, long estimate) {
+            this.function = function;
+            this.characteristics = characteristics;
+            this.parentKey = parentKey;
+            this.siblings = siblings;
+            this.from = from;
+            this.to = to;
+            this.pending = new ArrayList<>(0);
+            this.estimate = estimate;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super E> action) {
+            if(action==null) {
+                throw new NullPointerException("Action cannot be null.");
+            }
+            if(!this.pending.isEmpty()) {
+                TrieNode<V> node = this.pending.remove(this.pending.size()-1);
+                action.accept(this.function.apply(Trie.keyOf(node), node));
+                return true;
+            }
+            if(this.iterator==null) {
+                this.iterator = new NodeIterator<>(this.parentKey, Arrays.copyOfRange(this.siblings, this.from, this.to), this.function);
+                this.from = this.to;
+            }
+            if(this.iterator.hasNext()) {
+                action.accept(this.iterator.next());
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public Spliterator<E> trySplit() {
+            if(this.iterator!=null) {
+                return null;
+            }
+            // Descending until there are at least two subtrees to share
+            while(this.to - this.from==1) {
+                TrieNode<V> node = this.siblings[this.from];
+                if(node.getChildrenCount()==0) {
+                    return null;
+                }
+                if(node.isValid()) {
+                    this.pending.add(node);
+                }
+                List<TrieCharacter> key = new ArrayList<>(this.parentKey.size()+1);
+                key.addAll(this.parentKey);
+                key.add(node.getCharacter());
+                this.parentKey = key;
+                this.siblings = node.getChildrenSnapshot();
+                this.from = 0;
+                this.to = this.siblings.length;
+            }
+            if(this.to - this.from < 2) {
+                return null;
+            }
+            int middle = (this.from + this.to) >>> 1;
+            long half = this.estimate >>> 1;
+            NodeSpliterator<E> prefix = new NodeSpliterator<>(this.function, this.characteristics, this.parentKey, this.siblings, this.from, middle, half);
+            this.from = middle;
+            this.estimate -= half;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return this.estimate;
+        }
+
+        @Override
+        public int characteristics() {
+            return this.characteristics;
+        }
+    }
+
+    /**
+     * Entry of the entry-set view whose value is written through to the node.
+     */
+    private class NodeEntry extends AbstractMap.SimpleEntry<List<TrieCharacter>, V> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient TrieNode<V> node;
+
+        NodeEntry(List<TrieCharacter> key, TrieNode<V> node) {
+            super(key, node.getData());
+            this.node = node;
+        }
+
+        @Override
+        public V setValue(V value) {
+            this.node.putData(value);
+            Trie.this.dataChanged(this.node);
+            return super.setValue(value);
+        }
+    }
+
+    /**
+     * Visitor computing the edit distance row of the key for every node from the row 
+     * of its parent, with the optimal string alignment variant for transpositions.
+     */
+    private class FuzzyMatcher implements TrieVisitor<V> {
+
+        private final List<TrieCharacter> string;
+        private final int maxEdits;
+        private final boolean transpositions;
+        /**
+         * Characters of the current path.
+         */
+        private final List<TrieCharacter> path;
+        /**
+         * Edit distance rows of the nodes on the current path, indexed by depth.
+         */
+        private int[][] rows;
+        private final Map<List<TrieCharacter>, V> matches;
+
+        FuzzyMatcher(List<TrieCharacter> string, int maxEdits, boolean transpositions) {
+            this.string = string;
+            this.maxEdits = maxEdits;
+            this.transpositions = transpositions;
+            this.path = new ArrayList<>();
+            this.rows = new int[16][];
+            this.rows[0] = new int[string.size()+1];
+            for(int j=0; j<=string.size(); j++) {
+                this.rows[0][j] = j;
+            }
+            this.matches = new HashMap<>();
+        }
+
+        @Override
+        public Action preVisit(TrieNode<V> node, int depth) {
+            while(this.path.size() >= depth) {
+                this.path.remove(this.path.size()-1);
+            }
+            TrieCharacter character = node.getCharacter();
+            this.path.add(character);
+            if(depth==this.rows.length) {
+                this.rows = Arrays.copyOf(this.rows, depth*2);
+            }
+            int length = this.string.size();
+            int[] previous = this.rows[depth-1];
+            int[] row = this.rows[depth];
+            if(row==null) {
+                row = new int[length+1];
+                this.rows[depth] = row;
+            }
+
+            row[0] = depth;
+            int minimum = depth;
+            for(int j=1; j<=length; j++) {
+                int cost = character.equals(this.string.get(j-1)) ? 0 : 1;
+                int distance = Math.min(Math.min(row[j-1]+1, previous[j]+1), previous[j-1]+cost);
+                if(this.transpositions && depth > 1 && j > 1 && character.equals(this.string.get(j-2)) && this.path.get(depth-2).equals(this.string.get(j-1))) {
+                    distance = Math.min(distance, this.rows[depth-2][j-2]+1);
+                }
+                row[j] = distance;
+                minimum = Math.min(minimum, distance);
+            }
+
+            if(node.isValid() && row[length] <= this.maxEdits) {
+                this.matches.put(new ArrayList<>(this.path), node.getData());
+            }
+            // Distances below the node cannot be smaller than the minimum of its row
+            return minimum > this.maxEdits ? Action.SKIP_SUBTREE : Action.CONTINUE;
+        }
+    }
+
+    /**
+     * Fork/join task building the subtree of one character of the root-map. The task 
+     * shares no state with the other tasks, its nodes are numbered from a block of ids 
+     * reserved for it.
+     * @param <V> Data class type.
+     */
+    private static class SubtreeTask<V> extends RecursiveTask<Integer> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final TrieNode<V> root;
+        private final boolean overwrite;
+        private final List<Entry<List<TrieCharacter>, V>> entries;
+        /**
+         * The id of the next node created by the task.
+         */
+        private long nextId;
+
+        SubtreeTask(TrieNode<V> root, long nextId, boolean overwrite, List<Entry<List<TrieCharacter>, V>> entries) {
+            this.root = root;
+            this.nextId = nextId;
+            this.overwrite = overwrite;
+            this.entries = entries;
+        }
+
+        /**
+         * Adds the strings of the partition below the root node.
+         * @return Returns the number of distinct strings added.
+         */
+        @Override
+        protected Integer compute() {
+            int count = 0;
+            for(Entry<List<TrieCharacter>, V> entry : this.entries) {
+                List<TrieCharacter> string = entry.getKey();
+                TrieNode<V> lastNode = this.root;
+                int matched = 1;
+                while(matched < string.size()) {
+                    TrieNode<V> nextNode = lastNode.getChildNode(string.get(matched));
+                    if(nextNode==null) {
+                        break;
+                    }
+                    lastNode = nextNode;
+                    matched++;
+                }
+                if(matched < string.size()) {
+                    for(; matched < string.size(); matched++) {
+                        TrieNode<V> nextNode = new TrieNode<V>(this.nextId++, string.get(matched), lastNode);
+                        lastNode.addChild(nextNode.getCharacter(), nextNode);
+                        lastNode = nextNode;
+                    }
+                    lastNode.putData(entry.getValue());
+                    count++;
+                }
+                else if(!lastNode.isValid()) {
+                    lastNode.putData(entry.getValue());
+                    count++;
+                }
+                else if(this.overwrite) {
+                    lastNode.putData(entry.getValue());
+                }
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Initiates the depth-first traversal of the tree from the root map. The traversal 
+     * is iterative and stops as soon as the operation returns false.
      * @param operation The lambda expression to perform when a valid node is encountered during traversal.
+     * @see #traverse(TrieVisitor)
      */
     public void DFT(PostTraversalOperation<V> operation) {
-        Stack<TrieNode<V>> traversedNodes = new Stack<>();
-        for(TrieNode<V> currentNode : this.rootMap.values()) {
-            this.DFTRecursive(currentNode, traversedNodes, operation);
-        }
+        final Stack<TrieNode<V>> traversedNodes = new Stack<>();
+        this.traverse(new TrieVisitor<V>() {
+            @Override
+            public Action preVisit(TrieNode<V> node, int depth) {
+                traversedNodes.push(node);
+                if(node.isValid() && !operation.postOperation(traversedNodes)) {
+                    return Action.TERMINATE;
+                }
+                return Action.CONTINUE;
+            }
+
+            @Override
+            public boolean postVisit(TrieNode<V> node, int depth) {
+                traversedNodes.pop();
+                return true;
+            }
+        });
     }
 
     /**
-     * Recursively traverses the tree and calls operation method whenever a valid node is encountered.
-     * @param currentNode The current node reached during the traversal.
-     * @param traversedNodes The list of nodes traversed (in order).
-     * @param operation The method to be called when the current node is valid.
+     * Traverses the tree depth-first without recursion, so the depth of the traversal is 
+     * not limited by the call stack. The children of the nodes on the current path are 
+     * kept on an array-backed stack; nodes with several children are copied into an 
+     * array when they are entered. The trie must not be modified during the traversal.
+     * @param visitor The visitor of the nodes.
+     * @see TrieVisitor
      */
-    private void DFTRecursive(TrieNode<V> currentNode, Stack<TrieNode<V>> traversedNodes, PostTraversalOperation<V> operation) {
-        traversedNodes.push(currentNode);
-        if(currentNode.isValid()) {
-            if(!operation.postOperation(traversedNodes)) {
-                return;
-            };
+    @SuppressWarnings("unchecked")
+    public void traverse(TrieVisitor<V> visitor) {
+        if(this.rootMap.isEmpty()) {
+            return;
         }
-        if(currentNode.getChildrenCount() > 0) {
-            for(TrieCharacter c : currentNode.getAllCharacters()) {
-                this.DFTRecursive(currentNode.getChild(c), traversedNodes, operation);
+        // Frame i holds the children of path[i-1], frame 0 holds the root-map nodes
+        Object[] frames = new Object[16];
+        int[] positions = new int[16];
+        TrieNode<V>[] path = TrieNode.newArray(16);
+        frames[0] = this.rootMap.values().toArray(new TrieNode<?>[this.rootMap.size()]);
+        int depth = 0;
+
+        while(depth >= 0) {
+            Object frame = frames[depth];
+            TrieNode<V> child = null;
+            if(frame instanceof TrieNode) {
+                if(positions[depth]==0) {
+                    child = (TrieNode<V>)frame;
+                }
+            }
+            else if(positions[depth] < ((TrieNode<V>[])frame).length) {
+                child = ((TrieNode<V>[])frame)[positions[depth]];
+            }
+
+            // Subtree of path[depth-1] has been traversed
+            if(child==null) {
+                frames[depth] = null;
+                depth--;
+                if(depth >= 0 && !visitor.postVisit(path[depth], depth+1)) {
+                    return;
+                }
+                continue;
+            }
+            positions[depth]++;
+            path[depth] = child;
+
+            TrieVisitor.Action action = visitor.preVisit(child, depth+1);
+            if(action==TrieVisitor.Action.TERMINATE) {
+                return;
+            }
+            int count = child.getChildrenCount();
+            if(action==TrieVisitor.Action.SKIP_SUBTREE || count==0) {
+                if(!visitor.postVisit(child, depth+1)) {
+                    return;
+                }
+                continue;
+            }
+            depth++;
+            if(depth==frames.length) {
+                frames = Arrays.copyOf(frames, depth*2);
+                positions = Arrays.copyOf(positions, depth*2);
+                path = Arrays.copyOf(path, depth*2);
             }
+            frames[depth] = count==1 ? child.getOnlyChild() : child.getChildrenSnapshot();
+            positions[depth] = 0;
         }
-        traversedNodes.pop();
     }
 
     /**
@@ -0,0 +1,203 @@
+package io.damelyngdoh.java.trie;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * <p>
+ * TrieBuilder class loads strings into a <tt>Trie</tt> in bulk. The builder keeps the
+ * path of nodes of the previous string and only walks down from the longest common
+ * prefix of the previous and the next string, so the nodes of a string are reached
+ * without searching from the root-map. Once a node leaves the path no more children
+ * are expected for it and its children array is trimmed to the exact number of children.
+ * </p>
+ * <p>
+ * The strings are expected to be sorted, or at least grouped so that strings sharing a
+ * prefix are adjacent, in which case every string is loaded in time proportional to its
+ * characters which are not shared with the previous string. Strings in any other order
+ * are still loaded correctly, only without the benefit of the shared path. The overwrite
+ * flag of the trie is honoured for duplicate strings.
+ * </p>
+ *
+ * @param <T> The type of characters the trie will contain, must extends <tt>TrieCharacter</tt> class.
+ * @param <V> The type of data which the trie will contain in its nodes.
+ *
+ * @author Dame Lyngdoh
+ * @since 1.0.0
+ * @see Trie
+ */
+public class TrieBuilder<T extends TrieCharacter, V> {
+
+    /**
+     * The trie which the strings are loaded into.
+     */
+    private final Trie<T, V> trie;
+    /**
+     * Nodes of the previous string, from the first character to the last.
+     */
+    private final List<TrieNode<V>> path;
+    /**
+     * Flag indicating if the trie has been built.
+     */
+    private boolean built;
+
+    /**
+     * Constructs a builder of a new empty trie.
+     */
+    public TrieBuilder() {
+        this(new Trie<T, V>());
+    }
+
+    /**
+     * Constructs a builder which loads strings into an existing trie.
+     * @param trie The trie which the strings are loaded into.
+     * @throws NullPointerException Thrown when the trie is null.
+     */
+    public TrieBuilder(Trie<T, V> trie) throws NullPointerException {
+        if(trie==null) {
+            throw new NullPointerException("Trie cannot be null.");
+        }
+        this.trie = trie;
+        this.path = new ArrayList<>();
+    }
+
+    /**
+     * Adds a string with its associated data.
+     * @param key The string to be added to the trie.
+     * @param value The data/value to be mapped to the string.
+     * @return Returns this builder.
+     * @throws ClassCastException Thrown when the object is not an instance of <tt>List</tt> or when one of the elements in the list is not an instance of <tt>TrieCharacter</tt>
+     * @throws IllegalArgumentException Thrown when one of the elements of the list is null.
+     * @throws NullPointerException Thrown when the argument is null.
+     * @throws IllegalStateException Thrown when the trie has already been built.
+     */
+    public TrieBuilder<T, V> add(List<TrieCharacter> key, V value) throws IllegalArgumentException, ClassCastException, NullPointerException, IllegalStateException {
+        if(this.built) {
+            throw new IllegalStateException("Trie has already been built.");
+        }
+        List<TrieCharacter> string = Trie.validateString(key);
+        if(string.isEmpty()) {
+            return this;
+        }
+
+        // Longest common prefix with the previous string
+        int matched = 0, limit = Math.min(this.path.size(), string.size());
+        while(matched < limit && this.path.get(matched).getCharacter().equals(string.get(matched))) {
+            matched++;
+        }
+        this.popPath(matched);
+
+        // Following nodes already present below the common prefix
+        TrieNode<V> lastNode = matched==0 ? null : this.path.get(matched-1);
+        while(matched < string.size()) {
+            TrieNode<V> nextNode = lastNode==null ? this.trie.getRootMap().get(string.get(matched)) : lastNode.getChildNode(string.get(matched));
+            if(nextNode==null) {
+                break;
+            }
+            this.path.add(nextNode);
+            lastNode = nextNode;
+            matched++;
+        }
+
+        if(matched==string.size()) {
+            if(!lastNode.isValid()) {
+                lastNode.putData(value);
+                this.trie.adjustStringCount(1);
+                this.trie.dataChanged(lastNode);
+            }
+            else if(this.trie.isOverwriteAllowed()) {
+                lastNode.putData(value);
+                this.trie.dataChanged(lastNode);
+            }
+            return this;
+        }
+
+        TrieNode<V> chain = this.trie.newChain(lastNode, string, matched, value);
+        if(lastNode==null) {
+            this.trie.getRootMap().put(chain.getCharacter(), chain);
+        }
+        else {
+            lastNode.addChild(chain.getCharacter(), chain);
+        }
+        this.trie.adjustStringCount(1);
+        this.trie.dataChanged(chain);
+
+        // Pushing the nodes of the new chain
+        TrieNode<V> node = chain;
+        this.path.add(node);
+        for(matched++; matched < string.size(); matched++) {
+            node = node.getChildNode(string.get(matched));
+            this.path.add(node);
+        }
+        return this;
+    }
+
+    /**
+     * Adds all the strings of the entries in the order of the iterator.
+     * @param entries The iterator of strings and their data.
+     * @return Returns this builder.
+     * @throws ClassCastException Thrown when a string is not an instance of <tt>List</tt> or when one of the elements of the string is not an instance of <tt>TrieCharacter</tt>
+     * @throws IllegalArgumentException Thrown when a string contains a <tt>null</tt> character.
+     * @throws NullPointerException Thrown when the iterator or one of the strings is null.
+     * @throws IllegalStateException Thrown when the trie has already been built.
+     */
+    public TrieBuilder<T, V> addAll(Iterator<? extends Map.Entry<? extends List<TrieCharacter>, ? extends V>> entries) throws IllegalArgumentException, ClassCastException, NullPointerException, IllegalStateException {
+        while(entries.hasNext()) {
+            Map.Entry<? extends List<TrieCharacter>, ? extends V> entry = entries.next();
+            this.add(entry.getKey(), entry.getValue());
+        }
+        return this;
+    }
+
+    /**
+     * Adds all the strings of the entries in the encounter order of the stream.
+     * @param entries The stream of strings and their data.
+     * @return Returns this builder.
+     * @throws ClassCastException Thrown when a string is not an instance of <tt>List</tt> or when one of the elements of the string is not an instance of <tt>TrieCharacter</tt>
+     * @throws IllegalArgumentException Thrown when a string contains a <tt>null</tt> character.
+     * @throws NullPointerException Thrown when the stream or one of the strings is null.
+     * @throws IllegalStateException Thrown when the trie has already been built.
+     */
+    public TrieBuilder<T, V> addAll(Stream<? extends Map.Entry<? extends List<TrieCharacter>, ? extends V>> entries) throws IllegalArgumentException, ClassCastException, NullPointerException, IllegalStateException {
+        return this.addAll(entries.iterator());
+    }
+
+    /**
+     * Trims the nodes of the last string and returns the trie. No more strings can be added afterwards.
+     * @return Returns the trie containing the added strings.
+     */
+    public Trie<T, V> build() {
+        if(!this.built) {
+            this.popPath(0);
+            this.built = true;
+        }
+        return this.trie;
+    }
+
+    /**
+     * Builds a new trie from entries sorted or grouped by their strings.
+     * @param <T> The type of characters of the trie.
+     * @param <V> The type of data of the trie.
+     * @param entries The iterator of strings and their data.
+     * @return Returns the new trie.
+     * @throws ClassCastException Thrown when a string is not an instance of <tt>List</tt> or when one of the elements of the string is not an instance of <tt>TrieCharacter</tt>
+     * @throws IllegalArgumentException Thrown when a string contains a <tt>null</tt> character.
+     * @throws NullPointerException Thrown when the iterator or one of the strings is null.
+     */
+    public static <T extends TrieCharacter, V> Trie<T, V> build(Iterator<? extends Map.Entry<? extends List<TrieCharacter>, ? extends V>> entries) throws IllegalArgumentException, ClassCastException, NullPointerException {
+        return new TrieBuilder<T, V>().addAll(entries).build();
+    }
+
+    /**
+     * Removes the nodes from the path beyond the length and trims their children.
+     * @param length The number of nodes to be kept in the path.
+     */
+    private void popPath(int length) {
+        for(int i=this.path.size()-1; i >= length; i--) {
+            this.path.remove(i).trimChildren();
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package io.damelyngdoh.java.trie;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * <p>
+ * TrieCompletions class maintains, for every node of a <tt>Trie</tt>, a cache of the
+ * valid nodes with the highest scores in the subtree of the node. The cache of a node
+ * is always the best of its own score (if valid) and the caches of its children, so a
+ * change of the data of a node only updates the caches of its ancestors, stopping at
+ * the first ancestor whose cache is not affected.
+ * </p>
+ * <p>
+ * Completions up to the cache size are read directly from the cache of the node of a
+ * prefix. Larger requests are answered by a best-first search which uses the best
+ * cached score of every subtree as its bound.
+ * </p>
+ *
+ * @param <V> Data class type.
+ *
+ * @author Dame Lyngdoh
+ * @since 1.0.0
+ * @see Trie#setCompletionScorer(ToDoubleFunction, int)
+ */
+final class TrieCompletions<V> {
+
+    /**
+     * Function computing the score of the data of a valid node.
+     */
+    private final ToDoubleFunction<? super V> scorer;
+    /**
+     * Maximum number of completions cached per node.
+     */
+    private final int capacity;
+
+    TrieCompletions(ToDoubleFunction<? super V> scorer, int capacity) {
+        this.scorer = scorer;
+        this.capacity = capacity;
+    }
+
+    /**
+     * @return Returns the maximum number of completions cached per node.
+     */
+    int getCapacity() {
+        return this.capacity;
+    }
+
+    /**
+     * Builds the caches of all the nodes of a trie bottom-up.
+     * @param trie The trie.
+     */
+    void rebuild(Trie<?, V> trie) {
+        trie.traverse(new TrieVisitor<V>() {
+            @Override
+            public boolean postVisit(TrieNode<V> node, int depth) {
+                TrieCompletions.this.recompute(node);
+                return true;
+            }
+        });
+    }
+
+    /**
+     * Updates the caches after the data of a valid node was added or changed.
+     * @param node The valid node.
+     */
+    void updated(TrieNode<V> node) {
+        double score = this.scorer.applyAsDouble(node.getData());
+        for(TrieNode<V> ancestor = node; ancestor!=null; ancestor = ancestor.getParent()) {
+            Cache<V> cache = ancestor.getCompletions();
+            if(cache==null) {
+                cache = new Cache<>(this.capacity);
+                ancestor.setCompletions(cache);
+            }
+            int index = cache.indexOf(node);
+            if(index >= 0) {
+                if(score >= cache.scores[index] || cache.count < this.capacity) {
+                    cache.removeAt(index);
+                    cache.insert(node, score);
+                }
+                else {
+                    // A node outside the cache may now be better than the lowered node
+                    this.recompute(ancestor);
+                }
+            }
+            else if(cache.count < this.capacity || score > cache.scores[cache.count-1]) {
+                cache.insert(node, score);
+            }
+            else {
+                // The node is not among the best of any larger subtree either
+                return;
+            }
+        }
+    }
+
+    /**
+     * Updates the caches after a node was removed or invalidated.
+     * @param removed The node which is no longer valid.
+     * @param ancestor The deepest node on the path of the removed node still in the trie, or null.
+     */
+    void removed(TrieNode<V> removed, TrieNode<V> ancestor) {
+        for(; ancestor!=null; ancestor = ancestor.getParent()) {
+            Cache<V> cache = ancestor.getCompletions();
+            if(cache==null || cache.indexOf(removed) < 0) {
+                return;
+            }
+            this.recompute(ancestor);
+        }
+    }
+
+    /**
+     * Gets the best valid nodes in the subtrees of the nodes.
+     * @param roots The roots of the subtrees.
+     * @param count The maximum number of nodes.
+     * @return Returns the valid nodes in descending order of their scores.
+     */
+    List<TrieNode<V>> top(Collection<TrieNode<V>> roots, int count) {
+        if(roots.isEmpty() || count <= 0) {
+            return Collections.emptyList();
+        }
+        if(count <= this.capacity) {
+            Cache<V> merged = roots.size()==1 ? roots.iterator().next().getCompletions() : new Cache<V>(this.capacity);
+            if(roots.size() > 1) {
+                for(TrieNode<V> root : roots) {
+                    merged.insertAll(root.getCompletions());
+                }
+            }
+            List<TrieNode<V>> nodes = new ArrayList<>(Math.min(count, merged.count));
+            for(int i=0; i<merged.count && i<count; i++) {
+                nodes.add(merged.nodes[i]);
+            }
+            return nodes;
+        }
+
+        // Best-first search bounded by the best score of every subtree
+        PriorityQueue<Candidate<V>> queue = new PriorityQueue<>();
+        for(TrieNode<V> root : roots) {
+            queue.add(new Candidate<>(root, root.getCompletions().scores[0], false));
+        }
+        List<TrieNode<V>> nodes = new ArrayList<>();
+        while(nodes.size() < count && !queue.isEmpty()) {
+            Candidate<V> candidate = queue.poll();
+            if(candidate.terminal) {
+                nodes.add(candidate.node);
+                continue;
+            }
+            if(candidate.node.isValid()) {
+                queue.add(new Candidate<>(candidate.node, this.scorer.applyAsDouble(candidate.node.getData()), true));
+            }
+            for(TrieNode<V> child : candidate.node.getAllChildren()) {
+                queue.add(new Candidate<>(child, child.getCompletions().scores[0], false));
+            }
+        }
+        return nodes;
+    }
+
+    /**
+     * Recomputes the cache of a node from its own score and the caches of its children.
+     * @param node The node.
+     */
+    private void recompute(TrieNode<V> node) {
+        Cache<V> cache = new Cache<>(this.capacity);
+        if(node.isValid()) {
+            cache.insert(node, this.scorer.applyAsDouble(node.getData()));
+        }
+        if(node.getChildrenCount() > 0) {
+            for(TrieNode<V> child : node.getAllChildren()) {
+                cache.insertAll(child.getCompletions());
+            }
+        }
+        node.setCompletions(cache);
+    }
+
+    /**
+     * Cache of the best valid nodes of a subtree in descending order of their scores.
+     * @param <V> Data class type.
+     */
+    static final class Cache<V> {
+
+        private final TrieNode<V>[] nodes;
+        private final double[] scores;
+        private int count;
+
+        Cache(int capacity) {
+            this.nodes = TrieNode.newArray(capacity);
+            this.scores = new double[capacity];
+        }
+
+        private int indexOf(TrieNode<V> node) {
+            for(int i=0; i<this.count; i++) {
+                if(this.nodes[i]==node) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private void removeAt(int index) {
+            this.count--;
+            System.arraycopy(this.nodes, index+1, this.nodes, index, this.count-index);
+            System.arraycopy(this.scores, index+1, this.scores, index, this.count-index);
+            this.nodes[this.count] = null;
+        }
+
+        /**
+         * Inserts a node in order of its score, dropping the lowest node if the cache is full.
+         */
+        private void insert(TrieNode<V> node, double score) {
+            int index = this.count;
+            while(index > 0 && this.scores[index-1] < score) {
+                index--;
+            }
+            if(index==this.nodes.length) {
+                return;
+            }
+            int moved = Math.min(this.count, this.nodes.length-1) - index;
+            System.arraycopy(this.nodes, index, this.nodes, index+1, moved);
+            System.arraycopy(this.scores, index, this.scores, index+1, moved);
+            this.nodes[index] = node;
+            this.scores[index] = score;
+            this.count = Math.min(this.count+1, this.nodes.length);
+        }
+
+        private void insertAll(Cache<V> other) {
+            if(other==null) {
+                return;
+            }
+            for(int i=0; i<other.count; i++) {
+                if(this.count==this.nodes.length && other.scores[i] <= this.scores[this.count-1]) {
+                    return;
+                }
+                this.insert(other.nodes[i], other.scores[i]);
+            }
+        }
+    }
+
+    /**
+     * Entry of the best-first search: either a subtree bounded by its best score or a valid node with its own score.
+     * @param <V> Data class type.
+     */
+    private static final class Candidate<V> implements Comparable<Candidate<V>> {
+
+        private final TrieNode<V> node;
+        private final double score;
+        private final boolean terminal;
+
+        Candidate(TrieNode<V> node, double score, boolean terminal) {
+            this.node = node;
+            this.score = score;
+            this.terminal = terminal;
+        }
+
+        @Override
+        public int compareTo(Candidate<V> other) {
+            int comparison = Double.compare(other.score, this.score);
+            // Valid nodes come before subtrees of an equal bound
+            return comparison!=0 ? comparison : Boolean.compare(other.terminal, this.terminal);
+        }
+    }
+}
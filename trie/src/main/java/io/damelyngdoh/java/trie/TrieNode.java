@@ -1,8 +1,15 @@
 package io.damelyngdoh.java.trie;
 
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
 
 /**
@@ -24,10 +31,16 @@ import java.util.Set;
  * a reference to the parent node or null if the node is contained in the root-map of the trie
  * </li>
  * <li>
- * a Map type object which maps the next characters to the corresponding nodes (child nodes).
+ * the children nodes which are mapped by the next characters.
  * </li>
  * </ul>
  * <p>
+ * The container of the children adapts to the number of children of the node. A node 
+ * without children holds no container at all, a single child is held inline, a few 
+ * children are held in a small array which is scanned linearly and only wide nodes 
+ * use a <tt>HashMap</tt>. The representation changes whenever a child is added or removed.
+ * </p>
+ * <p>
  * A node is a valid node if it is the last node of a string added to the trie.
  * In other words, it is the node which is associated with the last character of 
  * the string. This node holds data associated with the string. The data held by 
@@ -49,9 +62,24 @@ public class TrieNode<V> {
      */
     private boolean validity;
     /**
-     * Map to the children nodes (or next characters).
+     * Maximum number of children held in the small array before switching to a map.
+     */
+    static final int ARRAY_CHILDREN_LIMIT = 8;
+    /**
+     * Number of children at or below which a map is converted back to a small array.
+     */
+    static final int MAP_CHILDREN_SHRINK = 4;
+
+    /**
+     * The children of the node. The object is null when the node has no children, a 
+     * <tt>TrieNode</tt> when there is a single child, an array of <tt>TrieNode</tt> 
+     * objects for a few children or a <tt>Map</tt> of character to child node for wide nodes.
      */
-    private Map<TrieCharacter, TrieNode<V>> childrenMap;
+    private Object children;
+    /**
+     * Number of children of the node.
+     */
+    private int childrenCount;
     /**
      * Reference to the parent of the node. Null if the parent is the root-map.
      */
@@ -64,6 +92,10 @@ public class TrieNode<V> {
      * The data contained by the node if the node is valid or null if invalid.
      */
     private V data;
+    /**
+     * Cache of the best completions in the subtree of the node or null if completions are not maintained.
+     */
+    private TrieCompletions.Cache<V> completions;
 
     /**
      * Contructs a new TrieNode object with the specified parameters.
@@ -80,7 +112,6 @@ public class TrieNode<V> {
         this.id = id;
         this.parent = parent;
         this.character = character;
-        this.childrenMap = new HashMap<TrieCharacter, TrieNode<V>>();
     }
 
     /**
@@ -88,7 +119,38 @@ public class TrieNode<V> {
      * @return Returns a Set object of all TrieCharacter to TrieNode mapping.
      */
     public Set<TrieCharacter> getAllCharacters() {
-        return this.childrenMap.keySet();
+        return new AbstractSet<TrieCharacter>() {
+            @Override
+            public Iterator<TrieCharacter> iterator() {
+                final Iterator<TrieNode<V>> iterator = TrieNode.this.childIterator();
+                return new Iterator<TrieCharacter>() {
+                    @Override
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    @Override
+                    public TrieCharacter next() {
+                        return iterator.next().getCharacter();
+                    }
+
+                    @Override
+                    public void remove() {
+                        iterator.remove();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return TrieNode.this.getChildrenCount();
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return o instanceof TrieCharacter && TrieNode.this.getChildNode((TrieCharacter)o)!=null;
+            }
+        };
     }
 
     /**
@@ -96,7 +158,17 @@ public class TrieNode<V> {
      * @return Returns a Collection of children of the node.
      */
     public Collection<TrieNode<V>> getAllChildren() {
-        return this.childrenMap.values();
+        return new AbstractCollection<TrieNode<V>>() {
+            @Override
+            public Iterator<TrieNode<V>> iterator() {
+                return TrieNode.this.childIterator();
+            }
+
+            @Override
+            public int size() {
+                return TrieNode.this.getChildrenCount();
+            }
+        };
     }
 
     /**
@@ -108,7 +180,7 @@ public class TrieNode<V> {
         if(character==null) {
             throw new IllegalArgumentException("Null character exception while getting child.");
         }
-        return this.childrenMap.get(character);
+        return this.findChild(character);
     }
 
     /**
@@ -123,7 +195,53 @@ public class TrieNode<V> {
         if(node==null) {
             throw new IllegalArgumentException("Null node exception.");
         }
-        this.childrenMap.put(character, node);
+        if(this.children==null) {
+            this.children = node;
+            this.childrenCount = 1;
+        }
+        else if(this.children instanceof TrieNode) {
+            TrieNode<V> child = this.getSingleChild();
+            if(character.equals(child.getCharacter())) {
+                this.children = node;
+                return;
+            }
+            TrieNode<?>[] array = new TrieNode<?>[2];
+            array[0] = child;
+            array[1] = node;
+            this.children = array;
+            this.childrenCount = 2;
+        }
+        else if(this.children instanceof TrieNode[]) {
+            TrieNode<V>[] array = this.getChildrenArray();
+            int index = this.indexOf(array, character);
+            if(index >= 0) {
+                array[index] = node;
+                return;
+            }
+            if(this.childrenCount < array.length) {
+                array[this.childrenCount++] = node;
+            }
+            else if(this.childrenCount < ARRAY_CHILDREN_LIMIT) {
+                array = Arrays.copyOf(array, Math.min(array.length*2, ARRAY_CHILDREN_LIMIT));
+                array[this.childrenCount++] = node;
+                this.children = array;
+            }
+            else {
+                // Switching to a map for wide nodes
+                Map<TrieCharacter, TrieNode<V>> map = new HashMap<>(ARRAY_CHILDREN_LIMIT*4);
+                for(int i=0; i<this.childrenCount; i++) {
+                    map.put(array[i].getCharacter(), array[i]);
+                }
+                map.put(character, node);
+                this.children = map;
+                this.childrenCount = map.size();
+            }
+        }
+        else {
+            Map<TrieCharacter, TrieNode<V>> map = this.getChildrenMap();
+            map.put(character, node);
+            this.childrenCount = map.size();
+        }
     }
 
     /**
@@ -135,7 +253,7 @@ public class TrieNode<V> {
         if(character==null) {
             throw new IllegalArgumentException("Null character exception.");
         }
-        return this.childrenMap.containsKey(character);
+        return this.findChild(character)!=null;
     }
 
     /**
@@ -147,7 +265,7 @@ public class TrieNode<V> {
         if(childNode==null) {
             throw new IllegalArgumentException("Null child node.");
         }
-        return this.childrenMap.containsKey(childNode.getCharacter());
+        return this.findChild(childNode.getCharacter())!=null;
     }
 
     /**
@@ -160,7 +278,7 @@ public class TrieNode<V> {
         if(character==null) {
             throw new IllegalArgumentException("Null character exception.");
         }
-        return this.childrenMap.get(character);
+        return this.findChild(character);
     }
 
     /**
@@ -171,7 +289,45 @@ public class TrieNode<V> {
         if(character==null) {
             throw new IllegalArgumentException("Null character exception.");
         }
-        this.childrenMap.remove(character);
+        if(this.children==null) {
+            return;
+        }
+        if(this.children instanceof TrieNode) {
+            if(character.equals(this.getSingleChild().getCharacter())) {
+                this.children = null;
+                this.childrenCount = 0;
+            }
+        }
+        else if(this.children instanceof TrieNode[]) {
+            int index = this.indexOf(this.getChildrenArray(), character);
+            if(index >= 0) {
+                this.removeChildAt(index);
+            }
+        }
+        else {
+            Map<TrieCharacter, TrieNode<V>> map = this.getChildrenMap();
+            map.remove(character);
+            this.childrenCount = map.size();
+            this.shrinkChildrenMap(map);
+        }
+    }
+
+    /**
+     * Switches the children back to a small array for narrow nodes once the map holds at
+     * most <tt>MAP_CHILDREN_SHRINK</tt> children.
+     * @param map The children map of the node.
+     */
+    private void shrinkChildrenMap(Map<TrieCharacter, TrieNode<V>> map) {
+        if(this.childrenCount > MAP_CHILDREN_SHRINK) {
+            return;
+        }
+        TrieNode<V>[] array = TrieNode.newArray(MAP_CHILDREN_SHRINK);
+        int i = 0;
+        for(TrieNode<V> child : map.values()) {
+            array[i++] = child;
+        }
+        this.children = array;
+        this.compactChildren();
     }
 
     /**
@@ -190,7 +346,250 @@ public class TrieNode<V> {
      * @return Returns the integer count of the child nodes.
      */
     public int getChildrenCount() {
-        return this.childrenMap.size();
+        return this.childrenCount;
+    }
+
+    /**
+     * Searches the children for the node associated with the character.
+     * @param character The character of the child node.
+     * @return Returns the child node or null if absent.
+     */
+    private TrieNode<V> findChild(TrieCharacter character) {
+        if(this.children==null) {
+            return null;
+        }
+        if(this.children instanceof TrieNode) {
+            TrieNode<V> child = this.getSingleChild();
+            return character.equals(child.getCharacter()) ? child : null;
+        }
+        if(this.children instanceof TrieNode[]) {
+            TrieNode<V>[] array = this.getChildrenArray();
+            int index = this.indexOf(array, character);
+            return index < 0 ? null : array[index];
+        }
+        return this.getChildrenMap().get(character);
+    }
+
+    /**
+     * Linearly searches the children array for the character.
+     * @param array The children array.
+     * @param character The character of the child node.
+     * @return Returns the index of the child node or -1 if absent.
+     */
+    private int indexOf(TrieNode<V>[] array, TrieCharacter character) {
+        for(int i=0; i<this.childrenCount; i++) {
+            if(character.equals(array[i].getCharacter())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Removes the child at the index of the children array.
+     * @param index The index of the child node in the array.
+     */
+    private void removeChildAt(int index) {
+        TrieNode<V>[] array = this.getChildrenArray();
+        this.childrenCount--;
+        array[index] = array[this.childrenCount];
+        array[this.childrenCount] = null;
+        this.compactChildren();
+    }
+
+    /**
+     * Switches the children array to the inline or empty representation when the 
+     * node is left with at most one child.
+     */
+    private void compactChildren() {
+        if(this.childrenCount==0) {
+            this.children = null;
+        }
+        else if(this.childrenCount==1) {
+            this.children = this.getChildrenArray()[0];
+        }
+    }
+
+    /**
+     * Gets the child of a node which has exactly one child.
+     * @return Returns the only child of the node.
+     */
+    TrieNode<V> getOnlyChild() {
+        return this.children instanceof TrieNode ? this.getSingleChild() : this.childIterator().next();
+    }
+
+    /**
+     * Gets the length of the small array holding the children.
+     * @return Returns the length of the array or 0 if the children are not held in an array.
+     */
+    int getChildrenArrayLength() {
+        return this.children instanceof TrieNode[] ? this.getChildrenArray().length : 0;
+    }
+
+    /**
+     * Checks if the children are held in a map.
+     * @return Returns true if the node is a wide node or false otherwise.
+     */
+    boolean hasChildrenMap() {
+        return this.children instanceof Map;
+    }
+
+    /**
+     * Copies the children of the node into a new array, which is not affected by later 
+     * modifications of the node.
+     * @return Returns the array of the children.
+     */
+    TrieNode<V>[] getChildrenSnapshot() {
+        if(this.children instanceof Map) {
+            return this.getChildrenMap().values().toArray(TrieNode.<V>newArray(this.childrenCount));
+        }
+        if(this.children instanceof TrieNode[]) {
+            return Arrays.copyOf(this.getChildrenArray(), this.childrenCount);
+        }
+        TrieNode<V>[] array = TrieNode.newArray(this.childrenCount);
+        if(this.childrenCount==1) {
+            array[0] = this.getSingleChild();
+        }
+        return array;
+    }
+
+    /**
+     * Creates an array of nodes, which cannot be created directly for a generic type.
+     * @param <V> Data class type.
+     * @param length The length of the array.
+     * @return Returns the new array.
+     */
+    @SuppressWarnings("unchecked")
+    static <V> TrieNode<V>[] newArray(int length) {
+        return (TrieNode<V>[])new TrieNode<?>[length];
+    }
+
+    /**
+     * @return Returns the cache of the best completions in the subtree of the node.
+     */
+    TrieCompletions.Cache<V> getCompletions() {
+        return this.completions;
+    }
+
+    /**
+     * @param completions The cache of the best completions in the subtree of the node.
+     */
+    void setCompletions(TrieCompletions.Cache<V> completions) {
+        this.completions = completions;
+    }
+
+    /**
+     * Shrinks the children array to the number of children. Called by bulk loaders 
+     * once no more children are expected to be added to the node.
+     */
+    void trimChildren() {
+        if(this.children instanceof TrieNode[] && this.getChildrenArray().length > this.childrenCount) {
+            this.children = Arrays.copyOf(this.getChildrenArray(), this.childrenCount);
+        }
+    }
+
+    /**
+     * Creates an iterator over the children of the node which supports removal.
+     * @return Returns the iterator of the children.
+     */
+    private Iterator<TrieNode<V>> childIterator() {
+        if(this.children instanceof Map) {
+            final Map<TrieCharacter, TrieNode<V>> map = this.getChildrenMap();
+            return new Iterator<TrieNode<V>>() {
+                private Iterator<TrieNode<V>> iterator = map.values().iterator();
+                private boolean shrunk = false;
+                private TrieNode<V> last = null;
+
+                @Override
+                public boolean hasNext() {
+                    return this.iterator.hasNext();
+                }
+
+                @Override
+                public TrieNode<V> next() {
+                    this.last = this.iterator.next();
+                    return this.last;
+                }
+
+                @Override
+                public void remove() {
+                    if(this.last==null) {
+                        throw new IllegalStateException();
+                    }
+                    if(this.shrunk) {
+                        TrieNode.this.removeChild(this.last.getCharacter());
+                    }
+                    else {
+                        this.iterator.remove();
+                        TrieNode.this.childrenCount = map.size();
+                        if(TrieNode.this.childrenCount <= MAP_CHILDREN_SHRINK) {
+                            // Shrinking as removeChild does, the iteration continues over the children not visited yet
+                            List<TrieNode<V>> rest = new ArrayList<>(TrieNode.this.childrenCount);
+                            this.iterator.forEachRemaining(rest::add);
+                            TrieNode.this.shrinkChildrenMap(map);
+                            this.iterator = rest.iterator();
+                            this.shrunk = true;
+                        }
+                    }
+                    this.last = null;
+                }
+            };
+        }
+        return new Iterator<TrieNode<V>>() {
+            private int index = 0;
+            private TrieNode<V> last = null;
+
+            @Override
+            public boolean hasNext() {
+                return this.index < TrieNode.this.childrenCount;
+            }
+
+            @Override
+            public TrieNode<V> next() {
+                if(!this.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Object children = TrieNode.this.children;
+                this.last = children instanceof TrieNode ? TrieNode.this.getSingleChild() : TrieNode.this.getChildrenArray()[this.index];
+                this.index++;
+                return this.last;
+            }
+
+            @Override
+            public void remove() {
+                if(this.last==null) {
+                    throw new IllegalStateException();
+                }
+                // The last child of the array is moved into the removed slot so it is visited next
+                TrieNode.this.removeChild(this.last.getCharacter());
+                this.last = null;
+                this.index--;
+            }
+        };
+    }
+
+    /**
+     * @return Returns the inline child of the node.
+     */
+    @SuppressWarnings("unchecked")
+    private TrieNode<V> getSingleChild() {
+        return (TrieNode<V>)this.children;
+    }
+
+    /**
+     * @return Returns the children array of the node.
+     */
+    @SuppressWarnings("unchecked")
+    private TrieNode<V>[] getChildrenArray() {
+        return (TrieNode<V>[])this.children;
+    }
+
+    /**
+     * @return Returns the children map of the node.
+     */
+    @SuppressWarnings("unchecked")
+    private Map<TrieCharacter, TrieNode<V>> getChildrenMap() {
+        return (Map<TrieCharacter, TrieNode<V>>)this.children;
     }
 
     /**
@@ -0,0 +1,288 @@
+package io.damelyngdoh.java.trie;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+
+/**
+ * <p>
+ * TriePattern class represents a wildcard pattern over strings of <tt>TrieCharacter</tt>
+ * objects which is matched against a <tt>Trie</tt> with {@link Trie#match(TriePattern)}.
+ * A pattern is a sequence of elements, each of which is one of:
+ * </p>
+ * <ul>
+ * <li>a literal character, matching exactly that character</li>
+ * <li>any character (<tt>?</tt>), matching a single character</li>
+ * <li>any sequence (<tt>*</tt>), matching zero or more characters</li>
+ * <li>a character class (<tt>[abc]</tt>, <tt>[a-z]</tt>, <tt>[!abc]</tt>), matching a single character of (or not of) a set</li>
+ * </ul>
+ * <p>
+ * Since <tt>TrieCharacter</tt> has no textual form, a pattern is either built element by
+ * element with a {@link Builder} or compiled from a string with a function mapping every
+ * character of the pattern to a <tt>TrieCharacter</tt>. A backslash escapes the next
+ * character of a compiled pattern.
+ * </p>
+ *
+ * @author Dame Lyngdoh
+ * @since 1.0.0
+ * @see Trie#match(TriePattern)
+ */
+public final class TriePattern {
+
+    /**
+     * Types of the elements of a pattern.
+     */
+    static final int LITERAL = 0, ANY = 1, STAR = 2, CLASS = 3;
+
+    /**
+     * Types of the elements.
+     */
+    private final int[] types;
+    /**
+     * Characters of the literal elements.
+     */
+    private final TrieCharacter[] characters;
+    /**
+     * Predicates of the character class elements.
+     */
+    private final List<Predicate<? super TrieCharacter>> predicates;
+    /**
+     * Number of any-sequence elements.
+     */
+    private final int starCount;
+
+    private TriePattern(List<Integer> types, List<TrieCharacter> characters, List<Predicate<? super TrieCharacter>> predicates) {
+        this.types = new int[types.size()];
+        this.characters = characters.toArray(new TrieCharacter[characters.size()]);
+        this.predicates = predicates;
+        int stars = 0;
+        for(int i=0; i<this.types.length; i++) {
+            this.types[i] = types.get(i);
+            stars += this.types[i]==STAR ? 1 : 0;
+        }
+        this.starCount = stars;
+    }
+
+    /**
+     * Creates a builder of a pattern.
+     * @return Returns a new empty builder.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Compiles a pattern from a string.
+     * @param pattern The pattern string.
+     * @param mapper The function mapping a character of the pattern string to a <tt>TrieCharacter</tt>.
+     * @return Returns the compiled pattern.
+     * @throws IllegalArgumentException Thrown when a character class is not closed, a range is reversed, an escape is incomplete or the mapper returns null.
+     * @throws NullPointerException Thrown when the pattern or the mapper is null.
+     */
+    public static TriePattern compile(String pattern, IntFunction<? extends TrieCharacter> mapper) throws IllegalArgumentException, NullPointerException {
+        if(pattern==null || mapper==null) {
+            throw new NullPointerException("Pattern and mapper cannot be null.");
+        }
+        Builder builder = new Builder();
+        for(int i=0; i<pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if(c=='?') {
+                builder.any();
+            }
+            else if(c=='*') {
+                builder.anySequence();
+            }
+            else if(c=='[') {
+                int end = pattern.indexOf(']', i+2);
+                if(end < 0) {
+                    throw new IllegalArgumentException("Character class is not closed at index " + i + ".");
+                }
+                boolean negated = pattern.charAt(i+1)=='!' || pattern.charAt(i+1)=='^';
+                Set<TrieCharacter> members = new HashSet<>();
+                for(int j=negated ? i+2 : i+1; j<end; j++) {
+                    char first = pattern.charAt(j);
+                    char last = first;
+                    if(j+2 < end && pattern.charAt(j+1)=='-') {
+                        last = pattern.charAt(j+2);
+                        j += 2;
+                    }
+                    if(last < first) {
+                        throw new IllegalArgumentException("Reversed range in character class at index " + i + ".");
+                    }
+                    for(int code=first; code<=last; code++) {
+                        members.add(TriePattern.map(mapper, code));
+                    }
+                }
+                if(negated) {
+                    builder.noneOf(members);
+                }
+                else {
+                    builder.oneOf(members);
+                }
+                i = end;
+            }
+            else if(c=='\\') {
+                if(++i==pattern.length()) {
+                    throw new IllegalArgumentException("Incomplete escape at the end of the pattern.");
+                }
+                builder.character(TriePattern.map(mapper, pattern.charAt(i)));
+            }
+            else {
+                builder.character(TriePattern.map(mapper, c));
+            }
+        }
+        return builder.build();
+    }
+
+    private static TrieCharacter map(IntFunction<? extends TrieCharacter> mapper, int code) throws IllegalArgumentException {
+        TrieCharacter character = mapper.apply(code);
+        if(character==null) {
+            throw new IllegalArgumentException("Mapper returned null for character " + (char)code + ".");
+        }
+        return character;
+    }
+
+    /**
+     * @return Returns the number of elements of the pattern.
+     */
+    public int length() {
+        return this.types.length;
+    }
+
+    /**
+     * @param index The index of an element.
+     * @return Returns the type of the element.
+     */
+    int typeAt(int index) {
+        return this.types[index];
+    }
+
+    /**
+     * @param index The index of a literal element.
+     * @return Returns the character of the element.
+     */
+    TrieCharacter characterAt(int index) {
+        return this.characters[index];
+    }
+
+    /**
+     * @param index The index of a single character element.
+     * @param character The character to be matched.
+     * @return Returns true if the element matches the character.
+     */
+    boolean accepts(int index, TrieCharacter character) {
+        switch(this.types[index]) {
+            case LITERAL:
+                return this.characters[index].equals(character);
+            case CLASS:
+                return this.predicates.get(index).test(character);
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * @return Returns the number of any-sequence elements.
+     */
+    int getStarCount() {
+        return this.starCount;
+    }
+
+    /**
+     * Builder of a pattern element by element. Consecutive any-sequence elements are merged.
+     */
+    public static final class Builder {
+
+        private final List<Integer> types = new ArrayList<>();
+        private final List<TrieCharacter> characters = new ArrayList<>();
+        private final List<Predicate<? super TrieCharacter>> predicates = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Appends a literal character.
+         * @param character The character.
+         * @return Returns this builder.
+         * @throws NullPointerException Thrown when the character is null.
+         */
+        public Builder character(TrieCharacter character) throws NullPointerException {
+            if(character==null) {
+                throw new NullPointerException("Character cannot be null.");
+            }
+            return this.add(LITERAL, character, null);
+        }
+
+        /**
+         * Appends an element matching any single character.
+         * @return Returns this builder.
+         */
+        public Builder any() {
+            return this.add(ANY, null, null);
+        }
+
+        /**
+         * Appends an element matching any sequence of characters, including the empty sequence.
+         * @return Returns this builder.
+         */
+        public Builder anySequence() {
+            if(!this.types.isEmpty() && this.types.get(this.types.size()-1)==STAR) {
+                return this;
+            }
+            return this.add(STAR, null, null);
+        }
+
+        /**
+         * Appends an element matching a single character of the set.
+         * @param members The characters of the set.
+         * @return Returns this builder.
+         * @throws NullPointerException Thrown when the set is null.
+         */
+        public Builder oneOf(Collection<? extends TrieCharacter> members) throws NullPointerException {
+            final Set<TrieCharacter> set = new HashSet<>(members);
+            return this.add(CLASS, null, set::contains);
+        }
+
+        /**
+         * Appends an element matching a single character which is not in the set.
+         * @param members The characters of the set.
+         * @return Returns this builder.
+         * @throws NullPointerException Thrown when the set is null.
+         */
+        public Builder noneOf(Collection<? extends TrieCharacter> members) throws NullPointerException {
+            final Set<TrieCharacter> set = new HashSet<>(members);
+            return this.add(CLASS, null, character -> !set.contains(character));
+        }
+
+        /**
+         * Appends an element matching a single character accepted by the predicate.
+         * @param predicate The predicate.
+         * @return Returns this builder.
+         * @throws NullPointerException Thrown when the predicate is null.
+         */
+        public Builder matching(Predicate<? super TrieCharacter> predicate) throws NullPointerException {
+            if(predicate==null) {
+                throw new NullPointerException("Predicate cannot be null.");
+            }
+            return this.add(CLASS, null, predicate);
+        }
+
+        /**
+         * @return Returns the built pattern.
+         */
+        public TriePattern build() {
+            return new TriePattern(this.types, this.characters, new ArrayList<>(this.predicates));
+        }
+
+        private Builder add(int type, TrieCharacter character, Predicate<? super TrieCharacter> predicate) {
+            this.types.add(type);
+            this.characters.add(character);
+            this.predicates.add(predicate);
+            return this;
+        }
+    }
+}
@@ -0,0 +1,485 @@
+package io.damelyngdoh.java.trie;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StreamCorruptedException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * <p>
+ * TrieSerializer class writes a <tt>Trie</tt> object to a compact binary snapshot and
+ * reads it back. The snapshot is a header followed by the nodes of the trie in
+ * pre-order:
+ * </p>
+ * <ul>
+ * <li>header: the magic bytes <tt>TRIE</tt>, a version byte, the number of strings and the number of root-map nodes</li>
+ * <li>node: the code of its character, its number of children and flags, its data if any, followed by its children</li>
+ * </ul>
+ * <p>
+ * Character codes and counts are unsigned variable-length integers (7 bits per byte),
+ * characters are converted to codes by a {@link CharacterCodec} and the data of the
+ * valid nodes is written by a {@link ValueCodec}. Since every node carries its number
+ * of children, reading rebuilds the nodes directly under their parents in a single pass
+ * without searching any string from the root-map.
+ * </p>
+ *
+ * @param <V> The type of data of the tries.
+ *
+ * @author Dame Lyngdoh
+ * @since 1.0.0
+ * @see Trie#writeTo(OutputStream, TrieSerializer)
+ */
+public class TrieSerializer<V> {
+
+    /**
+     * Magic bytes <tt>TRIE</tt> starting every snapshot.
+     */
+    static final int MAGIC = 0x54524945;
+    /**
+     * Version of the snapshot format.
+     */
+    static final int VERSION = 1;
+    /**
+     * Version of the offset layout read by <tt>MappedTrie</tt>.
+     */
+    static final int MAPPED_VERSION = 2;
+    /**
+     * Flag of the node header set for valid nodes.
+     */
+    static final int VALID = 1;
+    /**
+     * Flag of the node header set for valid nodes whose data is not null.
+     */
+    static final int HAS_DATA = 2;
+    /**
+     * Number of bits of the node header used by flags.
+     */
+    static final int FLAG_BITS = 2;
+    /**
+     * Size of the buffers of the streams.
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Codec of the characters.
+     */
+    private final CharacterCodec characterCodec;
+    /**
+     * Codec of the data.
+     */
+    private final ValueCodec<V> valueCodec;
+
+    /**
+     * Constructs a serializer.
+     * @param characterCodec The codec of the characters.
+     * @param valueCodec The codec of the data of the valid nodes.
+     * @throws NullPointerException Thrown when one of the codecs is null.
+     */
+    public TrieSerializer(CharacterCodec characterCodec, ValueCodec<V> valueCodec) throws NullPointerException {
+        if(characterCodec==null || valueCodec==null) {
+            throw new NullPointerException("Codecs cannot be null.");
+        }
+        this.characterCodec = characterCodec;
+        this.valueCodec = valueCodec;
+    }
+
+    /**
+     * Writes a snapshot of a trie to a stream. The stream is flushed but not closed.
+     * @param trie The trie to be written.
+     * @param out The stream.
+     * @throws IOException Thrown when the stream or the value codec fails.
+     * @throws NullPointerException Thrown when the trie or the stream is null.
+     */
+    public void writeTo(Trie<?, V> trie, OutputStream out) throws IOException, NullPointerException {
+        if(trie==null || out==null) {
+            throw new NullPointerException("Trie and stream cannot be null.");
+        }
+        final DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out, BUFFER_SIZE));
+        data.writeInt(MAGIC);
+        data.writeByte(VERSION);
+        TrieSerializer.writeVarint(data, trie.size());
+        TrieSerializer.writeVarint(data, trie.getRootMap().size());
+        try {
+            trie.traverse(new TrieVisitor<V>() {
+                @Override
+                public Action preVisit(TrieNode<V> node, int depth) {
+                    try {
+                        TrieSerializer.this.writeNode(data, node);
+                    }
+                    catch(IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    return Action.CONTINUE;
+                }
+            });
+        }
+        catch(UncheckedIOException e) {
+            throw e.getCause();
+        }
+        data.flush();
+    }
+
+    /**
+     * Writes the character, header and data of a node.
+     */
+    private void writeNode(DataOutput out, TrieNode<V> node) throws IOException {
+        TrieSerializer.writeVarint(out, this.characterCodec.encode(node.getCharacter()));
+        int flags = 0;
+        if(node.isValid()) {
+            flags = node.getData()==null ? VALID : VALID | HAS_DATA;
+        }
+        TrieSerializer.writeVarint(out, node.getChildrenCount() << FLAG_BITS | flags);
+        if((flags & HAS_DATA)!=0) {
+            this.valueCodec.write(out, node.getData());
+        }
+    }
+
+    /**
+     * Writes a trie in the offset layout which is queried in place by a <tt>MappedTrie</tt>.
+     * The layout starts with a header of the magic bytes, a version byte padded to 4 bytes
+     * and the number of strings, and ends with the offset of the root record. Every node
+     * is written after its children as its data, if any, followed by a record of 4-byte
+     * integers: the number of children and flags, the offset of the data (or -1) and, for
+     * every child in increasing order of the codes, the code of its character and the
+     * offset of its record. The root record has no flags and is written last. The layout
+     * is limited to 2 GB.
+     * @param trie The trie to be written.
+     * @param out The stream.
+     * @throws IOException Thrown when the stream or the value codec fails or the layout exceeds 2 GB.
+     * @throws NullPointerException Thrown when the trie or the stream is null.
+     * @see MappedTrie
+     */
+    public void writeMapped(Trie<?, V> trie, OutputStream out) throws IOException, NullPointerException {
+        if(trie==null || out==null) {
+            throw new NullPointerException("Trie and stream cannot be null.");
+        }
+        final DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out, BUFFER_SIZE));
+        data.writeInt(MAGIC);
+        data.writeByte(MAPPED_VERSION);
+        data.write(new byte[3]);
+        data.writeInt(trie.size());
+
+        // Written children of the nodes on the current path, by depth of their parents
+        final List<ChildList> levels = new ArrayList<>();
+        levels.add(new ChildList());
+        try {
+            trie.traverse(new TrieVisitor<V>() {
+                @Override
+                public Action preVisit(TrieNode<V> node, int depth) {
+                    if(depth==levels.size()) {
+                        levels.add(new ChildList());
+                    }
+                    return Action.CONTINUE;
+                }
+
+                @Override
+                public boolean postVisit(TrieNode<V> node, int depth) {
+                    try {
+                        int offset = TrieSerializer.this.writeRecord(data, node, levels.get(depth));
+                        levels.get(depth-1).add(TrieSerializer.this.characterCodec.encode(node.getCharacter()), offset);
+                    }
+                    catch(IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    return true;
+                }
+            });
+        }
+        catch(UncheckedIOException e) {
+            throw e.getCause();
+        }
+        data.writeInt(this.writeRecord(data, null, levels.get(0)));
+        data.flush();
+    }
+
+    /**
+     * Writes the data and the record of a node of the offset layout and clears its children.
+     * @param out The output.
+     * @param node The node or null for the root.
+     * @param children The written children of the node.
+     * @return Returns the offset of the record.
+     */
+    private int writeRecord(DataOutputStream out, TrieNode<V> node, ChildList children) throws IOException {
+        int flags = 0, dataOffset = -1;
+        if(node!=null && node.isValid()) {
+            flags = VALID;
+            if(node.getData()!=null) {
+                flags |= HAS_DATA;
+                dataOffset = out.size();
+                this.valueCodec.write(out, node.getData());
+            }
+        }
+        int offset = out.size();
+        if(offset < 0 || offset > Integer.MAX_VALUE - 8 - 8*children.size) {
+            throw new IOException("Mapped layout exceeds 2 GB.");
+        }
+        Arrays.sort(children.entries, 0, children.size);
+        out.writeInt(children.size << FLAG_BITS | flags);
+        out.writeInt(dataOffset);
+        for(int i=0; i<children.size; i++) {
+            out.writeInt((int)(children.entries[i] >> 32));
+            out.writeInt((int)children.entries[i]);
+        }
+        children.size = 0;
+        return offset;
+    }
+
+    /**
+     * Codes and record offsets of the children of a node, packed into longs which sort by code.
+     */
+    private static final class ChildList {
+
+        private long[] entries = new long[4];
+        private int size;
+
+        private void add(int code, int offset) {
+            if(this.size==this.entries.length) {
+                this.entries = Arrays.copyOf(this.entries, this.size*2);
+            }
+            this.entries[this.size++] = (long)code << 32 | (offset & 0xFFFFFFFFL);
+        }
+    }
+
+    /**
+     * @return Returns the codec of the characters.
+     */
+    CharacterCodec getCharacterCodec() {
+        return this.characterCodec;
+    }
+
+    /**
+     * @return Returns the codec of the data.
+     */
+    ValueCodec<V> getValueCodec() {
+        return this.valueCodec;
+    }
+
+    /**
+     * Reads a snapshot into a new trie. The stream is buffered, so it may be read beyond
+     * the end of the snapshot, and is not closed.
+     * @param <T> The type of characters of the trie.
+     * @param in The stream.
+     * @return Returns the new trie.
+     * @throws IOException Thrown when the stream fails, the snapshot is malformed or of an unsupported version, or the value codec fails.
+     * @throws NullPointerException Thrown when the stream is null.
+     */
+    public <T extends TrieCharacter> Trie<T, V> readFrom(InputStream in) throws IOException, NullPointerException {
+        if(in==null) {
+            throw new NullPointerException("Stream cannot be null.");
+        }
+        return this.read(new DataInputStream(in instanceof BufferedInputStream ? in : new BufferedInputStream(in, BUFFER_SIZE)));
+    }
+
+    /**
+     * Reads a snapshot from the current position of a file channel into a new trie.
+     * @param <T> The type of characters of the trie.
+     * @param channel The channel.
+     * @return Returns the new trie.
+     * @throws IOException Thrown when the channel fails, the snapshot is malformed or of an unsupported version, or the value codec fails.
+     * @throws NullPointerException Thrown when the channel is null.
+     */
+    public <T extends TrieCharacter> Trie<T, V> readFrom(FileChannel channel) throws IOException, NullPointerException {
+        if(channel==null) {
+            throw new NullPointerException("Channel cannot be null.");
+        }
+        return this.readFrom(new BufferedInputStream(Channels.newInputStream(channel), BUFFER_SIZE));
+    }
+
+    /**
+     * Rebuilds the nodes in pre-order, keeping the nodes whose children are still to be
+     * read on an explicit stack together with their number of remaining children.
+     */
+    private <T extends TrieCharacter> Trie<T, V> read(DataInput in) throws IOException {
+        if(in.readInt()!=MAGIC) {
+            throw new StreamCorruptedException("Not a trie snapshot.");
+        }
+        int version = in.readUnsignedByte();
+        if(version!=VERSION) {
+            throw new StreamCorruptedException("Unsupported trie snapshot version " + version + ".");
+        }
+        int stringCount = TrieSerializer.readVarint(in);
+        int rootCount = TrieSerializer.readVarint(in);
+
+        Trie<T, V> trie = new Trie<>();
+        TrieNode<V>[] parents = TrieNode.newArray(16);
+        int[] remaining = new int[16];
+        int depth = 0;
+        remaining[0] = rootCount;
+        int validCount = 0;
+        while(depth >= 0) {
+            if(remaining[depth]==0) {
+                if(depth > 0) {
+                    parents[depth].trimChildren();
+                }
+                depth--;
+                continue;
+            }
+            remaining[depth]--;
+            TrieNode<V> parent = depth==0 ? null : parents[depth];
+
+            TrieCharacter character = this.characterCodec.decode(TrieSerializer.readVarint(in));
+            if(character==null) {
+                throw new StreamCorruptedException("Character codec returned null.");
+            }
+            int header = TrieSerializer.readVarint(in);
+            TrieNode<V> node = trie.createNode(parent, character);
+            if((header & VALID)!=0) {
+                node.putData((header & HAS_DATA)!=0 ? this.valueCodec.read(in) : null);
+                validCount++;
+            }
+            if(parent==null) {
+                trie.getRootMap().put(character, node);
+            }
+            else {
+                parent.addChild(character, node);
+            }
+
+            int children = header >>> FLAG_BITS;
+            if(children > 0) {
+                if(++depth==remaining.length) {
+                    parents = Arrays.copyOf(parents, depth*2);
+                    remaining = Arrays.copyOf(remaining, depth*2);
+                }
+                parents[depth] = node;
+                remaining[depth] = children;
+            }
+        }
+        if(validCount!=stringCount) {
+            throw new StreamCorruptedException("Snapshot contains " + validCount + " strings instead of " + stringCount + ".");
+        }
+        trie.adjustStringCount(stringCount);
+        return trie;
+    }
+
+    /**
+     * Writes an integer as an unsigned variable-length integer of 7 bits per byte,
+     * least significant group first.
+     * @param out The output.
+     * @param value The integer.
+     * @throws IOException Thrown when the output fails.
+     */
+    static void writeVarint(DataOutput out, int value) throws IOException {
+        while((value & ~0x7F)!=0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    /**
+     * Reads an unsigned variable-length integer.
+     * @param in The input.
+     * @return Returns the integer.
+     * @throws IOException Thrown when the input fails or the integer is longer than 5 bytes.
+     */
+    static int readVarint(DataInput in) throws IOException {
+        int value = 0;
+        for(int shift=0; shift < 35; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if((b & 0x80)==0) {
+                return value;
+            }
+        }
+        throw new StreamCorruptedException("Malformed variable-length integer.");
+    }
+
+    /**
+     * Creates a codec of <tt>String</tt> data written as a length followed by UTF-8 bytes.
+     * @return Returns the codec.
+     */
+    public static ValueCodec<String> stringCodec() {
+        return new ValueCodec<String>() {
+            @Override
+            public void write(DataOutput out, String value) throws IOException {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                TrieSerializer.writeVarint(out, bytes.length);
+                out.write(bytes);
+            }
+
+            @Override
+            public String read(DataInput in) throws IOException {
+                byte[] bytes = new byte[TrieSerializer.readVarint(in)];
+                in.readFully(bytes);
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+        };
+    }
+
+    /**
+     * Interface for converting characters to non-negative integer codes and back. Small
+     * codes take fewer bytes in a snapshot.
+     */
+    public interface CharacterCodec {
+        /**
+         * @param character The character.
+         * @return Returns the code of the character.
+         */
+        int encode(TrieCharacter character);
+
+        /**
+         * @param code The code.
+         * @return Returns the character of the code.
+         */
+        TrieCharacter decode(int code);
+
+        /**
+         * Creates a codec from a pair of functions.
+         * @param encoder The function converting a character to its code.
+         * @param decoder The function converting a code to its character.
+         * @return Returns the codec.
+         * @throws NullPointerException Thrown when one of the functions is null.
+         */
+        static CharacterCodec of(final ToIntFunction<? super TrieCharacter> encoder, final IntFunction<? extends TrieCharacter> decoder) throws NullPointerException {
+            if(encoder==null || decoder==null) {
+                throw new NullPointerException("Encoder and decoder cannot be null.");
+            }
+            return new CharacterCodec() {
+                @Override
+                public int encode(TrieCharacter character) {
+                    return encoder.applyAsInt(character);
+                }
+
+                @Override
+                public TrieCharacter decode(int code) {
+                    return decoder.apply(code);
+                }
+            };
+        }
+    }
+
+    /**
+     * Interface for writing the non-null data of valid nodes and reading it back.
+     * @param <V> Data class type.
+     */
+    public interface ValueCodec<V> {
+        /**
+         * @param out The output.
+         * @param value The data.
+         * @throws IOException Thrown when the output fails.
+         */
+        void write(DataOutput out, V value) throws IOException;
+
+        /**
+         * @param in The input.
+         * @return Returns the data.
+         * @throws IOException Thrown when the input fails or the data is malformed.
+         */
+        V read(DataInput in) throws IOException;
+    }
+}
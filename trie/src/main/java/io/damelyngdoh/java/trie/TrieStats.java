@@ -0,0 +1,297 @@
+package io.damelyngdoh.java.trie;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+/**
+ * <p>
+ * TrieStats class is a report of the shape and the estimated memory footprint of a
+ * <tt>Trie</tt>, computed in a single traversal of the nodes. The report holds the node
+ * counts, the histograms of the depths of the nodes, of their numbers of children and
+ * of the lengths of the chains of single-child nodes, which a radix trie would
+ * compress into single nodes.
+ * </p>
+ * <p>
+ * The retained bytes are estimated for a 64-bit JVM with compressed references, that is
+ * 12 byte object headers, 4 byte references and sizes aligned to 8 bytes, and are
+ * split between the nodes, the containers of the children (the root-map, the small
+ * arrays and the maps of wide nodes), the characters and the values. The characters are
+ * counted once per node and the values once per valid node, so shared instances are
+ * counted more than once. Caches of the completions are not included.
+ * </p>
+ *
+ * @author Dame Lyngdoh
+ * @since 1.0.0
+ * @see Trie#stats()
+ */
+public final class TrieStats {
+
+    /**
+     * Size of an object header.
+     */
+    static final int HEADER_BYTES = 12;
+    /**
+     * Size of a reference.
+     */
+    static final int REFERENCE_BYTES = 4;
+    /**
+     * Size of a node: the header, the id, the validity flag, the count of the children and five references.
+     */
+    static final long NODE_BYTES = align(HEADER_BYTES + 8 + 1 + 4 + 5*REFERENCE_BYTES);
+    /**
+     * Size of a <tt>HashMap</tt> object without its table and entries.
+     */
+    static final long MAP_BYTES = 48;
+    /**
+     * Size of an entry of a <tt>HashMap</tt>: the header, the hash and three references.
+     */
+    static final long MAP_ENTRY_BYTES = align(HEADER_BYTES + 4 + 3*REFERENCE_BYTES);
+    /**
+     * Estimated size of a character or a value whose size is unknown: the header and a field.
+     */
+    static final long OBJECT_BYTES = align(HEADER_BYTES + 4);
+
+    private final long nodeCount;
+    private final long validNodeCount;
+    private final long[] depthHistogram;
+    private final long[] branchingHistogram;
+    private final long[] chainHistogram;
+    private final long nodeBytes;
+    private final long childrenBytes;
+    private final long characterBytes;
+    private final long valueBytes;
+
+    /**
+     * Accumulator of the statistics during the traversal.
+     */
+    private static final class Counter<V> implements TrieVisitor<V> {
+
+        private final ToLongFunction<? super V> valueSize;
+        private long nodeCount, validNodeCount, childrenBytes, characterBytes, valueBytes;
+        private long[] depths = new long[16], branching = new long[TrieNode.ARRAY_CHILDREN_LIMIT+1], chains = new long[16];
+        /**
+         * Length of the chain of single-child nodes ending at the node of every depth.
+         */
+        private int[] runs = new int[16];
+
+        private Counter(ToLongFunction<? super V> valueSize) {
+            this.valueSize = valueSize;
+        }
+
+        @Override
+        public Action preVisit(TrieNode<V> node, int depth) {
+            this.nodeCount++;
+            this.depths = increment(this.depths, depth);
+            int count = node.getChildrenCount();
+            this.branching = increment(this.branching, count);
+            if(node.hasChildrenMap()) {
+                this.childrenBytes += mapBytes(count, TrieNode.ARRAY_CHILDREN_LIMIT*4);
+            }
+            else if(node.getChildrenArrayLength() > 0) {
+                this.childrenBytes += align(HEADER_BYTES + 4 + (long)node.getChildrenArrayLength()*REFERENCE_BYTES);
+            }
+            this.characterBytes += OBJECT_BYTES;
+            if(node.isValid()) {
+                this.validNodeCount++;
+                if(node.getData()!=null) {
+                    this.valueBytes += this.valueSize.applyAsLong(node.getData());
+                }
+            }
+
+            // A chain ends at the first node which does not have exactly one child
+            if(depth >= this.runs.length) {
+                this.runs = Arrays.copyOf(this.runs, this.runs.length*2);
+            }
+            int parentRun = depth > 1 ? this.runs[depth-1] : 0;
+            if(count==1) {
+                this.runs[depth] = parentRun + 1;
+            }
+            else {
+                this.runs[depth] = 0;
+                if(parentRun > 0) {
+                    this.chains = increment(this.chains, parentRun);
+                }
+            }
+            return Action.CONTINUE;
+        }
+    }
+
+    /**
+     * Computes the statistics of a trie.
+     * @param <V> The type of data of the trie.
+     * @param trie The trie.
+     * @param valueSize Function estimating the retained bytes of a non-null value.
+     */
+    <V> TrieStats(Trie<?, V> trie, ToLongFunction<? super V> valueSize) {
+        Counter<V> counter = new Counter<>(valueSize);
+        trie.traverse(counter);
+        Map<TrieCharacter, TrieNode<V>> rootMap = trie.getRootMap();
+        this.nodeCount = counter.nodeCount;
+        this.validNodeCount = counter.validNodeCount;
+        this.depthHistogram = trim(counter.depths);
+        this.branchingHistogram = trim(counter.branching);
+        this.chainHistogram = trim(counter.chains);
+        this.nodeBytes = counter.nodeCount*NODE_BYTES;
+        this.childrenBytes = counter.childrenBytes + mapBytes(rootMap.size(), 16);
+        this.characterBytes = counter.characterBytes;
+        this.valueBytes = counter.valueBytes;
+    }
+
+    /**
+     * Gets the number of nodes.
+     * @return Returns the number of nodes.
+     */
+    public long getNodeCount() {
+        return this.nodeCount;
+    }
+
+    /**
+     * Gets the number of valid nodes, which is the number of strings.
+     * @return Returns the number of valid nodes.
+     */
+    public long getValidNodeCount() {
+        return this.validNodeCount;
+    }
+
+    /**
+     * Gets the histogram of the depths of the nodes. The nodes of the root-map are at depth 1.
+     * @return Returns the array of the number of nodes indexed by depth.
+     */
+    public long[] getDepthHistogram() {
+        return this.depthHistogram.clone();
+    }
+
+    /**
+     * Gets the histogram of the numbers of children of the nodes.
+     * @return Returns the array of the number of nodes indexed by their number of children.
+     */
+    public long[] getBranchingHistogram() {
+        return this.branchingHistogram.clone();
+    }
+
+    /**
+     * Gets the histogram of the lengths of the maximal chains of consecutive nodes having exactly one child.
+     * @return Returns the array of the number of chains indexed by their length.
+     */
+    public long[] getChainHistogram() {
+        return this.chainHistogram.clone();
+    }
+
+    /**
+     * Gets the maximum depth of the nodes, which is the length of the longest string.
+     * @return Returns the maximum depth or 0 if the trie is empty.
+     */
+    public int getMaxDepth() {
+        return this.depthHistogram.length==0 ? 0 : this.depthHistogram.length-1;
+    }
+
+    /**
+     * Gets the estimated retained bytes of the nodes.
+     * @return Returns the bytes of the nodes.
+     */
+    public long getNodeBytes() {
+        return this.nodeBytes;
+    }
+
+    /**
+     * Gets the estimated retained bytes of the root-map and of the arrays and maps holding the children of the nodes.
+     * @return Returns the bytes of the containers of the children.
+     */
+    public long getChildrenBytes() {
+        return this.childrenBytes;
+    }
+
+    /**
+     * Gets the estimated retained bytes of the characters of the nodes.
+     * @return Returns the bytes of the characters.
+     */
+    public long getCharacterBytes() {
+        return this.characterBytes;
+    }
+
+    /**
+     * Gets the estimated retained bytes of the values of the valid nodes.
+     * @return Returns the bytes of the values.
+     */
+    public long getValueBytes() {
+        return this.valueBytes;
+    }
+
+    /**
+     * Gets the estimated retained bytes of the whole trie.
+     * @return Returns the sum of the bytes of every component.
+     */
+    public long getTotalBytes() {
+        return this.nodeBytes + this.childrenBytes + this.characterBytes + this.valueBytes;
+    }
+
+    /**
+     * Returns a multi-line report of the statistics.
+     * @return Returns the report.
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append("nodes: ").append(this.nodeCount).append(", valid: ").append(this.validNodeCount).append('\n');
+        builder.append("depths: ").append(Arrays.toString(this.depthHistogram)).append('\n');
+        builder.append("branching: ").append(Arrays.toString(this.branchingHistogram)).append('\n');
+        builder.append("chains: ").append(Arrays.toString(this.chainHistogram)).append('\n');
+        builder.append("bytes: nodes ").append(this.nodeBytes)
+            .append(", children ").append(this.childrenBytes)
+            .append(", characters ").append(this.characterBytes)
+            .append(", values ").append(this.valueBytes)
+            .append(", total ").append(this.getTotalBytes());
+        return builder.toString();
+    }
+
+    /**
+     * Estimates the size of a <tt>HashMap</tt> with its table and entries.
+     * @param size The number of entries.
+     * @param initialCapacity The initial capacity of the map.
+     * @return Returns the estimated bytes.
+     */
+    private static long mapBytes(int size, int initialCapacity) {
+        int capacity = initialCapacity;
+        while(size > capacity*3L/4) {
+            capacity *= 2;
+        }
+        return MAP_BYTES + align(HEADER_BYTES + 4 + (long)capacity*REFERENCE_BYTES) + size*MAP_ENTRY_BYTES;
+    }
+
+    /**
+     * Rounds a size up to a multiple of 8 bytes.
+     * @param bytes The size.
+     * @return Returns the aligned size.
+     */
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    /**
+     * Increments an element of a histogram, growing the histogram if required.
+     * @param histogram The histogram.
+     * @param index The index of the element.
+     * @return Returns the histogram or its grown copy.
+     */
+    private static long[] increment(long[] histogram, int index) {
+        if(index >= histogram.length) {
+            histogram = Arrays.copyOf(histogram, Math.max(histogram.length*2, index+1));
+        }
+        histogram[index]++;
+        return histogram;
+    }
+
+    /**
+     * Removes the trailing zero elements of a histogram.
+     * @param histogram The histogram.
+     * @return Returns the trimmed copy.
+     */
+    private static long[] trim(long[] histogram) {
+        int length = histogram.length;
+        while(length > 0 && histogram[length-1]==0) {
+            length--;
+        }
+        return Arrays.copyOf(histogram, length);
+    }
+}
@@ -0,0 +1,62 @@
+package io.damelyngdoh.java.trie;
+
+/**
+ * <p>
+ * Visitor of the nodes of a <tt>Trie</tt> during an iterative depth-first traversal.
+ * Every node is visited twice: before its subtree (pre-order) and after its subtree
+ * (post-order). The pre-order visit decides whether the subtree of the node is traversed,
+ * skipped or whether the whole traversal is terminated.
+ * </p>
+ * <p>
+ * The depth of a node is the length of its string, so the root-map nodes have a depth
+ * of 1. A visitor which needs the strings of the nodes can keep its own buffer of
+ * characters, truncating it to <tt>depth - 1</tt> and appending the character of the
+ * node on every pre-order visit.
+ * </p>
+ *
+ * @param <V> Data class type.
+ *
+ * @author Dame Lyngdoh
+ * @since 1.0.0
+ * @see Trie#traverse(TrieVisitor)
+ */
+public interface TrieVisitor<V> {
+
+    /**
+     * Action taken by the traversal after the pre-order visit of a node.
+     */
+    enum Action {
+        /**
+         * Traverse the subtree of the node.
+         */
+        CONTINUE,
+        /**
+         * Skip the subtree of the node. The node is still visited in post-order.
+         */
+        SKIP_SUBTREE,
+        /**
+         * Stop the traversal immediately.
+         */
+        TERMINATE
+    }
+
+    /**
+     * Invoked before the subtree of a node is traversed.
+     * @param node The node.
+     * @param depth The length of the string of the node.
+     * @return Returns the action to be taken for the subtree of the node.
+     */
+    default Action preVisit(TrieNode<V> node, int depth) {
+        return Action.CONTINUE;
+    }
+
+    /**
+     * Invoked after the subtree of a node has been traversed or skipped.
+     * @param node The node.
+     * @param depth The length of the string of the node.
+     * @return Returns true if the traversal is to be continued or false if it needs to be stopped.
+     */
+    default boolean postVisit(TrieNode<V> node, int depth) {
+        return true;
+    }
+}
@@ -0,0 +1,101 @@
+package io.damelyngdoh.java.trie;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class AhoCorasickTest {
+
+    private Trie<TestCharacter,String> trie;
+    private AhoCorasick<TestCharacter,String> scanner;
+
+    @BeforeEach
+    void beforeEachTest() {
+        ValueSource.init();
+        this.trie = new Trie<>();
+        for(int i=0; i<ValueSource.ValidStringCount; i++) {
+            this.trie.put(ValueSource.stringMap.get(i), ValueSource.dataMap.get(i));
+        }
+        this.scanner = this.trie.scanner();
+    }
+
+    @Test
+    @DisplayName("Aho-Corasick Scan Test")
+    void scanTest() {
+        String text = "xx" + ValueSource.SuperString + "DD" + ValueSource.Extended1String;
+        List<String> matches = new ArrayList<>();
+        long count = this.scanner.scan(text, c->new TestCharacter((char)c), (position, key, value)->{
+            assertEquals(ValueSource.convertToTrieString(value), key, "Matched key does not match its data");
+            assertEquals(value, text.substring((int)position, (int)position+key.size()), "Match position not matching");
+            return matches.add(value);
+        });
+        assertEquals(6, count, "Match count not matching");
+        assertEquals(6, matches.size(), "Reported matches not matching");
+        assertEquals(ValueSource.SubString, matches.get(0), "Shorter string ending first not reported first");
+        assertTrue(matches.contains(ValueSource.CommonString) && matches.contains(ValueSource.Extended1String), "Overlapping strings not reported");
+        assertEquals(2, matches.stream().filter(ValueSource.UnitLengthString::equals).count(), "Unit length string not reported at every occurrence");
+    }
+
+    @Test
+    @DisplayName("Aho-Corasick Failure Link Test")
+    void failureLinkTest() {
+        this.trie.put(ValueSource.convertToTrieString("abcd"), "abcd");
+        this.trie.put(ValueSource.convertToTrieString("bc"), "bc");
+        this.trie.put(ValueSource.convertToTrieString("bcde"), "bcde");
+        this.scanner = this.trie.scanner();
+        List<Long> positions = new ArrayList<>();
+        List<String> matches = new ArrayList<>();
+        this.scanner.scan(ValueSource.convertToTrieString("abcde").iterator(), (position, key, value)->{
+            positions.add(position);
+            return matches.add(value);
+        });
+        assertEquals(3, matches.size(), "Match count not matching");
+        assertEquals("bc", matches.get(0), "Suffix match not reported through failure link");
+        assertEquals("abcd", matches.get(1), "Longer match not reported");
+        assertEquals("bcde", matches.get(2), "Match after failure transition not reported");
+        assertEquals(Long.valueOf(1), positions.get(2), "Position after failure transition not matching");
+    }
+
+    @Test
+    @DisplayName("Aho-Corasick Stop Test")
+    void stopTest() {
+        String text = ValueSource.UnitLengthString + ValueSource.UnitLengthString;
+        assertEquals(1, this.scanner.scan(text, c->new TestCharacter((char)c), (position, key, value)->false), "Scan not stopped by the listener");
+        assertThrows(IllegalArgumentException.class, ()->{
+            this.scanner.scan(text, c->null, (position, key, value)->true);
+        }, "Null character did not throw IllegalArgumentException.");
+        assertThrows(NullPointerException.class, ()->{
+            this.scanner.scan(null, (position, key, value)->true);
+        }, "Null text did not throw NullPointerException.");
+    }
+
+    @Test
+    @DisplayName("Aho-Corasick Modification Test")
+    void modificationTest() {
+        this.trie.put(ValueSource.convertToTrieString("~~"), "~~");
+        assertThrows(ConcurrentModificationException.class, ()->{
+            this.scanner.scan("x~~", c->new TestCharacter((char)c), (position, key, value)->true);
+        }, "Scan of a node added after the compilation did not throw ConcurrentModificationException.");
+        assertEquals(1, this.trie.scanner().scan("x~~", c->new TestCharacter((char)c), (position, key, value)->true), "Recompiled scanner did not report the added string");
+
+        // The node of a removed string with extensions is kept in the trie
+        this.scanner = this.trie.scanner();
+        this.trie.remove(ValueSource.stringMap.get(ValueSource.Sub));
+        assertThrows(ConcurrentModificationException.class, ()->{
+            this.scanner.scan(ValueSource.SuperString, c->new TestCharacter((char)c), (position, key, value)->true);
+        }, "Scan after a removal did not throw ConcurrentModificationException.");
+
+        this.scanner = this.trie.scanner();
+        assertThrows(ConcurrentModificationException.class, ()->{
+            this.scanner.scan(ValueSource.SuperString, c->new TestCharacter((char)c), (position, key, value)->this.trie.remove(key)!=null);
+        }, "Removal by the listener did not throw ConcurrentModificationException.");
+    }
+}
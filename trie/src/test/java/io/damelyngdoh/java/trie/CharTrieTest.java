@@ -0,0 +1,83 @@
+package io.damelyngdoh.java.trie;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class CharTrieTest {
+
+    private CharTrie<String> trie;
+
+    @BeforeEach
+    void beforeEachTest() {
+        ValueSource.init();
+        this.trie = new CharTrie<>();
+        for(int i=0; i<ValueSource.ValidStringCount; i++) {
+            this.trie.put(ValueSource.dataMap.get(i), ValueSource.dataMap.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("Char Trie Get Test")
+    void getTest() {
+        assertEquals(ValueSource.ValidStringCount, this.trie.size(), "String count does not match");
+        for(int i=0; i<ValueSource.ValidStringCount; i++) {
+            assertEquals(ValueSource.dataMap.get(i), this.trie.get(ValueSource.dataMap.get(i)), "String's data does not match in search test");
+            assertEquals(ValueSource.dataMap.get(i), this.trie.get(new StringBuilder(ValueSource.dataMap.get(i))), "String builder key does not match in search test");
+        }
+        assertNull(this.trie.get(ValueSource.AbsentString), "Absent string's data is not null");
+        assertNull(this.trie.get(ValueSource.EmptyString), "Empty string's data is not null");
+        assertFalse(this.trie.containsKey("iFxSjn"), "Prefix of a string is contained in the trie");
+        assertThrows(NullPointerException.class, ()->{
+            this.trie.get(null);
+        }, "Null string get test did not throw NullPointerException.");
+        assertThrows(ClassCastException.class, ()->{
+            this.trie.get(1);
+        }, "Non character sequence get did not throw ClassCastException.");
+    }
+
+    @Test
+    @DisplayName("Char Trie Put Test")
+    void putTest() {
+        assertNull(this.trie.put(ValueSource.EmptyString, ""), "Empty string put did not return null.");
+        this.trie.put(ValueSource.ValidString, "");
+        assertEquals(ValueSource.ValidStringCount, this.trie.size(), "String count changed after overwrite");
+        assertEquals("", this.trie.get(ValueSource.ValidString), "String not overwritten when overwrite is allowed");
+        this.trie.setOverwriteAllowed(false);
+        this.trie.put(ValueSource.ValidString, ValueSource.ValidString);
+        assertEquals("", this.trie.get(ValueSource.ValidString), "String overwritten when overwrite is not allowed");
+    }
+
+    @Test
+    @DisplayName("Char Trie Remove Test")
+    void removeTest() {
+        assertNull(this.trie.remove(ValueSource.AbsentString), "Absent string remove did not return null.");
+        assertEquals(ValueSource.CommonString, this.trie.remove(ValueSource.CommonString), "Common string remove did not return its data.");
+        assertEquals(ValueSource.Extended1String, this.trie.get(ValueSource.Extended1String), "Extended1 not found after common string remove");
+        assertEquals(ValueSource.SuperString, this.trie.remove(ValueSource.SuperString), "Super-string remove did not return its data.");
+        assertEquals(ValueSource.SubString, this.trie.get(ValueSource.SubString), "Sub-string not found after super-string remove");
+        assertEquals(ValueSource.ValidStringCount-2, this.trie.size(), "String count not matching after remove");
+        assertTrue(this.trie.containsValue(ValueSource.Extended2String), "Contains value failed after remove");
+        assertFalse(this.trie.containsValue(ValueSource.CommonString), "Contains value found removed data");
+    }
+
+    @Test
+    @DisplayName("Char Trie Key-Set Test")
+    void keySetTest() {
+        Set<CharSequence> keys = this.trie.keySet();
+        assertEquals(ValueSource.ValidStringCount, keys.size(), "Expected key-set size not matching with actual size");
+        for(int i=0; i<ValueSource.ValidStringCount; i++) {
+            assertTrue(keys.contains(ValueSource.dataMap.get(i)), "Key-set does not contain string");
+        }
+        this.trie.clear();
+        assertTrue(this.trie.isEmpty(), "Is empty method returned false after trie clear.");
+    }
+}
@@ -0,0 +1,108 @@
+package io.damelyngdoh.java.trie;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class ConcurrentTrieTest {
+
+    private ConcurrentTrie<TestCharacter,String> trie;
+
+    @BeforeEach
+    void beforeEachTest() {
+        ValueSource.init();
+        this.trie = new ConcurrentTrie<>();
+        for(int i=0; i<ValueSource.ValidStringCount; i++) {
+            this.trie.put(ValueSource.stringMap.get(i), ValueSource.dataMap.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("Concurrent Trie Get Test")
+    void getTest() {
+        assertEquals(ValueSource.ValidStringCount, this.trie.size(), "String count does not match");
+        for(int i=0; i<ValueSource.ValidStringCount; i++) {
+            assertEquals(ValueSource.dataMap.get(i), this.trie.get(ValueSource.stringMap.get(i)), "String's data does not match in search test");
+        }
+        assertNull(this.trie.get(ValueSource.stringMap.get(ValueSource.Absent)), "Absent string's data is not null");
+        assertFalse(this.trie.containsKey(ValueSource.convertToTrieString("iFxSjn")), "Invalid prefix is contained in the trie");
+        assertEquals(ValueSource.ValidStringCount, this.trie.keySet().size(), "Key-set size not matching");
+        assertThrows(NullPointerException.class, ()->{
+            this.trie.put(ValueSource.stringMap.get(ValueSource.Absent), null);
+        }, "Null value put did not throw NullPointerException.");
+    }
+
+    @Test
+    @DisplayName("Concurrent Trie Atomic Operations Test")
+    void atomicOperationsTest() {
+        List<TrieCharacter> absent = ValueSource.stringMap.get(ValueSource.Absent);
+        List<TrieCharacter> common = ValueSource.stringMap.get(ValueSource.Common);
+        assertEquals(ValueSource.CommonString, this.trie.putIfAbsent(common, "x"), "Put if absent replaced present string");
+        assertNull(this.trie.putIfAbsent(absent, "x"), "Put if absent did not add absent string");
+        assertFalse(this.trie.replace(common, "x", "y"), "Replace succeeded with wrong expected value");
+        assertTrue(this.trie.replace(common, ValueSource.CommonString, "y"), "Replace failed with expected value");
+        assertFalse(this.trie.remove(common, ValueSource.CommonString), "Remove succeeded with wrong expected value");
+        assertTrue(this.trie.remove(common, "y"), "Remove failed with expected value");
+        assertEquals(ValueSource.Extended1String, this.trie.get(ValueSource.stringMap.get(ValueSource.Extended1)), "Extended1 not found after common remove");
+        assertEquals(ValueSource.ValidString, this.trie.remove(ValueSource.stringMap.get(ValueSource.Valid)), "Valid string remove did not return its data.");
+        assertEquals(ValueSource.ValidStringCount-1, this.trie.size(), "String count not matching after remove");
+    }
+
+    @Test
+    @DisplayName("Concurrent Trie Snapshot Test")
+    void snapshotTest() {
+        ConcurrentTrie<TestCharacter,String> readOnly = this.trie.readOnlySnapshot();
+        ConcurrentTrie<TestCharacter,String> copy = this.trie.snapshot();
+        this.trie.remove(ValueSource.stringMap.get(ValueSource.Super));
+        copy.put(ValueSource.stringMap.get(ValueSource.Sub), "changed");
+        assertEquals(ValueSource.SuperString, readOnly.get(ValueSource.stringMap.get(ValueSource.Super)), "Read-only snapshot changed after trie was modified");
+        assertEquals(ValueSource.SuperString, copy.get(ValueSource.stringMap.get(ValueSource.Super)), "Snapshot changed after trie was modified");
+        assertEquals(ValueSource.SubString, this.trie.get(ValueSource.stringMap.get(ValueSource.Sub)), "Trie changed after snapshot was modified");
+        assertEquals(ValueSource.ValidStringCount, readOnly.size(), "Read-only snapshot string count does not match");
+        assertEquals(ValueSource.ValidStringCount, readOnly.size(), "Cached read-only snapshot string count does not match");
+        assertFalse(this.trie.isEmpty(), "Trie with strings is empty");
+        for(int i=0; i<ValueSource.ValidStringCount; i++) {
+            this.trie.remove(ValueSource.stringMap.get(i));
+        }
+        assertTrue(this.trie.isEmpty(), "Trie is not empty after removing every string");
+        assertFalse(readOnly.isEmpty(), "Read-only snapshot is empty after trie was emptied");
+        assertThrows(UnsupportedOperationException.class, ()->{
+            readOnly.put(ValueSource.stringMap.get(ValueSource.Absent), "");
+        }, "Put did not throw UnsupportedOperationException.");
+    }
+
+    @Test
+    @DisplayName("Concurrent Trie Snapshot Isolation Test")
+    void snapshotIsolationTest() throws Exception {
+        final List<ConcurrentTrie<TestCharacter,String>> snapshots = new ArrayList<>();
+        final List<Set<List<TrieCharacter>>> keySets = new ArrayList<>();
+        ParallelWriters.write(this.trie, ()->{
+            // Snapshots taken while the writers run are consistent and never change afterwards
+            for(int i=0; i<20; i++) {
+                ConcurrentTrie<TestCharacter,String> snapshot = this.trie.readOnlySnapshot();
+                Set<List<TrieCharacter>> keySet = new HashSet<>(snapshot.keySet());
+                assertEquals(keySet.size(), snapshot.size(), "Snapshot size not matching its key-set during writes");
+                snapshots.add(snapshot);
+                keySets.add(keySet);
+                Thread.yield();
+            }
+        });
+        for(int i=0; i<snapshots.size(); i++) {
+            assertEquals(keySets.get(i), snapshots.get(i).keySet(), "Snapshot changed after the writes");
+            assertEquals(keySets.get(i).size(), snapshots.get(i).size(), "Snapshot size changed after the writes");
+        }
+        assertEquals(ValueSource.ValidStringCount + ParallelWriters.Added, this.trie.size(), "String count does not match after parallel writes");
+        assertEquals("4", this.trie.get(ValueSource.convertToTrieString("eq2r4")), "String's data does not match after parallel writes");
+    }
+}
@@ -0,0 +1,147 @@
+package io.damelyngdoh.java.trie;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class DawgTest {
+
+    private static final String[] Words = { "tap", "taps", "top", "tops" };
+
+    private Trie<TestCharacter,String> trie;
+    private Dawg<TestCharacter,String> dawg;
+
+    @BeforeEach
+    void beforeEachTest() {
+        ValueSource.init();
+        this.trie = new Trie<>();
+        for(int i=0; i<ValueSource.ValidStringCount; i++) {
+            this.trie.put(ValueSource.stringMap.get(i), ValueSource.dataMap.get(i));
+        }
+        this.dawg = this.trie.minimize();
+    }
+
+    @Test
+    @DisplayName("Dawg Get Test")
+    void getTest() {
+        assertEquals(ValueSource.ValidStringCount, this.dawg.size(), "String count does not match");
+        for(int i=0; i<ValueSource.ValidStringCount; i++) {
+            assertEquals(ValueSource.dataMap.get(i), this.dawg.get(ValueSource.stringMap.get(i)), "String's data does not match in search test");
+            assertTrue(this.dawg.containsKey(ValueSource.stringMap.get(i)), "Contains key test failed");
+        }
+        assertNull(this.dawg.get(ValueSource.stringMap.get(ValueSource.Absent)), "Absent string's data is not null");
+        assertNull(this.dawg.get(ValueSource.stringMap.get(ValueSource.Empty)), "Empty string's data is not null");
+        assertFalse(this.dawg.containsKey(ValueSource.convertToTrieString("iFxSjn")), "Invalid prefix is contained in the graph");
+        assertTrue(this.dawg.containsValue(ValueSource.CommonString), "Contains value test failed");
+        assertEquals(new HashMap<>(this.trie), new HashMap<>(this.dawg), "Entries not matching the source trie");
+    }
+
+    @Test
+    @DisplayName("Dawg Index Test")
+    void indexTest() {
+        Set<Integer> ranks = new HashSet<>();
+        for(int i=0; i<ValueSource.ValidStringCount; i++) {
+            int rank = this.dawg.indexOf(ValueSource.stringMap.get(i));
+            assertTrue(rank >= 0 && rank < this.dawg.size(), "Rank out of range");
+            ranks.add(rank);
+        }
+        assertEquals(ValueSource.ValidStringCount, ranks.size(), "Ranks are not distinct");
+        assertEquals(-1, this.dawg.indexOf(ValueSource.stringMap.get(ValueSource.Absent)), "Absent string has a rank");
+    }
+
+    @Test
+    @DisplayName("Dawg Prefix Test")
+    void prefixTest() {
+        assertTrue(this.dawg.containsPrefix(ValueSource.convertToTrieString("iFxS")), "Present prefix not found");
+        assertFalse(this.dawg.containsPrefix(ValueSource.convertToTrieString("iFxX")), "Absent prefix found");
+        Map<List<TrieCharacter>, String> entries = this.dawg.prefixMap(ValueSource.stringMap.get(ValueSource.Common));
+        assertEquals(3, entries.size(), "Prefix entries not matching");
+        assertEquals(ValueSource.Extended2String, entries.get(ValueSource.stringMap.get(ValueSource.Extended2)), "Prefix entry data not matching");
+    }
+
+    @Test
+    @DisplayName("Dawg Builder Test")
+    void builderTest() {
+        Dawg.Builder<TestCharacter,Integer> builder = Dawg.builder();
+        for(int i=0; i<Words.length; i++) {
+            builder.add(ValueSource.convertToTrieString(Words[i]), i);
+        }
+        Dawg<TestCharacter,Integer> built = builder.build();
+        // The suffixes "p" and "ps" are shared after both "ta" and "to"
+        assertEquals(5, built.getStateCount(), "Graph is not minimal");
+        assertEquals(5, built.getEdgeCount(), "Graph is not minimal");
+        for(int i=0; i<Words.length; i++) {
+            assertEquals(i, built.indexOf(ValueSource.convertToTrieString(Words[i])), "Rank is not the sorted position");
+            assertEquals(Integer.valueOf(i), built.get(ValueSource.convertToTrieString(Words[i])), "String's data does not match");
+        }
+        assertFalse(built.containsKey(ValueSource.convertToTrieString("ta")), "Prefix is contained in the graph");
+        assertThrows(IllegalStateException.class, ()->{
+            builder.add(ValueSource.convertToTrieString("tops"), 0);
+        }, "Add after build did not throw IllegalStateException.");
+
+        Trie<TestCharacter,Integer> source = new Trie<>();
+        for(int i=0; i<Words.length; i++) {
+            source.put(ValueSource.convertToTrieString(Words[i]), i);
+        }
+        assertEquals(5, source.minimize().getStateCount(), "Minimized trie is not minimal");
+    }
+
+    @Test
+    @DisplayName("Dawg Builder Order Test")
+    void builderOrderTest() {
+        assertThrows(IllegalArgumentException.class, ()->{
+            Dawg.<TestCharacter,Integer>builder().add(ValueSource.convertToTrieString("tap"), 0).add(ValueSource.convertToTrieString("top"), 1).add(ValueSource.convertToTrieString("taps"), 2);
+        }, "Non-adjacent strings did not throw IllegalArgumentException.");
+        assertThrows(IllegalArgumentException.class, ()->{
+            Dawg.<TestCharacter,Integer>builder().add(ValueSource.convertToTrieString("taps"), 0).add(ValueSource.convertToTrieString("tap"), 1);
+        }, "Prefix after its extension did not throw IllegalArgumentException.");
+        assertThrows(UnsupportedOperationException.class, ()->{
+            this.dawg.put(ValueSource.stringMap.get(ValueSource.Absent), "");
+        }, "Put did not throw UnsupportedOperationException.");
+    }
+
+    @Test
+    @DisplayName("Dawg Insertion Order Test")
+    void insertionOrderTest() {
+        String[] unsorted = { "xab", "xac", "yac", "yab" };
+        Trie<TestCharacter,Integer> source = new Trie<>();
+        for(int i=0; i<unsorted.length; i++) {
+            source.put(ValueSource.convertToTrieString(unsorted[i]), i);
+        }
+        Dawg<TestCharacter,Integer> minimized = source.minimize();
+        // The suffixes "b" and "c" after "xa" and "ya" are one state whatever their insertion order
+        assertEquals(4, minimized.getStateCount(), "Graph is not minimal");
+        assertEquals(new HashMap<>(source), new HashMap<>(minimized), "Entries not matching the source trie");
+        Set<Integer> ranks = new HashSet<>();
+        for(String word : unsorted) {
+            ranks.add(minimized.indexOf(ValueSource.convertToTrieString(word)));
+        }
+        assertEquals(unsorted.length, ranks.size(), "Ranks are not distinct");
+    }
+
+    @Test
+    @DisplayName("Dawg Deep String Test")
+    void deepStringTest() {
+        StringBuilder builder = new StringBuilder();
+        for(int i=0; i<100000; i++) {
+            builder.append('a');
+        }
+        List<TrieCharacter> deep = ValueSource.convertToTrieString(builder.toString());
+        this.trie.put(deep, "deep");
+        this.dawg = this.trie.minimize();
+        assertTrue(this.dawg.keySet().contains(deep), "Deep string not traversed");
+        assertEquals(new HashMap<>(this.trie), new HashMap<>(this.dawg), "Entries not matching the source trie");
+    }
+}
@@ -0,0 +1,105 @@
+package io.damelyngdoh.java.trie;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class DoubleArrayTrieTest {
+
+    private Trie<TestCharacter,String> trie;
+    private DoubleArrayTrie<TestCharacter,String> frozen;
+
+    @BeforeEach
+    void beforeEachTest() {
+        ValueSource.init();
+        this.trie = new Trie<>();
+        for(int i=0; i<ValueSource.ValidStringCount; i++) {
+            this.trie.put(ValueSource.stringMap.get(i), ValueSource.dataMap.get(i));
+        }
+        this.frozen = this.trie.freeze();
+    }
+
+    @Test
+    @DisplayName("Double-Array Trie Get Test")
+    void getTest() {
+        assertEquals(ValueSource.ValidStringCount, this.frozen.size(), "String count does not match");
+        for(int i=0; i<ValueSource.ValidStringCount; i++) {
+            assertEquals(ValueSource.dataMap.get(i), this.frozen.get(ValueSource.stringMap.get(i)), "String's data does not match in search test");
+            assertTrue(this.frozen.containsKey(ValueSource.stringMap.get(i)), "Contains key test failed");
+        }
+        assertNull(this.frozen.get(ValueSource.stringMap.get(ValueSource.Absent)), "Absent string's data is not null");
+        assertNull(this.frozen.get(ValueSource.stringMap.get(ValueSource.Empty)), "Empty string's data is not null");
+        assertFalse(this.frozen.containsKey(ValueSource.convertToTrieString("iFxSjn")), "Invalid prefix is contained in the trie");
+        assertTrue(this.frozen.containsValue(ValueSource.CommonString), "Contains value test failed");
+        assertEquals(ValueSource.ValidStringCount, this.frozen.keySet().size(), "Key-set size not matching");
+        assertTrue(this.frozen.keySet().contains(ValueSource.stringMap.get(ValueSource.Super)), "Key-set does not contain string");
+    }
+
+    @Test
+    @DisplayName("Double-Array Trie Prefix Test")
+    void prefixTest() {
+        assertTrue(this.frozen.containsPrefix(ValueSource.convertToTrieString("iFxS")), "Present prefix not found");
+        assertFalse(this.frozen.containsPrefix(ValueSource.convertToTrieString("iFxX")), "Absent prefix found");
+        Map<List<TrieCharacter>, String> entries = this.frozen.prefixMap(ValueSource.stringMap.get(ValueSource.Common));
+        assertEquals(3, entries.size(), "Prefix entries not matching");
+        assertEquals(ValueSource.Extended2String, entries.get(ValueSource.stringMap.get(ValueSource.Extended2)), "Prefix entry data not matching");
+    }
+
+    @Test
+    @DisplayName("Double-Array Trie Read-Only Test")
+    void readOnlyTest() {
+        assertThrows(UnsupportedOperationException.class, ()->{
+            this.frozen.put(ValueSource.stringMap.get(ValueSource.Absent), "");
+        }, "Put did not throw UnsupportedOperationException.");
+        this.trie.remove(ValueSource.stringMap.get(ValueSource.Valid));
+        assertEquals(ValueSource.ValidString, this.frozen.get(ValueSource.stringMap.get(ValueSource.Valid)), "Frozen trie changed after source trie was modified");
+    }
+
+    @Test
+    @DisplayName("Double-Array Trie Traversal Test")
+    void traversalTest() {
+        StringBuilder builder = new StringBuilder();
+        for(int i=0; i<100000; i++) {
+            builder.append('a');
+        }
+        List<TrieCharacter> deep = ValueSource.convertToTrieString(builder.toString());
+        this.trie.put(deep, "deep");
+        this.frozen = this.trie.freeze();
+        assertTrue(this.frozen.keySet().contains(deep), "Deep string not traversed");
+        assertEquals(new HashMap<>(this.trie), new HashMap<>(this.frozen), "Entries not matching the source trie");
+        assertEquals(3, this.frozen.prefixMap(ValueSource.stringMap.get(ValueSource.Common)).size(), "Prefix entries not matching");
+    }
+
+    @Test
+    @DisplayName("Double-Array Trie Scale Test")
+    void scaleTest() {
+        Random random = new Random(11);
+        Trie<TestCharacter,String> words = new Trie<>();
+        for(int i=0; i<100000; i++) {
+            StringBuilder builder = new StringBuilder();
+            for(int length = 3 + random.nextInt(10); builder.length() < length; ) {
+                builder.append((char)('a' + random.nextInt(26)));
+            }
+            words.put(ValueSource.convertToTrieString(builder.toString()), builder.toString());
+        }
+        DoubleArrayTrie<TestCharacter,String> compiled = assertTimeoutPreemptively(Duration.ofSeconds(10), ()->words.freeze(), "Compilation of 100k strings not linear enough");
+        assertEquals(words.size(), compiled.size(), "String count does not match");
+        assertTrue(compiled.getStateCount() <= compiled.size()*12, "States not matching the nodes");
+        for(List<TrieCharacter> key : words.keySet()) {
+            assertEquals(words.get(key), compiled.get(key), "String's data does not match after compilation");
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package io.damelyngdoh.java.trie;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class DurableTrieTest {
+
+    private Path directory;
+    private TrieSerializer<String> serializer;
+
+    @BeforeEach
+    void beforeEachTest() throws IOException {
+        ValueSource.init();
+        this.directory = Files.createTempDirectory("durable-trie");
+        this.serializer = new TrieSerializer<>(TrieSerializer.CharacterCodec.of(c->((TestCharacter)c).getC(), c->new TestCharacter((char)c)), TrieSerializer.stringCodec());
+    }
+
+    @AfterEach
+    void afterEachTest() throws IOException {
+        try(Stream<Path> paths = Files.list(this.directory)) {
+            for(Object path : paths.toArray()) {
+                Files.delete((Path)path);
+            }
+        }
+        Files.delete(this.directory);
+    }
+
+    @Test
+    @DisplayName("Durable Trie Recovery Test")
+    void recoveryTest() throws IOException {
+        Map<List<TrieCharacter>, String> expected = new HashMap<>();
+        try(DurableTrie<TestCharacter,String> trie = DurableTrie.open(this.directory, this.serializer)) {
+            for(int i=0; i<ValueSource.ValidStringCount; i++) {
+                trie.put(ValueSource.stringMap.get(i), ValueSource.dataMap.get(i));
+                expected.put(ValueSource.stringMap.get(i), ValueSource.dataMap.get(i));
+            }
+            trie.remove(ValueSource.stringMap.get(ValueSource.Sub));
+            expected.remove(ValueSource.stringMap.get(ValueSource.Sub));
+            trie.put(ValueSource.stringMap.get(ValueSource.Invalid), null);
+            expected.put(ValueSource.stringMap.get(ValueSource.Invalid), null);
+        }
+        try(DurableTrie<TestCharacter,String> trie = DurableTrie.open(this.directory, this.serializer)) {
+            assertEquals(expected, new HashMap<>(trie), "Recovered entries not matching");
+            assertTrue(trie.containsKey(ValueSource.stringMap.get(ValueSource.Invalid)), "String with null data not recovered");
+            trie.clear();
+        }
+        try(DurableTrie<TestCharacter,String> trie = DurableTrie.open(this.directory, this.serializer)) {
+            assertTrue(trie.isEmpty(), "Clear not recovered");
+        }
+    }
+
+    @Test
+    @DisplayName("Durable Trie Checkpoint Test")
+    void checkpointTest() throws IOException, InterruptedException {
+        try(DurableTrie<TestCharacter,String> trie = DurableTrie.open(this.directory, this.serializer, 1, 0, 0)) {
+            for(int i=0; i<ValueSource.ValidStringCount; i++) {
+                trie.put(ValueSource.stringMap.get(i), ValueSource.dataMap.get(i));
+            }
+            assertTrue(trie.checkpoint(), "Checkpoint not started");
+            trie.remove(ValueSource.stringMap.get(ValueSource.Super));
+            trie.put(ValueSource.stringMap.get(ValueSource.Absent), ValueSource.AbsentString);
+            while(trie.isCheckpointing()) {
+                Thread.sleep(10);
+            }
+            assertNull(trie.getCheckpointFailure(), "Successful checkpoint reported a failure");
+        }
+        assertTrue(Files.exists(this.directory.resolve(DurableTrie.SNAPSHOT)), "Snapshot not written");
+        assertFalse(Files.exists(this.directory.resolve(DurableTrie.LOG_PREFIX + 1)), "Sealed log segment not deleted");
+        try(DurableTrie<TestCharacter,String> trie = DurableTrie.open(this.directory, this.serializer)) {
+            assertEquals(ValueSource.ValidStringCount, trie.size(), "String count not matching after checkpoint");
+            assertNull(trie.get(ValueSource.stringMap.get(ValueSource.Super)), "Removal after checkpoint not recovered");
+            assertEquals(ValueSource.AbsentString, trie.get(ValueSource.stringMap.get(ValueSource.Absent)), "Addition after checkpoint not recovered");
+            assertEquals(ValueSource.SubString, trie.get(ValueSource.stringMap.get(ValueSource.Sub)), "String of the snapshot not recovered");
+        }
+    }
+
+    @Test
+    @DisplayName("Durable Trie Torn Record Test")
+    void tornRecordTest() throws IOException {
+        try(DurableTrie<TestCharacter,String> trie = DurableTrie.open(this.directory, this.serializer)) {
+            trie.put(ValueSource.stringMap.get(ValueSource.Valid), ValueSource.ValidString);
+            trie.put(ValueSource.stringMap.get(ValueSource.Super), ValueSource.SuperString);
+        }
+        Path log = this.directory.resolve(DurableTrie.LOG_PREFIX + 1);
+        long size = Files.size(log);
+        try(FileChannel channel = FileChannel.open(log, StandardOpenOption.WRITE)) {
+            channel.truncate(size-3);
+        }
+        try(DurableTrie<TestCharacter,String> trie = DurableTrie.open(this.directory, this.serializer)) {
+            assertEquals(1, trie.size(), "Torn record not discarded");
+            assertEquals(ValueSource.ValidString, trie.get(ValueSource.stringMap.get(ValueSource.Valid)), "Complete record not recovered");
+            trie.put(ValueSource.stringMap.get(ValueSource.Sub), ValueSource.SubString);
+        }
+        try(DurableTrie<TestCharacter,String> trie = DurableTrie.open(this.directory, this.serializer)) {
+            assertEquals(2, trie.size(), "Record appended after a torn record not recovered");
+        }
+    }
+
+    @Test
+    @DisplayName("Durable Trie Checkpoint Failure Test")
+    void checkpointFailureTest() throws IOException, InterruptedException {
+        // A directory in place of the temporary snapshot makes the compaction fail
+        Files.createDirectory(this.directory.resolve(DurableTrie.SNAPSHOT + ".tmp"));
+        try(DurableTrie<TestCharacter,String> trie = DurableTrie.open(this.directory, this.serializer, 1, 0, 0)) {
+            trie.put(ValueSource.stringMap.get(ValueSource.Valid), ValueSource.ValidString);
+            assertTrue(trie.checkpoint(), "Checkpoint not started");
+            while(trie.isCheckpointing()) {
+                Thread.sleep(10);
+            }
+            assertNotNull(trie.getCheckpointFailure(), "Checkpoint failure not reported");
+        }
+        assertTrue(Files.exists(this.directory.resolve(DurableTrie.LOG_PREFIX + 1)), "Sealed log segment of a failed checkpoint deleted");
+        try(DurableTrie<TestCharacter,String> trie = DurableTrie.open(this.directory, this.serializer)) {
+            assertEquals(ValueSource.ValidString, trie.get(ValueSource.stringMap.get(ValueSource.Valid)), "String of a failed checkpoint not recovered");
+        }
+    }
+
+    @Test
+    @DisplayName("Durable Trie Zero-Filled Tail Test")
+    void zeroTailTest() throws IOException {
+        try(DurableTrie<TestCharacter,String> trie = DurableTrie.open(this.directory, this.serializer)) {
+            trie.put(ValueSource.stringMap.get(ValueSource.Valid), ValueSource.ValidString);
+            trie.put(ValueSource.stringMap.get(ValueSource.Super), ValueSource.SuperString);
+        }
+        Path log = this.directory.resolve(DurableTrie.LOG_PREFIX + 1);
+        long size = Files.size(log);
+        for(byte[] tail : new byte[][] { new byte[8], { (byte)0xFF, (byte)0xFF, (byte)0xFF, (byte)0xFF, (byte)0x8F, 0, 0, 0, 0 } }) {
+            Files.write(log, tail, StandardOpenOption.APPEND);
+            try(DurableTrie<TestCharacter,String> trie = DurableTrie.open(this.directory, this.serializer)) {
+                assertEquals(2, trie.size(), "Records before the torn tail not recovered");
+            }
+            assertEquals(size, Files.size(log), "Torn tail not truncated");
+        }
+    }
+
+    @Test
+    @DisplayName("Durable Trie Corrupt Record Test")
+    void corruptRecordTest() throws IOException {
+        try(DurableTrie<TestCharacter,String> trie = DurableTrie.open(this.directory, this.serializer)) {
+            trie.put(ValueSource.stringMap.get(ValueSource.Valid), ValueSource.ValidString);
+        }
+        // An intact record of an unknown operation followed by an acknowledged record
+        Path log = this.directory.resolve(DurableTrie.LOG_PREFIX + 1);
+        byte[] valid = Files.readAllBytes(log);
+        byte[] body = { 99 };
+        CRC32 crc = new CRC32();
+        crc.update(body, 0, body.length);
+        ByteBuffer record = ByteBuffer.allocate(6);
+        record.put((byte)body.length).putInt((int)crc.getValue()).put(body);
+        Files.write(log, record.array(), StandardOpenOption.APPEND);
+        Files.write(log, valid, StandardOpenOption.APPEND);
+        long size = Files.size(log);
+        assertThrows(StreamCorruptedException.class, ()->{
+            DurableTrie.open(this.directory, this.serializer).close();
+        }, "Intact record which cannot be applied did not throw StreamCorruptedException.");
+        assertEquals(size, Files.size(log), "Records after an intact record were truncated");
+    }
+
+    @Test
+    @DisplayName("Durable Trie Group Commit Test")
+    void groupCommitTest() throws IOException, InterruptedException {
+        try(DurableTrie<TestCharacter,String> trie = DurableTrie.open(this.directory, this.serializer, 1, 0, 50)) {
+            List<Thread> threads = new ArrayList<>();
+            for(int t=0; t<4; t++) {
+                final int thread = t;
+                threads.add(new Thread(() -> {
+                    for(int i=0; i<100; i++) {
+                        trie.put(ValueSource.convertToTrieString("k" + thread + "-" + i), "v" + i);
+                    }
+                }));
+            }
+            for(Thread thread : threads) {
+                thread.start();
+            }
+            for(Thread thread : threads) {
+                thread.join();
+            }
+            assertEquals(400, trie.size(), "String count not matching after concurrent puts");
+            while(trie.isCheckpointing()) {
+                Thread.sleep(10);
+            }
+        }
+        try(DurableTrie<TestCharacter,String> trie = DurableTrie.open(this.directory, this.serializer)) {
+            assertEquals(400, trie.size(), "Concurrent puts not recovered");
+            assertEquals("v99", trie.get(ValueSource.convertToTrieString("k3-99")), "Concurrent put data not recovered");
+        }
+        DurableTrie<TestCharacter,String> closed = DurableTrie.open(this.directory, this.serializer);
+        closed.close();
+        assertThrows(IllegalStateException.class, ()->{
+            closed.put(ValueSource.stringMap.get(ValueSource.Valid), "");
+        }, "Put on closed trie did not throw IllegalStateException.");
+    }
+}
@@ -0,0 +1,120 @@
+package io.damelyngdoh.java.trie;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class MappedTrieTest {
+
+    private Trie<TestCharacter,String> trie;
+    private TrieSerializer<String> serializer;
+    private MappedTrie<TestCharacter,String> mapped;
+
+    @BeforeEach
+    void beforeEachTest() throws IOException {
+        ValueSource.init();
+        this.trie = new Trie<>();
+        for(int i=0; i<ValueSource.ValidStringCount; i++) {
+            this.trie.put(ValueSource.stringMap.get(i), ValueSource.dataMap.get(i));
+        }
+        this.serializer = new TrieSerializer<>(TrieSerializer.CharacterCodec.of(c->((TestCharacter)c).getC(), c->new TestCharacter((char)c)), TrieSerializer.stringCodec());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        this.serializer.writeMapped(this.trie, out);
+        this.mapped = MappedTrie.wrap(ByteBuffer.wrap(out.toByteArray()), this.serializer);
+    }
+
+    @Test
+    @DisplayName("Mapped Trie Get Test")
+    void getTest() {
+        assertEquals(ValueSource.ValidStringCount, this.mapped.size(), "String count does not match");
+        for(int i=0; i<ValueSource.ValidStringCount; i++) {
+            assertEquals(ValueSource.dataMap.get(i), this.mapped.get(ValueSource.stringMap.get(i)), "String's data does not match in search test");
+            assertTrue(this.mapped.containsKey(ValueSource.stringMap.get(i)), "Contains key test failed");
+        }
+        assertNull(this.mapped.get(ValueSource.stringMap.get(ValueSource.Absent)), "Absent string's data is not null");
+        assertNull(this.mapped.get(ValueSource.stringMap.get(ValueSource.Empty)), "Empty string's data is not null");
+        assertFalse(this.mapped.containsKey(ValueSource.convertToTrieString("iFxSjn")), "Invalid prefix is contained in the trie");
+        assertTrue(this.mapped.containsValue(ValueSource.CommonString), "Contains value test failed");
+        assertEquals(new HashMap<>(this.trie), new HashMap<>(this.mapped), "Entries not matching the source trie");
+    }
+
+    @Test
+    @DisplayName("Mapped Trie Prefix Test")
+    void prefixTest() {
+        assertTrue(this.mapped.containsPrefix(ValueSource.convertToTrieString("iFxS")), "Present prefix not found");
+        assertFalse(this.mapped.containsPrefix(ValueSource.convertToTrieString("iFxX")), "Absent prefix found");
+        Map<List<TrieCharacter>, String> entries = this.mapped.prefixMap(ValueSource.stringMap.get(ValueSource.Common));
+        assertEquals(3, entries.size(), "Prefix entries not matching");
+        assertEquals(ValueSource.Extended2String, entries.get(ValueSource.stringMap.get(ValueSource.Extended2)), "Prefix entry data not matching");
+    }
+
+    @Test
+    @DisplayName("Mapped Trie File Test")
+    void fileTest() throws IOException {
+        Path file = Files.createTempFile("trie", ".map");
+        try {
+            try(OutputStream out = Files.newOutputStream(file)) {
+                this.trie.put(ValueSource.stringMap.get(ValueSource.Invalid), null);
+                this.serializer.writeMapped(this.trie, out);
+            }
+            MappedTrie<TestCharacter,String> fromFile;
+            try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                fromFile = MappedTrie.map(channel, this.serializer);
+            }
+            assertEquals(ValueSource.ValidStringCount+1, fromFile.size(), "String count does not match");
+            assertTrue(fromFile.containsKey(ValueSource.stringMap.get(ValueSource.Invalid)), "String with null data not found");
+            assertEquals(ValueSource.SuperString, fromFile.get(ValueSource.stringMap.get(ValueSource.Super)), "String's data does not match after mapping");
+        }
+        finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    @DisplayName("Mapped Trie Read-Only Test")
+    void readOnlyTest() throws IOException {
+        assertThrows(UnsupportedOperationException.class, ()->{
+            this.mapped.put(ValueSource.stringMap.get(ValueSource.Absent), "");
+        }, "Put did not throw UnsupportedOperationException.");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        this.serializer.writeTo(this.trie, out);
+        assertThrows(StreamCorruptedException.class, ()->{
+            MappedTrie.wrap(ByteBuffer.wrap(out.toByteArray()), this.serializer);
+        }, "Stream snapshot did not throw StreamCorruptedException.");
+    }
+
+    @Test
+    @DisplayName("Mapped Trie Deep String Test")
+    void deepStringTest() throws IOException {
+        StringBuilder builder = new StringBuilder();
+        for(int i=0; i<100000; i++) {
+            builder.append('a');
+        }
+        List<TrieCharacter> deep = ValueSource.convertToTrieString(builder.toString());
+        this.trie.put(deep, "deep");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        this.serializer.writeMapped(this.trie, out);
+        MappedTrie<TestCharacter,String> deepMapped = MappedTrie.wrap(ByteBuffer.wrap(out.toByteArray()), this.serializer);
+        assertTrue(deepMapped.keySet().contains(deep), "Deep string not traversed");
+        assertEquals(new HashMap<>(this.trie), new HashMap<>(deepMapped), "Entries not matching the source trie");
+    }
+}
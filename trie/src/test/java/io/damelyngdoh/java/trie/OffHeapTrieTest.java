@@ -0,0 +1,87 @@
+package io.damelyngdoh.java.trie;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class OffHeapTrieTest {
+
+    private Trie<TestCharacter,String> trie;
+    private OffHeapTrie<TestCharacter,String> offHeap;
+
+    @BeforeEach
+    void beforeEachTest() {
+        ValueSource.init();
+        this.trie = new Trie<>();
+        this.offHeap = new OffHeapTrie<>(TrieSerializer.CharacterCodec.of(c->((TestCharacter)c).getC(), c->new TestCharacter((char)c)), 4);
+        for(int i=0; i<ValueSource.ValidStringCount; i++) {
+            this.trie.put(ValueSource.stringMap.get(i), ValueSource.dataMap.get(i));
+            this.offHeap.put(ValueSource.stringMap.get(i), ValueSource.dataMap.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("Off-Heap Trie Get Test")
+    void getTest() {
+        assertEquals(ValueSource.ValidStringCount, this.offHeap.size(), "String count does not match");
+        for(int i=0; i<ValueSource.ValidStringCount; i++) {
+            assertEquals(ValueSource.dataMap.get(i), this.offHeap.get(ValueSource.stringMap.get(i)), "String's data does not match in search test");
+        }
+        assertNull(this.offHeap.get(ValueSource.stringMap.get(ValueSource.Absent)), "Absent string's data is not null");
+        assertFalse(this.offHeap.containsKey(ValueSource.convertToTrieString("iFxSjn")), "Invalid prefix is contained in the trie");
+        assertTrue(this.offHeap.containsValue(ValueSource.CommonString), "Contains value test failed");
+        assertEquals(new HashMap<>(this.trie), new HashMap<>(this.offHeap), "Entries not matching the heap trie");
+        Map<List<TrieCharacter>, String> entries = this.offHeap.prefixMap(ValueSource.stringMap.get(ValueSource.Common));
+        assertEquals(3, entries.size(), "Prefix entries not matching");
+        assertTrue(this.offHeap.getOffHeapBytes() > 0, "No off-heap slabs allocated");
+    }
+
+    @Test
+    @DisplayName("Off-Heap Trie Put and Remove Test")
+    void putRemoveTest() {
+        assertEquals(ValueSource.SubString, this.offHeap.put(ValueSource.stringMap.get(ValueSource.Sub), "replaced"), "Put did not return the previous data");
+        assertEquals("replaced", this.offHeap.get(ValueSource.stringMap.get(ValueSource.Sub)), "Data not replaced");
+        assertNull(this.offHeap.put(ValueSource.stringMap.get(ValueSource.Empty), ""), "Empty string put did not return null");
+
+        int nodeCount = this.offHeap.getNodeCount();
+        assertEquals(ValueSource.SuperString, this.offHeap.remove(ValueSource.stringMap.get(ValueSource.Super)), "Remove did not return the data");
+        assertEquals(nodeCount-4, this.offHeap.getNodeCount(), "Nodes of the removed string not freed");
+        assertEquals("replaced", this.offHeap.get(ValueSource.stringMap.get(ValueSource.Sub)), "Prefix string removed with its extension");
+        assertEquals(ValueSource.CommonString, this.offHeap.remove(ValueSource.stringMap.get(ValueSource.Common)), "Remove did not return the data");
+        assertEquals(nodeCount-4, this.offHeap.getNodeCount(), "Nodes of an inner string freed");
+        assertNull(this.offHeap.remove(ValueSource.stringMap.get(ValueSource.Absent)), "Remove of absent string did not return null");
+        assertEquals(ValueSource.ValidStringCount-2, this.offHeap.size(), "String count does not match after removals");
+
+        // Freed nodes and slots are reused
+        this.offHeap.put(ValueSource.stringMap.get(ValueSource.Absent), ValueSource.AbsentString);
+        assertEquals(nodeCount+7, this.offHeap.getNodeCount(), "Node count not matching after reuse");
+        assertEquals(ValueSource.AbsentString, this.offHeap.get(ValueSource.stringMap.get(ValueSource.Absent)), "String added after removals not found");
+        assertEquals(ValueSource.Extended1String, this.offHeap.get(ValueSource.stringMap.get(ValueSource.Extended1)), "Sibling string lost after removals");
+
+        this.offHeap.clear();
+        assertTrue(this.offHeap.isEmpty(), "Trie not empty after clear");
+        assertEquals(1, this.offHeap.getNodeCount(), "Nodes other than the root left after clear");
+    }
+
+    @Test
+    @DisplayName("Off-Heap Trie Deep String Test")
+    void deepStringTest() {
+        StringBuilder builder = new StringBuilder();
+        for(int i=0; i<100000; i++) {
+            builder.append('a');
+        }
+        List<TrieCharacter> deep = ValueSource.convertToTrieString(builder.toString());
+        this.offHeap.put(deep, "deep");
+        assertTrue(this.offHeap.keySet().contains(deep), "Deep string not traversed");
+        assertTrue(this.offHeap.containsValue("deep"), "Data of the deep string not traversed");
+    }
+}
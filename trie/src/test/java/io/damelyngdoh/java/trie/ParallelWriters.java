@@ -0,0 +1,56 @@
+package io.damelyngdoh.java.trie;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writers putting and removing distinct strings of a thread-safe trie from several threads.
+ * @author Dame
+ *
+ */
+public final class ParallelWriters {
+
+	public static final int Threads = 4, Count = 2000;
+	/**
+	 * Number of strings left by the writers: every third string put is removed again.
+	 */
+	public static final int Added = Threads * (Count - (Count + 2) / 3);
+
+	/**
+	 * Runs the writers and waits for them to finish.
+	 * @param trie The trie written to.
+	 * @param duringWrites Operation run by the calling thread while the writers run.
+	 * @throws Exception Thrown when a writer or the operation fails.
+	 */
+	public static void write(final Map<List<TrieCharacter>, String> trie, Runnable duringWrites) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(Threads);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for(int t=0; t<Threads; t++) {
+				final int thread = t;
+				futures.add(executor.submit(()->{
+					for(int i=0; i<Count; i++) {
+						List<TrieCharacter> string = ValueSource.convertToTrieString((char)('a' + i % 26) + "q" + thread + "r" + i);
+						trie.put(string, Integer.toString(i));
+						if(i % 3==0) {
+							trie.remove(string);
+						}
+					}
+				}));
+			}
+			duringWrites.run();
+			for(Future<?> future : futures) {
+				future.get();
+			}
+		}
+		finally {
+			executor.shutdown();
+			executor.awaitTermination(1, TimeUnit.MINUTES);
+		}
+	}
+}
@@ -0,0 +1,80 @@
+package io.damelyngdoh.java.trie;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class RadixTrieTest {
+
+    private RadixTrie<TestCharacter,String> trie;
+
+    @BeforeEach
+    void beforeEachTest() {
+        ValueSource.init();
+        this.trie = new RadixTrie<>();
+        for(int i=0; i<ValueSource.ValidStringCount; i++) {
+            this.trie.put(ValueSource.stringMap.get(i), ValueSource.dataMap.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("Radix Trie Get Test")
+    void getTest() {
+        assertEquals(ValueSource.ValidStringCount, this.trie.size(), "String count does not match");
+        for(int i=0; i<ValueSource.ValidStringCount; i++) {
+            assertEquals(ValueSource.dataMap.get(i), this.trie.get(ValueSource.stringMap.get(i)), "String's data does not match in search test");
+        }
+        assertNull(this.trie.get(ValueSource.stringMap.get(ValueSource.Absent)), "Absent string's data is not null");
+        assertNull(this.trie.get(ValueSource.stringMap.get(ValueSource.Empty)), "Empty string's data is not null");
+        assertFalse(this.trie.containsKey(ValueSource.convertToTrieString("iFxSjn")), "Prefix in the middle of a label is contained in the trie");
+        assertThrows(NullPointerException.class, ()->{
+            this.trie.get(null);
+        }, "Null string get test did not throw NullPointerException.");
+    }
+
+    @Test
+    @DisplayName("Radix Trie Compression Test")
+    void compressionTest() {
+        // Valid, Sub/Super, Common/Extended1/Extended2 and UnitLength need 7 labelled nodes
+        assertEquals(7, this.trie.getNodeCount(), "Single-child chains were not compressed");
+        this.trie.put(ValueSource.convertToTrieString("iFxSjnJjOF"), "split");
+        assertEquals(8, this.trie.getNodeCount(), "Label was not split on insert");
+        assertEquals("split", this.trie.get(ValueSource.convertToTrieString("iFxSjnJjOF")), "String ending at a split was not found");
+        assertEquals(ValueSource.Extended1String, this.trie.get(ValueSource.stringMap.get(ValueSource.Extended1)), "Extended1 not found after split");
+        this.trie.remove(ValueSource.convertToTrieString("iFxSjnJjOF"));
+        assertEquals(7, this.trie.getNodeCount(), "Label was not merged on remove");
+    }
+
+    @Test
+    @DisplayName("Radix Trie Remove Test")
+    void removeTest() {
+        assertNull(this.trie.remove(ValueSource.stringMap.get(ValueSource.Absent)), "Absent string remove did not return null.");
+        assertEquals(ValueSource.CommonString, this.trie.remove(ValueSource.stringMap.get(ValueSource.Common)), "Common string remove did not return its data.");
+        assertEquals(ValueSource.Extended1String, this.trie.remove(ValueSource.stringMap.get(ValueSource.Extended1)), "Extended1 remove did not return its data.");
+        assertEquals(ValueSource.Extended2String, this.trie.get(ValueSource.stringMap.get(ValueSource.Extended2)), "Extended2 not found after common and extended1 remove");
+        assertEquals(ValueSource.SubString, this.trie.remove(ValueSource.stringMap.get(ValueSource.Sub)), "Sub-string remove did not return its data.");
+        assertEquals(ValueSource.SuperString, this.trie.get(ValueSource.stringMap.get(ValueSource.Super)), "Super-string not found after sub-string remove");
+        assertEquals(ValueSource.ValidStringCount-3, this.trie.size(), "String count not matching after remove");
+        assertEquals(ValueSource.ValidStringCount-3, this.trie.getNodeCount(), "Nodes were not merged after remove");
+    }
+
+    @Test
+    @DisplayName("Radix Trie Key-Set Test")
+    void keySetTest() {
+        Set<List<TrieCharacter>> keys = this.trie.keySet();
+        assertEquals(ValueSource.ValidStringCount, keys.size(), "Expected key-set size not matching with actual size");
+        for(int i=0; i<ValueSource.ValidStringCount; i++) {
+            assertTrue(keys.contains(ValueSource.stringMap.get(i)), "Key-set does not contain string");
+        }
+        assertTrue(this.trie.containsValue(ValueSource.CommonString), "Contains value test failed");
+    }
+}
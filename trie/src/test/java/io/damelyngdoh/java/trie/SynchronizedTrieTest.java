@@ -0,0 +1,60 @@
+package io.damelyngdoh.java.trie;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class SynchronizedTrieTest {
+
+    private SynchronizedTrie<TestCharacter,String> trie;
+
+    @BeforeEach
+    void beforeEachTest() {
+        ValueSource.init();
+        this.trie = new SynchronizedTrie<>(5);
+        for(int i=0; i<ValueSource.ValidStringCount; i++) {
+            this.trie.put(ValueSource.stringMap.get(i), ValueSource.dataMap.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("Synchronized Trie Get Test")
+    void getTest() {
+        assertEquals(8, this.trie.getStripeCount(), "Stripe count was not rounded up to a power of two");
+        assertEquals(ValueSource.ValidStringCount, this.trie.size(), "String count does not match");
+        for(int i=0; i<ValueSource.ValidStringCount; i++) {
+            assertEquals(ValueSource.dataMap.get(i), this.trie.get(ValueSource.stringMap.get(i)), "String's data does not match in search test");
+        }
+        assertNull(this.trie.get(ValueSource.stringMap.get(ValueSource.Absent)), "Absent string's data is not null");
+        assertEquals(ValueSource.ValidStringCount, this.trie.entrySet().size(), "Entry-set size not matching");
+        assertTrue(this.trie.containsValue(ValueSource.CommonString), "Contains value test failed");
+    }
+
+    @Test
+    @DisplayName("Synchronized Trie Count Test")
+    void countTest() {
+        this.trie.put(ValueSource.stringMap.get(ValueSource.Valid), "overwritten");
+        assertEquals(ValueSource.ValidStringCount, this.trie.size(), "Overwrite changed string count");
+        this.trie.setOverwriteAllowed(false);
+        this.trie.put(ValueSource.stringMap.get(ValueSource.Valid), "ignored");
+        assertEquals("overwritten", this.trie.get(ValueSource.stringMap.get(ValueSource.Valid)), "Overwrite flag was not honoured");
+        assertNull(this.trie.remove(ValueSource.stringMap.get(ValueSource.Absent)), "Absent string remove did not return null.");
+        assertEquals(ValueSource.SubString, this.trie.remove(ValueSource.stringMap.get(ValueSource.Sub)), "Sub-string remove did not return its data.");
+        assertEquals(ValueSource.ValidStringCount-1, this.trie.size(), "String count not matching after remove");
+        this.trie.clear();
+        assertTrue(this.trie.isEmpty(), "Trie not empty after clear");
+    }
+
+    @Test
+    @DisplayName("Synchronized Trie Parallel Writers Test")
+    void parallelWritersTest() throws Exception {
+        ParallelWriters.write(this.trie, ()->{});
+        int expected = ValueSource.ValidStringCount + ParallelWriters.Added;
+        assertEquals(expected, this.trie.size(), "String count does not match after parallel writes");
+        assertEquals(expected, this.trie.keySet().size(), "Key-set size does not match after parallel writes");
+    }
+}
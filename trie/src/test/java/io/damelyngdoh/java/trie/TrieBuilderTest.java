@@ -0,0 +1,113 @@
+package io.damelyngdoh.java.trie;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class TrieBuilderTest {
+
+    private TreeMap<String,String> sorted;
+
+    @BeforeEach
+    void beforeEachTest() {
+        ValueSource.init();
+        this.sorted = new TreeMap<>();
+        for(int i=0; i<ValueSource.ValidStringCount; i++) {
+            this.sorted.put(ValueSource.dataMap.get(i), ValueSource.dataMap.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("Trie Builder Sorted Input Test")
+    void sortedInputTest() {
+        Trie<TestCharacter,String> trie = TrieBuilder.build(this.sorted.entrySet().stream()
+            .map(entry -> new AbstractMap.SimpleEntry<>(ValueSource.convertToTrieString(entry.getKey()), entry.getValue()))
+            .iterator());
+        assertEquals(ValueSource.ValidStringCount, trie.size(), "String count does not match");
+        for(int i=0; i<ValueSource.ValidStringCount; i++) {
+            assertEquals(ValueSource.dataMap.get(i), trie.get(ValueSource.stringMap.get(i)), "String's data does not match in search test");
+        }
+        assertEquals(ValueSource.ValidStringCount, trie.keySet().size(), "Key-set size not matching");
+    }
+
+    @Test
+    @DisplayName("Trie Builder Unsorted Input Test")
+    void unsortedInputTest() {
+        List<String> strings = new ArrayList<>(this.sorted.keySet());
+        Collections.reverse(strings);
+        strings.add(strings.get(0));
+        TrieBuilder<TestCharacter,String> builder = new TrieBuilder<>();
+        for(String string : strings) {
+            builder.add(ValueSource.convertToTrieString(string), this.sorted.get(string));
+        }
+        Trie<TestCharacter,String> trie = builder.build();
+        assertEquals(ValueSource.ValidStringCount, trie.size(), "String count does not match for unsorted input");
+        assertEquals(ValueSource.CommonString, trie.get(ValueSource.stringMap.get(ValueSource.Common)), "Common string's data does not match");
+        assertEquals(ValueSource.Extended2String, trie.get(ValueSource.stringMap.get(ValueSource.Extended2)), "Extended2 string's data does not match");
+        assertThrows(IllegalStateException.class, ()->{
+            builder.add(ValueSource.stringMap.get(ValueSource.Absent), "");
+        }, "Add after build did not throw IllegalStateException.");
+    }
+
+    @Test
+    @DisplayName("Trie Put-All Test")
+    void putAllTest() {
+        Trie<TestCharacter,String> trie = new Trie<>();
+        trie.put(ValueSource.stringMap.get(ValueSource.Common), "old");
+        Map<List<TrieCharacter>,String> map = new HashMap<>();
+        for(int i=0; i<ValueSource.ValidStringCount; i++) {
+            map.put(ValueSource.stringMap.get(i), ValueSource.dataMap.get(i));
+        }
+        trie.putAll(map);
+        assertEquals(ValueSource.ValidStringCount, trie.size(), "String count does not match after put-all");
+        assertEquals(ValueSource.CommonString, trie.get(ValueSource.stringMap.get(ValueSource.Common)), "Present string was not overwritten by put-all");
+    }
+
+    @Test
+    @DisplayName("Trie Parallel Build Test")
+    void parallelBuildTest() {
+        List<Map.Entry<List<TrieCharacter>,String>> entries = new ArrayList<>();
+        for(int i=0; i<ValueSource.ValidStringCount; i++) {
+            entries.add(new AbstractMap.SimpleEntry<>(ValueSource.stringMap.get(i), "old"));
+        }
+        for(int i=0; i<ValueSource.ValidStringCount; i++) {
+            entries.add(new AbstractMap.SimpleEntry<>(ValueSource.stringMap.get(i), ValueSource.dataMap.get(i)));
+        }
+        for(int i=0; i<1000; i++) {
+            entries.add(new AbstractMap.SimpleEntry<>(ValueSource.convertToTrieString((char)('a' + i % 26) + Integer.toString(i)), "generated"));
+        }
+        Trie<TestCharacter,String> trie = Trie.buildParallel(entries);
+        assertEquals(ValueSource.ValidStringCount + 1000, trie.size(), "String count does not match after parallel build");
+        for(int i=0; i<ValueSource.ValidStringCount; i++) {
+            assertEquals(ValueSource.dataMap.get(i), trie.get(ValueSource.stringMap.get(i)), "Later entry did not overwrite earlier entry");
+        }
+        assertEquals("generated", trie.get(ValueSource.convertToTrieString("c522")), "Generated string's data does not match");
+        assertEquals(trie.size(), trie.keySet().size(), "Key-set size not matching");
+
+        trie.put(ValueSource.convertToTrieString("zz-added"), "added");
+        final Set<Long> ids = new HashSet<>();
+        final int[] nodes = new int[1];
+        trie.traverse(new TrieVisitor<String>() {
+            @Override
+            public Action preVisit(TrieNode<String> node, int depth) {
+                ids.add(node.getId());
+                nodes[0]++;
+                return Action.CONTINUE;
+            }
+        });
+        assertEquals(nodes[0], ids.size(), "Node ids are not unique after parallel build");
+    }
+}
@@ -0,0 +1,95 @@
+package io.damelyngdoh.java.trie;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StreamCorruptedException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class TrieSerializerTest {
+
+    private Trie<TestCharacter,String> trie;
+    private TrieSerializer<String> serializer;
+
+    @BeforeEach
+    void beforeEachTest() {
+        ValueSource.init();
+        this.trie = new Trie<>();
+        for(int i=0; i<ValueSource.ValidStringCount; i++) {
+            this.trie.put(ValueSource.stringMap.get(i), ValueSource.dataMap.get(i));
+        }
+        this.serializer = new TrieSerializer<>(TrieSerializer.CharacterCodec.of(c->((TestCharacter)c).getC(), c->new TestCharacter((char)c)), TrieSerializer.stringCodec());
+    }
+
+    @Test
+    @DisplayName("Trie Serializer Round Trip Test")
+    void roundTripTest() throws IOException {
+        this.trie.put(ValueSource.convertToTrieString("iFx"), null);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        this.trie.writeTo(out, this.serializer);
+        Trie<TestCharacter,String> read = Trie.readFrom(new ByteArrayInputStream(out.toByteArray()), this.serializer);
+
+        assertEquals(this.trie.size(), read.size(), "String count does not match");
+        for(int i=0; i<ValueSource.ValidStringCount; i++) {
+            assertEquals(ValueSource.dataMap.get(i), read.get(ValueSource.stringMap.get(i)), "String's data does not match after reading");
+        }
+        assertTrue(read.containsKey(ValueSource.convertToTrieString("iFx")), "String with null data not read");
+        assertNull(read.get(ValueSource.convertToTrieString("iFx")), "Null data not read as null");
+        assertFalse(read.containsKey(ValueSource.convertToTrieString("iFxS")), "Invalid node read as valid");
+        assertEquals(new HashMap<>(this.trie), new HashMap<>(read), "Read trie not equal to written trie");
+
+        read.put(ValueSource.stringMap.get(ValueSource.Absent), ValueSource.AbsentString);
+        assertEquals(ValueSource.AbsentString, read.get(ValueSource.stringMap.get(ValueSource.Absent)), "Read trie not modifiable");
+    }
+
+    @Test
+    @DisplayName("Trie Serializer File Channel Test")
+    void fileChannelTest() throws IOException {
+        Path file = Files.createTempFile("trie", ".bin");
+        try {
+            try(OutputStream out = Files.newOutputStream(file)) {
+                this.serializer.writeTo(this.trie, out);
+            }
+            try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                assertEquals(new HashMap<>(this.trie), new HashMap<>(this.serializer.<TestCharacter>readFrom(channel)), "Trie read from channel not equal to written trie");
+            }
+        }
+        finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    @DisplayName("Trie Serializer Malformed Test")
+    void malformedTest() throws IOException {
+        assertThrows(StreamCorruptedException.class, ()->{
+            this.serializer.readFrom(new ByteArrayInputStream(new byte[] {1, 2, 3, 4, 5}));
+        }, "Missing magic bytes did not throw StreamCorruptedException.");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        this.serializer.writeTo(this.trie, out);
+        byte[] bytes = out.toByteArray();
+        bytes[4] = 99;
+        assertThrows(StreamCorruptedException.class, ()->{
+            this.serializer.readFrom(new ByteArrayInputStream(bytes));
+        }, "Unsupported version did not throw StreamCorruptedException.");
+        assertThrows(IOException.class, ()->{
+            this.serializer.readFrom(new ByteArrayInputStream(out.toByteArray(), 0, out.size()-3));
+        }, "Truncated snapshot did not throw IOException.");
+    }
+}
@@ -1,6 +1,7 @@
 package io.damelyngdoh.java.trie;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -14,11 +15,18 @@ import java.io.IOException;
 import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Stack;
+import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.RandomUtils;
 import org.junit.jupiter.api.BeforeEach;
@@ -448,6 +456,367 @@ public class TrieTest {
         assertEquals(ValueSource.dataMap.get(randomIndex), this.trie.get(ValueSource.stringMap.get(randomIndex)),"String overwritten when overwrite is not allowed");
     }
 
+    @ParameterizedTest
+    @Order(30)
+    @DisplayName("Wide Node Test")
+    @EnumSource(TrieTraversal.class)
+    void wideNodeTest(TrieTraversal traversal) {
+        this.trie.setTraversal(traversal);
+        String alphabet = "abcdefghijklmnopqrstuvwxyz";
+        for(int i=0; i<alphabet.length(); i++) {
+            this.trie.put(convertToTrieString(ValueSource.CommonString + alphabet.charAt(i)), alphabet.charAt(i) + "");
+        }
+        assertEquals(ValueSource.ValidStringCount + alphabet.length(), this.trie.size(), "String count not matching after wide node put");
+        for(int i=0; i<alphabet.length(); i++) {
+            assertEquals(alphabet.charAt(i) + "", this.trie.get(convertToTrieString(ValueSource.CommonString + alphabet.charAt(i))), "Wide node child not found");
+        }
+        for(int i=0; i<alphabet.length(); i++) {
+            assertEquals(alphabet.charAt(i) + "", this.trie.remove(convertToTrieString(ValueSource.CommonString + alphabet.charAt(i))), "Wide node child remove did not return its data");
+        }
+        assertEquals(ValueSource.ValidStringCount, this.trie.size(), "String count not matching after wide node remove");
+        assertEquals(ValueSource.dataMap.get(ValueSource.Extended1), this.trie.get(ValueSource.stringMap.get(ValueSource.Extended1)), "Extended1 not found after wide node remove");
+        assertEquals(ValueSource.dataMap.get(ValueSource.Extended2), this.trie.get(ValueSource.stringMap.get(ValueSource.Extended2)), "Extended2 not found after wide node remove");
+        assertEquals(ValueSource.ValidStringCount, this.trie.keySet().size(), "Key-set size not matching after wide node remove");
+    }
+
+    @ParameterizedTest
+    @Order(31)
+    @DisplayName("Find Node Test")
+    @EnumSource(TrieTraversal.class)
+    void findNodeTest(TrieTraversal traversal) {
+        this.trie.setTraversal(traversal);
+        TrieNode<String> node = this.trie.findNode(ValueSource.stringMap.get(ValueSource.Super));
+        assertNotNull(node, "Node of valid string not found");
+        assertTrue(node.isValid(), "Node of valid string is not valid");
+        assertEquals(ValueSource.SuperString, node.getData(), "Node data does not match");
+
+        node = this.trie.findNode(convertToTrieString("iFxSjn"));
+        assertNotNull(node, "Node of prefix not found");
+        assertFalse(node.isValid(), "Node of prefix is valid");
+        assertNull(this.trie.findNode(ValueSource.stringMap.get(ValueSource.Absent)), "Node of absent string is not null");
+        assertNull(this.trie.findNode(ValueSource.stringMap.get(ValueSource.Empty)), "Node of empty string is not null");
+
+        assertEquals(ValueSource.SuperString.length(), this.trie.matchLength(ValueSource.stringMap.get(ValueSource.Super)), "Match length of valid string does not match");
+        assertEquals(ValueSource.CommonString.length(), this.trie.matchLength(convertToTrieString(ValueSource.CommonString + "xyz")), "Match length of extended string does not match");
+        assertEquals(0, this.trie.matchLength(convertToTrieString("zzz")), "Match length of absent string is not 0");
+        assertThrows(IllegalArgumentException.class, ()->{
+            this.trie.findNode(ValueSource.stringMap.get(ValueSource.Invalid));
+        }, "Invalid string find did not throw an exception");
+    }
+
+    @Test
+    @Order(32)
+    @DisplayName("Overwrite String Count Test")
+    void overwriteStringCountTest() {
+        this.trie.put(ValueSource.stringMap.get(ValueSource.Valid), "");
+        assertEquals(ValueSource.ValidStringCount, this.trie.size(), "String count changed after overwrite");
+        this.trie.put(convertToTrieString("iFxSjn"), "");
+        assertEquals(ValueSource.ValidStringCount+1, this.trie.size(), "String count not incremented after prefix put");
+    }
+
+    @ParameterizedTest
+    @Order(33)
+    @DisplayName("Prefix Iterator Test")
+    @EnumSource(TrieTraversal.class)
+    void prefixIteratorTest(TrieTraversal traversal) {
+        this.trie.setTraversal(traversal);
+        Map<List<TrieCharacter>, String> entries = new HashMap<>();
+        Iterator<Map.Entry<List<TrieCharacter>, String>> iterator = this.trie.prefixIterator(convertToTrieString("iFxSjn"));
+        while(iterator.hasNext()) {
+            Map.Entry<List<TrieCharacter>, String> entry = iterator.next();
+            entries.put(entry.getKey(), entry.getValue());
+        }
+        assertEquals(3, entries.size(), "Prefix entries count not matching");
+        assertEquals(ValueSource.Extended1String, entries.get(ValueSource.stringMap.get(ValueSource.Extended1)), "Prefix entry data not matching");
+        assertEquals(ValueSource.CommonString, this.trie.prefixIterator(ValueSource.stringMap.get(ValueSource.Common)).next().getValue(), "Prefix node itself is not the first entry");
+
+        assertEquals(2, this.trie.prefixStream(ValueSource.stringMap.get(ValueSource.Sub)).count(), "Sub-string prefix count not matching");
+        assertEquals(1, this.trie.prefixStream(convertToTrieString("iFx")).limit(1).count(), "Limited prefix stream count not matching");
+        assertEquals(ValueSource.ValidStringCount, this.trie.prefixStream(ValueSource.stringMap.get(ValueSource.Empty)).count(), "Empty prefix does not iterate over the whole trie");
+        assertFalse(this.trie.prefixIterator(ValueSource.stringMap.get(ValueSource.Absent)).hasNext(), "Absent prefix iterator is not empty");
+        assertThrows(NoSuchElementException.class, ()->{
+            this.trie.prefixIterator(ValueSource.stringMap.get(ValueSource.Absent)).next();
+        }, "Exhausted prefix iterator did not throw NoSuchElementException");
+    }
+
+    @Test
+    @Order(34)
+    @DisplayName("Live Views Test")
+    void liveViewsTest() {
+        Set<List<TrieCharacter>> keys = this.trie.keySet();
+        Collection<String> values = this.trie.values();
+        this.trie.put(ValueSource.stringMap.get(ValueSource.Absent), ValueSource.AbsentString);
+        assertEquals(ValueSource.ValidStringCount+1, keys.size(), "Key-set view not updated after put");
+        assertTrue(values.contains(ValueSource.AbsentString), "Values view not updated after put");
+
+        Iterator<List<TrieCharacter>> iterator = keys.iterator();
+        int removed = 0;
+        while(iterator.hasNext()) {
+            List<TrieCharacter> key = iterator.next();
+            if(key.get(0).equals(new TestCharacter('i')) || key.get(0).equals(new TestCharacter('E'))) {
+                iterator.remove();
+                removed++;
+            }
+        }
+        assertEquals(5, removed, "Strings visited by iterator remove not matching");
+        assertEquals(ValueSource.ValidStringCount-4, this.trie.size(), "String count not matching after iterator remove");
+        assertNull(this.trie.get(ValueSource.stringMap.get(ValueSource.Extended2)), "String removed by iterator is still present");
+        assertEquals(ValueSource.ValidString, this.trie.get(ValueSource.stringMap.get(ValueSource.Valid)), "String not removed by iterator is absent");
+
+        for(Map.Entry<List<TrieCharacter>, String> entry : this.trie.entrySet()) {
+            entry.setValue(entry.getValue() + "!");
+        }
+        assertEquals(ValueSource.UnitLengthString + "!", this.trie.get(ValueSource.stringMap.get(ValueSource.UnitLength)), "Entry value was not written through");
+        assertTrue(keys.remove(ValueSource.stringMap.get(ValueSource.UnitLength)), "Key-set view remove failed");
+        assertFalse(this.trie.containsKey(ValueSource.stringMap.get(ValueSource.UnitLength)), "String removed from key-set view is still present");
+    }
+
+    @Test
+    @Order(35)
+    @DisplayName("Parallel Stream Test")
+    void parallelStreamTest() {
+        for(int i=0; i<2000; i++) {
+            this.trie.put(convertToTrieString((char)('a' + i % 26) + Integer.toString(i)), Integer.toString(i));
+        }
+        this.trie.put(convertToTrieString("iFxSj"), "single");
+        Spliterator<Map.Entry<List<TrieCharacter>, String>> spliterator = this.trie.entrySet().spliterator();
+        assertNotNull(spliterator.trySplit(), "Spliterator over the whole trie was not split");
+
+        assertEquals(this.trie.size(), this.trie.entrySet().parallelStream().count(), "Parallel entry count not matching");
+        Set<List<TrieCharacter>> keys = this.trie.keySet().parallelStream().collect(Collectors.toSet());
+        assertEquals(this.trie.size(), keys.size(), "Parallel key-set size not matching");
+        assertTrue(keys.contains(convertToTrieString("iFxSj")), "Parallel key-set does not contain string");
+        assertTrue(keys.contains(ValueSource.stringMap.get(ValueSource.Extended2)), "Parallel key-set does not contain string");
+        assertEquals(ValueSource.CommonString, this.trie.entrySet().parallelStream()
+            .filter(entry -> entry.getKey().equals(ValueSource.stringMap.get(ValueSource.Common)))
+            .findAny().get().getValue(), "Parallel entry data not matching");
+        assertTrue(this.trie.values().parallelStream().anyMatch("1999"::equals), "Parallel values do not contain value");
+    }
+
+    @Test
+    @Order(36)
+    @DisplayName("Iterative Traversal Test")
+    void iterativeTraversalTest() {
+        final int[] counts = new int[3];
+        this.trie.traverse(new TrieVisitor<String>() {
+            @Override
+            public Action preVisit(TrieNode<String> node, int depth) {
+                counts[0]++;
+                return node.getCharacter().equals(new TestCharacter('i')) && depth==1 ? Action.SKIP_SUBTREE : Action.CONTINUE;
+            }
+
+            @Override
+            public boolean postVisit(TrieNode<String> node, int depth) {
+                counts[1]++;
+                counts[2] += node.isValid() ? 1 : 0;
+                return true;
+            }
+        });
+        assertEquals(counts[0], counts[1], "Pre-order and post-order visit counts not matching");
+        assertEquals(ValueSource.ValidStringCount-3, counts[2], "Valid nodes outside the skipped subtree not matching");
+
+        final int[] visited = new int[1];
+        this.trie.DFT((Stack<TrieNode<String>> nodes) -> {
+            visited[0]++;
+            return false;
+        });
+        assertEquals(1, visited[0], "Depth-first traversal did not stop on false");
+
+        StringBuilder builder = new StringBuilder();
+        for(int i=0; i<100000; i++) {
+            builder.append((char)('a' + i % 26));
+        }
+        this.trie.put(convertToTrieString(builder.toString()), "long");
+        assertDoesNotThrow(()->{
+            this.trie.DFT((Stack<TrieNode<String>> nodes) -> true);
+        }, "Depth-first traversal of a long string overflowed");
+        visited[0] = 0;
+        this.trie.DFT((Stack<TrieNode<String>> nodes) -> {
+            if(nodes.size()==100000) {
+                visited[0]++;
+            }
+            return true;
+        });
+        assertEquals(1, visited[0], "Long string not visited by depth-first traversal");
+    }
+
+    @Test
+    @Order(37)
+    @DisplayName("Top Completions Test")
+    void topCompletionsTest() {
+        assertThrows(IllegalStateException.class, ()->{
+            this.trie.topCompletions(ValueSource.stringMap.get(ValueSource.Common), 3);
+        }, "Completions without scorer did not throw IllegalStateException");
+        this.trie.clear();
+        this.trie.setCompletionScorer(Double::parseDouble, 4);
+        Random random = new Random(7);
+        Map<String, String> expected = new HashMap<>();
+        for(int i=0; i<3000; i++) {
+            String string = "";
+            for(int j=random.nextInt(5); j >= 0; j--) {
+                string += (char)('a' + random.nextInt(3));
+            }
+            if(random.nextInt(4)==0) {
+                this.trie.remove(convertToTrieString(string));
+                expected.remove(string);
+            }
+            else {
+                String value = Integer.toString(random.nextInt(1000));
+                this.trie.put(convertToTrieString(string), value);
+                expected.put(string, value);
+            }
+        }
+        for(String prefix : new String[] { "", "a", "ab", "cab", "bbbbb" }) {
+            for(int count : new int[] { 1, 4, 9 }) {
+                List<Double> actual = new ArrayList<>();
+                for(Map.Entry<List<TrieCharacter>, String> entry : this.trie.topCompletions(convertToTrieString(prefix), count)) {
+                    actual.add(Double.parseDouble(entry.getValue()));
+                    assertEquals(expected.get(entry.getKey().stream().map(Object::toString).collect(Collectors.joining())), entry.getValue(), "Completion data not matching");
+                }
+                List<Double> scores = expected.entrySet().stream()
+                    .filter(entry -> entry.getKey().startsWith(prefix))
+                    .map(entry -> Double.parseDouble(entry.getValue()))
+                    .sorted(Collections.reverseOrder())
+                    .limit(count)
+                    .collect(Collectors.toList());
+                assertEquals(scores, actual, "Completion scores not matching for prefix " + prefix);
+            }
+        }
+    }
+
+    @Test
+    @Order(38)
+    @DisplayName("Fuzzy Matches Test")
+    void fuzzyMatchesTest() {
+        Map<List<TrieCharacter>, String> matches = this.trie.fuzzyMatches(convertToTrieString("iFxSjnJjOFx"), 1);
+        assertEquals(1, matches.size(), "Fuzzy matches count not matching for one edit");
+        assertEquals(ValueSource.Extended1String, matches.get(ValueSource.stringMap.get(ValueSource.Extended1)), "Substituted string not matched");
+
+        matches = this.trie.fuzzyMatches(convertToTrieString("iFxSjnJOFe"), 4);
+        assertTrue(matches.containsKey(ValueSource.stringMap.get(ValueSource.Extended1)), "String with deleted character not matched");
+        assertTrue(matches.containsKey(ValueSource.stringMap.get(ValueSource.Common)), "String within four edits not matched");
+        assertTrue(matches.containsKey(ValueSource.stringMap.get(ValueSource.Extended2)), "String within four edits not matched");
+        assertEquals(3, matches.size(), "Fuzzy matches count not matching for four edits");
+
+        assertTrue(this.trie.fuzzyMatches(convertToTrieString("EGqBXzu"), 1).isEmpty(), "Transposed string matched without transpositions");
+        matches = this.trie.fuzzyMatches(convertToTrieString("EGqBXzu"), 1, true);
+        assertEquals(ValueSource.SubString, matches.get(ValueSource.stringMap.get(ValueSource.Sub)), "Transposed string not matched with transpositions");
+        assertEquals(1, matches.size(), "Fuzzy matches count not matching for transposition");
+
+        assertEquals(ValueSource.UnitLengthString, this.trie.fuzzyMatches(ValueSource.stringMap.get(ValueSource.Empty), 1).get(ValueSource.stringMap.get(ValueSource.UnitLength)), "Unit length string not matched from empty string");
+        assertThrows(IllegalArgumentException.class, ()->{
+            this.trie.fuzzyMatches(ValueSource.stringMap.get(ValueSource.Valid), -1);
+        }, "Negative edits did not throw IllegalArgumentException");
+    }
+
+    @Test
+    @Order(39)
+    @DisplayName("Match Test")
+    void matchTest() {
+        Map<List<TrieCharacter>, String> matches = this.trie.match("iFxSjnJ*", c->new TestCharacter((char)c));
+        assertEquals(3, matches.size(), "Pattern matches count not matching for trailing any-sequence");
+        assertEquals(ValueSource.CommonString, matches.get(ValueSource.stringMap.get(ValueSource.Common)), "Empty any-sequence not matched");
+
+        matches = this.trie.match("iFxSjnJ?[!U]??", c->new TestCharacter((char)c));
+        assertEquals(1, matches.size(), "Pattern matches count not matching for negated class");
+        assertEquals(ValueSource.Extended1String, matches.get(ValueSource.stringMap.get(ValueSource.Extended1)), "Negated class not matched");
+
+        matches = this.trie.match("*X*z*", c->new TestCharacter((char)c));
+        assertEquals(2, matches.size(), "Pattern matches count not matching for several any-sequences");
+        assertTrue(matches.containsKey(ValueSource.stringMap.get(ValueSource.Super)), "Super string not matched");
+
+        matches = this.trie.match(TriePattern.builder().oneOf(convertToTrieString("DE")).anySequence().build());
+        assertEquals(3, matches.size(), "Pattern matches count not matching for leading class");
+        assertTrue(this.trie.match("[A-C]*", c->new TestCharacter((char)c)).isEmpty(), "Range class matched absent strings");
+        assertEquals(ValueSource.UnitLengthString, this.trie.match("?", c->new TestCharacter((char)c)).get(ValueSource.stringMap.get(ValueSource.UnitLength)), "Unit length string not matched");
+        assertThrows(IllegalArgumentException.class, ()->{
+            this.trie.match("[abc", c->new TestCharacter((char)c));
+        }, "Unclosed class did not throw IllegalArgumentException");
+    }
+
+    @Test
+    @Order(40)
+    @DisplayName("Longest Prefix Test")
+    void longestPrefixTest() {
+        List<TrieCharacter> query = convertToTrieString(ValueSource.SuperString + "xyz");
+        assertEquals(ValueSource.stringMap.get(ValueSource.Super), this.trie.longestPrefixOf(query), "Longest prefix not matching");
+        Map.Entry<List<TrieCharacter>, String> entry = this.trie.longestPrefixEntry(convertToTrieString(ValueSource.SubString + "rc"));
+        assertEquals(ValueSource.stringMap.get(ValueSource.Sub), entry.getKey(), "Longest prefix entry key not matching");
+        assertEquals(ValueSource.SubString, entry.getValue(), "Longest prefix entry data not matching");
+        assertEquals(ValueSource.stringMap.get(ValueSource.Common), this.trie.longestPrefixOf(convertToTrieString("iFxSjnJjOF")), "Valid ancestor not returned for invalid node");
+        assertNull(this.trie.longestPrefixOf(convertToTrieString("iFxSjn")), "Prefix returned for string without valid prefix");
+        assertNull(this.trie.longestPrefixEntry(ValueSource.stringMap.get(ValueSource.Empty)), "Prefix entry returned for empty string");
+
+        List<Map.Entry<List<TrieCharacter>, String>> prefixes = this.trie.allPrefixesOf(query);
+        assertEquals(2, prefixes.size(), "All prefixes count not matching");
+        assertEquals(ValueSource.SubString, prefixes.get(0).getValue(), "Shortest prefix not first");
+        assertEquals(ValueSource.SuperString, prefixes.get(1).getValue(), "Longest prefix not last");
+        assertTrue(this.trie.allPrefixesOf(ValueSource.stringMap.get(ValueSource.Absent)).isEmpty(), "Prefixes returned for absent string");
+        assertThrows(IllegalArgumentException.class, ()->{
+            this.trie.longestPrefixOf(Collections.singletonList((TrieCharacter)null));
+        }, "Null character did not throw IllegalArgumentException");
+    }
+
+    @Test
+    @Order(41)
+    @DisplayName("Trie Stats Test")
+    void statsTest() {
+        Trie<TestCharacter,String> small = new Trie<>();
+        for(String string : new String[] { "ab", "abc", "ad", "x" }) {
+            small.put(convertToTrieString(string), string);
+        }
+        TrieStats stats = small.stats(value -> value.length());
+        assertEquals(5, stats.getNodeCount(), "Node count not matching");
+        assertEquals(4, stats.getValidNodeCount(), "Valid node count not matching");
+        assertArrayEquals(new long[] { 0, 2, 2, 1 }, stats.getDepthHistogram(), "Depth histogram not matching");
+        assertArrayEquals(new long[] { 3, 1, 1 }, stats.getBranchingHistogram(), "Branching histogram not matching");
+        assertArrayEquals(new long[] { 0, 1 }, stats.getChainHistogram(), "Chain histogram not matching");
+        assertEquals(3, stats.getMaxDepth(), "Maximum depth not matching");
+        assertEquals(5*TrieStats.NODE_BYTES, stats.getNodeBytes(), "Node bytes not matching");
+        assertEquals(8, stats.getValueBytes(), "Value bytes not matching");
+        assertTrue(stats.getChildrenBytes() > 0, "Children bytes not estimated");
+        assertEquals(stats.getNodeBytes() + stats.getChildrenBytes() + stats.getCharacterBytes() + stats.getValueBytes(), stats.getTotalBytes(), "Total bytes not matching");
+
+        TrieStats full = this.trie.stats();
+        assertEquals(this.trie.size(), full.getValidNodeCount(), "Valid node count not matching string count");
+        assertEquals(ValueSource.ValidString.length(), full.getMaxDepth(), "Maximum depth not matching longest string");
+        assertEquals(0, new Trie<TestCharacter,String>().stats().getNodeCount(), "Empty trie has nodes");
+    }
+
+    @Test
+    @Order(42)
+    @DisplayName("Children Iterator Remove Test")
+    void childrenIteratorRemoveTest() {
+        String alphabet = "abcdefghijklmnopqrstuvwxyz";
+        TrieNode<String> node = new TrieNode<>(0, new TestCharacter('@'), null);
+        for(int i=0; i<alphabet.length(); i++) {
+            node.addChild(new TestCharacter(alphabet.charAt(i)), new TrieNode<>(i+1, new TestCharacter(alphabet.charAt(i)), node));
+        }
+        assertTrue(node.hasChildrenMap(), "Wide node does not hold a map");
+        Set<TrieCharacter> visited = new HashSet<>();
+        Iterator<TrieNode<String>> iterator = node.getAllChildren().iterator();
+        while(iterator.hasNext()) {
+            TrieNode<String> child = iterator.next();
+            assertTrue(visited.add(child.getCharacter()), "Child visited twice");
+            if(child.getCharacter().hashCode() > 'b') {
+                iterator.remove();
+            }
+        }
+        assertEquals(alphabet.length(), visited.size(), "Children not visited after the node shrunk");
+        assertEquals(2, node.getChildrenCount(), "Children count not matching after iterator remove");
+        assertFalse(node.hasChildrenMap(), "Narrow node still holds a map after iterator remove");
+        assertNotNull(node.getChildNode(new TestCharacter('a')), "Kept child not found");
+        assertNull(node.getChildNode(new TestCharacter('z')), "Removed child still found");
+
+        iterator = node.getAllChildren().iterator();
+        while(iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+        assertEquals(0, node.getChildrenCount(), "Children left after removing all");
+        assertFalse(node.hasChildrenMap(), "Empty node still holds a map");
+    }
+
     /**
      * Converts a string to a list of TrieCharacter.
      * @param str The string to be processed.